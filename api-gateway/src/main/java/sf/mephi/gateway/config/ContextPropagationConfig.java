@@ -0,0 +1,18 @@
+package sf.mephi.gateway.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Configuration;
+import sf.mephi.gateway.filter.CorrelationIdThreadLocalAccessor;
+
+/**
+ * Registers the correlation ID accessor for Reactor automatic context propagation.
+ * The hook itself is enabled by {@code spring.reactor.context-propagation=auto}.
+ */
+@Configuration
+public class ContextPropagationConfig {
+
+    @PostConstruct
+    void registerThreadLocalAccessors() {
+        CorrelationIdThreadLocalAccessor.register();
+    }
+}
@@ -0,0 +1,44 @@
+package sf.mephi.gateway.filter;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ThreadLocalAccessor;
+import org.slf4j.MDC;
+
+/**
+ * Bridges the correlation ID stored in the Reactor {@code Context} to the SLF4J MDC.
+ *
+ * With automatic context propagation enabled, Reactor sets the MDC value
+ * whenever a signal crosses a thread boundary and restores the previous value
+ * afterwards, so event-loop threads never keep another request's ID.
+ */
+public class CorrelationIdThreadLocalAccessor implements ThreadLocalAccessor<String> {
+
+    /**
+     * Key in both the Reactor Context and the MDC
+     */
+    public static final String KEY = "correlationId";
+
+    public static void register() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(new CorrelationIdThreadLocalAccessor());
+    }
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public String getValue() {
+        return MDC.get(KEY);
+    }
+
+    @Override
+    public void setValue(String value) {
+        MDC.put(KEY, value);
+    }
+
+    @Override
+    public void setValue() {
+        MDC.remove(KEY);
+    }
+}
@@ -2,21 +2,30 @@ package sf.mephi.gateway.filter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
  * Global filter that adds correlation/trace ID to all requests.
  * TraceId is propagated to downstream services via X-Correlation-ID header.
  *
+ * The ID is stored in the Reactor Context rather than the MDC: a Netty event loop
+ * serves many requests at once and a signal may complete on another thread, so
+ * MDC.put/remove here would leak IDs between requests. Automatic context propagation
+ * copies it to the MDC around each signal (see {@link CorrelationIdThreadLocalAccessor}).
+ *
  * Order: Highest priority (runs first)
  */
 @Component
@@ -25,46 +34,53 @@ public class TraceIdFilter implements GlobalFilter, Ordered {
     private static final Logger log = LoggerFactory.getLogger(TraceIdFilter.class);
 
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
-    private static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private final long slowThresholdNanos;
+
+    public TraceIdFilter(@Value("${gateway.logging.slow-request-threshold:1s}") Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
 
         // Get or create correlation ID
-        String correlationId = request.getHeaders().getFirst(CORRELATION_ID_HEADER);
-        if (correlationId == null || correlationId.isBlank()) {
-            correlationId = UUID.randomUUID().toString();
-        }
-
-        final String traceId = correlationId;
+        String header = request.getHeaders().getFirst(CORRELATION_ID_HEADER);
+        boolean hasHeader = header != null && !header.isBlank();
+        final String traceId = hasHeader ? header : UUID.randomUUID().toString();
 
-        // Add to MDC for logging
-        MDC.put(TRACE_ID_MDC_KEY, traceId);
+        // Add correlation ID to request headers for downstream services (only when generated here)
+        ServerWebExchange mutatedExchange = hasHeader
+                ? exchange
+                : exchange.mutate()
+                        .request(request.mutate().header(CORRELATION_ID_HEADER, traceId).build())
+                        .build();
 
-        log.info("Request received: {} {} [traceId={}]",
-                request.getMethod(),
-                request.getPath(),
-                traceId);
+        long startNanos = System.nanoTime();
 
-        // Add correlation ID to request headers for downstream services
-        ServerHttpRequest mutatedRequest = request.mutate()
-                .header(CORRELATION_ID_HEADER, traceId)
-                .build();
+        return chain.filter(mutatedExchange)
+                .doFinally(signalType ->
+                        logCompletion(mutatedExchange, traceId, signalType, System.nanoTime() - startNanos))
+                .contextWrite(Context.of(CorrelationIdThreadLocalAccessor.KEY, traceId));
+    }
 
-        ServerWebExchange mutatedExchange = exchange.mutate()
-                .request(mutatedRequest)
-                .build();
+    /**
+     * Single log line per request: WARN for errors and slow requests, DEBUG otherwise.
+     */
+    private void logCompletion(ServerWebExchange exchange, String traceId, SignalType signalType, long elapsedNanos) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        long elapsedMs = elapsedNanos / 1_000_000;
+        boolean failed = signalType == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
 
-        return chain.filter(mutatedExchange)
-                .doFinally(signalType -> {
-                    log.info("Request completed: {} {} [traceId={}, signal={}]",
-                            request.getMethod(),
-                            request.getPath(),
-                            traceId,
-                            signalType);
-                    MDC.remove(TRACE_ID_MDC_KEY);
-                });
+        if (failed || elapsedNanos > slowThresholdNanos) {
+            log.warn("Request completed: {} {} -> {} in {} ms [traceId={}, signal={}]",
+                    request.getMethod(), request.getPath(), status, elapsedMs, traceId, signalType);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Request completed: {} {} -> {} in {} ms [traceId={}]",
+                    request.getMethod(), request.getPath(), status, elapsedMs, traceId);
+        }
     }
 
     @Override
@@ -0,0 +1,133 @@
+package sf.mephi.gateway.filter;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceIdFilterTest {
+
+    private static final String HEADER = "X-Correlation-ID";
+
+    private final TraceIdFilter filter = new TraceIdFilter(Duration.ofSeconds(1));
+
+    @BeforeAll
+    static void enableContextPropagation() {
+        CorrelationIdThreadLocalAccessor.register();
+        Hooks.enableAutomaticContextPropagation();
+    }
+
+    @AfterAll
+    static void disableContextPropagation() {
+        Hooks.disableAutomaticContextPropagation();
+    }
+
+    private static MockServerWebExchange exchange(String correlationId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/hotels");
+        if (correlationId != null) {
+            request.header(HEADER, correlationId);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    void filter_ShouldGenerateCorrelationId_WhenHeaderMissing() {
+        AtomicReference<String> forwarded = new AtomicReference<>();
+        AtomicReference<String> inMdc = new AtomicReference<>();
+        GatewayFilterChain chain = exchange -> Mono.fromRunnable(() -> {
+            forwarded.set(exchange.getRequest().getHeaders().getFirst(HEADER));
+            inMdc.set(MDC.get(CorrelationIdThreadLocalAccessor.KEY));
+        });
+
+        filter.filter(exchange(null), chain).block(Duration.ofSeconds(5));
+
+        assertNotNull(forwarded.get());
+        assertEquals(forwarded.get(), inMdc.get());
+        assertNull(MDC.get(CorrelationIdThreadLocalAccessor.KEY));
+    }
+
+    @Test
+    void filter_ShouldKeepIncomingCorrelationId() {
+        AtomicReference<String> forwarded = new AtomicReference<>();
+        GatewayFilterChain chain = exchange -> Mono.fromRunnable(() ->
+                forwarded.set(exchange.getRequest().getHeaders().getFirst(HEADER)));
+
+        filter.filter(exchange("incoming-id"), chain).block(Duration.ofSeconds(5));
+
+        assertEquals("incoming-id", forwarded.get());
+    }
+
+    @Test
+    void filter_ShouldNotMixCorrelationIds_WhenRequestsInterleave() throws InterruptedException {
+        int requests = 5_000;
+        Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        AtomicInteger checked = new AtomicInteger();
+
+        // Каждый запрос дважды меняет поток: таймер (parallel) и boundedElastic
+        GatewayFilterChain chain = exchange -> {
+            String expected = exchange.getRequest().getHeaders().getFirst(HEADER);
+            return Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextInt(3)))
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(tick -> {
+                        checked.incrementAndGet();
+                        String actual = MDC.get(CorrelationIdThreadLocalAccessor.KEY);
+                        if (!expected.equals(actual)) {
+                            mismatches.add(expected + " != " + actual);
+                        }
+                    })
+                    .then();
+        };
+
+        Flux.range(0, requests)
+                .flatMap(i -> filter.filter(exchange("req-" + i), chain), 512)
+                .then()
+                .block(Duration.ofSeconds(60));
+
+        assertEquals(requests, checked.get());
+        assertTrue(mismatches.isEmpty(), () -> mismatches.size() + " mixed IDs, e.g. " + mismatches.peek());
+        assertNull(MDC.get(CorrelationIdThreadLocalAccessor.KEY));
+        List<String> leaked = leakedIds();
+        assertTrue(leaked.isEmpty(), () -> "IDs left on worker threads: " + leaked);
+    }
+
+    /**
+     * Задачи, запущенные напрямую в пулах (без Reactor Context), не должны видеть чужой ID
+     */
+    private static List<String> leakedIds() throws InterruptedException {
+        int tasks = 512;
+        Queue<String> leaked = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(tasks * 2);
+        for (int i = 0; i < tasks; i++) {
+            Runnable check = () -> {
+                String value = MDC.get(CorrelationIdThreadLocalAccessor.KEY);
+                if (value != null) {
+                    leaked.add(Thread.currentThread().getName() + "=" + value);
+                }
+                done.countDown();
+            };
+            Schedulers.parallel().schedule(check);
+            Schedulers.boundedElastic().schedule(check);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return List.copyOf(leaked);
+    }
+}
@@ -0,0 +1,172 @@
+package sf.mephi.booking.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Адаптивный лимит одновременных вызовов (AIMD по латентности).
+ *
+ * - Increase: +1, если ответ в норме и лимит реально используется (inFlight >= limit / 2)
+ * - Decrease: limit * backoffRatio при ошибке или ответе дольше rttTolerance * сглаженной латентности;
+ *   не чаще одного раза за сглаженную латентность, чтобы пачка медленных ответов после
+ *   паузы GC уменьшала лимит один раз, а не обнуляла его
+ * - Вызовы сверх лимита сразу отклоняются, а не ждут в очереди потоков
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final double RTT_SMOOTHING = 0.05;
+
+    @Getter
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double rttTolerance;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Изменяются под this, читаются без блокировки
+    private volatile double limit;
+    private volatile double smoothedRttNanos;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double rttTolerance) {
+        this(name, initialLimit, minLimit, maxLimit, backoffRatio, rttTolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               double backoffRatio, double rttTolerance, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": initial=" + initialLimit
+                    + ", min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.rttTolerance = rttTolerance;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.lastDecreaseNanos = nanoClock.getAsLong() - Long.MAX_VALUE / 2;
+    }
+
+    /**
+     * Занять слот; пусто, если лимит исчерпан
+     */
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(nanoClock.getAsLong(), current + 1));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private synchronized void onSample(long startNanos, int inFlightAtStart, boolean dropped) {
+        long now = nanoClock.getAsLong();
+        long rtt = now - startNanos;
+        double baseline = smoothedRttNanos;
+
+        boolean slow = baseline > 0 && rtt > baseline * rttTolerance;
+        if (!dropped) {
+            smoothedRttNanos = baseline == 0 ? rtt : baseline + RTT_SMOOTHING * (rtt - baseline);
+        }
+
+        if (dropped || slow) {
+            if (now - lastDecreaseNanos >= (long) smoothedRttNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("booking.hotel.client.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("operation", name)
+                .register(registry);
+        Gauge.builder("booking.hotel.client.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("operation", name)
+                .register(registry);
+        FunctionCounter.builder("booking.hotel.client.concurrency.rejected", this,
+                        AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tag("operation", name)
+                .register(registry);
+    }
+
+    /**
+     * Занятый слот; ровно один из методов должен быть вызван по завершении вызова
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Успешный ответ: латентность учитывается в лимите
+         */
+        public void onSuccess() {
+            release(false, true);
+        }
+
+        /**
+         * Ошибка сервера, таймаут, обрыв соединения: лимит уменьшается
+         */
+        public void onDropped() {
+            release(true, true);
+        }
+
+        /**
+         * Ответ не характеризует нагрузку (например, 4xx): слот освобождается без замера
+         */
+        public void onIgnore() {
+            release(false, false);
+        }
+
+        private void release(boolean dropped, boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            if (sample) {
+                onSample(startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
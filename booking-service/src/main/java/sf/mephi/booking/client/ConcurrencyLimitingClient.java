@@ -0,0 +1,76 @@
+package sf.mephi.booking.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import sf.mephi.common.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Feign Client, ограничивающий число одновременных вызовов Hotel Service.
+ *
+ * - confirmAvailability, reserveRoom, changeReservation - отдельный лимит (запись под блокировкой номера, медленнее чтения)
+ * - GET-запросы - лимит на чтение
+ * - releaseSlot, revertReservationChange и прочие вызовы не ограничиваются: компенсация не должна отбрасываться
+ */
+@Slf4j
+public class ConcurrencyLimitingClient implements Client {
+
+    static final Set<String> CONFIRM_METHODS = Set.of("confirmAvailability", "reserveRoom", "changeReservation");
+
+    private final Client delegate;
+    private final AdaptiveConcurrencyLimiter confirmLimiter;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+
+    public ConcurrencyLimitingClient(Client delegate,
+                                     AdaptiveConcurrencyLimiter confirmLimiter,
+                                     AdaptiveConcurrencyLimiter readLimiter) {
+        this.delegate = delegate;
+        this.confirmLimiter = confirmLimiter;
+        this.readLimiter = readLimiter;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (limiter == null) {
+            return delegate.execute(request, options);
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow(() -> {
+            log.warn("Hotel service call rejected: {} concurrency limit {} reached", limiter.getName(), limiter.getLimit());
+            return new ServiceUnavailableException(
+                    "Hotel service is overloaded, please retry later (" + limiter.getName() + " limit reached)");
+        });
+
+        try {
+            Response response = delegate.execute(request, options);
+            int status = response.status();
+            if (status >= 500 || status == 429) {
+                permit.onDropped();
+            } else if (status >= 400) {
+                permit.onIgnore();
+            } else {
+                permit.onSuccess();
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            permit.onDropped();
+            throw e;
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+                && CONFIRM_METHODS.contains(request.requestTemplate().methodMetadata().method().getName())) {
+            return confirmLimiter;
+        }
+        if (request.httpMethod() == Request.HttpMethod.GET) {
+            return readLimiter;
+        }
+        return null;
+    }
+}
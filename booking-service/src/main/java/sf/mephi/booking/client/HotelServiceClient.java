@@ -5,13 +5,16 @@ import org.springframework.web.bind.annotation.*;
 import sf.mephi.common.constants.ApiConstants;
 import sf.mephi.booking.dto.external.RoomDTO;
 import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
+import sf.mephi.booking.dto.external.ChangeReservationRequest;
 import sf.mephi.booking.dto.external.ConfirmAvailabilityRequest;
+import sf.mephi.booking.dto.external.ReserveRoomRequest;
 
 import java.util.List;
 
 @FeignClient(
         name = "hotel-service",
-        path = ApiConstants.API_V1
+        path = ApiConstants.API_V1,
+        configuration = HotelServiceClientConfiguration.class
 )
 public interface HotelServiceClient {
 
@@ -27,12 +30,30 @@ public interface HotelServiceClient {
             @RequestBody ConfirmAvailabilityRequest request
     );
 
+    @PostMapping(ApiConstants.ROOMS_PATH + "/reserve")
+    AvailabilityConfirmationDTO reserveRoom(@RequestBody ReserveRoomRequest request);
+
+    @PostMapping(ApiConstants.ROOMS_PATH + "/{id}/change-reservation")
+    AvailabilityConfirmationDTO changeReservation(
+            @PathVariable(value = "id") Long id,
+            @RequestBody ChangeReservationRequest request
+    );
+
+    @PostMapping(ApiConstants.ROOMS_PATH + "/{id}/revert-change")
+    void revertReservationChange(
+            @PathVariable(value = "id") Long id,
+            @RequestBody ChangeReservationRequest request
+    );
+
     @PostMapping(ApiConstants.ROOMS_PATH + "/{id}/release")
     void releaseSlot(
             @PathVariable(value = "id") Long id,
             @RequestParam(value = "requestId") String requestId
     );
 
+    @PostMapping(ApiConstants.ROOMS_PATH + "/reserve/release")
+    void releaseReservation(@RequestParam(value = "requestId") String requestId);
+
     @GetMapping("/{hotelId}/rooms")
     List<RoomDTO> getRoomsByHotelId(long l);
 }
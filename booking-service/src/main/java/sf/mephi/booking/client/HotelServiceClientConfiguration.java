@@ -0,0 +1,41 @@
+package sf.mephi.booking.client;
+
+import feign.Capability;
+import feign.Client;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Конфигурация Feign только для {@link HotelServiceClient}.
+ * Намеренно без @Configuration: подключается через @FeignClient(configuration = ...),
+ * а не глобально при сканировании компонентов.
+ */
+public class HotelServiceClientConfiguration {
+
+    @Bean
+    public Capability concurrencyLimitCapability(
+            @Qualifier("hotelConfirmLimiter") AdaptiveConcurrencyLimiter confirmLimiter,
+            @Qualifier("hotelReadLimiter") AdaptiveConcurrencyLimiter readLimiter) {
+        return new ConcurrencyLimitCapability(confirmLimiter, readLimiter);
+    }
+
+    /**
+     * Feign вызывает enrich через reflection, поэтому класс должен быть public
+     */
+    public static class ConcurrencyLimitCapability implements Capability {
+
+        private final AdaptiveConcurrencyLimiter confirmLimiter;
+        private final AdaptiveConcurrencyLimiter readLimiter;
+
+        public ConcurrencyLimitCapability(AdaptiveConcurrencyLimiter confirmLimiter,
+                                          AdaptiveConcurrencyLimiter readLimiter) {
+            this.confirmLimiter = confirmLimiter;
+            this.readLimiter = readLimiter;
+        }
+
+        @Override
+        public Client enrich(Client client) {
+            return new ConcurrencyLimitingClient(client, confirmLimiter, readLimiter);
+        }
+    }
+}
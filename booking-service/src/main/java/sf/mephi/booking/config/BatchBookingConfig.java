@@ -0,0 +1,57 @@
+package sf.mephi.booking.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor параллельных вызовов Hotel Service для групповых бронирований.
+ *
+ * Пул и очередь ограничены; при переполнении задача выполняется в вызывающем потоке
+ * (естественное замедление вместо отказа). В потоки пула переносятся MDC (correlationId)
+ * и контекст трассировки, чтобы Feign-вызовы оставались в трейсе запроса.
+ */
+@Configuration
+public class BatchBookingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor bookingFanOutExecutor(
+            @Value("${booking.batch.parallelism:8}") int parallelism,
+            @Value("${booking.batch.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        ContextPropagatingTaskDecorator tracing = new ContextPropagatingTaskDecorator();
+        executor.setTaskDecorator(task -> {
+            Runnable traced = tracing.decorate(task);
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    traced.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        });
+        executor.initialize();
+        return executor;
+    }
+}
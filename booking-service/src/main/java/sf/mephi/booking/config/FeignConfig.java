@@ -0,0 +1,25 @@
+package sf.mephi.booking.config;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+/**
+ * Общая конфигурация Feign-клиентов.
+ * Trace-контекст (traceparent) пробрасывает Micrometer Tracing,
+ * здесь добавляется только X-Correlation-ID для логов Hotel Service.
+ */
+@Configuration
+public class FeignConfig {
+
+    @Bean
+    public RequestInterceptor correlationIdRequestInterceptor() {
+        return template -> {
+            String correlationId = CorrelationIdUtil.getCorrelationId();
+            if (correlationId != null && !template.headers().containsKey(CorrelationIdUtil.CORRELATION_ID_HEADER)) {
+                template.header(CorrelationIdUtil.CORRELATION_ID_HEADER, correlationId);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package sf.mephi.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sf.mephi.booking.client.AdaptiveConcurrencyLimiter;
+
+/**
+ * Adaptive concurrency limits for calls to Hotel Service (see {@link AdaptiveConcurrencyLimiter}).
+ * Confirm and read calls get separate limits so slow confirmations do not starve reads.
+ */
+@Configuration
+public class HotelClientConcurrencyConfig {
+
+    @Value("${hotel-client.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${hotel-client.concurrency.rtt-tolerance:2.0}")
+    private double rttTolerance;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter hotelConfirmLimiter(
+            @Value("${hotel-client.concurrency.confirm.initial-limit:10}") int initialLimit,
+            @Value("${hotel-client.concurrency.confirm.min-limit:2}") int minLimit,
+            @Value("${hotel-client.concurrency.confirm.max-limit:50}") int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("confirm", initialLimit, minLimit, maxLimit, backoffRatio, rttTolerance);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter hotelReadLimiter(
+            @Value("${hotel-client.concurrency.read.initial-limit:20}") int initialLimit,
+            @Value("${hotel-client.concurrency.read.min-limit:4}") int minLimit,
+            @Value("${hotel-client.concurrency.read.max-limit:100}") int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, minLimit, maxLimit, backoffRatio, rttTolerance);
+    }
+}
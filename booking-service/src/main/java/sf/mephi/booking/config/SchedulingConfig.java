@@ -0,0 +1,13 @@
+package sf.mephi.booking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи Booking Service (удаление истёкших refresh-токенов - RefreshTokenService,
+ * жизненный цикл бронирований - BookingLifecycleJob, архив завершённых - BookingArchiver)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,15 +1,49 @@
 package sf.mephi.booking.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import sf.mephi.booking.security.BCryptCostCalibrator;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * BCrypt и пул хеширования паролей.
+ *
+ * Стоимость BCrypt задаётся явно (booking.auth.bcrypt.cost) или подбирается при старте
+ * под booking.auth.bcrypt.target-time. Хеширование выполняется на отдельном пуле
+ * с ограниченной очередью (см. PasswordHasher): переполнение - отказ, а не ожидание.
+ */
 @Configuration
 public class SecurityBeansConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${booking.auth.bcrypt.cost:0}") int cost,
+            @Value("${booking.auth.bcrypt.target-time:250ms}") Duration targetTime,
+            @Value("${booking.auth.bcrypt.min-cost:10}") int minCost,
+            @Value("${booking.auth.bcrypt.max-cost:14}") int maxCost) {
+        int strength = cost > 0 ? cost : BCryptCostCalibrator.calibrate(targetTime, minCost, maxCost);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${booking.auth.hashing.threads:0}") int threads,
+            @Value("${booking.auth.hashing.queue-capacity:32}") int queueCapacity) {
+        // По умолчанию - половина CPU, остальное остаётся бронированиям
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auth-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
     }
 }
@@ -35,6 +35,10 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Admin actuator endpoints
+                        .requestMatchers("/actuator/logdebug", "/actuator/logdebug/**",
+                                "/actuator/criticalpath", "/actuator/criticalpath/**").hasRole("ADMIN")
+
                         // Public endpoints
                         .requestMatchers(
                                 ApiConstants.API_V1 + "/auth/**",
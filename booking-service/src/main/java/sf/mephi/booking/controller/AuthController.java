@@ -8,9 +8,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.security.SecurityConstants;
 import sf.mephi.booking.dto.request.AuthRequest;
+import sf.mephi.booking.dto.request.RefreshTokenRequest;
 import sf.mephi.booking.dto.request.RegisterRequest;
 import sf.mephi.booking.dto.response.AuthResponse;
+import sf.mephi.booking.dto.response.TokenRevocationsDTO;
+import sf.mephi.booking.service.TokenRevocationService;
 import sf.mephi.booking.service.UserService;
 
 @Slf4j
@@ -21,6 +25,7 @@ import sf.mephi.booking.service.UserService;
 public class AuthController {
 
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
     @Operation(
@@ -47,4 +52,45 @@ public class AuthController {
         AuthResponse response = userService.authenticate(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Exchanges a refresh token for a new access token and a rotated refresh token"
+    )
+    public ResponseEntity<AuthResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request) {
+
+        log.info("POST /api/v1/auth/refresh");
+        AuthResponse response = userService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the refresh token, all tokens rotated from it and the current access token"
+    )
+    public ResponseEntity<Void> logout(
+            @Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = SecurityConstants.JWT_HEADER, required = false) String authHeader) {
+
+        log.info("POST /api/v1/auth/logout");
+        String accessToken = authHeader != null && authHeader.startsWith(SecurityConstants.JWT_PREFIX)
+                ? authHeader.substring(SecurityConstants.JWT_PREFIX.length())
+                : null;
+        userService.logout(request, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/revocations")
+    @Operation(
+            summary = "Revoked tokens feed (INTERNAL)",
+            description = "Revoked access token ids after the cursor, for JWT filters of other services"
+    )
+    public ResponseEntity<TokenRevocationsDTO> revocations(
+            @RequestParam(defaultValue = "0") long after) {
+
+        return ResponseEntity.ok(tokenRevocationService.changesSince(after));
+    }
 }
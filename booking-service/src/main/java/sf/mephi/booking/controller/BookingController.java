@@ -15,10 +15,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import sf.mephi.common.constants.ApiConstants;
 import sf.mephi.common.dto.PageDTO;
+import sf.mephi.booking.dto.request.CreateBatchBookingRequest;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.request.UpdateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.service.BatchBookingService;
 import sf.mephi.booking.service.BookingService;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping(ApiConstants.API_V1 + ApiConstants.BOOKINGS_PATH)
@@ -28,6 +33,7 @@ import sf.mephi.booking.service.BookingService;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BatchBookingService batchBookingService;
 
     @GetMapping
     @Operation(
@@ -49,6 +55,7 @@ public class BookingController {
                 ? Sort.Direction.ASC
                 : Sort.Direction.DESC;
 
+        // Поле сортировки проверяет BookingService (ValidationException - 400)
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
         PageDTO<BookingDTO> bookings = bookingService.getUserBookings(username, pageable);
 
@@ -74,7 +81,8 @@ public class BookingController {
     @PostMapping
     @Operation(
             summary = "Create new booking",
-            description = "Creates a new booking using SAGA pattern (2-phase commit with compensation)"
+            description = "Creates a new booking using SAGA pattern (2-phase commit with compensation). " +
+                    "Without roomId the least-loaded room (optionally filtered by hotelId/roomType) is reserved"
     )
     public ResponseEntity<BookingDTO> createBooking(
             @Valid @RequestBody CreateBookingRequest request,
@@ -83,10 +91,47 @@ public class BookingController {
         String username = authentication.getName();
         log.info("POST /api/v1/bookings - user: {}, roomId: {}", username, request.getRoomId());
 
-        BookingDTO booking = bookingService.createBooking(request, username);
+        BookingDTO booking = request.getRoomId() == null
+                ? bookingService.createBookingWithAutoRoomSelection(request, username)
+                : bookingService.createBooking(request, username);
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create group booking",
+            description = "Books several rooms (possibly in different hotels) in one request. " +
+                    "Rooms are confirmed in parallel; if any room fails, confirmed rooms are released and nothing is booked"
+    )
+    public ResponseEntity<List<BookingDTO>> createBatchBooking(
+            @Valid @RequestBody CreateBatchBookingRequest request,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        log.info("POST /api/v1/bookings/batch - user: {}, items: {}", username, request.getBookings().size());
+
+        List<BookingDTO> bookings = batchBookingService.createBatch(request, username);
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookings);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Change booking",
+            description = "Changes booking dates and/or room in place (SAGA with compensation). " +
+                    "Nights shared with the current dates stay reserved; only added nights are checked"
+    )
+    public ResponseEntity<BookingDTO> changeBooking(
+            @PathVariable(value = "id") Long id,
+            @Valid @RequestBody UpdateBookingRequest request,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        log.info("PATCH /api/v1/bookings/{} - user: {}, roomId: {}", id, username, request.getRoomId());
+
+        BookingDTO changed = bookingService.changeBooking(id, request, username);
+        return ResponseEntity.ok(changed);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Cancel booking",
@@ -0,0 +1,22 @@
+package sf.mephi.booking.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeReservationRequest {
+    private String changeId;
+    private String requestId;
+    private Long previousRoomId;
+    private LocalDate previousStartDate;
+    private LocalDate previousEndDate;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
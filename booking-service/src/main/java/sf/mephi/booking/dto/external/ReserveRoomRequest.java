@@ -0,0 +1,21 @@
+package sf.mephi.booking.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sf.mephi.common.constants.RoomType;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveRoomRequest {
+    private String requestId;
+    private Long hotelId;
+    private RoomType roomType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
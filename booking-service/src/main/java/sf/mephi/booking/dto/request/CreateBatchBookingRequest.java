@@ -0,0 +1,25 @@
+package sf.mephi.booking.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateBatchBookingRequest {
+
+    /**
+     * Бронирования группы: все подтверждаются или ни одно (номера могут быть в разных отелях)
+     */
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 50, message = "Batch must not exceed 50 bookings")
+    private List<@Valid CreateBookingRequest> bookings;
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import sf.mephi.common.constants.RoomType;
 import sf.mephi.common.validation.ValidDateRange;
 
 import java.time.LocalDate;
@@ -17,8 +18,18 @@ import java.time.LocalDate;
 @ValidDateRange(start = "startDate", end = "endDate")
 public class CreateBookingRequest {
 
+    /**
+     * Не указан - номер подбирается автоматически (наименее загруженный)
+     */
     private Long roomId;
 
+    /**
+     * Фильтры автоподбора; игнорируются, если указан roomId
+     */
+    private Long hotelId;
+
+    private RoomType roomType;
+
     @NotNull(message = "Start date is required")
     private LocalDate startDate;
 
@@ -0,0 +1,29 @@
+package sf.mephi.booking.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sf.mephi.common.validation.ValidDateRange;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ValidDateRange(start = "startDate", end = "endDate")
+public class UpdateBookingRequest {
+
+    /**
+     * Не указан - номер бронирования не меняется
+     */
+    private Long roomId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+}
@@ -0,0 +1,34 @@
+package sf.mephi.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Страница ленты отозванных токенов: отзывы после курсора и повтор недавних до него.
+ * Смена epoch - лента начата заново (БД пересоздана), клиент читает её с начала.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationsDTO {
+
+    private String epoch;
+    private List<Entry> revocations;
+    private Long latestId;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private String tokenId;
+        private Instant expiresAt;
+    }
+}
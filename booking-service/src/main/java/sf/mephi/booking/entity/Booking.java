@@ -12,15 +12,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(
+        name = "bookings",
+        // Выборки по статусу (BookingLifecycleJob, findByStatus) идут диапазоном индекса в порядке id,
+        // а не проходом по всем завершённым строкам
+        indexes = @Index(name = "idx_bookings_status_id", columnList = "status, id")
+)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
 
+    // Последовательность с пулом: saveAll группового бронирования уходит одним пакетом INSERT
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,4 +57,12 @@ public class Booking {
 
     @Version
     private Integer version;
+
+    // Аренда строки экземпляром BookingLifecycleJob. Пишется только запросами задачи:
+    // сохранение сущности аренду не затирает
+    @Column(name = "lease_owner", length = 64, insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_until", insertable = false, updatable = false)
+    private LocalDateTime leaseUntil;
 }
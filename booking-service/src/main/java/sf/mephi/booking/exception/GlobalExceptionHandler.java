@@ -0,0 +1,42 @@
+package sf.mephi.booking.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import sf.mephi.common.dto.ErrorDTO;
+import sf.mephi.common.exception.BaseException;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ошибки Booking Service в формате ErrorDTO (как в Hotel Service).
+ * Статус ответа берётся из исключения: ValidationException - 400, NotFoundException - 404 и т.д.;
+ * прочие исключения обрабатываются Spring по умолчанию
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(BaseException.class)
+    public ResponseEntity<ErrorDTO> handleBaseException(
+            BaseException ex, WebRequest request) {
+
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode());
+        log.error("{} exception: {}", ex.getClass().getSimpleName(), ex.getMessage());
+
+        ErrorDTO error = ErrorDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .traceId(CorrelationIdUtil.getCorrelationId())
+                .build();
+
+        return ResponseEntity.status(status).body(error);
+    }
+}
@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.entity.ArchivedBooking;
 import sf.mephi.booking.entity.Booking;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
@@ -14,6 +15,18 @@ public interface BookingMapper {
     @Mapping(target = "username", source = "user.username")
     BookingDTO toDTO(Booking booking);
 
+    /**
+     * Имя пользователя уже известно (из JWT): ленивая связь user не загружается
+     */
+    @Mapping(target = "userId", source = "booking.user.id")
+    @Mapping(target = "username", source = "username")
+    BookingDTO toDTO(Booking booking, String username);
+
+    /**
+     * Архивное бронирование (BookingArchiver) в том же виде, что и действующее
+     */
+    BookingDTO toDTO(ArchivedBooking booking, String username);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "status", ignore = true)
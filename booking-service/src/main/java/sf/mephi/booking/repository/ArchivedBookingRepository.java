@@ -0,0 +1,34 @@
+package sf.mephi.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sf.mephi.booking.entity.ArchivedBooking;
+import sf.mephi.common.constants.BookingStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // Без подсчёта: число архивных бронирований пользователя - счётчик users.archived_bookings
+    List<ArchivedBooking> findByUserId(Long userId, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    Optional<ArchivedBooking> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Копирование пачки из bookings одним INSERT ... SELECT
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, userId, roomId, startDate, endDate, status, requestId, createdAt, archivedAt) " +
+            "SELECT b.id, b.user.id, b.roomId, b.startDate, b.endDate, b.status, b.requestId, b.createdAt, LOCAL DATETIME " +
+            "FROM Booking b WHERE b.id IN :ids AND b.status IN :statuses")
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<BookingStatus> statuses);
+}
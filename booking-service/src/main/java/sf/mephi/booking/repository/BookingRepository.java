@@ -3,12 +3,17 @@ package sf.mephi.booking.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import sf.mephi.booking.entity.Booking;
 import sf.mephi.common.constants.BookingStatus;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +22,53 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Page<Booking> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Бронирование и счётчик архива его владельца (users.archived_bookings)
+     */
+    interface UserBookingRow {
+        Booking getBooking();
+
+        long getArchivedBookings();
+    }
+
+    /**
+     * Страница бронирований пользователя; счётчик архива приходит в той же выборке
+     */
+    @Query(value = "SELECT b AS booking, u.archivedBookings AS archivedBookings FROM Booking b JOIN b.user u " +
+            "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId")
+    Page<UserBookingRow> findPageWithArchivedCount(@Param("userId") Long userId, Pageable pageable);
+
     Optional<Booking> findByRequestId(String requestId);
 
+    /**
+     * Бронирование пользователя: владелец проверяется в том же запросе, связь user не загружается
+     */
+    Optional<Booking> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Отмена бронирования одним UPDATE: владелец и статус проверяются условием.
+     * Отменяется только CONFIRMED: PENDING завершает сага или BookingLifecycleJob, иначе слот освободили бы дважды.
+     * 0 - бронирования нет, оно чужое, ещё PENDING или уже отменено/завершено (слот освобождён ранее)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = sf.mephi.common.constants.BookingStatus.CANCELLED, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.user.id = :userId " +
+            "AND b.status = sf.mephi.common.constants.BookingStatus.CONFIRMED")
+    int cancelOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Завершение саги createBooking: PENDING → to отдельной транзакцией.
+     * 0 - бронирование уже не PENDING (BookingLifecycleJob перевёл его в FAILED по pending-timeout)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.version = b.version + 1, " +
+            "b.leaseOwner = NULL, b.leaseUntil = NULL " +
+            "WHERE b.id = :id AND b.status = sf.mephi.common.constants.BookingStatus.PENDING")
+    int completePending(@Param("id") Long id, @Param("to") BookingStatus to);
+
     @Query("SELECT b FROM Booking b WHERE b.status <> :status")
     List<Booking> findActiveBookings(@Param("status") BookingStatus status);
 
@@ -31,4 +81,73 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.roomId = :roomId AND b.status = :status")
     long countByRoomIdAndStatus(@Param("roomId") Long roomId,
                                 @Param("status") BookingStatus status);
+
+    // ===== BookingLifecycleJob: выборки по ключу (id > курсора) пачками, без строк в чужой аренде =====
+
+    /**
+     * PENDING, созданные раньше createdBefore: сага оборвалась (сбой экземпляра между шагами)
+     */
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.status = sf.mephi.common.constants.BookingStatus.PENDING AND b.id > :afterId " +
+            "AND b.createdAt < :createdBefore " +
+            "AND (b.leaseUntil IS NULL OR b.leaseUntil < :now) " +
+            "ORDER BY b.id")
+    List<Long> findStalePendingIds(@Param("afterId") long afterId,
+                                   @Param("createdBefore") LocalDateTime createdBefore,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+
+    /**
+     * CONFIRMED с датой выезда раньше today
+     */
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.status = sf.mephi.common.constants.BookingStatus.CONFIRMED AND b.id > :afterId " +
+            "AND b.endDate < :today " +
+            "AND (b.leaseUntil IS NULL OR b.leaseUntil < :now) " +
+            "ORDER BY b.id")
+    List<Long> findFinishedIds(@Param("afterId") long afterId,
+                               @Param("today") LocalDate today,
+                               @Param("now") LocalDateTime now,
+                               Pageable pageable);
+
+    /**
+     * Аренда пачки: строки, уже взятые другим экземпляром (аренда не истекла) или сменившие статус, пропускаются
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.leaseOwner = :owner, b.leaseUntil = :until " +
+            "WHERE b.id IN :ids AND b.status = :status " +
+            "AND (b.leaseUntil IS NULL OR b.leaseUntil < :now)")
+    int lease(@Param("ids") Collection<Long> ids,
+              @Param("status") BookingStatus status,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    List<Booking> findByIdInAndLeaseOwner(Collection<Long> ids, String leaseOwner);
+
+    /**
+     * Смена статуса арендованной строки; 0 - статус уже изменён (например, отмена пользователем)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.version = b.version + 1, " +
+            "b.leaseOwner = NULL, b.leaseUntil = NULL " +
+            "WHERE b.id = :id AND b.status = :from AND b.leaseOwner = :owner")
+    int transition(@Param("id") Long id,
+                   @Param("from") BookingStatus from,
+                   @Param("to") BookingStatus to,
+                   @Param("owner") String owner);
+
+    // ===== BookingArchiver: перенос завершённых бронирований в bookings_archive =====
+
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.status IN :statuses AND b.id > :afterId AND b.endDate < :endBefore " +
+            "ORDER BY b.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<BookingStatus> statuses,
+                                 @Param("afterId") long afterId,
+                                 @Param("endBefore") LocalDate endBefore,
+                                 Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids AND b.status IN :statuses")
+    int deleteArchived(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<BookingStatus> statuses);
 }
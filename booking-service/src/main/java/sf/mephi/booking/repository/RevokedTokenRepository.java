@@ -0,0 +1,40 @@
+package sf.mephi.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sf.mephi.booking.entity.RevokedToken;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Лента отзывов после курсора (по возрастанию id)
+     */
+    List<RevokedToken> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Недавние отзывы до курсора: повтор для строк, зафиксированных позже строк с большим id
+     */
+    List<RevokedToken> findByIdLessThanEqualAndRevokedAtAfterOrderByIdAsc(
+            Long afterId, LocalDateTime revokedAfter, Pageable pageable);
+
+    @Query("SELECT MAX(t.id) FROM RevokedToken t")
+    Optional<Long> findLatestId();
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,9 +1,13 @@
 package sf.mephi.booking.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sf.mephi.booking.entity.User;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +15,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Только id пользователя, без загрузки сущности
+     */
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.archivedBookings FROM User u WHERE u.id = :id")
+    Optional<Long> findArchivedBookingsById(@Param("id") Long id);
+
+    /**
+     * Учесть пачку, скопированную в архив: счётчики владельцев растут на число их бронирований в пачке
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.archivedBookings = u.archivedBookings + " +
+            "(SELECT COUNT(a) FROM ArchivedBooking a WHERE a.userId = u.id AND a.id IN :ids) " +
+            "WHERE u.id IN (SELECT a.userId FROM ArchivedBooking a WHERE a.id IN :ids)")
+    int addArchivedBookings(@Param("ids") Collection<Long> ids);
 }
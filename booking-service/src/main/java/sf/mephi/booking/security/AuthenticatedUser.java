@@ -0,0 +1,15 @@
+package sf.mephi.booking.security;
+
+import java.security.Principal;
+
+/**
+ * Пользователь из JWT: имя и id (null для токенов, выпущенных без id).
+ * getName() - имя, поэтому Authentication.getName() возвращает username, как и раньше.
+ */
+public record AuthenticatedUser(String username, Long userId) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,58 @@
+package sf.mephi.booking.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Подбор стоимости BCrypt под целевое время хеширования на текущем железе.
+ *
+ * Время хеширования измеряется на минимальной стоимости (лучший из нескольких замеров после прогрева),
+ * каждая следующая стоимость удваивает работу - выбирается наибольшая, укладывающаяся в целевое время.
+ * Результат ограничен [minCost, maxCost]: на медленном железе стоимость не опускается ниже minCost.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String PROBE = "calibration-probe";
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Стоимость BCrypt для целевого времени хеширования
+     */
+    public static int calibrate(Duration targetTime, int minCost, int maxCost) {
+        String salt = BCrypt.gensalt(minCost);
+        BCrypt.hashpw(PROBE, salt); // прогрев
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(PROBE, salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int cost = choose(best, minCost, maxCost, targetTime.toNanos());
+        log.info("BCrypt cost calibrated: {} (cost {} takes {} ms, target {} ms)",
+                cost, minCost, best / 1_000_000, targetTime.toMillis());
+        return cost;
+    }
+
+    /**
+     * Наибольшая стоимость, время которой (nanosAtMinCost * 2^(cost - minCost)) не превышает цель
+     */
+    static int choose(long nanosAtMinCost, int minCost, int maxCost, long targetNanos) {
+        if (minCost > maxCost) {
+            throw new IllegalArgumentException("minCost must not exceed maxCost");
+        }
+        int cost = minCost;
+        long estimated = Math.max(1, nanosAtMinCost);
+        while (cost < maxCost && estimated * 2 <= targetNanos) {
+            estimated *= 2;
+            cost++;
+        }
+        return cost;
+    }
+}
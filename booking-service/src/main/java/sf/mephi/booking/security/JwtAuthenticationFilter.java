@@ -1,5 +1,6 @@
 package sf.mephi.booking.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import sf.mephi.common.security.JwtUtil;
+import sf.mephi.common.security.TokenRevocationList;
+import sf.mephi.common.util.CorrelationIdUtil;
 
 import java.io.IOException;
 import java.util.List;
@@ -25,6 +28,7 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(
@@ -33,37 +37,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        // Установка correlation ID (приходит от API Gateway)
+        String correlationId = request.getHeader(CorrelationIdUtil.CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = CorrelationIdUtil.generateCorrelationId();
+        }
+        CorrelationIdUtil.setCorrelationId(correlationId);
+
+        try {
+            authenticate(request);
+            filterChain.doFilter(request, response);
+        } finally {
+            CorrelationIdUtil.clearCorrelationId();
+        }
+    }
+
+    private void authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            final String jwt = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(jwt);
+            // Токен разбирается один раз: подпись и срок действия проверяет parse, claims читаются из результата
+            final Claims claims = jwtUtil.parse(authHeader.substring(7));
+            final String username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.isTokenValid(jwt, username)) {
-                    List<String> roles = jwtUtil.extractRoles(jwt);
-                    List<SimpleGrantedAuthority> authorities = roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
+                // Фильтр Блума: для неотозванного токена - несколько чтений бит
+                if (tokenRevocationList.isRevoked(claims.getId())) {
+                    log.debug("Revoked token presented by user '{}'", username);
+                    return;
+                }
+                List<String> roles = jwtUtil.extractRoles(claims);
+                List<SimpleGrantedAuthority> authorities = roles.stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
 
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
+                // id пользователя из токена избавляет сервисы от поиска пользователя по имени
+                AuthenticatedUser principal = new AuthenticatedUser(username, jwtUtil.extractUserId(claims));
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    log.debug("User '{}' authenticated with roles: {}", username, roles);
-                }
+                log.debug("User '{}' authenticated with roles: {}", username, roles);
             }
         } catch (Exception e) {
             log.error("JWT authentication failed: {}", e.getMessage());
         }
-
-        filterChain.doFilter(request, response);
     }
 }
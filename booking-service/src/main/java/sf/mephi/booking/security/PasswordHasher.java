@@ -0,0 +1,82 @@
+package sf.mephi.booking.security;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import sf.mephi.common.exception.TooManyRequestsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Хеширование и проверка паролей на выделенном ограниченном executor.
+ *
+ * - BCrypt не занимает потоки Tomcat: всплеск логинов ограничен пулом хеширования,
+ *   остальные CPU остаются бронированиям
+ * - Очередь пула ограничена; при переполнении запрос сразу получает 429 вместо ожидания
+ * - verify за одну задачу проверяет пароль и, если стоимость BCrypt выросла, перехеширует его
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String ERROR_OVERLOADED = "Too many authentication requests, please retry later";
+
+    private final PasswordEncoder passwordEncoder;
+    private final Executor executor;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashingExecutor") Executor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+    }
+
+    /**
+     * Хеш нового пароля
+     */
+    public String hash(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Проверить пароль; для хеша с устаревшей стоимостью вернуть и новый хеш
+     */
+    public Verification verify(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return Verification.REJECTED;
+            }
+            String rehashed = passwordEncoder.upgradeEncoding(encodedPassword)
+                    ? passwordEncoder.encode(rawPassword)
+                    : null;
+            return new Verification(true, rehashed);
+        });
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor).join();
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(ERROR_OVERLOADED);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Результат проверки пароля; upgradedHash - новый хеш, если стоимость BCrypt изменилась
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+
+        static final Verification REJECTED = new Verification(false, null);
+
+        public boolean needsRehash() {
+            return upgradedHash != null;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package sf.mephi.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.constants.BookingStatus;
+import sf.mephi.common.exception.BaseException;
+import sf.mephi.common.exception.ServiceUnavailableException;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.common.util.CorrelationIdUtil;
+import sf.mephi.common.util.IdGenerator;
+import sf.mephi.booking.client.HotelServiceClient;
+import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
+import sf.mephi.booking.dto.external.ConfirmAvailabilityRequest;
+import sf.mephi.booking.dto.external.ReserveRoomRequest;
+import sf.mephi.booking.dto.request.CreateBatchBookingRequest;
+import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.entity.Booking;
+import sf.mephi.booking.entity.User;
+import sf.mephi.booking.mapper.BookingMapper;
+import sf.mephi.booking.repository.BookingRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Групповое бронирование (всё или ничего).
+ *
+ * Flow:
+ * Step 1: Подтверждение всех номеров в Hotel Service параллельно на ограниченном executor
+ *         (номер указан - confirmAvailability, не указан - reserveRoom)
+ * Step 2a: Все подтверждены → бронирования сохраняются одной пачкой в статусе CONFIRMED
+ * Step 2b: Хотя бы одно не подтверждено → освобождаются параллельно все слоты, кроме явно отклонённых
+ *          Hotel Service: вызов с таймаутом или ошибкой ввода-вывода мог занять номер.
+ *          Освобождение идемпотентно, бронирования не создаются
+ *
+ * Задержка группы - самый медленный вызов, а не сумма вызовов.
+ */
+@Slf4j
+@Service
+public class BatchBookingService {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final UserService userService;
+    private final HotelServiceClient hotelServiceClient;
+    private final Executor fanOutExecutor;
+
+    public BatchBookingService(BookingService bookingService,
+                               BookingRepository bookingRepository,
+                               BookingMapper bookingMapper,
+                               UserService userService,
+                               HotelServiceClient hotelServiceClient,
+                               @Qualifier("bookingFanOutExecutor") Executor fanOutExecutor) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.userService = userService;
+        this.hotelServiceClient = hotelServiceClient;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    /**
+     * Создать бронирования группы номеров для одного пользователя
+     */
+    public List<BookingDTO> createBatch(CreateBatchBookingRequest request, String username) {
+        List<CreateBookingRequest> items = request.getBookings();
+        log.info("Starting batch booking for user: {}, items: {}, correlationId: {}",
+                username, items.size(), CorrelationIdUtil.getCorrelationId());
+
+        validate(items);
+        User user = userService.getUserReference(username);
+
+        // ========================================
+        // Step 1: Параллельное подтверждение в Hotel Service
+        // ========================================
+        List<CompletableFuture<Leg>> futures = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Leg leg = new Leg(i, items.get(i), IdGenerator.nextId());
+            futures.add(CompletableFuture.supplyAsync(() -> confirm(leg), fanOutExecutor)
+                    .exceptionally(e -> leg.failed(unwrap(e))));
+        }
+        List<Leg> legs = futures.stream().map(CompletableFuture::join).toList();
+
+        List<Leg> confirmed = legs.stream().filter(Leg::isConfirmed).toList();
+        Leg failed = legs.stream().filter(leg -> !leg.isConfirmed()).findFirst().orElse(null);
+
+        if (failed != null) {
+            // ========================================
+            // Step 2b: Компенсация всех слотов, кроме отклонённых
+            // ========================================
+            List<Leg> reserved = legs.stream().filter(leg -> !leg.refused()).toList();
+            log.warn("Batch booking failed at item {}: {}. Releasing {} rooms ({} confirmed)",
+                    failed.index(), failed.error().getMessage(), reserved.size(), confirmed.size());
+            compensate(reserved);
+            throw failure(failed);
+        }
+
+        // ========================================
+        // Step 2a: Сохранение бронирований
+        // ========================================
+        try {
+            List<Booking> bookings = confirmed.stream().map(leg -> toBooking(leg, user)).toList();
+            List<BookingDTO> saved = bookingRepository.saveAll(bookings).stream()
+                    .map(booking -> bookingMapper.toDTO(booking, username))
+                    .toList();
+            log.info("Batch booking completed: {} bookings confirmed for user: {}", saved.size(), username);
+            return saved;
+        } catch (RuntimeException e) {
+            log.error("Failed to save batch bookings, releasing {} rooms", confirmed.size(), e);
+            compensate(confirmed);
+            throw e;
+        }
+    }
+
+    private void validate(List<CreateBookingRequest> items) {
+        Set<Long> roomIds = new HashSet<>();
+        for (CreateBookingRequest item : items) {
+            bookingService.validateBookingDates(item);
+            if (item.getRoomId() != null && !roomIds.add(item.getRoomId())) {
+                throw new ValidationException("Room " + item.getRoomId() + " is listed more than once in the batch");
+            }
+        }
+    }
+
+    private Leg confirm(Leg leg) {
+        CreateBookingRequest item = leg.request();
+        AvailabilityConfirmationDTO confirmation;
+        if (item.getRoomId() != null) {
+            confirmation = hotelServiceClient.confirmAvailability(item.getRoomId(), ConfirmAvailabilityRequest.builder()
+                    .requestId(leg.requestId())
+                    .startDate(item.getStartDate())
+                    .endDate(item.getEndDate())
+                    .build());
+        } else {
+            confirmation = hotelServiceClient.reserveRoom(ReserveRoomRequest.builder()
+                    .requestId(leg.requestId())
+                    .hotelId(item.getHotelId())
+                    .roomType(item.getRoomType())
+                    .startDate(item.getStartDate())
+                    .endDate(item.getEndDate())
+                    .build());
+        }
+
+        if (!Boolean.TRUE.equals(confirmation.getConfirmed())) {
+            return leg.refused(new ValidationException(item.getRoomId() != null
+                    ? ApiConstants.ERROR_ROOM_UNAVAILABLE
+                    : "No available rooms found"));
+        }
+        return leg.confirmed(confirmation.getRoomId() != null ? confirmation.getRoomId() : item.getRoomId());
+    }
+
+    /**
+     * Освобождение слотов параллельно (с повторами внутри compensateBooking).
+     * Номер элемента без ответа - указанный в запросе, при автоподборе слот ищется по requestId
+     */
+    private void compensate(List<Leg> legs) {
+        CompletableFuture.allOf(legs.stream()
+                        .map(leg -> CompletableFuture.runAsync(() -> bookingService.compensateBooking(
+                                leg.roomId() != null ? leg.roomId() : leg.request().getRoomId(), leg.requestId()),
+                                fanOutExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private Booking toBooking(Leg leg, User user) {
+        Booking booking = bookingMapper.toEntity(leg.request());
+        booking.setRoomId(leg.roomId());
+        booking.setUser(user);
+        booking.setRequestId(leg.requestId());
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private static RuntimeException failure(Leg failed) {
+        // Отказ лимита конкурентности отдаём как есть (503), остальное - ошибка конкретного элемента группы
+        if (failed.error() instanceof ServiceUnavailableException overloaded) {
+            return overloaded;
+        }
+        String reason = failed.error() instanceof BaseException ? failed.error().getMessage() : "Hotel service error";
+        return new ValidationException(String.format("Batch booking failed at item %d: %s", failed.index(), reason));
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Элемент группы и результат его подтверждения; refused - Hotel Service ответил отказом, слот не занят
+     */
+    private record Leg(int index, CreateBookingRequest request, String requestId, Long roomId, Throwable error,
+                       boolean refused) {
+
+        Leg(int index, CreateBookingRequest request, String requestId) {
+            this(index, request, requestId, null, null, false);
+        }
+
+        Leg confirmed(Long confirmedRoomId) {
+            return new Leg(index, request, requestId, confirmedRoomId, null, false);
+        }
+
+        Leg refused(Throwable cause) {
+            return new Leg(index, request, requestId, null, cause, true);
+        }
+
+        Leg failed(Throwable cause) {
+            return new Leg(index, request, requestId, null, cause, false);
+        }
+
+        boolean isConfirmed() {
+            return error == null && roomId != null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package sf.mephi.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.booking.repository.ArchivedBookingRepository;
+import sf.mephi.booking.repository.BookingRepository;
+import sf.mephi.booking.repository.UserRepository;
+import sf.mephi.common.constants.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Перенос завершённых бронирований в архив (bookings_archive).
+ *
+ * - COMPLETED и CANCELLED с датой выезда старше retention переносятся пачками по batch-size
+ *   (обход по ключу id, не больше max-batches за запуск): INSERT ... SELECT в архив и DELETE из bookings
+ *   в одной транзакции; там же растёт счётчик users.archived_bookings (по нему getUserBookings
+ *   решает, читать ли архив)
+ * - Эти статусы конечные (отмена и BookingLifecycleJob их не меняют), поэтому строки не арендуются:
+ *   пачку, уже перенесённую другим экземпляром, отклоняет первичный ключ архива
+ * - В bookings остаются действующие и недавние бронирования: индексы по статусу и пользователю
+ *   не растут с объёмом за всё время. История пользователя объединяется в BookingService.getUserBookings
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    static final Set<BookingStatus> ARCHIVED_STATUSES = EnumSet.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED);
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           ArchivedBookingRepository archivedBookingRepository,
+                           UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${booking.archive.retention:90d}") Duration retention,
+                           @Value("${booking.archive.batch-size:500}") int batchSize,
+                           @Value("${booking.archive.max-batches:100}") int maxBatches) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.archive.interval:1h}",
+            initialDelayString = "${booking.archive.interval:1h}")
+    public void run() {
+        int archived = archive();
+        if (archived > 0) {
+            log.info("Archived {} finished bookings", archived);
+        }
+    }
+
+    /**
+     * Перенести в архив бронирования с датой выезда раньше today - retention
+     */
+    public int archive() {
+        LocalDate endBefore = LocalDate.now().minusDays(retention.toDays());
+        long cursor = 0;
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = bookingRepository.findArchivableIds(
+                    ARCHIVED_STATUSES, cursor, endBefore, PageRequest.ofSize(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+
+            try {
+                archived += transactionTemplate.execute(status -> moveBatch(ids));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Archive batch after id {} already moved by another instance", ids.get(0));
+            }
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private int moveBatch(List<Long> ids) {
+        int copied = archivedBookingRepository.copyFromBookings(ids, ARCHIVED_STATUSES);
+        userRepository.addArchivedBookings(ids);
+        int deleted = bookingRepository.deleteArchived(ids, ARCHIVED_STATUSES);
+        if (copied != deleted) {
+            // Откат транзакции: пачка переносится заново на следующем запуске
+            throw new IllegalStateException(String.format(
+                    "Archive batch mismatch: copied %d, deleted %d", copied, deleted));
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,141 @@
+package sf.mephi.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.booking.entity.Booking;
+import sf.mephi.booking.repository.BookingRepository;
+import sf.mephi.common.constants.BookingStatus;
+import sf.mephi.common.util.IdGenerator;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Жизненный цикл бронирований по расписанию.
+ *
+ * - PENDING старше pending-timeout (сага оборвалась между шагами) → FAILED, слот в Hotel Service освобождается
+ * - CONFIRMED с прошедшей датой выезда → COMPLETED, загрузка номера в Hotel Service снимается
+ * - Бронирования обходятся по ключу (id > курсора) пачками по batch-size, не больше max-batches за запуск;
+ *   выборка идёт по индексу (status, id) и не читает завершённые строки
+ * - Пачка арендуется экземпляром на lease (lease_owner, lease_until): другие экземпляры её пропускают,
+ *   аренда упавшего экземпляра истекает. Статус меняется условным UPDATE (from → to), поэтому
+ *   параллельная отмена пользователем и задача не освобождают слот дважды
+ * - Hotel Service вызывается после коммита смены статуса (compensateBooking, с повторами)
+ */
+@Slf4j
+@Component
+public class BookingLifecycleJob {
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pendingTimeout;
+    private final Duration lease;
+    // Владелец аренды - этот экземпляр сервиса
+    private final String owner = IdGenerator.nextId();
+
+    public BookingLifecycleJob(BookingRepository bookingRepository,
+                               BookingService bookingService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${booking.lifecycle.batch-size:100}") int batchSize,
+                               @Value("${booking.lifecycle.max-batches:50}") int maxBatches,
+                               @Value("${booking.lifecycle.pending-timeout:15m}") Duration pendingTimeout,
+                               @Value("${booking.lifecycle.lease:5m}") Duration lease) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.pendingTimeout = pendingTimeout;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.lifecycle.interval:1m}",
+            initialDelayString = "${booking.lifecycle.interval:1m}")
+    public void run() {
+        int failed = expireStalePending();
+        int completed = completeFinished();
+        if (failed > 0 || completed > 0) {
+            log.info("Booking lifecycle: {} stale PENDING failed, {} finished bookings completed", failed, completed);
+        }
+    }
+
+    /**
+     * PENDING старше pending-timeout → FAILED
+     */
+    public int expireStalePending() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(pendingTimeout);
+        return process(BookingStatus.PENDING, BookingStatus.FAILED,
+                (afterId, now, page) -> bookingRepository.findStalePendingIds(afterId, createdBefore, now, page));
+    }
+
+    /**
+     * CONFIRMED с датой выезда раньше сегодняшней → COMPLETED
+     */
+    public int completeFinished() {
+        LocalDate today = LocalDate.now();
+        return process(BookingStatus.CONFIRMED, BookingStatus.COMPLETED,
+                (afterId, now, page) -> bookingRepository.findFinishedIds(afterId, today, now, page));
+    }
+
+    private int process(BookingStatus from, BookingStatus to, Candidates candidates) {
+        long cursor = 0;
+        int processed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = candidates.find(cursor, now, PageRequest.ofSize(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+
+            // Аренда фиксируется отдельной транзакцией: другие экземпляры сразу пропускают пачку, а не ждут блокировок
+            List<Booking> leased = transactionTemplate.execute(status -> {
+                bookingRepository.lease(ids, from, owner, now, now.plus(lease));
+                return bookingRepository.findByIdInAndLeaseOwner(ids, owner);
+            });
+            if (leased.isEmpty()) {
+                continue;
+            }
+
+            List<Booking> moved = transactionTemplate.execute(status -> {
+                List<Booking> transitioned = new ArrayList<>();
+                for (Booking booking : leased) {
+                    if (bookingRepository.transition(booking.getId(), from, to, owner) == 1) {
+                        transitioned.add(booking);
+                    }
+                }
+                return transitioned;
+            });
+
+            for (Booking booking : moved) {
+                if (booking.getRequestId() != null) {
+                    bookingService.compensateBooking(booking.getRoomId(), booking.getRequestId());
+                }
+                log.debug("Booking {} moved {} -> {}", booking.getId(), from, to);
+            }
+            processed += moved.size();
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    @FunctionalInterface
+    private interface Candidates {
+        List<Long> find(long afterId, LocalDateTime now, Pageable page);
+    }
+}
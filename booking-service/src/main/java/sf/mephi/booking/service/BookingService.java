@@ -6,30 +6,47 @@ import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import sf.mephi.common.constants.ApiConstants;
 import sf.mephi.common.constants.BookingStatus;
 import sf.mephi.common.dto.PageDTO;
+import sf.mephi.common.exception.BaseException;
 import sf.mephi.common.exception.NotFoundException;
+import sf.mephi.common.exception.ServiceUnavailableException;
 import sf.mephi.common.exception.ValidationException;
 import sf.mephi.common.util.CorrelationIdUtil;
+import sf.mephi.common.util.IdGenerator;
 import sf.mephi.booking.client.HotelServiceClient;
 import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
+import sf.mephi.booking.dto.external.ChangeReservationRequest;
 import sf.mephi.booking.dto.external.ConfirmAvailabilityRequest;
+import sf.mephi.booking.dto.external.ReserveRoomRequest;
 import sf.mephi.booking.dto.external.RoomDTO;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.request.UpdateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.entity.ArchivedBooking;
 import sf.mephi.booking.entity.Booking;
 import sf.mephi.booking.entity.User;
 import sf.mephi.booking.mapper.BookingMapper;
+import sf.mephi.booking.repository.ArchivedBookingRepository;
 import sf.mephi.booking.repository.BookingRepository;
 
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -37,21 +54,82 @@ import java.util.UUID;
 public class BookingService {
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final BookingMapper bookingMapper;
     private final UserService userService;
     private final HotelServiceClient hotelServiceClient;
 
     /**
-     * Получить все бронирования пользователя с пагинацией
+     * Поля сортировки истории: есть и в bookings, и в bookings_archive.
+     * Значения для слияния страниц берутся из сущностей; status - по имени, как строка в БД
+     */
+    private static final Map<String, SortKey> SORT_KEYS = Map.of(
+            "id", new SortKey(Booking::getId, ArchivedBooking::getId),
+            "roomId", new SortKey(Booking::getRoomId, ArchivedBooking::getRoomId),
+            "startDate", new SortKey(Booking::getStartDate, ArchivedBooking::getStartDate),
+            "endDate", new SortKey(Booking::getEndDate, ArchivedBooking::getEndDate),
+            "status", new SortKey(b -> b.getStatus().name(), a -> a.getStatus().name()),
+            "createdAt", new SortKey(Booking::getCreatedAt, ArchivedBooking::getCreatedAt));
+
+    private record SortKey(Function<Booking, Comparable<?>> current, Function<ArchivedBooking, Comparable<?>> archived) {
+    }
+
+    private record SortedRow(List<Comparable<?>> key, BookingDTO booking) {
+    }
+
+    /**
+     * Получить все бронирования пользователя с пагинацией (действующие и архивные, см. BookingArchiver)
      */
     @Transactional(readOnly = true)
     public PageDTO<BookingDTO> getUserBookings(String username, Pageable pageable) {
         log.info("Fetching bookings for user: {}", username);
 
-        User user = userService.getUserByUsername(username);
-        Page<Booking> page = bookingRepository.findByUserId(user.getId(), pageable);
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_KEYS.containsKey(order.getProperty())) {
+                throw new ValidationException("Unsupported sort property: " + order.getProperty());
+            }
+        }
+
+        Long userId = userService.getUserId(username);
+        // Счётчик архива приходит вместе со страницей; отдельно он читается, только если страница пуста
+        Page<BookingRepository.UserBookingRow> page = bookingRepository.findPageWithArchivedCount(userId, pageable);
+        long archived = page.hasContent()
+                ? page.getContent().get(0).getArchivedBookings()
+                : userService.getArchivedBookings(userId);
+        if (archived == 0) {
+            return PageDTO.fromPage(page, row -> bookingMapper.toDTO(row.getBooking(), username));
+        }
+        return mergeWithArchive(userId, username, pageable, archived);
+    }
 
-        return PageDTO.fromPage(page, bookingMapper::toDTO);
+    /**
+     * Страница из bookings и архива: из каждой таблицы берутся первые offset + size строк в одном порядке
+     * (id - последний ключ, порядок однозначен) и сливаются. Глубина ограничена числом бронирований пользователя
+     */
+    private PageDTO<BookingDTO> mergeWithArchive(Long userId, String username, Pageable pageable, long archived) {
+        Sort sort = pageable.getSort().and(Sort.by("id"));
+        int head = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        Pageable top = PageRequest.of(0, head, sort);
+
+        List<SortKey> keys = sort.stream().map(order -> SORT_KEYS.get(order.getProperty())).toList();
+
+        Page<Booking> current = bookingRepository.findByUserId(userId, top);
+        List<SortedRow> merged = new ArrayList<>(head * 2);
+        current.forEach(booking -> merged.add(new SortedRow(
+                keys.stream().<Comparable<?>>map(key -> key.current().apply(booking)).toList(),
+                bookingMapper.toDTO(booking, username))));
+        archivedBookingRepository.findByUserId(userId, top).forEach(booking -> merged.add(new SortedRow(
+                keys.stream().<Comparable<?>>map(key -> key.archived().apply(booking)).toList(),
+                bookingMapper.toDTO(booking, username))));
+
+        merged.sort(rowOrder(sort));
+
+        List<BookingDTO> content = merged.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(SortedRow::booking)
+                .toList();
+        return PageDTO.fromPage(new PageImpl<>(content, pageable, current.getTotalElements() + archived));
     }
 
     /**
@@ -61,17 +139,17 @@ public class BookingService {
     public BookingDTO getBookingById(Long id, String username) {
         log.info("Fetching booking with id: {} for user: {}", id, username);
 
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(
-                        String.format(ApiConstants.ERROR_BOOKING_NOT_FOUND, id)
-                ));
-
-        // Проверка прав доступа
-        if (!booking.getUser().getUsername().equals(username)) {
-            throw new ValidationException(ApiConstants.ERROR_FORBIDDEN);
+        // Проверка прав доступа - в том же запросе
+        Long userId = userService.getUserId(username);
+        Optional<Booking> booking = bookingRepository.findByIdAndUserId(id, userId);
+        if (booking.isPresent()) {
+            return bookingMapper.toDTO(booking.get(), username);
         }
 
-        return bookingMapper.toDTO(booking);
+        // Завершённое бронирование могло уйти в архив
+        return archivedBookingRepository.findByIdAndUserId(id, userId)
+                .map(archived -> bookingMapper.toDTO(archived, username))
+                .orElseThrow(() -> accessFailure(id, userId));
     }
 
     /**
@@ -83,13 +161,15 @@ public class BookingService {
      * Step 2: Подтвердить доступность в Hotel Service
      * Step 3a: При успехе → перевести в CONFIRMED
      * Step 3b: При ошибке → перевести в CANCELLED + компенсация
+     *
+     * Без общей транзакции: PENDING коммитится до вызова Hotel Service, шаг 3 - условный UPDATE (PENDING → X).
+     * Если экземпляр упадёт между шагами, PENDING останется в БД и его переведёт в FAILED BookingLifecycleJob
      */
-    @Transactional
     @CircuitBreaker(name = ApiConstants.HOTEL_SERVICE_CIRCUIT_BREAKER, fallbackMethod = "createBookingFallback")
     @Retry(name = ApiConstants.HOTEL_SERVICE_RETRY)
     public BookingDTO createBooking(CreateBookingRequest request, String username) {
         String correlationId = CorrelationIdUtil.getCorrelationId();
-        String requestId = UUID.randomUUID().toString();
+        String requestId = IdGenerator.nextId();
 
         log.info("Starting SAGA: Creating booking for user: {}, roomId: {}, requestId: {}, correlationId: {}",
                 username, request.getRoomId(), requestId, correlationId);
@@ -104,7 +184,7 @@ public class BookingService {
             return bookingMapper.toDTO(existingBooking.get());
         }
 
-        User user = userService.getUserByUsername(username);
+        User user = userService.getUserReference(username);
 
         // ========================================
         // SAGA ШАГ 1: Создать бронирование в статусе PENDING
@@ -114,6 +194,7 @@ public class BookingService {
         booking.setRequestId(requestId);
         booking.setStatus(BookingStatus.PENDING);  // ✅ Сначала PENDING
 
+        // Вне транзакции save коммитится сразу: незавершённая сага видна BookingLifecycleJob
         Booking savedBooking = bookingRepository.save(booking);
         log.info("SAGA Step 1: Booking created in PENDING status, id: {}, requestId: {}",
                 savedBooking.getId(), requestId);
@@ -148,13 +229,23 @@ public class BookingService {
             // ========================================
             // SAGA ШАГ 3a: Перевести бронирование в CONFIRMED
             // ========================================
+            // Ошибка записи или истёкший PENDING попадают в компенсацию ниже
+            if (bookingRepository.completePending(savedBooking.getId(), BookingStatus.CONFIRMED) == 0) {
+                throw new ValidationException(String.format(ApiConstants.ERROR_BOOKING_EXPIRED, savedBooking.getId()));
+            }
             savedBooking.setStatus(BookingStatus.CONFIRMED);
-            savedBooking = bookingRepository.save(savedBooking);
 
             log.info("SAGA Completed Successfully: Booking confirmed, id: {}, status: CONFIRMED",
                     savedBooking.getId());
 
-            return bookingMapper.toDTO(savedBooking);
+            return bookingMapper.toDTO(savedBooking, username);
+
+        } catch (ServiceUnavailableException e) {
+            // Вызов отклонён лимитом до отправки в Hotel Service - слот не занят, компенсация не нужна
+            log.warn("SAGA Aborted: {}. RequestId: {}", e.getMessage(), requestId);
+
+            bookingRepository.completePending(savedBooking.getId(), BookingStatus.CANCELLED);
+            throw e;
 
         } catch (Exception e) {
             // ========================================
@@ -163,14 +254,15 @@ public class BookingService {
             log.error("SAGA Failed: Error during booking confirmation, executing compensation. RequestId: {}",
                     requestId, e);
 
-            // Перевести бронирование в CANCELLED
-            savedBooking.setStatus(BookingStatus.CANCELLED);
-            bookingRepository.save(savedBooking);
-
-            log.info("SAGA Compensation: Booking status changed to CANCELLED, id: {}", savedBooking.getId());
-
-            // Освободить слот в Hotel Service
-            compensateBooking(request.getRoomId(), requestId);
+            // Перевести бронирование в CANCELLED и освободить слот. 0 - PENDING уже перевёл в FAILED
+            // BookingLifecycleJob и сам освободил слот: компенсирует тот, чей переход состоялся
+            if (bookingRepository.completePending(savedBooking.getId(), BookingStatus.CANCELLED) == 1) {
+                log.info("SAGA Compensation: Booking status changed to CANCELLED, id: {}", savedBooking.getId());
+                compensateBooking(request.getRoomId(), requestId);
+            } else {
+                log.info("SAGA Compensation skipped: booking {} already finished by lifecycle job",
+                        savedBooking.getId());
+            }
 
             throw e;
         }
@@ -184,33 +276,190 @@ public class BookingService {
     public BookingDTO cancelBooking(Long id, String username) {
         log.info("Cancelling booking with id: {} by user: {}", id, username);
 
-        Booking booking = bookingRepository.findById(id)
+        // Владелец и статус проверяются условием UPDATE; из двух параллельных отмен проходит одна,
+        // и слот освобождается один раз
+        Long userId = userService.getUserId(username);
+        if (bookingRepository.cancelOwned(id, userId) == 0) {
+            throw accessFailure(id, userId);
+        }
+
+        Booking cancelled = bookingRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new NotFoundException(
                         String.format(ApiConstants.ERROR_BOOKING_NOT_FOUND, id)
                 ));
 
-        if (!booking.getUser().getUsername().equals(username)) {
-            throw new ValidationException(ApiConstants.ERROR_FORBIDDEN);
+        // Слот освобождается после коммита: блокировка строки не держится на время вызовов Hotel Service
+        afterCommit(() -> compensateBooking(cancelled.getRoomId(), cancelled.getRequestId()));
+
+        log.info("Booking cancelled: {}", id);
+        return bookingMapper.toDTO(cancelled, username);
+    }
+
+    /**
+     * Изменить даты и/или номер бронирования (SAGA Pattern)
+     * Вместо cancelBooking + createBooking: один вызов Hotel Service, номер не освобождается в промежутке
+     *
+     * SAGA Flow:
+     * Step 1: Изменить резервирование в Hotel Service (одна локальная транзакция: пересекающиеся ночи
+     *         остаются занятыми, проверяются только добавленные; при смене номера счётчик переносится)
+     * Step 2a: Подтверждено → сохранить новые номер и даты
+     * Step 2b: Отказ → бронирование не меняется, компенсировать нечего
+     * Step 2c: Ошибка вызова или сохранения → отмена изменения в Hotel Service (revert-change;
+     *          безопасна и тогда, когда изменение до Hotel Service не дошло)
+     *
+     * Без @Retry: после отмены повтор с тем же changeId Hotel Service уже отклонит.
+     * Без общей транзакции: вызов Hotel Service и повторы компенсации не держат соединение с БД,
+     * шаг 2a - короткая транзакция saveAndFlush, параллельное изменение отсекает @Version
+     */
+    @CircuitBreaker(name = ApiConstants.HOTEL_SERVICE_CIRCUIT_BREAKER, fallbackMethod = "changeBookingFallback")
+    public BookingDTO changeBooking(Long id, UpdateBookingRequest request, String username) {
+        log.info("Changing booking with id: {} by user: {}, roomId: {}, dates: {}..{}, correlationId: {}",
+                id, username, request.getRoomId(), request.getStartDate(), request.getEndDate(),
+                CorrelationIdUtil.getCorrelationId());
+
+        validateBookingDates(request.getStartDate(), request.getEndDate());
+
+        Long userId = userService.getUserId(username);
+        Booking booking = bookingRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> accessFailure(id, userId));
+
+        if (booking.getStatus() != BookingStatus.CONFIRMED) {
+            throw new ValidationException("Only confirmed bookings can be changed");
         }
 
-        if (booking.getStatus() == BookingStatus.CANCELLED) {
-            throw new ValidationException("Booking is already cancelled");
+        Long roomId = request.getRoomId() != null ? request.getRoomId() : booking.getRoomId();
+        if (roomId.equals(booking.getRoomId())
+                && request.getStartDate().equals(booking.getStartDate())
+                && request.getEndDate().equals(booking.getEndDate())) {
+            log.info("Booking {} already has requested room and dates", id);
+            return bookingMapper.toDTO(booking, username);
         }
 
-        compensateBooking(booking.getRoomId(), booking.getRequestId());
+        ChangeReservationRequest change = ChangeReservationRequest.builder()
+                .changeId(IdGenerator.nextId())
+                .requestId(booking.getRequestId())
+                .previousRoomId(booking.getRoomId())
+                .previousStartDate(booking.getStartDate())
+                .previousEndDate(booking.getEndDate())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .build();
+
+        // ========================================
+        // SAGA ШАГ 1: Изменение резервирования в Hotel Service
+        // ========================================
+        AvailabilityConfirmationDTO confirmation;
+        try {
+            confirmation = hotelServiceClient.changeReservation(roomId, change);
+        } catch (ServiceUnavailableException e) {
+            // Вызов отклонён лимитом до отправки в Hotel Service - резервирование не менялось
+            log.warn("SAGA Aborted: {}. ChangeId: {}", e.getMessage(), change.getChangeId());
+            throw e;
+        } catch (RuntimeException e) {
+            // Неизвестно, применено ли изменение: отмена безопасна в обоих случаях
+            log.error("SAGA Failed: Error while changing reservation, reverting. ChangeId: {}",
+                    change.getChangeId(), e);
+            compensateChange(roomId, change);
+            throw e;
+        }
 
-        booking.setStatus(BookingStatus.CANCELLED);
-        Booking updated = bookingRepository.save(booking);
+        if (!Boolean.TRUE.equals(confirmation.getConfirmed())) {
+            log.warn("SAGA Step 1 Failed: Reservation change not confirmed: {}", confirmation.getMessage());
+            throw new ValidationException(ApiConstants.ERROR_ROOM_UNAVAILABLE);
+        }
 
-        log.info("Booking cancelled: {}", id);
-        return bookingMapper.toDTO(updated);
+        // ========================================
+        // SAGA ШАГ 2a: Сохранение новых номера и дат
+        // ========================================
+        try {
+            booking.setRoomId(roomId);
+            booking.setStartDate(request.getStartDate());
+            booking.setEndDate(request.getEndDate());
+            Booking updated = bookingRepository.saveAndFlush(booking);
+
+            log.info("SAGA Completed Successfully: Booking {} changed to room {}, dates {}..{}",
+                    id, roomId, request.getStartDate(), request.getEndDate());
+            return bookingMapper.toDTO(updated, username);
+
+        } catch (RuntimeException e) {
+            // ========================================
+            // SAGA ШАГ 2c: Компенсация при ошибке сохранения
+            // ========================================
+            log.error("Failed to save changed booking {}, reverting reservation change. ChangeId: {}",
+                    id, change.getChangeId(), e);
+            compensateChange(roomId, change);
+            throw e;
+        }
+    }
+
+    /**
+     * Причина, по которой бронирование пользователя не найдено или не отменено.
+     * Только для неуспешного пути: успешный обходится одним запросом
+     */
+    private RuntimeException accessFailure(Long id, Long userId) {
+        Optional<Booking> booking = bookingRepository.findById(id);
+        if (booking.isEmpty()) {
+            return new NotFoundException(String.format(ApiConstants.ERROR_BOOKING_NOT_FOUND, id));
+        }
+        // id ленивой связи берётся из прокси без загрузки пользователя
+        if (!booking.get().getUser().getId().equals(userId)) {
+            return new ValidationException(ApiConstants.ERROR_FORBIDDEN);
+        }
+        if (booking.get().getStatus() == BookingStatus.PENDING) {
+            return new ValidationException("Booking is still pending and cannot be cancelled yet");
+        }
+        return new ValidationException("Booking is already " + booking.get().getStatus().name().toLowerCase());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<SortedRow> rowOrder(Sort sort) {
+        Comparator<SortedRow> order = (a, b) -> 0;
+        int index = 0;
+        for (Sort.Order property : sort) {
+            int position = index++;
+            Comparator<SortedRow> byKey = Comparator.comparing(
+                    row -> (Comparable) row.key().get(position), Comparator.nullsFirst(Comparator.naturalOrder()));
+            order = order.thenComparing(property.isAscending() ? byKey : byKey.reversed());
+        }
+        return order;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
      * Компенсирующая транзакция: освобождение слота с повторными попытками
      * Критерий 2: Надёжная компенсация при сбое Hotel Service
+     *
+     * Освобождение идемпотентно (Hotel Service снимает слот, только если requestId его занимает).
+     * roomId == null - номер не известен (автоподбор не дождался ответа), слот ищется по requestId
+     */
+    void compensateBooking(Long roomId, String requestId) {
+        compensate("release slot for roomId: " + roomId + ", requestId: " + requestId,
+                roomId != null
+                        ? () -> hotelServiceClient.releaseSlot(roomId, requestId)
+                        : () -> hotelServiceClient.releaseReservation(requestId));
+    }
+
+    /**
+     * Компенсирующая транзакция: отмена изменения резервирования с повторными попытками
      */
-    private void compensateBooking(Long roomId, String requestId) {
+    void compensateChange(Long roomId, ChangeReservationRequest change) {
+        compensate("revert change " + change.getChangeId() + " for requestId: " + change.getRequestId(),
+                () -> hotelServiceClient.revertReservationChange(roomId, change));
+    }
+
+    private void compensate(String action, Runnable compensation) {
         int maxAttempts = 3;
         int attempt = 0;
         boolean success = false;
@@ -218,17 +467,16 @@ public class BookingService {
         while (attempt < maxAttempts && !success) {
             attempt++;
             try {
-                log.info("Compensating booking - attempt {}/{} for roomId: {}, requestId: {}",
-                        attempt, maxAttempts, roomId, requestId);
+                log.info("Compensating booking - attempt {}/{}: {}", attempt, maxAttempts, action);
 
-                hotelServiceClient.releaseSlot(roomId, requestId);
+                compensation.run();
 
-                log.info("Compensation successful: slot released for roomId: {}", roomId);
+                log.info("Compensation successful: {}", action);
                 success = true;
 
             } catch (Exception e) {
-                log.error("Compensation attempt {}/{} failed for roomId: {}, requestId: {}: {}",
-                        attempt, maxAttempts, roomId, requestId, e.getMessage());
+                log.error("Compensation attempt {}/{} failed: {}: {}",
+                        attempt, maxAttempts, action, e.getMessage());
 
                 if (attempt < maxAttempts) {
                     try {
@@ -241,9 +489,9 @@ public class BookingService {
                         break;
                     }
                 } else {
-                    log.error("COMPENSATION FAILED after {} attempts for roomId: {}, requestId: {}. " +
+                    log.error("COMPENSATION FAILED after {} attempts: {}. " +
                                     "MANUAL INTERVENTION REQUIRED!️",
-                            maxAttempts, roomId, requestId);
+                            maxAttempts, action);
                 }
             }
         }
@@ -253,13 +501,16 @@ public class BookingService {
     /**
      * Валидация дат бронирования
      */
-    private void validateBookingDates(CreateBookingRequest request) {
-        if (request.getEndDate().isBefore(request.getStartDate()) ||
-                request.getEndDate().isEqual(request.getStartDate())) {
+    void validateBookingDates(CreateBookingRequest request) {
+        validateBookingDates(request.getStartDate(), request.getEndDate());
+    }
+
+    private void validateBookingDates(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate) || endDate.isEqual(startDate)) {
             throw new ValidationException(ApiConstants.ERROR_INVALID_DATE_RANGE);
         }
 
-        long days = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate());
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
         if (days > ApiConstants.MAX_BOOKING_DAYS) {
             throw new ValidationException(
                     String.format(ApiConstants.ERROR_BOOKING_TOO_LONG, ApiConstants.MAX_BOOKING_DAYS)
@@ -272,6 +523,20 @@ public class BookingService {
      */
     private BookingDTO createBookingFallback(CreateBookingRequest request, String username, Exception e) {
         log.error("Circuit breaker fallback triggered for createBooking: {}", e.getMessage());
+        if (e instanceof ServiceUnavailableException overloaded) {
+            throw overloaded;
+        }
+        throw new ValidationException("Hotel service is temporarily unavailable. Please try again later.");
+    }
+
+    /**
+     * Fallback изменения бронирования: отказ и ошибки валидации пробрасываются как есть
+     */
+    private BookingDTO changeBookingFallback(Long id, UpdateBookingRequest request, String username, Exception e) {
+        if (e instanceof BaseException handled) {
+            throw handled;
+        }
+        log.error("Circuit breaker fallback triggered for changeBooking: {}", e.getMessage());
         throw new ValidationException("Hotel service is temporarily unavailable. Please try again later.");
     }
 
@@ -280,40 +545,68 @@ public class BookingService {
      * Используется для балансировки нагрузки (Критерий 1).
      *
      * Алгоритм:
-     * 1. Получить рекомендованные комнаты (уже отсортированы по timesBooked)
-     * 2. Выбрать первую доступную (наименее загруженную)
-     * 3. Создать бронирование через основной метод createBooking
+     * 1. Hotel Service одним вызовом выбирает и резервирует наименее загруженный номер
+     *    (заблокированные параллельными запросами номера пропускаются - SKIP LOCKED)
+     * 2. Бронирование сохраняется сразу в статусе CONFIRMED
+     * 3. При ошибке сохранения - компенсация (освобождение слота)
+     *
+     * Без общей транзакции (как createBooking): бронирование сохраняется отдельной транзакцией после резервирования
      */
-    @Transactional
     @CircuitBreaker(name = ApiConstants.HOTEL_SERVICE_CIRCUIT_BREAKER, fallbackMethod = "createBookingWithAutoSelectionFallback")
     @Retry(name = ApiConstants.HOTEL_SERVICE_RETRY)
     public BookingDTO createBookingWithAutoRoomSelection(
             CreateBookingRequest request,
             String username
     ) {
-        log.info("Creating booking with automatic room selection for user: {}", username);
+        String requestId = IdGenerator.nextId();
+
+        log.info("Creating booking with automatic room selection for user: {}, hotelId: {}, roomType: {}, requestId: {}",
+                username, request.getHotelId(), request.getRoomType(), requestId);
+
+        validateBookingDates(request);
+
+        User user = userService.getUserReference(username);
+
+        // 1. Атомарный выбор и резервирование номера в Hotel Service
+        ReserveRoomRequest reserveRequest = ReserveRoomRequest.builder()
+                .requestId(requestId)
+                .hotelId(request.getHotelId())
+                .roomType(request.getRoomType())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .build();
 
-        // 1. Получить рекомендованные комнаты (отсортированы по timesBooked ASC)
-        List<RoomDTO> recommendedRooms = hotelServiceClient.getRecommendedRooms();
+        AvailabilityConfirmationDTO reservation = hotelServiceClient.reserveRoom(reserveRequest);
 
-        if (recommendedRooms.isEmpty()) {
+        if (!reservation.getConfirmed()) {
             throw new ValidationException("No available rooms found");
         }
 
-        // 2. Выбрать первую доступную комнату (наименее загруженная)
-        RoomDTO selectedRoom = recommendedRooms.stream()
-                .filter(RoomDTO::getAvailable)
-                .findFirst()
-                .orElseThrow(() -> new ValidationException("No available rooms found"));
+        log.info("Auto-selected and reserved room: {}, requestId: {}", reservation.getRoomId(), requestId);
 
-        log.info("Auto-selected room: {} (timesBooked: {})",
-                selectedRoom.getId(), selectedRoom.getTimesBooked());
+        // 2. Слот уже занят - бронирование сразу подтверждено
+        try {
+            request.setRoomId(reservation.getRoomId());
+
+            Booking booking = bookingMapper.toEntity(request);
+            booking.setUser(user);
+            booking.setRequestId(requestId);
+            booking.setStatus(BookingStatus.CONFIRMED);
+
+            // saveAndFlush коммитит INSERT внутри try: ошибка записи освобождает зарезервированный слот
+            Booking savedBooking = bookingRepository.saveAndFlush(booking);
+            log.info("Booking confirmed with auto-selected room, id: {}, roomId: {}",
+                    savedBooking.getId(), savedBooking.getRoomId());
 
-        // 3. Установить выбранную комнату в запрос
-        request.setRoomId(selectedRoom.getId());
+            return bookingMapper.toDTO(savedBooking, username);
 
-        // 4. Создать бронирование через основной метод
-        return createBooking(request, username);
+        } catch (RuntimeException e) {
+            // 3. Компенсация: освободить зарезервированный слот
+            log.error("Failed to save booking for reserved room {}, executing compensation. RequestId: {}",
+                    reservation.getRoomId(), requestId, e);
+            compensateBooking(reservation.getRoomId(), requestId);
+            throw e;
+        }
     }
 
     /**
@@ -326,6 +619,9 @@ public class BookingService {
     ) {
         log.error("Circuit breaker fallback triggered for createBookingWithAutoRoomSelection: {}",
                 e.getMessage());
+        if (e instanceof ServiceUnavailableException overloaded) {
+            throw overloaded;
+        }
         throw new ValidationException("Hotel service is temporarily unavailable. Please try again later.");
     }
 
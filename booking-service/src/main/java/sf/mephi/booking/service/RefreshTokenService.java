@@ -0,0 +1,142 @@
+package sf.mephi.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.exception.UnauthorizedException;
+import sf.mephi.booking.entity.RefreshToken;
+import sf.mephi.booking.entity.User;
+import sf.mephi.booking.repository.RefreshTokenRepository;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh-токены: продление доступа без повторной проверки пароля.
+ *
+ * - Токен - 256 случайных бит; в БД хранится только HMAC-SHA256 от него (уникальный индекс)
+ * - Обмен: один HMAC и одно чтение по индексу вместо BCrypt; старый токен отзывается условным UPDATE,
+ *   взамен выдаётся новый той же цепочки (familyId)
+ * - Повторное предъявление уже отозванного токена - признак кражи: отзывается вся цепочка
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecretKeySpec hmacKey;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${booking.auth.refresh-token.secret}") String secret,
+                               @Value("${booking.auth.refresh-token.ttl:30d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.hmacKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Выдать токен новой цепочки (вход или регистрация)
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Обменять токен на новый; возвращает пользователя (уже загруженного) и новый токен
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(RefreshTokenService::invalid);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (token.getRevokedAt() == null && token.getExpiresAt().isBefore(now)) {
+            throw invalid();
+        }
+        // Отозванный токен или проигранная параллельная ротация - повторное использование
+        if (token.getRevokedAt() != null || refreshTokenRepository.revoke(token.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user: {}, revoked {} tokens of the family",
+                    token.getUser().getUsername(), revoked);
+            throw invalid();
+        }
+
+        return new Rotation(token.getUser(), issue(token.getUser(), token.getFamilyId()));
+    }
+
+    /**
+     * Отозвать цепочку токена (выход); неизвестный токен игнорируется
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+            log.info("Refresh tokens revoked for user: {}", token.getUser().getUsername());
+        });
+    }
+
+    /**
+     * Удалить истёкшие токены
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${booking.auth.refresh-token.cleanup-interval:1h}")
+    public int deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+        return deleted;
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+        return rawToken;
+    }
+
+    String hash(String rawToken) {
+        try {
+            // Mac не потокобезопасен, экземпляр на вызов дешевле синхронизации
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return HexFormat.of().formatHex(mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static UnauthorizedException invalid() {
+        return new UnauthorizedException(ApiConstants.ERROR_INVALID_REFRESH_TOKEN);
+    }
+
+    /**
+     * Результат обмена: владелец токена и новый refresh-токен
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,137 @@
+package sf.mephi.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sf.mephi.common.security.TokenRevocationList;
+import sf.mephi.common.util.IdGenerator;
+import sf.mephi.booking.dto.response.TokenRevocationsDTO;
+import sf.mephi.booking.entity.RevokedToken;
+import sf.mephi.booking.repository.RevokedTokenRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Отзыв access-токенов.
+ *
+ * - Таблица revoked_tokens - источник истины, TokenRevocationList - её копия в памяти для JWT-фильтра
+ * - Другие сервисы (Hotel Service) забирают новые отзывы лентой по курсору id. Id выдаётся при INSERT,
+ *   а не при коммите: строка с меньшим id может стать видимой позже курсора клиента. Поэтому лента
+ *   повторяет отзывы за последние FEED_OVERLAP (повторный отзыв на клиенте ничего не меняет)
+ * - Экземпляры Booking Service делят revoked_tokens: отзыв, сделанный на другом экземпляре,
+ *   подтягивается в список в памяти по расписанию той же лентой (курсор + повтор FEED_OVERLAP)
+ * - epoch - поколение ленты: БД в памяти пересоздаётся с процессом, id начинаются заново,
+ *   и клиент по смене epoch перечитывает ленту с начала
+ * - Строки истёкших токенов удаляются по расписанию
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    static final int FEED_PAGE_SIZE = 500;
+    // С запасом больше времени от INSERT до коммита отзыва и интервала опроса клиентов
+    static final Duration FEED_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final String epoch = IdGenerator.nextId();
+    private long cursor;
+
+    /**
+     * Отозвать токен до момента его истечения
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        tokenRevocationList.revoke(tokenId, expiresAt);
+        log.info("Access token revoked: {}", tokenId);
+    }
+
+    /**
+     * Отзывы после курсора afterId и недавние отзывы до него (могли быть зафиксированы после чтения курсора)
+     */
+    @Transactional(readOnly = true)
+    public TokenRevocationsDTO changesSince(long afterId) {
+        List<TokenRevocationsDTO.Entry> entries = feed(afterId).stream()
+                .map(token -> TokenRevocationsDTO.Entry.builder()
+                        .id(token.getId())
+                        .tokenId(token.getTokenId())
+                        .expiresAt(token.getExpiresAt())
+                        .build())
+                .toList();
+        return TokenRevocationsDTO.builder()
+                .epoch(epoch)
+                .revocations(entries)
+                .latestId(revokedTokenRepository.findLatestId().orElse(0L))
+                .build();
+    }
+
+    /**
+     * Подтянуть отзывы, сделанные на других экземплярах: лента от своего курсора,
+     * пока страницы новых строк заполнены целиком
+     */
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${booking.auth.revocation-refresh-interval:5s}")
+    public synchronized void refresh() {
+        int fresh;
+        do {
+            long previous = cursor;
+            fresh = 0;
+            for (RevokedToken token : feed(previous)) {
+                tokenRevocationList.revoke(token.getTokenId(), token.getExpiresAt());
+                if (token.getId() > previous) {
+                    fresh++;
+                }
+                cursor = Math.max(cursor, token.getId());
+            }
+        } while (fresh == FEED_PAGE_SIZE);
+    }
+
+    private List<RevokedToken> feed(long afterId) {
+        List<RevokedToken> tokens = new ArrayList<>();
+        if (afterId > 0) {
+            tokens.addAll(revokedTokenRepository.findByIdLessThanEqualAndRevokedAtAfterOrderByIdAsc(
+                    afterId, LocalDateTime.now().minus(FEED_OVERLAP), PageRequest.ofSize(FEED_PAGE_SIZE)));
+        }
+        tokens.addAll(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(FEED_PAGE_SIZE)));
+        return tokens;
+    }
+
+    /**
+     * После рестарта список в памяти пуст: действующие отзывы загружаются из БД
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadActive() {
+        // Курсор читается до загрузки: строки, вставленные между запросами, заберёт refresh
+        cursor = revokedTokenRepository.findLatestId().orElse(0L);
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+        active.forEach(token -> tokenRevocationList.revoke(token.getTokenId(), token.getExpiresAt()));
+        if (!active.isEmpty()) {
+            log.info("Loaded {} revoked tokens", active.size());
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${booking.auth.refresh-token.cleanup-interval:1h}")
+    public int deleteExpired() {
+        return revokedTokenRepository.deleteExpired(Instant.now());
+    }
+}
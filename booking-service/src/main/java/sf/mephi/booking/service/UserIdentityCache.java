@@ -0,0 +1,58 @@
+package sf.mephi.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ограниченный кеш username → id пользователя (LRU).
+ *
+ * Нужен для токенов без id пользователя (выпущенных до его добавления в JWT): id ищется в БД
+ * один раз на пользователя, а не на каждый запрос. Имя пользователя не меняется, пользователи
+ * не удаляются - сбрасывать записи не нужно. Отсутствующие пользователи не кешируются.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final Map<String, Long> ids;
+
+    public UserIdentityCache(@Value("${booking.identity-cache.max-size:10000}") int maxSize) {
+        this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Id пользователя из кеша или из loader (результат кешируется)
+     */
+    public Long get(String username, Function<String, Long> loader) {
+        synchronized (ids) {
+            Long cached = ids.get(username);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Загрузка вне блокировки: медленный запрос не задерживает остальных
+        Long id = loader.apply(username);
+        put(username, id);
+        return id;
+    }
+
+    public void put(String username, Long id) {
+        synchronized (ids) {
+            ids.put(username, id);
+        }
+    }
+
+    public int size() {
+        synchronized (ids) {
+            return ids.size();
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package sf.mephi.booking.service;
 
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.datasource.ReadWriteRoutingDataSource;
 import sf.mephi.common.constants.Role;
 import sf.mephi.common.exception.NotFoundException;
 import sf.mephi.common.exception.ValidationException;
 import sf.mephi.common.security.JwtUtil;
+import sf.mephi.common.security.SecurityConstants;
 import sf.mephi.booking.dto.request.AuthRequest;
+import sf.mephi.booking.dto.request.RefreshTokenRequest;
 import sf.mephi.booking.dto.request.RegisterRequest;
 import sf.mephi.booking.dto.response.AuthResponse;
 import sf.mephi.booking.entity.User;
 import sf.mephi.booking.mapper.UserMapper;
 import sf.mephi.booking.repository.UserRepository;
+import sf.mephi.booking.security.AuthenticatedUser;
+import sf.mephi.booking.security.PasswordHasher;
 
 import java.util.List;
 
@@ -26,13 +33,16 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final UserIdentityCache userIdentityCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
-     * Регистрация нового пользователя
+     * Регистрация нового пользователя.
+     * Без общей транзакции: соединение с БД не удерживается на время хеширования пароля.
      */
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
 
@@ -45,50 +55,79 @@ public class UserService {
 
         // Создание пользователя
         User user = userMapper.toEntity(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.hash(request.getPassword()));
         user.setRole(Role.USER);
 
         User saved = userRepository.save(user);
         log.info("User registered with id: {}", saved.getId());
 
-        // Генерация JWT
-        String token = jwtUtil.generateToken(
-                saved.getUsername(),
-                List.of(saved.getRole().getAuthority())
-        );
-
-        return AuthResponse.builder()
-                .token(token)
-                .username(saved.getUsername())
-                .role(saved.getRole().name())
-                .build();
+        return authResponse(saved, refreshTokenService.issue(saved));
     }
 
     /**
-     * Аутентификация пользователя
+     * Аутентификация пользователя.
+     * Хеш с устаревшей стоимостью BCrypt прозрачно заменяется при успешном входе.
      */
-    @Transactional(readOnly = true)
     public AuthResponse authenticate(AuthRequest request) {
         log.info("Authenticating user: {}", request.getUsername());
 
-        User user = userRepository.findByUsername(request.getUsername())
+        // С основной БД: вход сразу после регистрации не должен упереться в отставание реплики
+        User user = ReadWriteRoutingDataSource.primary(() -> userRepository.findByUsername(request.getUsername()))
                 .orElseThrow(() -> new ValidationException(ApiConstants.ERROR_INVALID_CREDENTIALS));
 
-        // Проверка пароля
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // Проверка пароля (на пуле хеширования)
+        PasswordHasher.Verification verification = passwordHasher.verify(request.getPassword(), user.getPassword());
+        if (!verification.matches()) {
             throw new ValidationException(ApiConstants.ERROR_INVALID_CREDENTIALS);
         }
+        if (verification.needsRehash()) {
+            user.setPassword(verification.upgradedHash());
+            userRepository.save(user);
+            log.info("Password hash upgraded to current BCrypt cost for user: {}", user.getUsername());
+        }
+
+        log.info("User authenticated: {}", user.getUsername());
+        return authResponse(user, refreshTokenService.issue(user));
+    }
+
+    /**
+     * Обмен refresh-токена на новую пару токенов - без проверки пароля
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        log.debug("Tokens refreshed for user: {}", rotation.user().getUsername());
+        return authResponse(rotation.user(), rotation.refreshToken());
+    }
+
+    /**
+     * Выход: отзыв refresh-токена со всей его цепочкой и текущего access-токена (если передан)
+     */
+    public void logout(RefreshTokenRequest request, String accessToken) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        if (accessToken == null) {
+            return;
+        }
+        try {
+            tokenRevocationService.revoke(jwtUtil.extractTokenId(accessToken), jwtUtil.extractExpiresAt(accessToken));
+        } catch (JwtException e) {
+            // Недействительный или истёкший токен отзывать не нужно
+            log.debug("Access token not revoked: {}", e.getMessage());
+        }
+    }
 
-        // Генерация JWT
+    private AuthResponse authResponse(User user, String refreshToken) {
+        // Генерация JWT (с id пользователя)
         String token = jwtUtil.generateToken(
                 user.getUsername(),
+                user.getId(),
                 List.of(user.getRole().getAuthority())
         );
-
-        log.info("User authenticated: {}", user.getUsername());
+        userIdentityCache.put(user.getUsername(), user.getId());
 
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
+                .expiresIn(SecurityConstants.JWT_EXPIRATION_MS / 1000)
                 .username(user.getUsername())
                 .role(user.getRole().name())
                 .build();
@@ -105,6 +144,40 @@ public class UserService {
                 ));
     }
 
+    /**
+     * Id пользователя: из JWT текущего запроса, иначе из UserIdentityCache (один запрос к БД на пользователя)
+     */
+    public Long getUserId(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && principal.userId() != null
+                && principal.username().equals(username)) {
+            return principal.userId();
+        }
+        return userIdentityCache.get(username, name -> ReadWriteRoutingDataSource.primary(
+                        () -> userRepository.findIdByUsername(name))
+                .orElseThrow(() -> new NotFoundException(
+                        String.format(ApiConstants.ERROR_USER_NOT_FOUND, name)
+                )));
+    }
+
+    /**
+     * Число бронирований пользователя в архиве (счётчик ведёт BookingArchiver)
+     */
+    @Transactional(readOnly = true)
+    public long getArchivedBookings(Long userId) {
+        return userRepository.findArchivedBookingsById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format(ApiConstants.ERROR_USER_NOT_FOUND_ID, userId)));
+    }
+
+    /**
+     * Ссылка на пользователя для связи с бронированием - без запроса к БД
+     */
+    public User getUserReference(String username) {
+        return userRepository.getReferenceById(getUserId(username));
+    }
+
     /**
      * Получить пользователя по ID
      */
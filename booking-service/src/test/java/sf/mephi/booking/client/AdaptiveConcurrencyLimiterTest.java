@@ -0,0 +1,160 @@
+package sf.mephi.booking.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sf.mephi.common.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MS);
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("confirm", 10, 2, 50, 0.5, 2.0, clock::get);
+    }
+
+    private void call(long latencyMs, boolean dropped) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+        clock.addAndGet(latencyMs * MS);
+        if (dropped) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectImmediately_WhenLimitReached() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertEquals(1, limiter.getRejectedCount());
+
+        permits.get(0).onIgnore();
+        assertTrue(limiter.tryAcquire().isPresent());
+    }
+
+    @Test
+    void onSuccess_ShouldIncreaseLimit_WhenLimitIsUsed() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+        clock.addAndGet(10 * MS);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    void onSuccess_ShouldNotIncreaseLimit_WhenMostlyIdle() {
+        for (int i = 0; i < 20; i++) {
+            call(10, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void onSuccess_ShouldDecreaseLimit_WhenLatencyJumps() {
+        for (int i = 0; i < 20; i++) {
+            call(10, false);
+        }
+
+        call(500, false); // пауза GC в Hotel Service
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldDecreaseOncePerRtt_WhenBurstOfFailures() {
+        call(10, false);
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+        clock.addAndGet(20 * MS);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onDropped);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldNotGoBelowMinLimit() {
+        for (int i = 0; i < 20; i++) {
+            call(100, true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenLimitsInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("read", 1, 2, 50, 0.9, 2.0));
+    }
+
+    @Test
+    void client_ShouldFailFastAndKeepReleaseUnlimited_WhenLimitReached() throws IOException {
+        AdaptiveConcurrencyLimiter confirm = new AdaptiveConcurrencyLimiter("confirm", 1, 1, 1, 0.9, 2.0);
+        AdaptiveConcurrencyLimiter read = new AdaptiveConcurrencyLimiter("read", 1, 1, 1, 0.9, 2.0);
+        Client delegate = mock(Client.class);
+        ConcurrencyLimitingClient client = new ConcurrencyLimitingClient(delegate, confirm, read);
+
+        Request get = request(Request.HttpMethod.GET, "/api/v1/rooms/1");
+        Request release = request(Request.HttpMethod.POST, "/api/v1/rooms/1/release");
+        when(delegate.execute(any(), any())).thenReturn(response(get, 200));
+
+        read.tryAcquire().orElseThrow(); // единственный слот занят другим потоком
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> client.execute(get, new Request.Options()));
+        assertTrue(ex.getMessage().contains("read"));
+        assertEquals(200, client.execute(release, new Request.Options()).status());
+        verify(delegate, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void client_ShouldReleasePermit_WhenDelegateThrows() throws IOException {
+        AdaptiveConcurrencyLimiter confirm = new AdaptiveConcurrencyLimiter("confirm", 1, 1, 1, 0.9, 2.0);
+        AdaptiveConcurrencyLimiter read = new AdaptiveConcurrencyLimiter("read", 1, 1, 1, 0.9, 2.0);
+        Client delegate = mock(Client.class);
+        ConcurrencyLimitingClient client = new ConcurrencyLimitingClient(delegate, confirm, read);
+        when(delegate.execute(any(), any())).thenThrow(new IOException("connection reset"));
+
+        Request get = request(Request.HttpMethod.GET, "/api/v1/rooms/1");
+        assertThrows(IOException.class, () -> client.execute(get, new Request.Options()));
+
+        assertEquals(0, read.getInFlight());
+    }
+
+    private static Request request(Request.HttpMethod method, String url) {
+        return Request.create(method, url, new HashMap<>(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static Response response(Request request, int status) {
+        return Response.builder().request(request).status(status).headers(new HashMap<>()).build();
+    }
+}
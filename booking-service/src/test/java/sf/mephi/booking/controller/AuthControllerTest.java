@@ -5,9 +5,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import sf.mephi.booking.config.BaseControllerTest;
 import sf.mephi.booking.dto.request.AuthRequest;
+import sf.mephi.booking.dto.request.RefreshTokenRequest;
 import sf.mephi.booking.dto.request.RegisterRequest;
 import sf.mephi.booking.dto.response.AuthResponse;
 import sf.mephi.booking.service.UserService;
+import sf.mephi.common.exception.TooManyRequestsException;
+import sf.mephi.common.exception.UnauthorizedException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -101,4 +104,60 @@ class AuthControllerTest extends BaseControllerTest {
 
         verify(userService, never()).authenticate(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_ShouldReturn429_WhenHashingOverloaded() throws Exception {
+        AuthRequest request = AuthRequest.builder()
+                .username("testuser")
+                .password("password123")
+                .build();
+
+        when(userService.authenticate(any(AuthRequest.class)))
+                .thenThrow(new TooManyRequestsException("Too many authentication requests, please retry later"));
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void refresh_ShouldReturnRotatedTokens() throws Exception {
+        AuthResponse response = AuthResponse.builder()
+                .token("jwt-token")
+                .refreshToken("refresh-2")
+                .username("testuser")
+                .role("USER")
+                .build();
+
+        when(userService.refresh(any(RefreshTokenRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-1"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-2"));
+    }
+
+    @Test
+    void refresh_ShouldReturn401_WhenTokenInvalid() throws Exception {
+        when(userService.refresh(any(RefreshTokenRequest.class)))
+                .thenThrow(new UnauthorizedException("Invalid or expired refresh token"));
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("stolen"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_ShouldReturn204() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-1"))))
+                .andExpect(status().isNoContent());
+
+        verify(userService).logout(any(RefreshTokenRequest.class), isNull());
+    }
+}
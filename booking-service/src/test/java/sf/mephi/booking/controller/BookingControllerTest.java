@@ -7,9 +7,14 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import sf.mephi.common.constants.BookingStatus;
 import sf.mephi.common.dto.PageDTO;
+import sf.mephi.common.exception.NotFoundException;
+import sf.mephi.common.exception.ValidationException;
 import sf.mephi.booking.config.BaseControllerTest;
+import sf.mephi.booking.dto.request.CreateBatchBookingRequest;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.request.UpdateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.service.BatchBookingService;
 import sf.mephi.booking.service.BookingService;
 
 import java.time.LocalDate;
@@ -27,6 +32,9 @@ class BookingControllerTest extends BaseControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private BatchBookingService batchBookingService;
+
     @Test
     @WithMockUser(username = "testuser", roles = "USER")
     void getMyBookings_ShouldReturnPagedBookings() throws Exception {
@@ -114,6 +122,35 @@ class BookingControllerTest extends BaseControllerTest {
         verify(bookingService).createBooking(any(CreateBookingRequest.class), eq("testuser"));
     }
 
+    @Test
+    @WithMockUser(username = "testuser", roles = "USER")
+    void createBooking_ShouldAutoSelectRoom_WhenRoomIdMissing() throws Exception {
+        CreateBookingRequest request = CreateBookingRequest.builder()
+                .hotelId(1L)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+
+        BookingDTO booking = BookingDTO.builder()
+                .id(2L)
+                .userId(1L)
+                .roomId(4L)
+                .status(BookingStatus.CONFIRMED)
+                .build();
+
+        when(bookingService.createBookingWithAutoRoomSelection(any(CreateBookingRequest.class), eq("testuser")))
+                .thenReturn(booking);
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.roomId").value(4));
+
+        verify(bookingService, never()).createBooking(any(), anyString());
+    }
+
     @Test
     @WithMockUser(username = "testuser", roles = "USER")
     void cancelBooking_ShouldReturnCancelled() throws Exception {
@@ -134,6 +171,57 @@ class BookingControllerTest extends BaseControllerTest {
         verify(bookingService).cancelBooking(1L, "testuser");
     }
 
+    @Test
+    @WithMockUser(username = "testuser", roles = "USER")
+    void changeBooking_ShouldReturnChanged() throws Exception {
+        UpdateBookingRequest request = UpdateBookingRequest.builder()
+                .startDate(LocalDate.of(2026, 3, 3))
+                .endDate(LocalDate.of(2026, 3, 8))
+                .build();
+        BookingDTO booking = BookingDTO.builder()
+                .id(1L)
+                .roomId(1L)
+                .startDate(LocalDate.of(2026, 3, 3))
+                .endDate(LocalDate.of(2026, 3, 8))
+                .status(BookingStatus.CONFIRMED)
+                .build();
+
+        when(bookingService.changeBooking(eq(1L), any(UpdateBookingRequest.class), eq("testuser"))).thenReturn(booking);
+
+        mockMvc.perform(patch("/api/v1/bookings/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endDate").value("2026-03-08"));
+
+        verify(bookingService).changeBooking(eq(1L), any(UpdateBookingRequest.class), eq("testuser"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = "USER")
+    void getMyBookings_ShouldReturn400_WhenSortPropertyIsNotSupported() throws Exception {
+        when(bookingService.getUserBookings(eq("testuser"), any(Pageable.class)))
+                .thenThrow(new ValidationException("Unsupported sort property: version"));
+
+        mockMvc.perform(get("/api/v1/bookings").param("sort", "version,asc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Unsupported sort property: version"))
+                .andExpect(jsonPath("$.path").value("/api/v1/bookings"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = "USER")
+    void getBookingById_ShouldReturn404_WhenBookingMissing() throws Exception {
+        when(bookingService.getBookingById(99L, "testuser"))
+                .thenThrow(new NotFoundException("Booking not found with id: 99"));
+
+        mockMvc.perform(get("/api/v1/bookings/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+
     @Test
     void getMyBookings_ShouldReturn401_WhenUnauthorized() throws Exception {
         mockMvc.perform(get("/api/v1/bookings/my"))
@@ -194,4 +282,41 @@ class BookingControllerTest extends BaseControllerTest {
 
         verify(bookingService, never()).createBooking(any(), anyString());
     }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = "USER")
+    void createBatchBooking_ShouldReturnCreated() throws Exception {
+        CreateBatchBookingRequest request = CreateBatchBookingRequest.builder()
+                .bookings(List.of(
+                        CreateBookingRequest.builder().roomId(1L)
+                                .startDate(LocalDate.of(2026, 3, 1)).endDate(LocalDate.of(2026, 3, 5)).build(),
+                        CreateBookingRequest.builder().hotelId(2L)
+                                .startDate(LocalDate.of(2026, 3, 1)).endDate(LocalDate.of(2026, 3, 5)).build()))
+                .build();
+
+        when(batchBookingService.createBatch(any(CreateBatchBookingRequest.class), eq("testuser")))
+                .thenReturn(List.of(
+                        BookingDTO.builder().id(1L).roomId(1L).status(BookingStatus.CONFIRMED).build(),
+                        BookingDTO.builder().id(2L).roomId(7L).status(BookingStatus.CONFIRMED).build()));
+
+        mockMvc.perform(post("/api/v1/bookings/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].roomId").value(7));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = "USER")
+    void createBatchBooking_ShouldReturnBadRequest_WhenEmpty() throws Exception {
+        mockMvc.perform(post("/api/v1/bookings/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookings\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(batchBookingService);
+    }
 }
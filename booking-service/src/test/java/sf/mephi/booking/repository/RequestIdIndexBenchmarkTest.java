@@ -0,0 +1,94 @@
+package sf.mephi.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sf.mephi.common.util.IdGenerator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Вставка в уникальный индекс bookings.request_id: случайные UUIDv4 против упорядоченных по времени UUIDv7.
+ *
+ * Модель: таблица с тем же индексом, что у bookings (уникальный VARCHAR(100)), пакетные вставки в H2;
+ * генерация идентификатора входит в замер. Упорядоченные ключи дописываются в правый край B-tree,
+ * случайные - расщепляют страницы по всему индексу.
+ */
+@Slf4j
+@Tag("benchmark")
+class RequestIdIndexBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH = 1_000;
+
+    record Report(String ids, double generatedPerSecond, double insertedPerSecond) {
+    }
+
+    @Test
+    @DisplayName("Отчёт о скорости вставки в индекс request_id")
+    void compareRequestIds() throws SQLException {
+        // Прогрев JIT и драйвера на небольшом объёме
+        insert("warmup-v4", () -> UUID.randomUUID().toString(), ROWS / 10);
+        insert("warmup-v7", IdGenerator::nextId, ROWS / 10);
+
+        Report random = insert("uuid-v4", () -> UUID.randomUUID().toString(), ROWS);
+        Report ordered = insert("uuid-v7", IdGenerator::nextId, ROWS);
+
+        StringBuilder table = new StringBuilder();
+        table.append('\n').append("=".repeat(64)).append('\n');
+        table.append(String.format("  ИНДЕКС request_id: %d вставок пакетами по %d%n", ROWS, BATCH));
+        table.append("=".repeat(64)).append('\n');
+        table.append(String.format("%-10s %24s %24s%n", "ids", "generated/s", "inserted rows/s"));
+        table.append("-".repeat(64)).append('\n');
+        for (Report r : List.of(random, ordered)) {
+            table.append(String.format("%-10s %24.0f %24.0f%n", r.ids(), r.generatedPerSecond(), r.insertedPerSecond()));
+        }
+        table.append("=".repeat(64));
+        log.info("{}", table);
+
+        assertThat(ordered.insertedPerSecond()).isPositive();
+        assertThat(random.insertedPerSecond()).isPositive();
+    }
+
+    private static Report insert(String name, Supplier<String> ids, int rows) throws SQLException {
+        long generateStart = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            ids.get();
+        }
+        double generatedPerSecond = rows / ((System.nanoTime() - generateStart) / 1e9);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=0", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE bookings (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "request_id VARCHAR(100) UNIQUE)");
+            }
+            connection.setAutoCommit(false);
+
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bookings (request_id) VALUES (?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setString(1, ids.get());
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            double insertedPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+            return new Report(name, generatedPerSecond, insertedPerSecond);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package sf.mephi.booking.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import sf.mephi.common.exception.TooManyRequestsException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Путь аутентификации под всплеском логинов: хеширование в потоках запросов и на ограниченном пуле.
+ *
+ * Модель: CALLERS потоков (как потоки Tomcat) одновременно выполняют по LOGINS проверок пароля.
+ * Параллельность хеширования - сколько BCrypt считается одновременно (сколько CPU занято логинами);
+ * отказ - запрос, получивший 429 из-за переполненной очереди пула.
+ */
+@Slf4j
+@Tag("benchmark")
+class AuthPathBenchmarkTest {
+
+    private static final int COST = 6;
+    private static final int CALLERS = 16;
+    private static final int LOGINS = 8;
+    private static final int HASH_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 8;
+
+    record Report(String mode, int maxParallelHashing, int ok, int rejected, double p50Millis, double p99Millis,
+                  double wallMillis) {
+    }
+
+    @Test
+    @DisplayName("Отчёт о пути аутентификации при всплеске логинов")
+    void compareAuthPaths() throws InterruptedException {
+        String stored = new BCryptPasswordEncoder(COST).encode("password123");
+
+        Report requestThreads = run("request-threads", stored, Runnable::run);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(HASH_THREADS);
+        executor.setMaxPoolSize(HASH_THREADS);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        Report boundedPool;
+        try {
+            boundedPool = run("bounded-pool", stored, executor);
+        } finally {
+            executor.shutdown();
+        }
+        print(List.of(requestThreads, boundedPool));
+
+        assertThat(requestThreads.ok()).isEqualTo(CALLERS * LOGINS);
+        assertThat(boundedPool.maxParallelHashing()).isLessThanOrEqualTo(HASH_THREADS);
+        assertThat(boundedPool.ok() + boundedPool.rejected()).isEqualTo(CALLERS * LOGINS);
+        assertThat(boundedPool.ok()).isPositive();
+    }
+
+    private static Report run(String mode, String stored, Executor executor) throws InterruptedException {
+        CountingEncoder encoder = new CountingEncoder(new BCryptPasswordEncoder(COST));
+        PasswordHasher hasher = new PasswordHasher(encoder, executor);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CALLERS);
+
+        for (int i = 0; i < CALLERS; i++) {
+            Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < LOGINS; j++) {
+                        long begin = System.nanoTime();
+                        try {
+                            hasher.verify("password123", stored);
+                            latencies.add(System.nanoTime() - begin);
+                        } catch (TooManyRequestsException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double wallMillis = (System.nanoTime() - begin) / 1e6;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Report(mode, encoder.maxParallel.get(), sorted.size(), rejected.get(),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), wallMillis);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    private static void print(Iterable<Report> reports) {
+        StringBuilder table = new StringBuilder();
+        table.append('\n').append("=".repeat(78)).append('\n');
+        table.append(String.format("  ПУТЬ АУТЕНТИФИКАЦИИ: BCrypt cost %d, %d потоков запросов по %d логинов, пул %d + очередь %d%n",
+                COST, CALLERS, LOGINS, HASH_THREADS, QUEUE_CAPACITY));
+        table.append("=".repeat(78)).append('\n');
+        table.append(String.format("%-16s %10s %6s %9s %10s %10s %10s%n",
+                "mode", "parallel", "ok", "rejected", "p50, ms", "p99, ms", "wall, ms"));
+        table.append("-".repeat(78)).append('\n');
+        for (Report r : reports) {
+            table.append(String.format("%-16s %10d %6d %9d %10.1f %10.1f %10.0f%n",
+                    r.mode(), r.maxParallelHashing(), r.ok(), r.rejected(), r.p50Millis(), r.p99Millis(), r.wallMillis()));
+        }
+        table.append("=".repeat(78));
+        log.info("{}", table);
+    }
+
+    /**
+     * Энкодер, замеряющий максимальное число одновременных вычислений BCrypt
+     */
+    private static final class CountingEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxParallel = new AtomicInteger();
+
+        CountingEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            enter();
+            try {
+                return delegate.encode(rawPassword);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            enter();
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        private void enter() {
+            maxParallel.accumulateAndGet(active.incrementAndGet(), Math::max);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package sf.mephi.booking.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void choose_ShouldPickLargestCostWithinTarget() {
+        // 50 → 100 → 200 мс укладываются в 250 мс, 400 мс - уже нет
+        assertEquals(12, BCryptCostCalibrator.choose(50 * MS, 10, 14, 250 * MS));
+    }
+
+    @Test
+    void choose_ShouldNotGoBelowMinCost_OnSlowHardware() {
+        assertEquals(10, BCryptCostCalibrator.choose(500 * MS, 10, 14, 250 * MS));
+    }
+
+    @Test
+    void choose_ShouldNotExceedMaxCost_OnFastHardware() {
+        assertEquals(14, BCryptCostCalibrator.choose(MS / 10, 10, 14, 250 * MS));
+    }
+
+    @Test
+    void calibrate_ShouldStayWithinBounds() {
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(5), 4, 6);
+
+        assertTrue(cost >= 4 && cost <= 6);
+    }
+}
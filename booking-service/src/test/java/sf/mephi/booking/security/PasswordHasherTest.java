@@ -0,0 +1,92 @@
+package sf.mephi.booking.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import sf.mephi.common.exception.TooManyRequestsException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void verify_ShouldReturnUpgradedHash_WhenCostIncreased() {
+        String stored = new BCryptPasswordEncoder(4).encode("password123");
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), Runnable::run);
+
+        PasswordHasher.Verification verification = hasher.verify("password123", stored);
+
+        assertTrue(verification.matches());
+        assertTrue(verification.needsRehash());
+        assertTrue(verification.upgradedHash().startsWith("$2a$05$"));
+        assertTrue(new BCryptPasswordEncoder(5).matches("password123", verification.upgradedHash()));
+    }
+
+    @Test
+    void verify_ShouldNotRehash_WhenCostUnchanged() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        PasswordHasher hasher = new PasswordHasher(encoder, Runnable::run);
+
+        PasswordHasher.Verification verification = hasher.verify("password123", encoder.encode("password123"));
+
+        assertTrue(verification.matches());
+        assertFalse(verification.needsRehash());
+    }
+
+    @Test
+    void verify_ShouldReject_WhenPasswordWrong() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), Runnable::run);
+
+        PasswordHasher.Verification verification = hasher.verify("wrong", encoder.encode("password123"));
+
+        assertFalse(verification.matches());
+        assertFalse(verification.needsRehash());
+    }
+
+    @Test
+    void hash_ShouldThrowTooManyRequests_WhenQueueFull() throws InterruptedException {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        // Единственный поток занят, единственное место в очереди тоже
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        started.await();
+        executor.execute(this::awaitRelease);
+
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), executor);
+
+        assertThrows(TooManyRequestsException.class, () -> hasher.hash("password123"));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
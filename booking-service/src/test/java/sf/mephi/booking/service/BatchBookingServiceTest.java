@@ -0,0 +1,213 @@
+package sf.mephi.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sf.mephi.common.constants.BookingStatus;
+import sf.mephi.common.exception.ServiceUnavailableException;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.booking.client.HotelServiceClient;
+import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
+import sf.mephi.booking.dto.external.ConfirmAvailabilityRequest;
+import sf.mephi.booking.dto.external.ReserveRoomRequest;
+import sf.mephi.booking.dto.request.CreateBatchBookingRequest;
+import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.entity.Booking;
+import sf.mephi.booking.entity.User;
+import sf.mephi.booking.mapper.BookingMapper;
+import sf.mephi.booking.repository.ArchivedBookingRepository;
+import sf.mephi.booking.repository.BookingRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchBookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    private ExecutorService executor;
+    private BatchBookingService batchBookingService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        BookingService bookingService = new BookingService(bookingRepository, archivedBookingRepository, bookingMapper,
+                userService, hotelServiceClient);
+        batchBookingService = new BatchBookingService(bookingService, bookingRepository, bookingMapper,
+                userService, hotelServiceClient, executor);
+
+        user = User.builder().id(1L).username("corp").build();
+        lenient().when(userService.getUserReference("corp")).thenReturn(user);
+        lenient().when(bookingMapper.toEntity(any(CreateBookingRequest.class)))
+                .thenAnswer(invocation -> {
+                    CreateBookingRequest item = invocation.getArgument(0);
+                    return Booking.builder().startDate(item.getStartDate()).endDate(item.getEndDate()).build();
+                });
+        lenient().when(bookingMapper.toDTO(any(Booking.class), eq("corp")))
+                .thenAnswer(invocation -> {
+                    Booking booking = invocation.getArgument(0);
+                    return BookingDTO.builder().roomId(booking.getRoomId()).status(booking.getStatus()).build();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static CreateBookingRequest item(Long roomId) {
+        return CreateBookingRequest.builder()
+                .roomId(roomId)
+                .hotelId(roomId == null ? 2L : null)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+    }
+
+    private static AvailabilityConfirmationDTO confirmed(Long roomId) {
+        return AvailabilityConfirmationDTO.builder().roomId(roomId).confirmed(true).build();
+    }
+
+    @Test
+    void createBatch_ShouldConfirmAllRoomsAndSaveBookings() {
+        when(hotelServiceClient.confirmAvailability(anyLong(), any(ConfirmAvailabilityRequest.class)))
+                .thenAnswer(invocation -> confirmed(invocation.getArgument(0)));
+        when(hotelServiceClient.reserveRoom(any(ReserveRoomRequest.class))).thenReturn(confirmed(7L));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingDTO> result = batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(2L), item(null))), "corp");
+
+        assertEquals(List.of(1L, 2L, 7L), result.stream().map(BookingDTO::getRoomId).toList());
+        assertTrue(result.stream().allMatch(booking -> booking.getStatus() == BookingStatus.CONFIRMED));
+        verify(bookingRepository).saveAll(anyList());
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
+    @Test
+    void createBatch_ShouldIssueConfirmationsInParallel() {
+        int rooms = 4;
+        CountDownLatch allInFlight = new CountDownLatch(rooms);
+        when(hotelServiceClient.confirmAvailability(anyLong(), any(ConfirmAvailabilityRequest.class)))
+                .thenAnswer(invocation -> {
+                    allInFlight.countDown();
+                    // Последовательные вызовы не дождались бы остальных
+                    assertTrue(allInFlight.await(5, TimeUnit.SECONDS));
+                    return confirmed(invocation.getArgument(0));
+                });
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingDTO> result = batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(2L), item(3L), item(4L))), "corp");
+
+        assertEquals(rooms, result.size());
+    }
+
+    @Test
+    void createBatch_ShouldReleaseConfirmedRoomsAndSaveNothing_WhenAnyRoomUnavailable() {
+        when(hotelServiceClient.confirmAvailability(anyLong(), any(ConfirmAvailabilityRequest.class)))
+                .thenAnswer(invocation -> {
+                    Long roomId = invocation.getArgument(0);
+                    return roomId == 2L
+                            ? AvailabilityConfirmationDTO.builder().roomId(roomId).confirmed(false).build()
+                            : confirmed(roomId);
+                });
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(2L), item(3L))), "corp"));
+
+        assertTrue(exception.getMessage().contains("item 1"));
+        verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
+        verify(hotelServiceClient).releaseSlot(eq(3L), anyString());
+        verify(hotelServiceClient, never()).releaseSlot(eq(2L), anyString());
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createBatch_ShouldPropagateOverload_AfterCompensation() {
+        when(hotelServiceClient.confirmAvailability(anyLong(), any(ConfirmAvailabilityRequest.class)))
+                .thenAnswer(invocation -> {
+                    Long roomId = invocation.getArgument(0);
+                    if (roomId == 2L) {
+                        throw new ServiceUnavailableException("Hotel service is overloaded");
+                    }
+                    return confirmed(roomId);
+                });
+
+        assertThrows(ServiceUnavailableException.class, () -> batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(2L))), "corp"));
+
+        verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
+    }
+
+    @Test
+    void createBatch_ShouldReleaseLegsThatTimedOut() {
+        when(hotelServiceClient.confirmAvailability(anyLong(), any(ConfirmAvailabilityRequest.class)))
+                .thenAnswer(invocation -> {
+                    Long roomId = invocation.getArgument(0);
+                    if (roomId == 2L) {
+                        throw new IllegalStateException("Read timed out");
+                    }
+                    return confirmed(roomId);
+                });
+        when(hotelServiceClient.reserveRoom(any(ReserveRoomRequest.class)))
+                .thenThrow(new IllegalStateException("Read timed out"));
+
+        assertThrows(ValidationException.class, () -> batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(2L), item(null))), "corp"));
+
+        // Ответ не получен, но Hotel Service мог занять номер - освобождаются и такие элементы
+        verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
+        verify(hotelServiceClient).releaseSlot(eq(2L), anyString());
+        verify(hotelServiceClient).releaseReservation(anyString());
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createBatch_ShouldReleaseAllRooms_WhenSaveFails() {
+        when(hotelServiceClient.confirmAvailability(anyLong(), any(ConfirmAvailabilityRequest.class)))
+                .thenAnswer(invocation -> confirmed(invocation.getArgument(0)));
+        when(bookingRepository.saveAll(anyList())).thenThrow(new IllegalStateException("DB down"));
+
+        assertThrows(IllegalStateException.class, () -> batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(2L))), "corp"));
+
+        verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
+        verify(hotelServiceClient).releaseSlot(eq(2L), anyString());
+    }
+
+    @Test
+    void createBatch_ShouldRejectDuplicateRooms_BeforeCallingHotelService() {
+        assertThrows(ValidationException.class, () -> batchBookingService.createBatch(
+                new CreateBatchBookingRequest(List.of(item(1L), item(1L))), "corp"));
+
+        verifyNoInteractions(hotelServiceClient);
+    }
+}
@@ -0,0 +1,178 @@
+package sf.mephi.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import sf.mephi.booking.client.HotelServiceClient;
+import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.entity.ArchivedBooking;
+import sf.mephi.booking.entity.Booking;
+import sf.mephi.booking.entity.User;
+import sf.mephi.booking.repository.ArchivedBookingRepository;
+import sf.mephi.booking.repository.BookingRepository;
+import sf.mephi.booking.repository.UserRepository;
+import sf.mephi.common.constants.BookingStatus;
+import sf.mephi.common.constants.Role;
+import sf.mephi.common.dto.PageDTO;
+import sf.mephi.common.util.IdGenerator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Архив бронирований на реальной БД (H2): перенос пачками и чтение истории из обеих таблиц
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingArchiverTest {
+
+    private static final String USERNAME = "archive-user";
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        archivedBookingRepository.deleteAll();
+        jdbcTemplate.update("UPDATE users SET archived_bookings = 0");
+        user = userRepository.findByUsername(USERNAME).orElseGet(() -> userRepository.save(User.builder()
+                .username(USERNAME)
+                .password("encoded-password")
+                .role(Role.USER)
+                .build()));
+    }
+
+    private Booking booking(BookingStatus status, LocalDate endDate) {
+        return Booking.builder()
+                .user(user)
+                .roomId(7L)
+                .startDate(endDate.minusDays(2))
+                .endDate(endDate)
+                .status(status)
+                .requestId(IdGenerator.nextId())
+                .build();
+    }
+
+    private Booking save(BookingStatus status, LocalDate endDate) {
+        return bookingRepository.save(booking(status, endDate));
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyOldFinishedBookings() {
+        LocalDate old = LocalDate.now().minusDays(200);
+        Booking completed = save(BookingStatus.COMPLETED, old);
+        Booking cancelled = save(BookingStatus.CANCELLED, old);
+        Booking confirmed = save(BookingStatus.CONFIRMED, old);
+        Booking recent = save(BookingStatus.COMPLETED, LocalDate.now().minusDays(10));
+
+        assertThat(bookingArchiver.archive()).isEqualTo(2);
+
+        assertThat(bookingRepository.findAll()).extracting(Booking::getId)
+                .containsExactlyInAnyOrder(confirmed.getId(), recent.getId());
+        assertThat(archivedBookingRepository.findByIdAndUserId(completed.getId(), user.getId()))
+                .hasValueSatisfying(archived -> {
+                    assertThat(archived.getStatus()).isEqualTo(BookingStatus.COMPLETED);
+                    assertThat(archived.getRequestId()).isEqualTo(completed.getRequestId());
+                    assertThat(archived.getEndDate()).isEqualTo(old);
+                    assertThat(archived.getArchivedAt()).isNotNull();
+                });
+        assertThat(archivedBookingRepository.findByIdAndUserId(cancelled.getId(), user.getId())).isPresent();
+
+        // Повторный запуск ничего не переносит
+        assertThat(bookingArchiver.archive()).isZero();
+        assertThat(userRepository.findArchivedBookingsById(user.getId())).contains(2L);
+    }
+
+    @Test
+    void archive_ShouldWalkAllBatchesByKey() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            bookings.add(booking(BookingStatus.COMPLETED, LocalDate.now().minusDays(100)));
+        }
+        bookingRepository.saveAll(bookings);
+
+        assertThat(bookingArchiver.archive()).isEqualTo(1200);
+
+        assertThat(bookingRepository.count()).isZero();
+        assertThat(archivedBookingRepository.countByUserId(user.getId())).isEqualTo(1200);
+        assertThat(userRepository.findArchivedBookingsById(user.getId())).contains(1200L);
+    }
+
+    @Test
+    void getUserBookings_ShouldReadOnlyCurrentBookings_WhenArchiveIsEmpty() {
+        Booking older = save(BookingStatus.CONFIRMED, LocalDate.now().plusDays(5));
+        Booking newer = save(BookingStatus.CONFIRMED, LocalDate.now().plusDays(20));
+        // Строка в архиве без счётчика: getUserBookings ориентируется на счётчик и в архив не идёт
+        archivedBookingRepository.save(ArchivedBooking.builder()
+                .id(older.getId() + 10_000)
+                .userId(user.getId())
+                .roomId(7L)
+                .startDate(LocalDate.now().minusDays(300))
+                .endDate(LocalDate.now().minusDays(298))
+                .status(BookingStatus.COMPLETED)
+                .requestId(IdGenerator.nextId())
+                .createdAt(LocalDateTime.now().minusDays(301))
+                .archivedAt(LocalDateTime.now())
+                .build());
+
+        PageDTO<BookingDTO> page = bookingService.getUserBookings(USERNAME,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(BookingDTO::getId).containsExactly(newer.getId(), older.getId());
+    }
+
+    @Test
+    void getUserBookings_ShouldMergeCurrentAndArchivedBookings() {
+        Booking first = save(BookingStatus.COMPLETED, LocalDate.now().minusDays(300));
+        Booking second = save(BookingStatus.CONFIRMED, LocalDate.now().minusDays(200));
+        Booking third = save(BookingStatus.CANCELLED, LocalDate.now().minusDays(100));
+        Booking fourth = save(BookingStatus.CONFIRMED, LocalDate.now().plusDays(10));
+        bookingArchiver.archive();
+
+        PageDTO<BookingDTO> firstPage = bookingService.getUserBookings(USERNAME,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "startDate")));
+        PageDTO<BookingDTO> secondPage = bookingService.getUserBookings(USERNAME,
+                PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "startDate")));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(4);
+        assertThat(firstPage.getContent()).extracting(BookingDTO::getId)
+                .containsExactly(fourth.getId(), third.getId(), second.getId());
+        assertThat(firstPage.getContent()).extracting(BookingDTO::getUsername).containsOnly(USERNAME);
+        assertThat(secondPage.getContent()).extracting(BookingDTO::getId).containsExactly(first.getId());
+
+        assertThat(bookingService.getBookingById(first.getId(), USERNAME).getStatus())
+                .isEqualTo(BookingStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,243 @@
+package sf.mephi.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import sf.mephi.booking.client.HotelServiceClient;
+import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
+import sf.mephi.booking.dto.external.RoomDTO;
+import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.entity.Booking;
+import sf.mephi.booking.entity.User;
+import sf.mephi.booking.repository.BookingRepository;
+import sf.mephi.booking.repository.UserRepository;
+import sf.mephi.common.constants.BookingStatus;
+import sf.mephi.common.constants.Role;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.common.util.IdGenerator;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Задача жизненного цикла на реальной БД (H2): переходы статусов пачками, аренда строк, освобождение слотов
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingLifecycleJobTest {
+
+    private static final String USERNAME = "lifecycle-user";
+
+    @Autowired
+    private BookingLifecycleJob bookingLifecycleJob;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        user = userRepository.findByUsername(USERNAME).orElseGet(() -> userRepository.save(User.builder()
+                .username(USERNAME)
+                .password("encoded-password")
+                .role(Role.USER)
+                .build()));
+    }
+
+    private Booking booking(BookingStatus status, LocalDate endDate) {
+        return Booking.builder()
+                .user(user)
+                .roomId(7L)
+                .startDate(endDate.minusDays(2))
+                .endDate(endDate)
+                .status(status)
+                .requestId(IdGenerator.nextId())
+                .build();
+    }
+
+    private Booking save(BookingStatus status, LocalDate endDate) {
+        return bookingRepository.save(booking(status, endDate));
+    }
+
+    private BookingStatus status(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private void createdAt(Booking booking, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), booking.getId());
+    }
+
+    @Test
+    void expireStalePending_ShouldFailOldPendingAndReleaseSlot() {
+        LocalDate future = LocalDate.now().plusDays(10);
+        Booking stale = save(BookingStatus.PENDING, future);
+        createdAt(stale, LocalDateTime.now().minusHours(1));
+        Booking fresh = save(BookingStatus.PENDING, future);
+
+        assertThat(bookingLifecycleJob.expireStalePending()).isEqualTo(1);
+
+        assertThat(status(stale)).isEqualTo(BookingStatus.FAILED);
+        assertThat(status(fresh)).isEqualTo(BookingStatus.PENDING);
+        verify(hotelServiceClient).releaseSlot(7L, stale.getRequestId());
+        verify(hotelServiceClient, never()).releaseSlot(7L, fresh.getRequestId());
+    }
+
+    private CreateBookingRequest createRequest() {
+        return CreateBookingRequest.builder()
+                .roomId(7L)
+                .startDate(LocalDate.now().plusDays(10))
+                .endDate(LocalDate.now().plusDays(12))
+                .build();
+    }
+
+    private Booking onlyBooking() {
+        List<Booking> bookings = bookingRepository.findAll();
+        assertThat(bookings).hasSize(1);
+        return bookings.get(0);
+    }
+
+    @Test
+    void expireStalePending_ShouldFailBookingLeftPendingByInterruptedSaga() {
+        when(hotelServiceClient.getRoomById(7L)).thenReturn(RoomDTO.builder().id(7L).available(true).build());
+        when(hotelServiceClient.confirmAvailability(eq(7L), any())).thenAnswer(invocation -> {
+            // PENDING уже закоммичен до вызова Hotel Service
+            assertThat(status(onlyBooking())).isEqualTo(BookingStatus.PENDING);
+            // Экземпляр "упал" между шагами саги: ни подтверждения, ни компенсации
+            throw new Error("instance crashed");
+        });
+
+        assertThatThrownBy(() -> bookingService.createBooking(createRequest(), USERNAME)).isInstanceOf(Error.class);
+        Booking pending = onlyBooking();
+        assertThat(pending.getStatus()).isEqualTo(BookingStatus.PENDING);
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+
+        createdAt(pending, LocalDateTime.now().minusHours(1));
+        assertThat(bookingLifecycleJob.expireStalePending()).isEqualTo(1);
+
+        assertThat(status(pending)).isEqualTo(BookingStatus.FAILED);
+        verify(hotelServiceClient).releaseSlot(7L, pending.getRequestId());
+    }
+
+    @Test
+    void cancelBooking_ShouldRejectPending_LeavingItToLifecycleJob() {
+        Booking pending = save(BookingStatus.PENDING, LocalDate.now().plusDays(10));
+
+        assertThatThrownBy(() -> bookingService.cancelBooking(pending.getId(), USERNAME))
+                .isInstanceOf(ValidationException.class);
+        assertThat(status(pending)).isEqualTo(BookingStatus.PENDING);
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+
+        // Незавершённую сагу переводит в FAILED задача - слот освобождается один раз
+        createdAt(pending, LocalDateTime.now().minusHours(1));
+        assertThat(bookingLifecycleJob.expireStalePending()).isEqualTo(1);
+        verify(hotelServiceClient, times(1)).releaseSlot(7L, pending.getRequestId());
+    }
+
+    @Test
+    void createBooking_ShouldNotConfirm_WhenPendingExpiredDuringConfirmation() {
+        when(hotelServiceClient.getRoomById(7L)).thenReturn(RoomDTO.builder().id(7L).available(true).build());
+        when(hotelServiceClient.confirmAvailability(eq(7L), any())).thenAnswer(invocation -> {
+            createdAt(onlyBooking(), LocalDateTime.now().minusHours(1));
+            assertThat(bookingLifecycleJob.expireStalePending()).isEqualTo(1);
+            return AvailabilityConfirmationDTO.builder().confirmed(true).roomId(7L).build();
+        });
+
+        assertThatThrownBy(() -> bookingService.createBooking(createRequest(), USERNAME))
+                .isInstanceOf(ValidationException.class);
+
+        Booking failed = onlyBooking();
+        assertThat(failed.getStatus()).isEqualTo(BookingStatus.FAILED);
+        // Слот освобождает задача, переведшая PENDING в FAILED; компенсация саги его не повторяет
+        verify(hotelServiceClient, times(1)).releaseSlot(7L, failed.getRequestId());
+    }
+
+    @Test
+    void completeFinished_ShouldCompleteOnlyConfirmedBookingsPastEndDate() {
+        Booking finished = save(BookingStatus.CONFIRMED, LocalDate.now().minusDays(1));
+        Booking current = save(BookingStatus.CONFIRMED, LocalDate.now().plusDays(1));
+        Booking cancelled = save(BookingStatus.CANCELLED, LocalDate.now().minusDays(1));
+
+        assertThat(bookingLifecycleJob.completeFinished()).isEqualTo(1);
+
+        assertThat(status(finished)).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(status(current)).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(status(cancelled)).isEqualTo(BookingStatus.CANCELLED);
+        verify(hotelServiceClient).releaseSlot(7L, finished.getRequestId());
+        verify(hotelServiceClient, times(1)).releaseSlot(anyLong(), anyString());
+    }
+
+    @Test
+    void completeFinished_ShouldWalkAllBatchesByKey() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            bookings.add(booking(BookingStatus.CONFIRMED, LocalDate.now().minusDays(1)));
+        }
+        bookingRepository.saveAll(bookings);
+
+        assertThat(bookingLifecycleJob.completeFinished()).isEqualTo(250);
+
+        assertThat(bookingRepository.findByStatus(BookingStatus.COMPLETED)).hasSize(250);
+        verify(hotelServiceClient, times(250)).releaseSlot(eq(7L), anyString());
+    }
+
+    @Test
+    void completeFinished_ShouldSkipRowsLeasedByAnotherInstance_UntilLeaseExpires() {
+        Booking booking = save(BookingStatus.CONFIRMED, LocalDate.now().minusDays(1));
+        jdbcTemplate.update("UPDATE bookings SET lease_owner = 'other-instance', lease_until = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), booking.getId());
+
+        assertThat(bookingLifecycleJob.completeFinished()).isZero();
+        assertThat(status(booking)).isEqualTo(BookingStatus.CONFIRMED);
+
+        jdbcTemplate.update("UPDATE bookings SET lease_until = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), booking.getId());
+
+        assertThat(bookingLifecycleJob.completeFinished()).isEqualTo(1);
+        assertThat(status(booking)).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT lease_owner FROM bookings WHERE id = ?", String.class, booking.getId())).isNull();
+    }
+
+    @Test
+    void cancelBooking_ShouldBeRejected_AfterCompletion() {
+        Booking booking = save(BookingStatus.CONFIRMED, LocalDate.now().minusDays(1));
+        bookingLifecycleJob.completeFinished();
+
+        assertThatThrownBy(() -> bookingService.cancelBooking(booking.getId(), USERNAME))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Booking is already completed");
+        verify(hotelServiceClient, times(1)).releaseSlot(7L, booking.getRequestId());
+    }
+}
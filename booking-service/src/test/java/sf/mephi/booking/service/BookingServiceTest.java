@@ -3,6 +3,7 @@ package sf.mephi.booking.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -10,19 +11,27 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import sf.mephi.common.constants.ApiConstants;
 import sf.mephi.common.constants.BookingStatus;
 import sf.mephi.common.dto.PageDTO;
 import sf.mephi.common.exception.NotFoundException;
+import sf.mephi.common.exception.ServiceUnavailableException;
 import sf.mephi.common.exception.ValidationException;
 import sf.mephi.booking.client.HotelServiceClient;
 import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
+import sf.mephi.booking.dto.external.ChangeReservationRequest;
 import sf.mephi.booking.dto.external.ConfirmAvailabilityRequest;
+import sf.mephi.booking.dto.external.ReserveRoomRequest;
 import sf.mephi.booking.dto.external.RoomDTO;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.request.UpdateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
+import sf.mephi.booking.entity.ArchivedBooking;
 import sf.mephi.booking.entity.Booking;
 import sf.mephi.booking.entity.User;
 import sf.mephi.booking.mapper.BookingMapper;
+import sf.mephi.booking.repository.ArchivedBookingRepository;
 import sf.mephi.booking.repository.BookingRepository;
 
 import java.time.LocalDate;
@@ -39,6 +48,9 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private BookingMapper bookingMapper;
 
@@ -102,14 +114,28 @@ class BookingServiceTest {
                 .build();
     }
 
+    private static BookingRepository.UserBookingRow row(Booking booking, long archivedBookings) {
+        return new BookingRepository.UserBookingRow() {
+            @Override
+            public Booking getBooking() {
+                return booking;
+            }
+
+            @Override
+            public long getArchivedBookings() {
+                return archivedBookings;
+            }
+        };
+    }
+
     @Test
     void getUserBookings_ShouldReturnPagedBookings() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
+        Page<BookingRepository.UserBookingRow> page = new PageImpl<>(List.of(row(booking, 0)));
 
-        when(userService.getUserByUsername("testuser")).thenReturn(user);
-        when(bookingRepository.findByUserId(1L, pageable)).thenReturn(page);
-        when(bookingMapper.toDTO(booking)).thenReturn(bookingDTO);
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findPageWithArchivedCount(1L, pageable)).thenReturn(page);
+        when(bookingMapper.toDTO(booking, "testuser")).thenReturn(bookingDTO);
 
         PageDTO<BookingDTO> result = bookingService.getUserBookings("testuser", pageable);
 
@@ -117,62 +143,151 @@ class BookingServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals(1, result.getTotalElements());
 
-        verify(userService).getUserByUsername("testuser");
-        verify(bookingRepository).findByUserId(1L, pageable);
+        // Пользователь не загружается - только его id; без архива - один запрос к bookings
+        verify(userService, never()).getUserByUsername(anyString());
+        verify(userService, never()).getArchivedBookings(anyLong());
+        verify(bookingRepository).findPageWithArchivedCount(1L, pageable);
+        verifyNoInteractions(archivedBookingRepository);
+    }
+
+    @Test
+    void getUserBookings_ShouldReadArchiveCounter_OnlyWhenPageIsEmpty() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findPageWithArchivedCount(1L, pageable)).thenReturn(Page.empty(pageable));
+        when(userService.getArchivedBookings(1L)).thenReturn(0L);
+
+        PageDTO<BookingDTO> result = bookingService.getUserBookings("testuser", pageable);
+
+        assertEquals(0, result.getTotalElements());
+        verifyNoInteractions(archivedBookingRepository);
+    }
+
+    @Test
+    void getUserBookings_ShouldMergeArchivedBookings_InRequestedOrder() {
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "startDate"));
+        Pageable head = PageRequest.of(0, 4, pageable.getSort().and(Sort.by("id")));
+        booking.setStartDate(LocalDate.of(2026, 3, 1));
+        ArchivedBooking archived = ArchivedBooking.builder().id(2L).userId(1L).startDate(LocalDate.of(2025, 6, 1)).build();
+        ArchivedBooking older = ArchivedBooking.builder().id(3L).userId(1L).startDate(LocalDate.of(2025, 1, 1)).build();
+
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findPageWithArchivedCount(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 1));
+        when(userService.getArchivedBookings(1L)).thenReturn(2L);
+        when(bookingRepository.findByUserId(1L, head)).thenReturn(new PageImpl<>(List.of(booking), head, 1));
+        when(archivedBookingRepository.findByUserId(1L, head)).thenReturn(List.of(archived, older));
+        when(bookingMapper.toDTO(booking, "testuser")).thenReturn(dto(1L, LocalDate.of(2026, 3, 1)));
+        when(bookingMapper.toDTO(archived, "testuser")).thenReturn(dto(2L, LocalDate.of(2025, 6, 1)));
+        when(bookingMapper.toDTO(older, "testuser")).thenReturn(dto(3L, LocalDate.of(2025, 1, 1)));
+
+        PageDTO<BookingDTO> result = bookingService.getUserBookings("testuser", pageable);
+
+        // Вторая страница: после 2026-03-01 и 2025-06-01 остаётся только 2025-01-01
+        assertEquals(List.of(3L), result.getContent().stream().map(BookingDTO::getId).toList());
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    void getUserBookings_ShouldRejectSortByFieldMissingInArchive() {
+        for (String property : List.of("version", "requestId", "username")) {
+            Pageable pageable = PageRequest.of(0, 10, Sort.by(property));
+
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> bookingService.getUserBookings("testuser", pageable));
+
+            assertEquals("Unsupported sort property: " + property, exception.getMessage());
+        }
+        verifyNoInteractions(bookingRepository, archivedBookingRepository);
+    }
+
+    @Test
+    void getUserBookings_ShouldMergeArchivedBookings_ByStatusName() {
+        Pageable pageable = PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "status"));
+        Pageable head = PageRequest.of(0, 3, pageable.getSort().and(Sort.by("id")));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        ArchivedBooking cancelled = ArchivedBooking.builder().id(2L).userId(1L).status(BookingStatus.CANCELLED).build();
+        ArchivedBooking completed = ArchivedBooking.builder().id(3L).userId(1L).status(BookingStatus.COMPLETED).build();
+
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findPageWithArchivedCount(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(row(booking, 2)), pageable, 1));
+        when(bookingRepository.findByUserId(1L, head)).thenReturn(new PageImpl<>(List.of(booking), head, 1));
+        when(archivedBookingRepository.findByUserId(1L, head)).thenReturn(List.of(cancelled, completed));
+        when(bookingMapper.toDTO(booking, "testuser")).thenReturn(BookingDTO.builder().id(1L).build());
+        when(bookingMapper.toDTO(cancelled, "testuser")).thenReturn(BookingDTO.builder().id(2L).build());
+        when(bookingMapper.toDTO(completed, "testuser")).thenReturn(BookingDTO.builder().id(3L).build());
+
+        PageDTO<BookingDTO> result = bookingService.getUserBookings("testuser", pageable);
+
+        // Как строка в БД: CANCELLED < COMPLETED < CONFIRMED
+        assertEquals(List.of(2L, 3L, 1L), result.getContent().stream().map(BookingDTO::getId).toList());
+    }
+
+    private static BookingDTO dto(Long id, LocalDate startDate) {
+        return BookingDTO.builder().id(id).startDate(startDate).build();
     }
 
     @Test
     void getBookingById_ShouldReturnBooking_WhenUserOwnsIt() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(bookingMapper.toDTO(booking)).thenReturn(bookingDTO);
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(booking));
+        when(bookingMapper.toDTO(booking, "testuser")).thenReturn(bookingDTO);
 
         BookingDTO result = bookingService.getBookingById(1L, "testuser");
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
 
-        verify(bookingRepository).findById(1L);
-        verify(bookingMapper).toDTO(booking);
+        // Один запрос: владелец проверяется в нём же
+        verify(bookingRepository).findByIdAndUserId(1L, 1L);
+        verify(bookingRepository, never()).findById(anyLong());
     }
 
     @Test
     void getBookingById_ShouldThrowException_WhenNotFound() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
         when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.getBookingById(999L, "testuser"));
-
-        verify(bookingRepository).findById(999L);
     }
 
     @Test
     void getBookingById_ShouldThrowException_WhenUserDoesNotOwnBooking() {
+        when(userService.getUserId("otheruser")).thenReturn(2L);
+        when(bookingRepository.findByIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 
-        assertThrows(ValidationException.class,
+        ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.getBookingById(1L, "otheruser"));
 
-        verify(bookingRepository).findById(1L);
+        assertEquals(ApiConstants.ERROR_FORBIDDEN, exception.getMessage());
     }
 
     @Test
     void createBooking_ShouldCompleteSuccessfully_WhenRoomAvailable() {
         // SAGA успешный сценарий
-        when(userService.getUserByUsername("testuser")).thenReturn(user);
+        when(userService.getUserReference("testuser")).thenReturn(user);
         when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
         when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.completePending(any(), eq(BookingStatus.CONFIRMED))).thenReturn(1);
         when(hotelServiceClient.getRoomById(1L)).thenReturn(roomDTO);
         when(hotelServiceClient.confirmAvailability(eq(1L), any(ConfirmAvailabilityRequest.class)))
                 .thenReturn(confirmationDTO);
-        when(bookingMapper.toDTO(any(Booking.class))).thenReturn(bookingDTO);
+        when(bookingMapper.toDTO(any(Booking.class), eq("testuser"))).thenReturn(bookingDTO);
 
         BookingDTO result = bookingService.createBooking(createRequest, "testuser");
 
         assertNotNull(result);
         assertEquals(BookingStatus.CONFIRMED, result.getStatus());
 
-        verify(bookingRepository, times(2)).save(any(Booking.class)); // PENDING → CONFIRMED
+        // PENDING коммитится отдельно, CONFIRMED - условным UPDATE внутри блока компенсации
+        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).completePending(any(), eq(BookingStatus.CONFIRMED));
         verify(hotelServiceClient).getRoomById(1L);
         verify(hotelServiceClient).confirmAvailability(eq(1L), any(ConfirmAvailabilityRequest.class));
     }
@@ -193,10 +308,11 @@ class BookingServiceTest {
     @Test
     void createBooking_ShouldExecuteCompensation_WhenRoomUnavailable() {
         // SAGA компенсация
-        when(userService.getUserByUsername("testuser")).thenReturn(user);
+        when(userService.getUserReference("testuser")).thenReturn(user);
         when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
         when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.completePending(any(), eq(BookingStatus.CANCELLED))).thenReturn(1);
 
         roomDTO.setAvailable(false);  // Комната недоступна
         when(hotelServiceClient.getRoomById(1L)).thenReturn(roomDTO);
@@ -204,17 +320,19 @@ class BookingServiceTest {
         assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(createRequest, "testuser"));
 
-        // Проверяем компенсацию: бронирование сохранено в CANCELLED
-        verify(bookingRepository, times(2)).save(any(Booking.class)); // PENDING → CANCELLED
+        // Проверяем компенсацию: бронирование переведено PENDING → CANCELLED
+        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).completePending(any(), eq(BookingStatus.CANCELLED));
         verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
     }
 
     @Test
     void createBooking_ShouldExecuteCompensation_WhenConfirmationFails() {
-        when(userService.getUserByUsername("testuser")).thenReturn(user);
+        when(userService.getUserReference("testuser")).thenReturn(user);
         when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
         when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.completePending(any(), eq(BookingStatus.CANCELLED))).thenReturn(1);
         when(hotelServiceClient.getRoomById(1L)).thenReturn(roomDTO);
 
         confirmationDTO.setConfirmed(false);  // Подтверждение не удалось
@@ -224,10 +342,125 @@ class BookingServiceTest {
         assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(createRequest, "testuser"));
 
-        verify(bookingRepository, times(2)).save(any(Booking.class));
+        verify(bookingRepository).completePending(any(), eq(BookingStatus.CANCELLED));
+        verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
+    }
+
+    @Test
+    void createBooking_ShouldReleaseSlot_WhenConfirmedWriteFails() {
+        when(userService.getUserReference("testuser")).thenReturn(user);
+        when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
+        when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.completePending(any(), eq(BookingStatus.CONFIRMED)))
+                .thenThrow(new IllegalStateException("Constraint"));
+        when(bookingRepository.completePending(any(), eq(BookingStatus.CANCELLED))).thenReturn(1);
+        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomDTO);
+        when(hotelServiceClient.confirmAvailability(eq(1L), any(ConfirmAvailabilityRequest.class)))
+                .thenReturn(confirmationDTO);
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.createBooking(createRequest, "testuser"));
+
         verify(hotelServiceClient).releaseSlot(eq(1L), anyString());
     }
 
+    @Test
+    void createBooking_ShouldNotReleaseSlot_WhenPendingExpiredBeforeConfirmation() {
+        when(userService.getUserReference("testuser")).thenReturn(user);
+        when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
+        when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        // BookingLifecycleJob уже перевёл PENDING в FAILED
+        when(bookingRepository.completePending(any(), any())).thenReturn(0);
+        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomDTO);
+        when(hotelServiceClient.confirmAvailability(eq(1L), any(ConfirmAvailabilityRequest.class)))
+                .thenReturn(confirmationDTO);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(createRequest, "testuser"));
+
+        // Слот освобождает BookingLifecycleJob вместе с переводом в FAILED - повторное освобождение не нужно
+        verify(bookingRepository).completePending(any(), eq(BookingStatus.CANCELLED));
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
+    @Test
+    void createBooking_ShouldCancelWithoutCompensation_WhenHotelServiceOverloaded() {
+        when(userService.getUserReference("testuser")).thenReturn(user);
+        when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
+        when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomDTO);
+
+        // Вызов отклонён адаптивным лимитом до отправки в Hotel Service
+        when(hotelServiceClient.confirmAvailability(eq(1L), any(ConfirmAvailabilityRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Hotel service is overloaded"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> bookingService.createBooking(createRequest, "testuser"));
+
+        verify(bookingRepository).completePending(any(), eq(BookingStatus.CANCELLED));
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
+    @Test
+    void createBookingWithAutoRoomSelection_ShouldConfirmReservedRoom() {
+        createRequest.setRoomId(null);
+        createRequest.setHotelId(1L);
+        confirmationDTO.setRoomId(4L);
+
+        when(userService.getUserReference("testuser")).thenReturn(user);
+        when(hotelServiceClient.reserveRoom(any(ReserveRoomRequest.class))).thenReturn(confirmationDTO);
+        when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(bookingMapper.toDTO(any(Booking.class), eq("testuser"))).thenReturn(bookingDTO);
+
+        bookingService.createBookingWithAutoRoomSelection(createRequest, "testuser");
+
+        ArgumentCaptor<ReserveRoomRequest> reserveCaptor = ArgumentCaptor.forClass(ReserveRoomRequest.class);
+        verify(hotelServiceClient).reserveRoom(reserveCaptor.capture());
+        assertEquals(1L, reserveCaptor.getValue().getHotelId());
+        assertEquals(reserveCaptor.getValue().getRequestId(), booking.getRequestId());
+
+        assertEquals(4L, createRequest.getRoomId());
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class)); // сразу CONFIRMED, без PENDING
+        verify(hotelServiceClient, never()).getRecommendedRooms();
+        verify(hotelServiceClient, never()).confirmAvailability(anyLong(), any());
+    }
+
+    @Test
+    void createBookingWithAutoRoomSelection_ShouldThrowException_WhenNoRoomsAvailable() {
+        createRequest.setRoomId(null);
+        confirmationDTO.setConfirmed(false);
+
+        when(userService.getUserReference("testuser")).thenReturn(user);
+        when(hotelServiceClient.reserveRoom(any(ReserveRoomRequest.class))).thenReturn(confirmationDTO);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBookingWithAutoRoomSelection(createRequest, "testuser"));
+
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
+    @Test
+    void createBookingWithAutoRoomSelection_ShouldReleaseSlot_WhenSaveFails() {
+        createRequest.setRoomId(null);
+        confirmationDTO.setRoomId(4L);
+
+        when(userService.getUserReference("testuser")).thenReturn(user);
+        when(hotelServiceClient.reserveRoom(any(ReserveRoomRequest.class))).thenReturn(confirmationDTO);
+        when(bookingMapper.toEntity(createRequest)).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new IllegalStateException("DB is down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.createBookingWithAutoRoomSelection(createRequest, "testuser"));
+
+        verify(hotelServiceClient).releaseSlot(eq(4L), anyString());
+    }
+
     @Test
     void createBooking_ShouldThrowException_WhenDatesInvalid() {
         createRequest.setEndDate(LocalDate.of(2026, 2, 28));  // End before start
@@ -250,40 +483,185 @@ class BookingServiceTest {
 
     @Test
     void cancelBooking_ShouldCancelAndReleaseSlot() {
-        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setStatus(BookingStatus.CANCELLED);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(bookingMapper.toDTO(any(Booking.class))).thenReturn(bookingDTO);
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.cancelOwned(1L, 1L)).thenReturn(1);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(booking));
+        when(bookingMapper.toDTO(booking, "testuser")).thenReturn(bookingDTO);
         doNothing().when(hotelServiceClient).releaseSlot(1L, "req-123");
 
         BookingDTO result = bookingService.cancelBooking(1L, "testuser");
 
         assertNotNull(result);
         verify(hotelServiceClient).releaseSlot(1L, "req-123");
-        verify(bookingRepository).save(argThat(b -> b.getStatus() == BookingStatus.CANCELLED));
+        // Статус меняет условный UPDATE, сущность не сохраняется
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void cancelBooking_ShouldThrowException_WhenAlreadyCancelled() {
         booking.setStatus(BookingStatus.CANCELLED);
 
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.cancelOwned(1L, 1L)).thenReturn(0);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 
-        assertThrows(ValidationException.class,
+        ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.cancelBooking(1L, "testuser"));
 
+        assertEquals("Booking is already cancelled", exception.getMessage());
         verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void cancelBooking_ShouldThrowException_WhenBookingPending() {
+        booking.setStatus(BookingStatus.PENDING);
+
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.cancelOwned(1L, 1L)).thenReturn(0);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> bookingService.cancelBooking(1L, "testuser"));
+
+        assertEquals("Booking is still pending and cannot be cancelled yet", exception.getMessage());
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
     @Test
     void cancelBooking_ShouldThrowException_WhenUserDoesNotOwnBooking() {
+        when(userService.getUserId("otheruser")).thenReturn(2L);
+        when(bookingRepository.cancelOwned(1L, 2L)).thenReturn(0);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 
-        assertThrows(ValidationException.class,
+        ValidationException exception = assertThrows(ValidationException.class,
                 () -> bookingService.cancelBooking(1L, "otheruser"));
 
+        assertEquals(ApiConstants.ERROR_FORBIDDEN, exception.getMessage());
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
+    @Test
+    void cancelBooking_ShouldThrowNotFound_WhenBookingMissing() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.cancelOwned(999L, 1L)).thenReturn(0);
+        when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.cancelBooking(999L, "testuser"));
+    }
+
+    private Booking confirmedBooking() {
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private static UpdateBookingRequest changeRequest(Long roomId) {
+        return UpdateBookingRequest.builder()
+                .roomId(roomId)
+                .startDate(LocalDate.of(2026, 3, 3))
+                .endDate(LocalDate.of(2026, 3, 8))
+                .build();
+    }
+
+    @Test
+    void changeBooking_ShouldChangeDatesWithSingleHotelCall() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(confirmedBooking()));
+        when(hotelServiceClient.changeReservation(eq(1L), any(ChangeReservationRequest.class))).thenReturn(confirmationDTO);
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
+        when(bookingMapper.toDTO(booking, "testuser")).thenReturn(bookingDTO);
+
+        bookingService.changeBooking(1L, changeRequest(null), "testuser");
+
+        ArgumentCaptor<ChangeReservationRequest> captor = ArgumentCaptor.forClass(ChangeReservationRequest.class);
+        verify(hotelServiceClient).changeReservation(eq(1L), captor.capture());
+        assertEquals("req-123", captor.getValue().getRequestId());
+        assertEquals(LocalDate.of(2026, 3, 1), captor.getValue().getPreviousStartDate());
+        assertEquals(LocalDate.of(2026, 3, 8), captor.getValue().getEndDate());
+        assertEquals(LocalDate.of(2026, 3, 3), booking.getStartDate());
+        // Без отмены и повторного бронирования
         verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+        verify(hotelServiceClient, never()).confirmAvailability(anyLong(), any());
+    }
+
+    @Test
+    void changeBooking_ShouldMoveToAnotherRoom() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(confirmedBooking()));
+        when(hotelServiceClient.changeReservation(eq(2L), any(ChangeReservationRequest.class))).thenReturn(confirmationDTO);
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
+
+        bookingService.changeBooking(1L, changeRequest(2L), "testuser");
+
+        assertEquals(2L, booking.getRoomId());
+        verify(hotelServiceClient).changeReservation(eq(2L),
+                argThat(change -> change.getPreviousRoomId().equals(1L)));
+    }
+
+    @Test
+    void changeBooking_ShouldKeepBooking_WhenChangeRefused() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(confirmedBooking()));
+        confirmationDTO.setConfirmed(false);
+        when(hotelServiceClient.changeReservation(eq(1L), any(ChangeReservationRequest.class))).thenReturn(confirmationDTO);
+
+        assertThrows(ValidationException.class, () -> bookingService.changeBooking(1L, changeRequest(null), "testuser"));
+
+        assertEquals(LocalDate.of(2026, 3, 1), booking.getStartDate());
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(hotelServiceClient, never()).revertReservationChange(anyLong(), any());
+    }
+
+    @Test
+    void changeBooking_ShouldRevertChange_WhenHotelCallFails() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(confirmedBooking()));
+        when(hotelServiceClient.changeReservation(eq(1L), any(ChangeReservationRequest.class)))
+                .thenThrow(new RuntimeException("Read timed out"));
+
+        assertThrows(RuntimeException.class, () -> bookingService.changeBooking(1L, changeRequest(null), "testuser"));
+
+        ArgumentCaptor<ChangeReservationRequest> captor = ArgumentCaptor.forClass(ChangeReservationRequest.class);
+        verify(hotelServiceClient).changeReservation(eq(1L), captor.capture());
+        verify(hotelServiceClient).revertReservationChange(1L, captor.getValue());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void changeBooking_ShouldRevertChange_WhenSaveFails() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(confirmedBooking()));
+        when(hotelServiceClient.changeReservation(eq(2L), any(ChangeReservationRequest.class))).thenReturn(confirmationDTO);
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(new IllegalStateException("Optimistic lock"));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.changeBooking(1L, changeRequest(2L), "testuser"));
+
+        verify(hotelServiceClient).revertReservationChange(eq(2L), any(ChangeReservationRequest.class));
+    }
+
+    @Test
+    void changeBooking_ShouldNotCallHotelService_WhenOverloaded() {
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(confirmedBooking()));
+        when(hotelServiceClient.changeReservation(eq(1L), any(ChangeReservationRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Hotel service is overloaded"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> bookingService.changeBooking(1L, changeRequest(null), "testuser"));
+
+        verify(hotelServiceClient, never()).revertReservationChange(anyLong(), any());
+    }
+
+    @Test
+    void changeBooking_ShouldRejectCancelledBooking() {
+        booking.setStatus(BookingStatus.CANCELLED);
+        when(userService.getUserId("testuser")).thenReturn(1L);
+        when(bookingRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(booking));
+
+        assertThrows(ValidationException.class, () -> bookingService.changeBooking(1L, changeRequest(null), "testuser"));
+
+        verifyNoInteractions(hotelServiceClient);
     }
 }
@@ -8,10 +8,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import sf.mephi.booking.client.HotelServiceClient;
 import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
 import sf.mephi.booking.dto.external.RoomDTO;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
+import sf.mephi.booking.dto.request.UpdateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
 import sf.mephi.booking.entity.User;
 import sf.mephi.booking.repository.BookingRepository;
@@ -20,16 +22,25 @@ import sf.mephi.common.constants.BookingStatus;
 import sf.mephi.common.constants.Role;
 import sf.mephi.common.constants.RoomType;
 import sf.mephi.common.dto.PageDTO;
+import sf.mephi.common.exception.ValidationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -456,6 +467,134 @@ class ConcurrentBookingTest {
         }
     }
 
+    @Test
+    @DisplayName("Должен отменить бронирование один раз при параллельных отменах")
+    void shouldCancelOnlyOnce_WhenCancelledConcurrently() throws Exception {
+        // Given: подтверждённое бронирование
+        BookingDTO booking = bookingService.createBooking(CreateBookingRequest.builder()
+                .roomId(1L)
+                .startDate(LocalDate.now().plusDays(10))
+                .endDate(LocalDate.now().plusDays(12))
+                .build(), "test-user-concurrent");
+
+        // When: несколько параллельных отмен
+        int attempts = 5;
+        ExecutorService executorService = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                try {
+                    bookingService.cancelBooking(booking.getId(), "test-user-concurrent");
+                    return true;
+                } catch (ValidationException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int cancelled = 0;
+        for (Future<Boolean> result : results) {
+            cancelled += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executorService.shutdown();
+
+        // Then: условный UPDATE пропускает одну отмену, слот освобождается один раз
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.CANCELLED);
+        verify(hotelServiceClient, times(1)).releaseSlot(eq(1L), anyString());
+    }
+
+    @Test
+    @DisplayName("Должен освобождать слот после коммита отмены")
+    void shouldReleaseSlotAfterCancelCommits() {
+        BookingDTO booking = bookingService.createBooking(CreateBookingRequest.builder()
+                .roomId(1L)
+                .startDate(LocalDate.now().plusDays(30))
+                .endDate(LocalDate.now().plusDays(32))
+                .build(), "test-user-concurrent");
+
+        // Статус читается из другого потока (своё соединение): видна только зафиксированная отмена
+        AtomicReference<BookingStatus> statusDuringRelease = new AtomicReference<>();
+        doAnswer(invocation -> {
+            statusDuringRelease.set(CompletableFuture.supplyAsync(
+                    () -> bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).join());
+            return null;
+        }).when(hotelServiceClient).releaseSlot(eq(1L), anyString());
+
+        bookingService.cancelBooking(booking.getId(), "test-user-concurrent");
+
+        assertThat(statusDuringRelease.get()).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Не должен держать транзакцию БД во время вызова Hotel Service при изменении бронирования")
+    void shouldChangeBookingWithoutTransactionAroundHotelCall() {
+        BookingDTO booking = bookingService.createBooking(CreateBookingRequest.builder()
+                .roomId(1L)
+                .startDate(LocalDate.now().plusDays(40))
+                .endDate(LocalDate.now().plusDays(42))
+                .build(), "test-user-concurrent");
+
+        AtomicReference<Boolean> transactionDuringCall = new AtomicReference<>();
+        when(hotelServiceClient.changeReservation(eq(1L), any())).thenAnswer(invocation -> {
+            transactionDuringCall.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return AvailabilityConfirmationDTO.builder().confirmed(true).roomId(1L).build();
+        });
+
+        bookingService.changeBooking(booking.getId(), UpdateBookingRequest.builder()
+                .startDate(LocalDate.now().plusDays(41))
+                .endDate(LocalDate.now().plusDays(44))
+                .build(), "test-user-concurrent");
+
+        assertThat(transactionDuringCall.get()).isFalse();
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getEndDate())
+                .isEqualTo(LocalDate.now().plusDays(44));
+    }
+
+    @Test
+    @DisplayName("Не должен держать транзакцию БД во время автоподбора номера")
+    void shouldAutoSelectRoomWithoutTransactionAroundHotelCall() {
+        AtomicReference<Boolean> transactionDuringCall = new AtomicReference<>();
+        when(hotelServiceClient.reserveRoom(any())).thenAnswer(invocation -> {
+            transactionDuringCall.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return AvailabilityConfirmationDTO.builder().confirmed(true).roomId(3L).build();
+        });
+
+        BookingDTO booking = bookingService.createBookingWithAutoRoomSelection(CreateBookingRequest.builder()
+                .hotelId(1L)
+                .roomType(RoomType.SINGLE)
+                .startDate(LocalDate.now().plusDays(50))
+                .endDate(LocalDate.now().plusDays(52))
+                .build(), "test-user-concurrent");
+
+        assertThat(transactionDuringCall.get()).isFalse();
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Не должен отменять чужое бронирование")
+    void shouldNotCancelForeignBooking() {
+        BookingDTO booking = bookingService.createBooking(CreateBookingRequest.builder()
+                .roomId(1L)
+                .startDate(LocalDate.now().plusDays(20))
+                .endDate(LocalDate.now().plusDays(22))
+                .build(), "test-user-concurrent");
+
+        assertThatThrownBy(() -> bookingService.cancelBooking(booking.getId(), "test-user-0"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.getBookingById(booking.getId(), "test-user-0"))
+                .isInstanceOf(ValidationException.class);
+
+        assertThat(bookingService.getBookingById(booking.getId(), "test-user-concurrent").getStatus())
+                .isEqualTo(BookingStatus.CONFIRMED);
+        verify(hotelServiceClient, never()).releaseSlot(anyLong(), anyString());
+    }
+
     @Test
     @DisplayName("Должен корректно обрабатывать разные типы комнат")
     void shouldHandleDifferentRoomTypes() throws Exception {
@@ -11,6 +11,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import sf.mephi.booking.client.HotelServiceClient;
 import sf.mephi.booking.dto.external.AvailabilityConfirmationDTO;
 import sf.mephi.booking.dto.external.ConfirmAvailabilityRequest;
+import sf.mephi.booking.dto.external.ReserveRoomRequest;
 import sf.mephi.booking.dto.external.RoomDTO;
 import sf.mephi.booking.dto.request.CreateBookingRequest;
 import sf.mephi.booking.dto.response.BookingDTO;
@@ -109,6 +110,25 @@ class LoadBalancingIntegrationTest {
                     .collect(Collectors.toList());
         });
 
+        // ✅ reserveRoom() атомарно выбирает наименее загруженную комнату (как SKIP LOCKED в HotelService)
+        when(hotelServiceClient.reserveRoom(any(ReserveRoomRequest.class))).thenAnswer(invocation -> {
+            ReserveRoomRequest request = invocation.getArgument(0);
+            synchronized (roomBookingCounters) {
+                Map.Entry<Long, AtomicInteger> leastLoaded = roomBookingCounters.entrySet().stream()
+                        .min(Comparator.comparingInt((Map.Entry<Long, AtomicInteger> e) -> e.getValue().get())
+                                .thenComparing(Map.Entry::getKey))
+                        .orElseThrow();
+                leastLoaded.getValue().incrementAndGet();
+
+                return AvailabilityConfirmationDTO.builder()
+                        .requestId(request.getRequestId())
+                        .roomId(leastLoaded.getKey())
+                        .confirmed(true)
+                        .message("Room reserved")
+                        .build();
+            }
+        });
+
         // Mock для getRoomById()
         when(hotelServiceClient.getRoomById(anyLong())).thenAnswer(invocation -> {
             Long roomId = invocation.getArgument(0);
@@ -0,0 +1,132 @@
+package sf.mephi.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sf.mephi.common.constants.Role;
+import sf.mephi.common.exception.UnauthorizedException;
+import sf.mephi.booking.entity.RefreshToken;
+import sf.mephi.booking.entity.User;
+import sf.mephi.booking.repository.RefreshTokenRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, "test-secret", Duration.ofDays(30));
+        user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyHashOfToken() {
+        String rawToken = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertEquals(refreshTokenService.hash(rawToken), saved.getValue().getTokenHash());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertNotNull(saved.getValue().getFamilyId());
+    }
+
+    @Test
+    void rotate_ShouldRevokeOldTokenAndIssueNewOfSameFamily() {
+        RefreshToken current = token("raw-1", LocalDateTime.now().plusDays(1), null);
+        when(refreshTokenRepository.findByTokenHash(refreshTokenService.hash("raw-1"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revoke(eq(10L), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-1");
+
+        assertSame(user, rotation.user());
+        assertNotEquals("raw-1", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        assertEquals(refreshTokenService.hash(rotation.refreshToken()), saved.getValue().getTokenHash());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenRevokedTokenReused() {
+        RefreshToken reused = token("raw-1", LocalDateTime.now().plusDays(1), LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(refreshTokenService.hash("raw-1"))).thenReturn(Optional.of(reused));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("raw-1"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenConcurrentRotationWon() {
+        RefreshToken current = token("raw-1", LocalDateTime.now().plusDays(1), null);
+        when(refreshTokenRepository.findByTokenHash(refreshTokenService.hash("raw-1"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revoke(eq(10L), any())).thenReturn(0);
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("raw-1"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ShouldThrow_WhenTokenExpired() {
+        RefreshToken expired = token("raw-1", LocalDateTime.now().minusMinutes(1), null);
+        when(refreshTokenRepository.findByTokenHash(refreshTokenService.hash("raw-1"))).thenReturn(Optional.of(expired));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("raw-1"));
+
+        verify(refreshTokenRepository, never()).revoke(anyLong(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ShouldThrow_WhenTokenUnknown() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+
+    @Test
+    void revoke_ShouldRevokeWholeFamily() {
+        RefreshToken current = token("raw-1", LocalDateTime.now().plusDays(1), null);
+        when(refreshTokenRepository.findByTokenHash(refreshTokenService.hash("raw-1"))).thenReturn(Optional.of(current));
+
+        refreshTokenService.revoke("raw-1");
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+
+    private RefreshToken token(String rawToken, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .tokenHash(refreshTokenService.hash(rawToken))
+                .familyId("family-1")
+                .user(user)
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package sf.mephi.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sf.mephi.common.security.TokenRevocationList;
+import sf.mephi.booking.dto.response.TokenRevocationsDTO;
+import sf.mephi.booking.entity.RevokedToken;
+import sf.mephi.booking.repository.RevokedTokenRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList tokenRevocationList;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationList = new TokenRevocationList(100, 0.01);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, tokenRevocationList);
+    }
+
+    @Test
+    void revoke_ShouldPersistAndRevokeInMemory() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(revokedTokenRepository.existsByTokenId("jti-1")).thenReturn(false);
+
+        tokenRevocationService.revoke("jti-1", expiresAt);
+
+        verify(revokedTokenRepository).save(argThat(token ->
+                token.getTokenId().equals("jti-1") && token.getExpiresAt().equals(expiresAt)));
+        assertTrue(tokenRevocationList.isRevoked("jti-1"));
+    }
+
+    @Test
+    void revoke_ShouldSkipExpiredToken() {
+        tokenRevocationService.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        verifyNoInteractions(revokedTokenRepository);
+        assertFalse(tokenRevocationList.isRevoked("jti-1"));
+    }
+
+    @Test
+    void changesSince_ShouldReturnEntriesAfterCursor() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any()))
+                .thenReturn(List.of(RevokedToken.builder().id(6L).tokenId("jti-6").expiresAt(expiresAt).build()));
+        when(revokedTokenRepository.findLatestId()).thenReturn(Optional.of(6L));
+
+        TokenRevocationsDTO feed = tokenRevocationService.changesSince(5L);
+
+        assertEquals(1, feed.getRevocations().size());
+        assertEquals("jti-6", feed.getRevocations().get(0).getTokenId());
+        assertEquals(6L, feed.getLatestId());
+    }
+
+    @Test
+    void changesSince_ShouldRepeatRecentRevocationsBelowCursor() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(revokedTokenRepository.findByIdLessThanEqualAndRevokedAtAfterOrderByIdAsc(eq(6L), any(), any()))
+                .thenReturn(List.of(RevokedToken.builder().id(5L).tokenId("jti-5").expiresAt(expiresAt).build()));
+        when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(6L), any())).thenReturn(List.of());
+        when(revokedTokenRepository.findLatestId()).thenReturn(Optional.of(6L));
+
+        TokenRevocationsDTO feed = tokenRevocationService.changesSince(6L);
+
+        assertEquals(List.of("jti-5"), feed.getRevocations().stream().map(TokenRevocationsDTO.Entry::getTokenId).toList());
+        assertNotNull(feed.getEpoch());
+        assertEquals(feed.getEpoch(), tokenRevocationService.changesSince(6L).getEpoch());
+    }
+
+    @Test
+    void refresh_ShouldPickUpRevocationsFromOtherInstances_AndAdvanceCursor() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(RevokedToken.builder().id(3L).tokenId("jti-3").expiresAt(expiresAt).build()));
+        when(revokedTokenRepository.findByIdLessThanEqualAndRevokedAtAfterOrderByIdAsc(eq(3L), any(), any()))
+                .thenReturn(List.of(RevokedToken.builder().id(2L).tokenId("jti-2").expiresAt(expiresAt).build()));
+        when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+
+        tokenRevocationService.refresh();
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked("jti-3"));
+        // jti-2 зафиксирован позже jti-3 - подхвачен повтором недавних отзывов ниже курсора
+        assertTrue(tokenRevocationList.isRevoked("jti-2"));
+        verify(revokedTokenRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+    }
+
+    @Test
+    void loadActive_ShouldRestoreInMemoryList() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                RevokedToken.builder().id(1L).tokenId("jti-1").expiresAt(Instant.now().plusSeconds(600)).build()));
+
+        tokenRevocationService.loadActive();
+
+        assertTrue(tokenRevocationList.isRevoked("jti-1"));
+    }
+}
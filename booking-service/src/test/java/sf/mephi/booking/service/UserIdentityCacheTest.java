@@ -0,0 +1,26 @@
+package sf.mephi.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdentityCacheTest {
+
+    @Test
+    void get_ShouldLoadOnce_AndEvictLeastRecentlyUsed() {
+        UserIdentityCache cache = new UserIdentityCache(2);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("alice", name -> (long) loads.incrementAndGet());
+        cache.get("bob", name -> (long) loads.incrementAndGet());
+        cache.get("alice", name -> (long) loads.incrementAndGet()); // alice - недавно использованная
+        cache.get("carol", name -> (long) loads.incrementAndGet()); // вытесняет bob
+
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.get("alice", name -> -1L));
+        assertEquals(-1L, cache.get("bob", name -> -1L));
+    }
+}
@@ -1,23 +1,31 @@
 package sf.mephi.booking.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import sf.mephi.common.constants.Role;
 import sf.mephi.common.exception.NotFoundException;
 import sf.mephi.common.exception.ValidationException;
 import sf.mephi.common.security.JwtUtil;
 import sf.mephi.booking.dto.request.AuthRequest;
+import sf.mephi.booking.dto.request.RefreshTokenRequest;
 import sf.mephi.booking.dto.request.RegisterRequest;
 import sf.mephi.booking.dto.response.AuthResponse;
 import sf.mephi.booking.entity.User;
 import sf.mephi.booking.mapper.UserMapper;
 import sf.mephi.booking.repository.UserRepository;
+import sf.mephi.booking.security.AuthenticatedUser;
+import sf.mephi.booking.security.PasswordHasher;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,7 +47,15 @@ class UserServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
-    @InjectMocks
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private UserIdentityCache userIdentityCache = new UserIdentityCache(100);
+
     private UserService userService;
 
     private RegisterRequest registerRequest;
@@ -48,6 +64,11 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Хеширование в вызывающем потоке: проверяется логика сервиса, а не пул
+        userService = new UserService(userRepository, userMapper,
+                new PasswordHasher(passwordEncoder, Runnable::run), jwtUtil, userIdentityCache, refreshTokenService,
+                tokenRevocationService);
+
         registerRequest = RegisterRequest.builder()
                 .username("testuser")
                 .password("password123")
@@ -72,7 +93,7 @@ class UserServiceTest {
         when(userMapper.toEntity(registerRequest)).thenReturn(user);
         when(passwordEncoder.encode("password123")).thenReturn("$2a$10$encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(jwtUtil.generateToken(anyString(), anyList())).thenReturn("jwt-token-123");
+        when(jwtUtil.generateToken(anyString(), anyLong(), anyList())).thenReturn("jwt-token-123");
 
         AuthResponse response = userService.register(registerRequest);
 
@@ -84,7 +105,7 @@ class UserServiceTest {
         verify(userRepository).existsByUsername("testuser");
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
-        verify(jwtUtil).generateToken(eq("testuser"), anyList());
+        verify(jwtUtil).generateToken(eq("testuser"), eq(1L), anyList());
     }
 
     @Test
@@ -101,7 +122,7 @@ class UserServiceTest {
     void authenticate_ShouldReturnToken_WhenCredentialsValid() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password123", user.getPassword())).thenReturn(true);
-        when(jwtUtil.generateToken(anyString(), anyList())).thenReturn("jwt-token-456");
+        when(jwtUtil.generateToken(anyString(), anyLong(), anyList())).thenReturn("jwt-token-456");
 
         AuthResponse response = userService.authenticate(authRequest);
 
@@ -112,6 +133,34 @@ class UserServiceTest {
 
         verify(userRepository).findByUsername("testuser");
         verify(passwordEncoder).matches("password123", user.getPassword());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void authenticate_ShouldRehashPassword_WhenBcryptCostIncreased() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", "$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("$2a$12$upgradedPassword");
+        when(jwtUtil.generateToken(anyString(), anyLong(), anyList())).thenReturn("jwt-token-456");
+
+        AuthResponse response = userService.authenticate(authRequest);
+
+        assertEquals("jwt-token-456", response.getToken());
+        assertEquals("$2a$12$upgradedPassword", user.getPassword());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void authenticate_ShouldNotRehash_WhenPasswordInvalid() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", user.getPassword())).thenReturn(false);
+
+        assertThrows(ValidationException.class, () -> userService.authenticate(authRequest));
+
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -132,7 +181,54 @@ class UserServiceTest {
         assertThrows(ValidationException.class, () -> userService.authenticate(authRequest));
 
         verify(passwordEncoder).matches("password123", user.getPassword());
-        verify(jwtUtil, never()).generateToken(anyString(), anyList());
+        verify(jwtUtil, never()).generateToken(anyString(), anyLong(), anyList());
+    }
+
+    @Test
+    void authenticate_ShouldIssueRefreshToken() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", user.getPassword())).thenReturn(true);
+        when(refreshTokenService.issue(user)).thenReturn("refresh-1");
+
+        AuthResponse response = userService.authenticate(authRequest);
+
+        assertEquals("refresh-1", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
+    }
+
+    @Test
+    void refresh_ShouldReturnNewTokens_WithoutPasswordCheck() {
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "refresh-2"));
+        when(jwtUtil.generateToken(anyString(), anyLong(), anyList())).thenReturn("jwt-token-789");
+
+        AuthResponse response = userService.refresh(new RefreshTokenRequest("refresh-1"));
+
+        assertEquals("jwt-token-789", response.getToken());
+        assertEquals("refresh-2", response.getRefreshToken());
+        assertEquals("testuser", response.getUsername());
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void logout_ShouldRevokeRefreshToken() {
+        userService.logout(new RefreshTokenRequest("refresh-1"), null);
+
+        verify(refreshTokenService).revoke("refresh-1");
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessToken_WhenPresent() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(jwtUtil.extractTokenId("access-token")).thenReturn("jti-1");
+        when(jwtUtil.extractExpiresAt("access-token")).thenReturn(expiresAt);
+
+        userService.logout(new RefreshTokenRequest("refresh-1"), "access-token");
+
+        verify(refreshTokenService).revoke("refresh-1");
+        verify(tokenRevocationService).revoke("jti-1", expiresAt);
     }
 
     @Test
@@ -154,4 +250,54 @@ class UserServiceTest {
 
         verify(userRepository).findByUsername("unknown");
     }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getUserId_ShouldUseJwtClaim_WithoutDatabase() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("testuser", 7L), null, List.of()));
+
+        assertEquals(7L, userService.getUserId("testuser"));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUserId_ShouldQueryOnce_ForTokenWithoutUserId() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser("testuser", null), null, List.of()));
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(1L));
+
+        assertEquals(1L, userService.getUserId("testuser"));
+        assertEquals(1L, userService.getUserId("testuser"));
+
+        verify(userRepository, times(1)).findIdByUsername("testuser");
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void getUserId_ShouldNotCacheUnknownUser() {
+        when(userRepository.findIdByUsername("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.getUserId("unknown"));
+        assertThrows(NotFoundException.class, () -> userService.getUserId("unknown"));
+
+        verify(userRepository, times(2)).findIdByUsername("unknown");
+        assertEquals(0, userIdentityCache.size());
+    }
+
+    @Test
+    void authenticate_ShouldCacheUserId() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", user.getPassword())).thenReturn(true);
+
+        userService.authenticate(authRequest);
+
+        assertEquals(1L, userService.getUserId("testuser"));
+        verify(userRepository, never()).findIdByUsername(anyString());
+    }
 }
@@ -45,6 +45,7 @@ public final class ApiConstants {
     public static final String REQUEST_ID_HEADER = "X-Request-ID";
     public static final String USER_ID_HEADER = "X-User-ID";
     public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
 
     // Validation constraints
     public static final int MIN_BOOKING_DAYS = 1;
@@ -71,9 +72,11 @@ public final class ApiConstants {
     public static final String ERROR_ROOM_UNAVAILABLE = "Room is not available for selected dates";
     public static final String ERROR_INVALID_DATE_RANGE = "End date must be after start date";
     public static final String ERROR_BOOKING_TOO_LONG = "Booking duration exceeds maximum allowed days (%d)";
+    public static final String ERROR_BOOKING_EXPIRED = "Booking %d expired before confirmation";
     public static final String ERROR_UNAUTHORIZED = "Authentication required";
     public static final String ERROR_FORBIDDEN = "Access denied";
     public static final String ERROR_INVALID_CREDENTIALS = "Invalid username or password";
+    public static final String ERROR_INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
 
     private ApiConstants() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
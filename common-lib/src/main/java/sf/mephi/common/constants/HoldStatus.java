@@ -0,0 +1,26 @@
+package sf.mephi.common.constants;
+
+/**
+ * Статусы временного удержания номера (hold) на время оформления
+ */
+public enum HoldStatus {
+    /**
+     * Номер удерживается до expiresAt
+     */
+    HELD,
+
+    /**
+     * Удержание превращено в подтверждённое бронирование
+     */
+    CONVERTED,
+
+    /**
+     * Удержание истекло и освобождено
+     */
+    EXPIRED,
+
+    /**
+     * Удержание или бронирование по нему отменено
+     */
+    RELEASED
+}
@@ -0,0 +1,79 @@
+package sf.mephi.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import sf.mephi.common.constants.ApiConstants;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes между экземплярами сервиса.
+ *
+ * - После коммита пишущей транзакции в ответ добавляется X-Last-Write - время коммита, мс
+ * - Клиент возвращает заголовок в следующих запросах: пока реплика не покажет heartbeat позже него,
+ *   чтения запроса идут на основную БД на любом экземпляре, а не только на том, где была запись
+ * - Некорректное значение заголовка игнорируется; время из будущего ограничивается текущим:
+ *   иначе заголовок закрепил бы чтения клиента за основной БД на произвольный срок
+ */
+public class LastWriteFilter extends OncePerRequestFilter {
+
+    private record Context(Long lastWrite, HttpServletResponse response) {
+    }
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Идёт ли HTTP-запрос, которому можно вернуть время записи
+     */
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Время последней записи клиента из заголовка запроса, null - заголовка нет
+     */
+    static Long clientLastWrite() {
+        Context context = CURRENT.get();
+        return context != null ? context.lastWrite() : null;
+    }
+
+    /**
+     * Запись закоммичена: сообщить клиенту её время, пока ответ ещё не отправлен
+     */
+    static void committed(long writtenAt) {
+        Context context = CURRENT.get();
+        if (context != null && !context.response().isCommitted()) {
+            context.response().setHeader(ApiConstants.LAST_WRITE_HEADER, Long.toString(writtenAt));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CURRENT.set(new Context(parse(request.getHeader(ApiConstants.LAST_WRITE_HEADER)), response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static Long parse(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            // Расхождение часов экземпляров не теряет запись: она считается сделанной только что
+            return Math.min(Long.parseLong(header.trim()), System.currentTimeMillis());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
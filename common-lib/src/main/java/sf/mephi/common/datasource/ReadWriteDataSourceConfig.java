@@ -0,0 +1,105 @@
+package sf.mephi.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Два пула (основная БД и реплика) за маршрутизирующим DataSource.
+ *
+ * spring.datasource.* - основная БД (как и без реплики)
+ * hms.datasource.replica.enabled/url/username/password/pool-size - реплика
+ * hms.datasource.replica.max-lag/heartbeat-interval - допустимое отставание и период его проверки
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hms.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${hms.datasource.replica.url}") String url,
+            @Value("${hms.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${hms.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${hms.datasource.replica.pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${hms.datasource.replica.max-lag:1s}") Duration maxLag,
+            @Value("${hms.datasource.replica.heartbeat-interval:1s}") Duration heartbeatInterval,
+            MeterRegistry meterRegistry) {
+        // Heartbeat идёт мимо обёрток трассировки JDBC: иначе каждые полсекунды - новый трейс
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(
+                unwrap(primary), unwrap(replica), maxLag, heartbeatInterval);
+        Gauge.builder("hms.datasource.replica.lag", monitor, ReplicaLagMonitor::lagMillis)
+                .description("Replica lag at the last heartbeat check, ms (-1 - replica unavailable)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    /**
+     * DataSource приложения (JPA, JdbcTemplate, инициализация схемы).
+     * Трассировку JDBC на нём нужно отключать (jdbc.excluded-data-source-bean-names): обёртка запрашивает
+     * метаданные соединения при получении, и ленивый прокси берёт физическое соединение до выставления readOnly.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+
+    @Bean
+    public LastWriteFilter lastWriteFilter() {
+        return new LastWriteFilter();
+    }
+
+    private static DataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : dataSource;
+        } catch (SQLException e) {
+            return dataSource;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package sf.mephi.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Маршрутизация соединений: readOnly-транзакции - на реплику, всё остальное - на основную БД.
+ *
+ * - Решение принимается при получении соединения, поэтому источник оборачивается в LazyConnectionDataSourceProxy:
+ *   соединение берётся на первом запросе, когда признак readOnly транзакции уже выставлен
+ * - Реплика используется, только если ReplicaLagMonitor считает её догнавшей (max-lag) и текущий пользователь
+ *   не ждёт на ней своей записи (read-your-writes); иначе чтение идёт на основную БД
+ * - Коммит пишущей транзакции отмечается в ReplicaLagMonitor (для аутентифицированного пользователя)
+ *   и в заголовке ответа X-Last-Write; время из этого заголовка запроса тоже держит чтения на основной БД
+ * - primary(...) - чтение, которому нужна основная БД независимо от readOnly (заполнение кешей, вход после регистрации)
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_SCOPE = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor monitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor monitor, MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.primaryConnections = connections(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Выполнить чтение на основной БД (соединения, полученные внутри, не уходят на реплику)
+     */
+    public static <T> T primary(Supplier<T> read) {
+        if (PRIMARY_SCOPE.get() != null) {
+            return read.get();
+        }
+        PRIMARY_SCOPE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_SCOPE.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquire().getConnection(username, password);
+    }
+
+    // Вызывается и из unwrap/isWrapperFor (метрики пула на каждый запрос) - только решение, без учёта
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route();
+    }
+
+    private DataSource acquire() {
+        Target target = route();
+        if (target == Target.PRIMARY) {
+            trackWrite();
+        }
+        (target == Target.REPLICA ? replicaConnections : primaryConnections).increment();
+        return getResolvedDataSources().get(target);
+    }
+
+    Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_SCOPE.get() != null) {
+            return Target.PRIMARY;
+        }
+        return monitor.isReplicaReadable(currentUser(), LastWriteFilter.clientLastWrite(), System.currentTimeMillis())
+                ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private void trackWrite() {
+        String user = currentUser();
+        if ((user == null && !LastWriteFilter.isActive())
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = System.currentTimeMillis();
+                if (user != null) {
+                    monitor.recordWrite(user, now);
+                }
+                LastWriteFilter.committed(now);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("hms.datasource.connections")
+                .description("Connections acquired through read/write routing")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
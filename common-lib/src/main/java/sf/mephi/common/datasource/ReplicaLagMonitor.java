@@ -0,0 +1,125 @@
+package sf.mephi.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отставание реплики по heartbeat-записи и read-your-writes для пользователей.
+ *
+ * - Раз в heartbeat-interval в основную БД пишется текущее время (таблица replication_heartbeat),
+ *   сразу после этого значение читается с реплики: это момент основной БД, до которого реплика догнала
+ * - Отставание = время проверки - heartbeat, видимый на реплике. Реплика читаема, пока отставание
+ *   не больше max-lag и последняя проверка свежая; сбой записи или чтения heartbeat выключает реплику до следующей проверки
+ * - После записи пользователя его чтения идут на основную БД, пока реплика не покажет heartbeat позже этой записи.
+ *   Записи помнит только этот экземпляр; между экземплярами время записи переносит {@link LastWriteFilter}
+ * - Запись старше max-lag + окна свежести проверки забывается на каждом heartbeat, даже неудачном:
+ *   реплика, которую можно читать, заведомо её уже содержит
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String TABLE = "replication_heartbeat";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long staleAfterMillis;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private volatile boolean tableReady;
+    private volatile long appliedMillis = Long.MIN_VALUE;
+    private volatile long checkedMillis;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration heartbeatInterval) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        // Проверка, не обновлявшаяся дольше интервала и допустимого отставания, считается зависшей
+        this.staleAfterMillis = heartbeatInterval.toMillis() + maxLag.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${hms.datasource.replica.heartbeat-interval:1s}")
+    public void heartbeat() {
+        heartbeat(System.currentTimeMillis());
+    }
+
+    void heartbeat(long nowMillis) {
+        long forgetBefore = nowMillis - staleAfterMillis - maxLagMillis;
+        lastWrites.values().removeIf(writtenAt -> writtenAt < forgetBefore);
+        try {
+            if (!tableReady) {
+                primary.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+                tableReady = true;
+            }
+            if (primary.update("UPDATE " + TABLE + " SET beat_at = ? WHERE id = 1", nowMillis) == 0) {
+                primary.update("INSERT INTO " + TABLE + " (id, beat_at) VALUES (1, ?)", nowMillis);
+            }
+            Long seen = replica.queryForObject("SELECT beat_at FROM " + TABLE + " WHERE id = 1", Long.class);
+            if (seen == null) {
+                throw new IllegalStateException("Replica heartbeat row is missing");
+            }
+
+            appliedMillis = seen;
+            lagMillis = Math.max(0, nowMillis - seen);
+            checkedMillis = nowMillis;
+            lastWrites.values().removeIf(writtenAt -> writtenAt < seen);
+        } catch (DataAccessException | IllegalStateException e) {
+            if (lagMillis >= 0) {
+                log.warn("Replica heartbeat failed, reads fall back to primary: {}", e.getMessage());
+            }
+            lagMillis = -1;
+        }
+    }
+
+    /**
+     * Можно ли читать с реплики: отставание в пределах max-lag и последняя запись пользователя (если была) уже на реплике
+     */
+    public boolean isReplicaReadable(String user, long nowMillis) {
+        return isReplicaReadable(user, null, nowMillis);
+    }
+
+    /**
+     * То же с учётом времени записи, которое принёс клиент (X-Last-Write); null - клиент его не передал
+     */
+    public boolean isReplicaReadable(String user, Long clientWriteMillis, long nowMillis) {
+        long lag = lagMillis;
+        if (lag < 0 || lag > maxLagMillis || nowMillis - checkedMillis > staleAfterMillis) {
+            return false;
+        }
+        Long writtenAt = user != null ? lastWrites.get(user) : null;
+        if (clientWriteMillis != null && (writtenAt == null || clientWriteMillis > writtenAt)) {
+            writtenAt = clientWriteMillis;
+        }
+        // Строго позже: heartbeat той же миллисекунды мог быть записан до коммита пользователя
+        return writtenAt == null || appliedMillis > writtenAt;
+    }
+
+    /**
+     * Пользователь закоммитил запись в основную БД
+     */
+    public void recordWrite(String user, long nowMillis) {
+        lastWrites.merge(user, nowMillis, Math::max);
+    }
+
+    /**
+     * Отставание на последней проверке, мс; -1 - реплика недоступна
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Пользователи, ожидающие свою запись на реплике (для тестов и метрик)
+     */
+    int pendingWrites() {
+        return lastWrites.size();
+    }
+}
@@ -0,0 +1,11 @@
+package sf.mephi.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends BaseException {
+    public TooManyRequestsException(String message) {
+        super(message, 429);
+    }
+}
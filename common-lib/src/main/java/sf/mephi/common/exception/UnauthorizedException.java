@@ -1,5 +1,9 @@
 package sf.mephi.common.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
 public class UnauthorizedException extends BaseException {
     public UnauthorizedException(String message) {
         super(message, 401);
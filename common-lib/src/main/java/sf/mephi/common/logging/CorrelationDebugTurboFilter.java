@@ -0,0 +1,32 @@
+package sf.mephi.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+/**
+ * Пропускает DEBUG-события независимо от уровня логгера, если correlation ID
+ * текущего запроса включён через /actuator/logdebug.
+ *
+ * Вызывается на каждый вызов логгера, поэтому при пустом списке
+ * возвращает NEUTRAL без обращения к MDC.
+ */
+public class CorrelationDebugTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level,
+                              String format, Object[] params, Throwable t) {
+        if (DebugCorrelations.isEmpty() || !level.isGreaterOrEqual(Level.DEBUG)) {
+            return FilterReply.NEUTRAL;
+        }
+        String correlationId = MDC.get(CorrelationIdUtil.CORRELATION_ID_MDC_KEY);
+        if (correlationId != null && DebugCorrelations.isEnabled(correlationId)) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
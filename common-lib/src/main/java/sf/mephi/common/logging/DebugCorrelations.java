@@ -0,0 +1,75 @@
+package sf.mephi.common.logging;
+
+import sf.mephi.common.exception.ValidationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Correlation ID, для которых временно включено DEBUG-логирование.
+ * Общий для {@link CorrelationDebugTurboFilter}, {@link RequestSamplingFilter}
+ * и {@link LogDebugEndpoint}: фильтры logback создаются вне Spring-контекста.
+ */
+public final class DebugCorrelations {
+
+    public static final int MAX_ENTRIES = 1000;
+
+    private static final Map<String, Long> EXPIRES_AT = new ConcurrentHashMap<>();
+
+    private DebugCorrelations() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void enable(String correlationId, Duration ttl) {
+        if (correlationId == null || correlationId.isBlank()) {
+            throw new ValidationException("Correlation ID must not be blank");
+        }
+        purgeExpired();
+        if (EXPIRES_AT.size() >= MAX_ENTRIES && !EXPIRES_AT.containsKey(correlationId)) {
+            throw new ValidationException("Too many correlation IDs with debug logging: " + MAX_ENTRIES);
+        }
+        EXPIRES_AT.put(correlationId, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    public static void disable(String correlationId) {
+        EXPIRES_AT.remove(correlationId);
+    }
+
+    /**
+     * Быстрая проверка для горячего пути: в обычном режиме список пуст
+     */
+    public static boolean isEmpty() {
+        return EXPIRES_AT.isEmpty();
+    }
+
+    public static boolean isEnabled(String correlationId) {
+        Long expiresAt = EXPIRES_AT.get(correlationId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            EXPIRES_AT.remove(correlationId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public static Map<String, Instant> snapshot() {
+        purgeExpired();
+        Map<String, Instant> result = new TreeMap<>();
+        EXPIRES_AT.forEach((id, expiresAt) -> result.put(id, Instant.ofEpochMilli(expiresAt)));
+        return result;
+    }
+
+    public static void clear() {
+        EXPIRES_AT.clear();
+    }
+
+    private static void purgeExpired() {
+        long now = System.currentTimeMillis();
+        EXPIRES_AT.entrySet().removeIf(entry -> entry.getValue() < now);
+    }
+}
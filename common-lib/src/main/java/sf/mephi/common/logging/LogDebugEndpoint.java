@@ -0,0 +1,64 @@
+package sf.mephi.common.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import sf.mephi.common.exception.ValidationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/logdebug: DEBUG-логирование для отдельных запросов.
+ *
+ * GET    /actuator/logdebug                       - активные correlation ID и время истечения
+ * POST   /actuator/logdebug/{correlationId}       - включить (тело: {"ttlSeconds": 300})
+ * DELETE /actuator/logdebug/{correlationId}       - выключить
+ */
+@Slf4j
+@Component
+@Endpoint(id = "logdebug")
+public class LogDebugEndpoint {
+
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    public LogDebugEndpoint(
+            @Value("${hms.logging.debug.default-ttl:5m}") Duration defaultTtl,
+            @Value("${hms.logging.debug.max-ttl:1h}") Duration maxTtl) {
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+    }
+
+    @ReadOperation
+    public Map<String, Instant> active() {
+        return DebugCorrelations.snapshot();
+    }
+
+    @WriteOperation
+    public Map<String, Instant> enable(@Selector String correlationId, @Nullable Long ttlSeconds) {
+        if (ttlSeconds != null && ttlSeconds <= 0) {
+            throw new ValidationException("ttlSeconds must be positive");
+        }
+        Duration ttl = ttlSeconds == null ? defaultTtl : Duration.ofSeconds(ttlSeconds);
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+        DebugCorrelations.enable(correlationId, ttl);
+        log.warn("Debug logging enabled for correlationId={} for {}", correlationId, ttl);
+        return DebugCorrelations.snapshot();
+    }
+
+    @DeleteOperation
+    public void disable(@Selector String correlationId) {
+        DebugCorrelations.disable(correlationId);
+        log.warn("Debug logging disabled for correlationId={}", correlationId);
+    }
+}
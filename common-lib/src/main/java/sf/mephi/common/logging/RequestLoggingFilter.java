@@ -0,0 +1,61 @@
+package sf.mephi.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Одна строка лога на запрос: метод, путь, статус, длительность.
+ *
+ * Обычные запросы - INFO (сэмплируются {@link RequestSamplingFilter}),
+ * ошибки 5xx и запросы дольше hms.logging.slow-request-threshold - WARN (пишутся всегда).
+ * Запускается после security-цепочки, где уже установлен correlation ID.
+ */
+@Slf4j
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(@Value("${hms.logging.slow-request-threshold:1s}") Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            int status = response.getStatus();
+            long elapsedMs = elapsedNanos / 1_000_000;
+
+            if (status >= 500) {
+                log.warn("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedMs);
+            } else if (elapsedNanos > slowThresholdNanos) {
+                log.warn("Slow request: {} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedMs);
+            } else {
+                log.info("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package sf.mephi.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+/**
+ * Сэмплирование логов запросов на уровне appender'а.
+ *
+ * - WARN и ERROR пишутся всегда (ошибки и медленные запросы, см. {@link RequestLoggingFilter})
+ * - события без correlation ID (старт, фоновые задачи) пишутся всегда
+ * - запросы с включённым debug (/actuator/logdebug) пишутся всегда
+ * - остальные: решение по хешу correlation ID, поэтому запрос попадает в лог целиком или не попадает
+ */
+public class RequestSamplingFilter extends Filter<ILoggingEvent> {
+
+    private static final int BUCKETS = 10_000;
+
+    private double rate = 1.0;
+    private int threshold = BUCKETS;
+
+    public void setRate(double rate) {
+        this.rate = Math.max(0.0, Math.min(1.0, rate));
+        this.threshold = (int) Math.round(this.rate * BUCKETS);
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (threshold >= BUCKETS || event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        String correlationId = event.getMDCPropertyMap().get(CorrelationIdUtil.CORRELATION_ID_MDC_KEY);
+        if (correlationId == null || DebugCorrelations.isEnabled(correlationId)) {
+            return FilterReply.NEUTRAL;
+        }
+        return isSampled(correlationId) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    boolean isSampled(String correlationId) {
+        // Перемешивание битов: hashCode() строк с общим префиксом распределён неравномерно
+        int h = correlationId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, BUCKETS) < threshold;
+    }
+}
@@ -6,20 +6,33 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    private static final String USER_ID_CLAIM = "uid";
+
     private final SecretKey secretKey = Keys.hmacShaKeyFor(
             SecurityConstants.JWT_SECRET.getBytes()
     );
 
     public String generateToken(String username, List<String> roles) {
+        return generateToken(username, null, roles);
+    }
+
+    /**
+     * Токен с id пользователя: сервисы берут его из токена без запроса к БД
+     */
+    public String generateToken(String username, Long userId, List<String> roles) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .claim("roles", roles)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + SecurityConstants.JWT_EXPIRATION_MS))
@@ -27,13 +40,51 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Разобрать токен один раз: подпись и срок действия проверяются здесь
+     * (истёкший или подделанный токен - JwtException), claims читаются из результата без повторного разбора
+     */
+    public Claims parse(String token) {
+        return extractAllClaims(token);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
-        return extractClaim(token, claims -> claims.get("roles", List.class));
+        return extractClaim(token, this::extractRoles);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims) {
+        return claims.get("roles", List.class);
+    }
+
+    /**
+     * Id пользователя; null для токенов, выпущенных без него
+     */
+    public Long extractUserId(String token) {
+        return extractClaim(token, this::extractUserId);
+    }
+
+    public Long extractUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    /**
+     * Id токена (jti) для отзыва; null для токенов, выпущенных без него
+     */
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
+    /**
+     * Момент истечения токена: до него токен нужно держать в списке отозванных
+     */
+    public Instant extractExpiresAt(String token) {
+        return extractExpiration(token).toInstant();
     }
 
     public boolean isTokenValid(String token, String username) {
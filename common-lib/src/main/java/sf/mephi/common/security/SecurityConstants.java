@@ -5,7 +5,7 @@ import sf.mephi.common.constants.Role;
 
 public final class SecurityConstants {
     public static final String JWT_SECRET = "your-very-secure-secret-key-at-least-256-bits-long-for-hs256-algorithm";
-    public static final long JWT_EXPIRATION_MS = 3600000; // 1 час
+    public static final long JWT_EXPIRATION_MS = 900000; // 15 минут, продление - refresh-токеном
     public static final String JWT_HEADER = "Authorization";
     public static final String JWT_PREFIX = "Bearer ";
 
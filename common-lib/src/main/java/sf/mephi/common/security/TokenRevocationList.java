@@ -0,0 +1,86 @@
+package sf.mephi.common.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отозванные JWT по id токена (jti) до истечения их срока.
+ *
+ * - Проверка: фильтр Блума отсекает неотозванные токены за k чтений бит, точная карта
+ *   смотрится только при срабатывании фильтра - стоимость не зависит от числа отозванных токенов
+ * - Истёкшие токены удаляются перестроением: карта очищается, фильтр строится заново
+ *   (с запасом вдвое, если отозванных больше ожидаемого); переполнение фильтра при отзыве
+ *   тоже перестраивает его - доля ложных срабатываний не растёт
+ * - Запись (отзыв, перестроение) сериализована, чтение идёт без блокировок
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private int capacity;
+
+    public TokenRevocationList(
+            @Value("${hms.security.revocation.expected-tokens:10000}") int expectedTokens,
+            @Value("${hms.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.capacity = expectedTokens;
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Отозвать токен до момента его истечения
+     */
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId);
+        if (revoked.size() > capacity) {
+            rebuild();
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Удалить истёкшие токены и перестроить фильтр; возвращает число оставшихся
+     */
+    @Scheduled(fixedDelayString = "${hms.security.revocation.rebuild-interval:1m}")
+    public synchronized int rebuild() {
+        Instant now = Instant.now();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+
+        capacity = Math.max(expectedTokens, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+
+        if (before != revoked.size()) {
+            log.debug("Token revocation list rebuilt: {} expired, {} revoked", before - revoked.size(), revoked.size());
+        }
+        return revoked.size();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
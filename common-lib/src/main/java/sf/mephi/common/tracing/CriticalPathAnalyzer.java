@@ -0,0 +1,93 @@
+package sf.mephi.common.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Вычисляет критический путь трейса.
+ *
+ * Алгоритм идёт от конца корневого span'а назад: на каждом шаге выбирается
+ * дочерний span, завершившийся последним до текущей отметки времени; промежутки
+ * между дочерними span'ами засчитываются самому родителю. Параллельные ветки,
+ * не влияющие на итоговое время, в путь не попадают.
+ */
+public final class CriticalPathAnalyzer {
+
+    private CriticalPathAnalyzer() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static Optional<CriticalPathReport> analyze(List<SpanRecord> spans) {
+        if (spans.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<String> spanIds = spans.stream()
+                .map(SpanRecord::spanId)
+                .collect(Collectors.toSet());
+
+        // Корень - span без родителя в этом наборе (в локальном хранилище родитель может быть в другом сервисе)
+        SpanRecord root = spans.stream()
+                .filter(s -> s.parentId() == null || !spanIds.contains(s.parentId()))
+                .min(Comparator.comparingLong(SpanRecord::startMicros)
+                        .thenComparing(Comparator.comparingLong(SpanRecord::durationMicros).reversed()))
+                .orElseThrow();
+
+        Map<String, List<SpanRecord>> children = new HashMap<>();
+        for (SpanRecord span : spans) {
+            if (span.parentId() != null) {
+                children.computeIfAbsent(span.parentId(), id -> new ArrayList<>()).add(span);
+            }
+        }
+        children.values().forEach(list ->
+                list.sort(Comparator.comparingLong(SpanRecord::endMicros).reversed()));
+
+        Map<SpanRecord, Long> critical = new HashMap<>();
+        walk(root, root.endMicros(), children, critical);
+
+        long total = root.durationMicros();
+        List<CriticalPathReport.Segment> segments = critical.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Comparator.comparingLong(e -> e.getKey().startMicros()))
+                .map(e -> new CriticalPathReport.Segment(
+                        e.getKey().spanId(),
+                        e.getKey().service(),
+                        e.getKey().name(),
+                        e.getKey().durationMicros(),
+                        e.getValue(),
+                        total > 0 ? (double) e.getValue() / total : 0.0))
+                .toList();
+
+        return Optional.of(new CriticalPathReport(root.traceId(), root.name(), total, segments));
+    }
+
+    private static void walk(SpanRecord span, long bound,
+                             Map<String, List<SpanRecord>> children,
+                             Map<SpanRecord, Long> critical) {
+        long cursor = Math.min(span.endMicros(), bound);
+        long self = 0;
+
+        for (SpanRecord child : children.getOrDefault(span.spanId(), List.of())) {
+            if (cursor <= span.startMicros()) {
+                break;
+            }
+            if (child.startMicros() >= cursor) {
+                // Ветка началась после текущей отметки - параллельна пути
+                continue;
+            }
+            long childEnd = Math.min(child.endMicros(), cursor);
+            self += cursor - childEnd;
+            walk(child, childEnd, children, critical);
+            cursor = Math.max(child.startMicros(), span.startMicros());
+        }
+
+        self += Math.max(0, cursor - span.startMicros());
+        critical.merge(span, self, Long::sum);
+    }
+}
@@ -0,0 +1,43 @@
+package sf.mephi.common.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Actuator endpoint /actuator/criticalpath для локального анализа трейсов.
+ *
+ * GET /actuator/criticalpath           - последние трейсы с длительностью
+ * GET /actuator/criticalpath/{traceId} - критический путь трейса
+ */
+@Endpoint(id = "criticalpath")
+public class CriticalPathEndpoint {
+
+    private final InMemorySpanExporter spanStore;
+
+    public CriticalPathEndpoint(InMemorySpanExporter spanStore) {
+        this.spanStore = spanStore;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        List<TraceSummary> summaries = new ArrayList<>();
+        for (String traceId : spanStore.getTraceIds()) {
+            List<SpanRecord> spans = spanStore.getTrace(traceId);
+            CriticalPathAnalyzer.analyze(spans).ifPresent(report -> summaries.add(new TraceSummary(
+                    traceId, report.rootName(), report.totalMicros(), spans.size())));
+        }
+        return summaries;
+    }
+
+    @ReadOperation
+    public CriticalPathReport trace(@Selector String traceId) {
+        return CriticalPathAnalyzer.analyze(spanStore.getTrace(traceId)).orElse(null);
+    }
+
+    public record TraceSummary(String traceId, String rootName, long durationMicros, int spanCount) {
+    }
+}
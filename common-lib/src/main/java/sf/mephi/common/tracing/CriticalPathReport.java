@@ -0,0 +1,34 @@
+package sf.mephi.common.tracing;
+
+import java.util.List;
+
+/**
+ * Критический путь трейса: какие span'ы и сколько времени
+ * реально определили итоговую длительность запроса.
+ *
+ * @param traceId      идентификатор трейса
+ * @param rootName     имя корневого span'а (обычно HTTP-эндпоинт саги)
+ * @param totalMicros  длительность корневого span'а
+ * @param segments     участки критического пути в хронологическом порядке
+ */
+public record CriticalPathReport(
+        String traceId,
+        String rootName,
+        long totalMicros,
+        List<Segment> segments
+) {
+
+    /**
+     * @param criticalMicros собственное время span'а на критическом пути (без дочерних span'ов пути)
+     * @param share          доля от totalMicros
+     */
+    public record Segment(
+            String spanId,
+            String service,
+            String name,
+            long durationMicros,
+            long criticalMicros,
+            double share
+    ) {
+    }
+}
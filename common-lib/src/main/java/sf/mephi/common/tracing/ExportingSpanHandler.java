@@ -0,0 +1,62 @@
+package sf.mephi.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brave SpanHandler, конвертирующий завершённые span'ы в {@link SpanRecord}
+ * и передающий их всем зарегистрированным {@link SpanExporter}.
+ */
+@Slf4j
+public class ExportingSpanHandler extends SpanHandler {
+
+    private final List<SpanExporter> exporters;
+
+    public ExportingSpanHandler(List<SpanExporter> exporters) {
+        this.exporters = List.copyOf(exporters);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED || exporters.isEmpty()) {
+            return true;
+        }
+
+        SpanRecord record = toRecord(context, span);
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(record);
+            } catch (RuntimeException e) {
+                // Экспорт не должен ломать обработку запроса
+                log.warn("Span exporter {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    static SpanRecord toRecord(TraceContext context, MutableSpan span) {
+        Map<String, String> tags = new HashMap<>();
+        span.forEachTag((target, key, value) -> target.put(key, value), tags);
+        if (span.error() != null) {
+            tags.put("error", span.error().getClass().getSimpleName());
+        }
+
+        return new SpanRecord(
+                context.traceIdString(),
+                context.spanIdString(),
+                context.parentIdString(),
+                span.localServiceName(),
+                span.name(),
+                span.kind() != null ? span.kind().name() : null,
+                span.startTimestamp(),
+                span.finishTimestamp(),
+                Map.copyOf(tags)
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package sf.mephi.common.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Дописывает span'ы в файл в формате NDJSON (один JSON-объект на строку).
+ * Несколько сервисов могут писать в общий каталог, после чего трейсы
+ * объединяются через {@link #read(Path...)} и анализируются {@link CriticalPathAnalyzer}.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter, AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path path;
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(Path path) {
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open span file " + path, e);
+        }
+        log.info("Exporting spans to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public void export(SpanRecord span) {
+        String line;
+        try {
+            line = MAPPER.writeValueAsString(span);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize span " + span.spanId(), e);
+        }
+
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write span to " + path, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Прочитать span'ы из одного или нескольких NDJSON-файлов
+     */
+    public static List<SpanRecord> read(Path... files) throws IOException {
+        List<SpanRecord> spans = new ArrayList<>();
+        for (Path file : files) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    spans.add(MAPPER.readValue(line, SpanRecord.class));
+                }
+            }
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,67 @@
+package sf.mephi.common.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Хранит span'ы последних N трейсов в памяти для локального анализа.
+ * Самые старые трейсы вытесняются при превышении лимита.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int maxTraces;
+    private final Map<String, Queue<SpanRecord>> traces = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public InMemorySpanExporter(int maxTraces) {
+        this.maxTraces = Math.max(1, maxTraces);
+    }
+
+    @Override
+    public void export(SpanRecord span) {
+        traces.computeIfAbsent(span.traceId(), traceId -> {
+            insertionOrder.add(traceId);
+            return new ConcurrentLinkedQueue<>();
+        }).add(span);
+
+        while (traces.size() > maxTraces) {
+            String eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            traces.remove(eldest);
+        }
+    }
+
+    /**
+     * Span'ы одного трейса, отсортированные по времени начала
+     */
+    public List<SpanRecord> getTrace(String traceId) {
+        Queue<SpanRecord> spans = traces.get(traceId);
+        if (spans == null) {
+            return List.of();
+        }
+        List<SpanRecord> result = new ArrayList<>(spans);
+        result.sort(Comparator.comparingLong(SpanRecord::startMicros));
+        return result;
+    }
+
+    /**
+     * Идентификаторы сохранённых трейсов, от старых к новым
+     */
+    public List<String> getTraceIds() {
+        return insertionOrder.stream()
+                .filter(traces::containsKey)
+                .toList();
+    }
+
+    public void clear() {
+        traces.clear();
+        insertionOrder.clear();
+    }
+}
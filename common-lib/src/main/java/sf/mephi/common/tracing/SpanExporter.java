@@ -0,0 +1,10 @@
+package sf.mephi.common.tracing;
+
+/**
+ * Точка расширения для выгрузки завершённых span'ов.
+ * Все бины этого типа подключаются к трассировщику через {@link ExportingSpanHandler}.
+ */
+public interface SpanExporter {
+
+    void export(SpanRecord span);
+}
@@ -0,0 +1,32 @@
+package sf.mephi.common.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Map;
+
+/**
+ * Завершённый span в формате, не зависящем от реализации трассировщика.
+ * Время в микросекундах epoch.
+ */
+public record SpanRecord(
+        String traceId,
+        String spanId,
+        String parentId,
+        String service,
+        String name,
+        String kind,
+        long startMicros,
+        long endMicros,
+        Map<String, String> tags
+) {
+
+    @JsonIgnore
+    public long durationMicros() {
+        return Math.max(0, endMicros - startMicros);
+    }
+
+    @JsonIgnore
+    public boolean isRoot() {
+        return parentId == null;
+    }
+}
@@ -0,0 +1,61 @@
+package sf.mephi.common.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Подключение локальных экспортёров span'ов к Micrometer Tracing (Brave).
+ *
+ * hms.tracing.memory.max-traces - сколько последних трейсов держать в памяти
+ * hms.tracing.file.enabled/path - запись span'ов в NDJSON-файл
+ */
+@Configuration
+public class TracingConfig {
+
+    public static final String CORRELATION_ID_TAG = "correlation.id";
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(
+            @Value("${hms.tracing.memory.max-traces:500}") int maxTraces) {
+        return new InMemorySpanExporter(maxTraces);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hms.tracing.file", name = "enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(
+            @Value("${hms.tracing.file.path:traces/${spring.application.name:app}.ndjson}") String path) {
+        return new FileSpanExporter(Path.of(path));
+    }
+
+    @Bean
+    public ExportingSpanHandler exportingSpanHandler(List<SpanExporter> exporters) {
+        return new ExportingSpanHandler(exporters);
+    }
+
+    @Bean
+    public CriticalPathEndpoint criticalPathEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new CriticalPathEndpoint(inMemorySpanExporter);
+    }
+
+    /**
+     * Добавляет X-Correlation-ID в span'ы, чтобы связывать логи и трейсы
+     */
+    @Bean
+    public ObservationFilter correlationIdObservationFilter() {
+        return context -> {
+            String correlationId = CorrelationIdUtil.getCorrelationId();
+            if (correlationId != null) {
+                context.addHighCardinalityKeyValue(KeyValue.of(CORRELATION_ID_TAG, correlationId));
+            }
+            return context;
+        };
+    }
+}
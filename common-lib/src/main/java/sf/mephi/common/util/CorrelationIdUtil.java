@@ -2,8 +2,6 @@ package sf.mephi.common.util;
 
 import org.slf4j.MDC;
 
-import java.util.UUID;
-
 public final class CorrelationIdUtil {
     public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     public static final String CORRELATION_ID_MDC_KEY = "correlationId";
@@ -13,7 +11,7 @@ public final class CorrelationIdUtil {
     }
 
     public static String generateCorrelationId() {
-        return UUID.randomUUID().toString();
+        return IdGenerator.nextId();
     }
 
     public static void setCorrelationId(String correlationId) {
@@ -0,0 +1,72 @@
+package sf.mephi.common.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Упорядоченные по времени идентификаторы UUIDv7 (RFC 9562).
+ *
+ * - 48 бит - миллисекунды Unix-времени, 12 бит rand_a - счётчик внутри миллисекунды,
+ *   62 бита rand_b - случайные: новые ключи попадают в конец B-tree индекса, а не в случайную страницу
+ * - Состояние (последняя миллисекунда и счётчик) - своё у каждого потока: без блокировок и CAS;
+ *   внутри потока идентификаторы строго возрастают, между потоками уникальность дают 62 случайных бита
+ * - Случайные биты - ThreadLocalRandom, а не SecureRandom: идентификаторы не являются секретом.
+ *   Для значений, которые служат пропуском (holdId, jti, refresh-токены), остаётся UUID.randomUUID()
+ */
+public final class IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+    // Старт счётчика в новой миллисекунде - случайный в нижней половине, чтобы оставить запас на рост
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private IdGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Новый UUIDv7
+     */
+    public static UUID uuidV7() {
+        State state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+
+        if (now > state.millis) {
+            state.millis = now;
+            state.counter = random.nextInt(COUNTER_SEED_BOUND);
+        } else if (++state.counter > COUNTER_MAX) {
+            // Счётчик исчерпан (или часы пошли назад): занимаем следующую миллисекунду
+            state.millis++;
+            state.counter = random.nextInt(COUNTER_SEED_BOUND);
+        }
+
+        long msb = (state.millis << 16) | 0x7000L | state.counter;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Новый UUIDv7 строкой (36 символов, как UUID.randomUUID().toString())
+     */
+    public static String nextId() {
+        return uuidV7().toString();
+    }
+
+    /**
+     * Миллисекунды Unix-времени, записанные в UUIDv7
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a UUIDv7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static final class State {
+        private long millis;
+        private int counter;
+    }
+}
@@ -0,0 +1,79 @@
+package sf.mephi.common.validation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кеш геттеров полей-дат для DateRangeValidator.
+ *
+ * - Поиск выполняется один раз на (класс, поле): ClassValue хранит геттеры класса
+ *   и не удерживает классы от выгрузки
+ * - Компонент записи читается её accessor-методом, обычное поле - геттером поля
+ *   (ищется в классе и его суперклассах)
+ * - Геттер приведён к (Object)LocalDate: чтение без reflection, упаковки и аллокаций
+ * - Неверное имя или тип поля - ошибка конфигурации аннотации, а не невалидные данные
+ */
+final class DateFieldAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(LocalDate.class, Object.class);
+
+    private static final ClassValue<Map<String, MethodHandle>> GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private DateFieldAccessors() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static MethodHandle getter(Class<?> type, String field) {
+        Map<String, MethodHandle> getters = GETTERS.get(type);
+        MethodHandle getter = getters.get(field);
+        if (getter == null) {
+            getter = getters.computeIfAbsent(field, name -> resolve(type, name));
+        }
+        return getter;
+    }
+
+    private static MethodHandle resolve(Class<?> type, String name) {
+        try {
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    if (component.getName().equals(name)) {
+                        checkType(type, name, component.getType());
+                        component.getAccessor().setAccessible(true);
+                        return MethodHandles.lookup().unreflect(component.getAccessor()).asType(GETTER_TYPE);
+                    }
+                }
+            }
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.getName().equals(name)) {
+                        checkType(type, name, field.getType());
+                        field.setAccessible(true);
+                        return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+                    }
+                }
+            }
+        } catch (IllegalAccessException | InaccessibleObjectException e) {
+            throw new IllegalStateException("Cannot access field '" + name + "' of " + type.getName(), e);
+        }
+        throw new IllegalStateException("No field '" + name + "' in " + type.getName());
+    }
+
+    private static void checkType(Class<?> owner, String name, Class<?> fieldType) {
+        if (fieldType != LocalDate.class) {
+            throw new IllegalStateException("Field '" + name + "' of " + owner.getName()
+                    + " must be LocalDate, but is " + fieldType.getName());
+        }
+    }
+}
@@ -3,16 +3,19 @@ package sf.mephi.common.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
 import java.time.LocalDate;
 
 /**
- * Валидатор для проверки корректности диапазона дат
+ * Валидатор для проверки корректности диапазона дат.
+ * Доступ к полям - через MethodHandle, найденные один раз на (класс, поле) (см. DateFieldAccessors).
  */
 public class DateRangeValidator implements ConstraintValidator<ValidDateRange, Object> {
 
     private String startDateField;
     private String endDateField;
+    // Валидатор обычно проверяет один класс - его геттеры держим под рукой без обращения к кешу
+    private volatile Getters last;
 
     @Override
     public void initialize(ValidDateRange constraintAnnotation) {
@@ -22,23 +25,36 @@ public class DateRangeValidator implements ConstraintValidator<ValidDateRange, O
 
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
-        try {
-            Field startField = value.getClass().getDeclaredField(startDateField);
-            Field endField = value.getClass().getDeclaredField(endDateField);
-
-            startField.setAccessible(true);
-            endField.setAccessible(true);
+        if (value == null) {
+            return true;
+        }
 
-            LocalDate startDate = (LocalDate) startField.get(value);
-            LocalDate endDate = (LocalDate) endField.get(value);
+        Getters getters = last;
+        if (getters == null || getters.type() != value.getClass()) {
+            getters = new Getters(value.getClass(),
+                    DateFieldAccessors.getter(value.getClass(), startDateField),
+                    DateFieldAccessors.getter(value.getClass(), endDateField));
+            last = getters;
+        }
 
-            if (startDate == null || endDate == null) {
-                return true;
-            }
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = (LocalDate) getters.start().invokeExact(value);
+            endDate = (LocalDate) getters.end().invokeExact(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to read date range of " + value.getClass().getName(), e);
+        }
 
-            return endDate.isAfter(startDate);
-        } catch (Exception e) {
-            return false;
+        if (startDate == null || endDate == null) {
+            return true;
         }
+
+        return endDate.isAfter(startDate);
+    }
+
+    private record Getters(Class<?> type, MethodHandle start, MethodHandle end) {
     }
 }
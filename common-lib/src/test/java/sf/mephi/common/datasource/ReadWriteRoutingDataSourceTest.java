@@ -0,0 +1,202 @@
+package sf.mephi.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sf.mephi.common.constants.ApiConstants;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor monitor;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        monitor = mock(ReplicaLagMonitor.class);
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReadWriteRoutingDataSource(primary, replica, monitor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("hms.datasource.connections").tag("target", target).counter().count();
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_OutsideTransaction() throws Exception {
+        routing.getConnection();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(replica, monitor);
+        assertEquals(1, connections("primary"));
+    }
+
+    @Test
+    void getConnection_ShouldUseReplica_ForReadOnlyTransaction_WhenReplicaIsReadable() throws Exception {
+        when(monitor.isReplicaReadable(isNull(), isNull(), anyLong())).thenReturn(true);
+        beginTransaction(true);
+
+        routing.getConnection();
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+        assertEquals(1, connections("replica"));
+    }
+
+    @Test
+    void route_ShouldFallBackToPrimary_WhenReplicaLags() {
+        when(monitor.isReplicaReadable(any(), any(), anyLong())).thenReturn(false);
+        beginTransaction(true);
+
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.route());
+    }
+
+    @Test
+    void route_ShouldUsePrimary_InsidePrimaryScope() {
+        when(monitor.isReplicaReadable(any(), any(), anyLong())).thenReturn(true);
+        beginTransaction(true);
+
+        ReadWriteRoutingDataSource.Target target = ReadWriteRoutingDataSource.primary(routing::route);
+
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, target);
+        assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, routing.route());
+    }
+
+    @Test
+    void route_ShouldPassCurrentUserToMonitor() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        beginTransaction(true);
+
+        routing.route();
+
+        verify(monitor).isReplicaReadable(eq("alice"), isNull(), anyLong());
+    }
+
+    @Test
+    void getConnection_ShouldRecordUserWrite_AfterCommit() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        beginTransaction(false);
+
+        routing.getConnection();
+        verify(primary).getConnection();
+        verify(monitor, never()).recordWrite(any(), anyLong());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(monitor).recordWrite(eq("alice"), anyLong());
+    }
+
+    private static void inRequest(String lastWriteHeader, HttpServletResponse response, FilterChain chain) throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader(ApiConstants.LAST_WRITE_HEADER)).thenReturn(lastWriteHeader);
+        new LastWriteFilter().doFilter(request, response, chain);
+    }
+
+    @Test
+    void route_ShouldPassClientLastWriteToMonitor() throws Exception {
+        beginTransaction(true);
+
+        inRequest("10200", mock(HttpServletResponse.class), (req, res) -> routing.route());
+        inRequest("not-a-number", mock(HttpServletResponse.class), (req, res) -> routing.route());
+
+        verify(monitor).isReplicaReadable(isNull(), eq(10_200L), anyLong());
+        verify(monitor).isReplicaReadable(isNull(), isNull(), anyLong());
+        assertNull(LastWriteFilter.clientLastWrite());
+    }
+
+    @Test
+    void route_ShouldClampClientLastWriteFromFuture() throws Exception {
+        beginTransaction(true);
+        long before = System.currentTimeMillis();
+
+        inRequest(Long.toString(Long.MAX_VALUE), mock(HttpServletResponse.class), (req, res) -> routing.route());
+
+        verify(monitor).isReplicaReadable(isNull(),
+                longThat(lastWrite -> lastWrite >= before && lastWrite <= System.currentTimeMillis()), anyLong());
+    }
+
+    @Test
+    void getConnection_ShouldReturnLastWriteHeader_AfterCommit() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AtomicReference<List<TransactionSynchronization>> synchronizations = new AtomicReference<>();
+        beginTransaction(false);
+
+        inRequest(null, response, (req, res) -> {
+            try {
+                routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            verify(response, never()).setHeader(any(), any());
+            synchronizations.set(TransactionSynchronizationManager.getSynchronizations());
+            synchronizations.get().forEach(TransactionSynchronization::afterCommit);
+        });
+
+        assertEquals(1, synchronizations.get().size());
+        verify(response).setHeader(eq(ApiConstants.LAST_WRITE_HEADER), any());
+        verify(monitor, never()).recordWrite(any(), anyLong());
+    }
+
+    @Test
+    void getConnection_ShouldNotRecordWrite_WithoutAuthenticatedUser() throws Exception {
+        beginTransaction(false);
+
+        routing.getConnection();
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void isWrapperFor_ShouldNotCountConnectionsOrTrackWrites() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        beginTransaction(false);
+
+        routing.isWrapperFor(Connection.class);
+
+        assertEquals(0, connections("primary"));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package sf.mephi.common.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Отставание реплики на двух базах H2: основная и реплика - разные in-memory БД,
+ * "репликация" - ручное копирование heartbeat
+ */
+class ReplicaLagMonitorTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+    private static final Duration INTERVAL = Duration.ofMillis(500);
+
+    private static DataSource database() {
+        return new DriverManagerDataSource("jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    private static void replicate(DataSource primary, DataSource replica) {
+        Long beat = new JdbcTemplate(primary).queryForObject(
+                "SELECT beat_at FROM " + ReplicaLagMonitor.TABLE + " WHERE id = 1", Long.class);
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.execute("CREATE TABLE IF NOT EXISTS " + ReplicaLagMonitor.TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        target.update("DELETE FROM " + ReplicaLagMonitor.TABLE);
+        target.update("INSERT INTO " + ReplicaLagMonitor.TABLE + " (id, beat_at) VALUES (1, ?)", beat);
+    }
+
+    @Test
+    void isReplicaReadable_ShouldBeFalse_BeforeFirstHeartbeat() {
+        DataSource db = database();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(db, db, MAX_LAG, INTERVAL);
+
+        assertFalse(monitor.isReplicaReadable(null, System.currentTimeMillis()));
+        assertEquals(-1, monitor.lagMillis());
+    }
+
+    @Test
+    void heartbeat_ShouldMakeReplicaReadable_WhenReplicaIsInSync() {
+        DataSource db = database();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(db, db, MAX_LAG, INTERVAL);
+
+        monitor.heartbeat(10_000);
+
+        assertEquals(0, monitor.lagMillis());
+        assertTrue(monitor.isReplicaReadable(null, 10_100));
+        assertTrue(monitor.isReplicaReadable("alice", 10_100));
+    }
+
+    @Test
+    void isReplicaReadable_ShouldBeFalse_WhenReplicaLagsBeyondMaxLag() {
+        DataSource primary = database();
+        DataSource replica = database();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, MAX_LAG, INTERVAL);
+
+        monitor.heartbeat(10_000);
+        assertEquals(-1, monitor.lagMillis(), "replica without heartbeat table is unavailable");
+
+        replicate(primary, replica);
+        monitor.heartbeat(15_000);
+        assertEquals(5_000, monitor.lagMillis());
+        assertFalse(monitor.isReplicaReadable(null, 15_000));
+
+        replicate(primary, replica);
+        monitor.heartbeat(15_200);
+        assertEquals(200, monitor.lagMillis());
+        assertTrue(monitor.isReplicaReadable(null, 15_200));
+    }
+
+    @Test
+    void isReplicaReadable_ShouldBeFalse_WhenLastCheckIsStale() {
+        DataSource db = database();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(db, db, MAX_LAG, INTERVAL);
+
+        monitor.heartbeat(10_000);
+
+        assertTrue(monitor.isReplicaReadable(null, 11_500));
+        assertFalse(monitor.isReplicaReadable(null, 11_501));
+    }
+
+    @Test
+    void isReplicaReadable_ShouldKeepWriterOnPrimary_UntilReplicaShowsLaterHeartbeat() {
+        DataSource db = database();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(db, db, MAX_LAG, INTERVAL);
+        monitor.heartbeat(10_000);
+
+        monitor.recordWrite("alice", 10_200);
+
+        assertFalse(monitor.isReplicaReadable("alice", 10_300));
+        assertTrue(monitor.isReplicaReadable("bob", 10_300));
+
+        // Heartbeat той же миллисекунды ещё не гарантирует, что коммит пользователя на реплике
+        monitor.heartbeat(10_200);
+        assertFalse(monitor.isReplicaReadable("alice", 10_300));
+        assertEquals(1, monitor.pendingWrites());
+
+        monitor.heartbeat(10_500);
+        assertTrue(monitor.isReplicaReadable("alice", 10_600));
+        assertEquals(0, monitor.pendingWrites());
+    }
+
+    @Test
+    void isReplicaReadable_ShouldKeepClientOnPrimary_UntilReplicaShowsClientWrite() {
+        DataSource db = database();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(db, db, MAX_LAG, INTERVAL);
+        monitor.heartbeat(10_000);
+
+        // Запись сделана на другом экземпляре: здесь о ней знает только заголовок клиента
+        assertFalse(monitor.isReplicaReadable("alice", 10_200L, 10_300));
+        assertTrue(monitor.isReplicaReadable("alice", 9_900L, 10_300));
+
+        monitor.heartbeat(10_500);
+        assertTrue(monitor.isReplicaReadable("alice", 10_200L, 10_600));
+        assertEquals(0, monitor.pendingWrites());
+    }
+
+    @Test
+    void heartbeat_ShouldForgetOldWrites_EvenWhenReplicaIsUnavailable() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(database(), database(), MAX_LAG, INTERVAL);
+
+        monitor.recordWrite("alice", 10_000);
+        monitor.recordWrite("bob", 12_000);
+
+        // Окно: max-lag (1с) + свежесть проверки (0.5с + 1с)
+        monitor.heartbeat(12_500);
+        assertEquals(-1, monitor.lagMillis());
+        assertEquals(2, monitor.pendingWrites());
+
+        monitor.heartbeat(12_501);
+        assertEquals(-1, monitor.lagMillis());
+        assertEquals(1, monitor.pendingWrites());
+    }
+}
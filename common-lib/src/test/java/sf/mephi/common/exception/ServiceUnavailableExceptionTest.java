@@ -0,0 +1,14 @@
+package sf.mephi.common.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceUnavailableExceptionTest {
+    @Test
+    void constructor_ShouldSetMessageAndStatus() {
+        ServiceUnavailableException ex = new ServiceUnavailableException("Hotel service is overloaded");
+        assertEquals("Hotel service is overloaded", ex.getMessage());
+        assertEquals(503, ((BaseException) ex).getStatusCode());
+    }
+}
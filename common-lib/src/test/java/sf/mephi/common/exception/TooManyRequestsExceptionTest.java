@@ -0,0 +1,14 @@
+package sf.mephi.common.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TooManyRequestsExceptionTest {
+    @Test
+    void constructor_ShouldSetMessageAndStatus() {
+        TooManyRequestsException ex = new TooManyRequestsException("Too many authentication requests");
+        assertEquals("Too many authentication requests", ex.getMessage());
+        assertEquals(429, ((BaseException) ex).getStatusCode());
+    }
+}
@@ -0,0 +1,76 @@
+package sf.mephi.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebugCorrelationsTest {
+
+    private final Logger logger = new LoggerContext().getLogger("sf.mephi.test");
+    private final CorrelationDebugTurboFilter turboFilter = new CorrelationDebugTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        DebugCorrelations.clear();
+        CorrelationIdUtil.clearCorrelationId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DebugCorrelations.clear();
+        CorrelationIdUtil.clearCorrelationId();
+    }
+
+    @Test
+    void enable_ShouldActivateUntilTtlExpires() {
+        DebugCorrelations.enable("active", Duration.ofMinutes(5));
+        DebugCorrelations.enable("expired", Duration.ofMillis(-1));
+
+        assertTrue(DebugCorrelations.isEnabled("active"));
+        assertFalse(DebugCorrelations.isEnabled("expired"));
+        assertEquals(1, DebugCorrelations.snapshot().size());
+    }
+
+    @Test
+    void disable_ShouldRemoveCorrelationId() {
+        DebugCorrelations.enable("id", Duration.ofMinutes(5));
+        DebugCorrelations.disable("id");
+
+        assertFalse(DebugCorrelations.isEnabled("id"));
+        assertTrue(DebugCorrelations.isEmpty());
+    }
+
+    @Test
+    void enable_ShouldThrow_WhenCorrelationIdBlank() {
+        assertThrows(ValidationException.class, () -> DebugCorrelations.enable(" ", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void turboFilter_ShouldAcceptDebug_OnlyForEnabledCorrelationId() {
+        DebugCorrelations.enable("debug-me", Duration.ofMinutes(5));
+
+        CorrelationIdUtil.setCorrelationId("debug-me");
+        assertEquals(FilterReply.ACCEPT, turboFilter.decide(null, logger, Level.DEBUG, "msg", null, null));
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.TRACE, "msg", null, null));
+
+        CorrelationIdUtil.setCorrelationId("other");
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.DEBUG, "msg", null, null));
+    }
+
+    @Test
+    void turboFilter_ShouldBeNeutral_WhenNothingEnabled() {
+        CorrelationIdUtil.setCorrelationId("any");
+
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.DEBUG, "msg", null, null));
+    }
+}
@@ -0,0 +1,101 @@
+package sf.mephi.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sf.mephi.common.util.CorrelationIdUtil;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private RequestSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestSamplingFilter();
+        filter.setRate(0.1);
+        filter.start();
+        DebugCorrelations.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DebugCorrelations.clear();
+    }
+
+    private LoggingEvent event(Level level, String correlationId) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerContext(context);
+        event.setLevel(level);
+        event.setMessage("message");
+        event.setMDCPropertyMap(correlationId == null
+                ? Map.of()
+                : Map.of(CorrelationIdUtil.CORRELATION_ID_MDC_KEY, correlationId));
+        return event;
+    }
+
+    @Test
+    void decide_ShouldKeepWarnAndError_WhenNotSampled() {
+        String dropped = IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .filter(id -> !filter.isSampled(id))
+                .findFirst().orElseThrow();
+
+        assertEquals(FilterReply.DENY, filter.decide(event(Level.INFO, dropped)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.WARN, dropped)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.ERROR, dropped)));
+    }
+
+    @Test
+    void decide_ShouldKeepEvents_WhenNoCorrelationId() {
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, null)));
+    }
+
+    @Test
+    void decide_ShouldKeepEvents_WhenDebugEnabledForCorrelationId() {
+        String dropped = IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .filter(id -> !filter.isSampled(id))
+                .findFirst().orElseThrow();
+        DebugCorrelations.enable(dropped, Duration.ofMinutes(1));
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, dropped)));
+    }
+
+    @Test
+    void decide_ShouldBeConsistentPerCorrelationId() {
+        String id = UUID.randomUUID().toString();
+        FilterReply first = filter.decide(event(Level.INFO, id));
+
+        assertEquals(first, filter.decide(event(Level.DEBUG, id)));
+        assertEquals(first, filter.decide(event(Level.INFO, id)));
+    }
+
+    @Test
+    void isSampled_ShouldApproximateRate() {
+        long sampled = IntStream.range(0, 20_000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .filter(filter::isSampled)
+                .count();
+
+        assertTrue(sampled > 1600 && sampled < 2400, "sampled=" + sampled);
+    }
+
+    @Test
+    void setRate_ShouldKeepEverything_WhenRateIsOne() {
+        filter.setRate(1.0);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(Level.INFO, UUID.randomUUID().toString())));
+    }
+}
@@ -1,10 +1,13 @@
 package sf.mephi.common.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Date;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,4 +33,50 @@ class JwtUtilTest {
         assertEquals(2, jwtUtil.extractRoles(token).size());
         assertTrue(jwtUtil.extractRoles(token).contains("USER"));
     }
+
+    @Test
+    void generateToken_ShouldIncludeUserId() {
+        String token = jwtUtil.generateToken("testuser", 42L, List.of("USER"));
+
+        assertTrue(jwtUtil.isTokenValid(token, "testuser"));
+        assertEquals(42L, jwtUtil.extractUserId(token));
+    }
+
+    @Test
+    void parse_ShouldReturnAllClaimsOfValidToken() {
+        String token = jwtUtil.generateToken("testuser", 42L, List.of("USER"));
+
+        Claims claims = jwtUtil.parse(token);
+
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(jwtUtil.extractTokenId(token), claims.getId());
+        assertEquals(List.of("USER"), jwtUtil.extractRoles(claims));
+        assertEquals(42L, jwtUtil.extractUserId(claims));
+        assertTrue(claims.getExpiration().after(new Date()));
+    }
+
+    @Test
+    void parse_ShouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken("testuser", List.of("USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parse(tampered));
+    }
+
+    @Test
+    void extractUserId_ShouldReturnNull_ForTokenWithoutUserId() {
+        String token = jwtUtil.generateToken("testuser", List.of("USER"));
+
+        assertNull(jwtUtil.extractUserId(token));
+    }
+
+    @Test
+    void generateToken_ShouldAssignUniqueTokenId() {
+        String first = jwtUtil.generateToken("testuser", 42L, List.of("USER"));
+        String second = jwtUtil.generateToken("testuser", 42L, List.of("USER"));
+
+        assertNotNull(jwtUtil.extractTokenId(first));
+        assertNotEquals(jwtUtil.extractTokenId(first), jwtUtil.extractTokenId(second));
+        assertTrue(jwtUtil.extractExpiresAt(first).isAfter(java.time.Instant.now()));
+    }
 }
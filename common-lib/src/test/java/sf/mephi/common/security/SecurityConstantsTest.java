@@ -11,7 +11,7 @@ class SecurityConstantsTest {
     void constants_ShouldHaveCorrectValues() {
         assertEquals("your-very-secure-secret-key-at-least-256-bits-long-for-hs256-algorithm", SecurityConstants.JWT_SECRET);
         assertEquals(70, SecurityConstants.JWT_SECRET.length());
-        assertEquals(3600000L, SecurityConstants.JWT_EXPIRATION_MS);
+        assertEquals(900000L, SecurityConstants.JWT_EXPIRATION_MS);
         assertEquals("Authorization", SecurityConstants.JWT_HEADER);
         assertEquals("Bearer ", SecurityConstants.JWT_PREFIX);
 
@@ -0,0 +1,52 @@
+package sf.mephi.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(100, 0.01);
+
+    @Test
+    void isRevoked_ShouldReturnTrue_ForRevokedToken() {
+        revocationList.revoke("jti-1", Instant.now().plusSeconds(60));
+
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        assertFalse(revocationList.isRevoked(null));
+    }
+
+    @Test
+    void revoke_ShouldIgnoreAlreadyExpiredToken() {
+        revocationList.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        assertFalse(revocationList.isRevoked("jti-1"));
+        assertEquals(0, revocationList.size());
+    }
+
+    @Test
+    void rebuild_ShouldDropExpiredTokens() throws InterruptedException {
+        revocationList.revoke("short", Instant.now().plusMillis(20));
+        revocationList.revoke("long", Instant.now().plusSeconds(60));
+        Thread.sleep(40);
+
+        assertEquals(1, revocationList.rebuild());
+        assertFalse(revocationList.isRevoked("short"));
+        assertTrue(revocationList.isRevoked("long"));
+    }
+
+    @Test
+    void revoke_ShouldGrowFilter_WhenCapacityExceeded() {
+        for (int i = 0; i < 250; i++) {
+            revocationList.revoke("jti-" + i, Instant.now().plusSeconds(60));
+        }
+
+        assertEquals(250, revocationList.size());
+        for (int i = 0; i < 250; i++) {
+            assertTrue(revocationList.isRevoked("jti-" + i));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package sf.mephi.common.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriticalPathAnalyzerTest {
+
+    private static SpanRecord span(String id, String parent, String name, long start, long end) {
+        return new SpanRecord("trace-1", id, parent, "booking-service", name, null, start, end, Map.of());
+    }
+
+    @Test
+    void analyze_ShouldReturnEmpty_WhenNoSpans() {
+        assertTrue(CriticalPathAnalyzer.analyze(List.of()).isEmpty());
+    }
+
+    @Test
+    void analyze_ShouldAttributeSequentialChildrenAndGaps() {
+        // root 0..300: getRoom 10..60, confirm 70..280 (внутри - sql 100..250)
+        List<SpanRecord> spans = List.of(
+                span("root", null, "http post /api/v1/bookings", 0, 300),
+                span("get", "root", "GET /rooms/{id}", 10, 60),
+                span("confirm", "root", "POST /rooms/{id}/confirm-availability", 70, 280),
+                span("sql", "confirm", "query", 100, 250)
+        );
+
+        CriticalPathReport report = CriticalPathAnalyzer.analyze(spans).orElseThrow();
+
+        assertEquals("trace-1", report.traceId());
+        assertEquals(300, report.totalMicros());
+        Map<String, Long> critical = report.segments().stream()
+                .collect(java.util.stream.Collectors.toMap(
+                        CriticalPathReport.Segment::spanId, CriticalPathReport.Segment::criticalMicros));
+
+        assertEquals(40, critical.get("root"));     // 0..10, 60..70, 280..300
+        assertEquals(50, critical.get("get"));
+        assertEquals(60, critical.get("confirm"));  // 70..100, 250..280
+        assertEquals(150, critical.get("sql"));
+        assertEquals(300, critical.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void analyze_ShouldSkipParallelBranchThatDoesNotAffectEnd() {
+        // Две параллельные ветки: короткая полностью перекрыта длинной
+        List<SpanRecord> spans = List.of(
+                span("root", null, "root", 0, 100),
+                span("long", "root", "long", 0, 100),
+                span("short", "root", "short", 20, 40)
+        );
+
+        CriticalPathReport report = CriticalPathAnalyzer.analyze(spans).orElseThrow();
+
+        assertTrue(report.segments().stream().noneMatch(s -> s.spanId().equals("short")));
+        assertEquals(1.0, report.segments().stream()
+                .filter(s -> s.spanId().equals("long"))
+                .findFirst().orElseThrow().share());
+    }
+
+    @Test
+    void analyze_ShouldTreatSpanWithUnknownParentAsRoot() {
+        // Локальный трейс Hotel Service: родитель - Feign span в Booking Service
+        List<SpanRecord> spans = List.of(
+                span("server", "remote-client-span", "http post", 0, 50),
+                span("sql", "server", "query", 10, 30)
+        );
+
+        CriticalPathReport report = CriticalPathAnalyzer.analyze(spans).orElseThrow();
+
+        assertEquals("http post", report.rootName());
+        assertEquals(50, report.totalMicros());
+    }
+}
@@ -0,0 +1,57 @@
+package sf.mephi.common.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanExporterTest {
+
+    private static SpanRecord span(String traceId, String id, long start) {
+        return new SpanRecord(traceId, id, null, "hotel-service", "span-" + id, "SERVER",
+                start, start + 10, Map.of("http.method", "GET"));
+    }
+
+    @Test
+    void inMemory_ShouldGroupByTraceAndSortByStart() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+
+        exporter.export(span("t1", "b", 20));
+        exporter.export(span("t1", "a", 10));
+        exporter.export(span("t2", "c", 5));
+
+        assertEquals(List.of("t1", "t2"), exporter.getTraceIds());
+        assertEquals(List.of("a", "b"), exporter.getTrace("t1").stream().map(SpanRecord::spanId).toList());
+        assertTrue(exporter.getTrace("unknown").isEmpty());
+    }
+
+    @Test
+    void inMemory_ShouldEvictOldestTraces() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(2);
+
+        exporter.export(span("t1", "a", 0));
+        exporter.export(span("t2", "b", 0));
+        exporter.export(span("t3", "c", 0));
+
+        assertEquals(List.of("t2", "t3"), exporter.getTraceIds());
+        assertTrue(exporter.getTrace("t1").isEmpty());
+    }
+
+    @Test
+    void file_ShouldWriteAndReadNdjson(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("spans.ndjson");
+        SpanRecord first = span("t1", "a", 0);
+        SpanRecord second = span("t1", "b", 5);
+
+        try (FileSpanExporter exporter = new FileSpanExporter(file)) {
+            exporter.export(first);
+            exporter.export(second);
+        }
+
+        assertEquals(List.of(first, second), FileSpanExporter.read(file));
+    }
+}
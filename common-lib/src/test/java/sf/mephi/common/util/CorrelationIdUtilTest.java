@@ -23,7 +23,7 @@ class CorrelationIdUtilTest {
     void generateCorrelationId_ShouldReturnUUIDFormat() {
         String id = CorrelationIdUtil.generateCorrelationId();
         assertNotNull(id);
-        assertTrue(id.matches("^[0-9a-f]{8}-[0-9a-f]{4}-[1-5][0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}$"));
+        assertTrue(id.matches("^[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}$"));
     }
 
     @Test
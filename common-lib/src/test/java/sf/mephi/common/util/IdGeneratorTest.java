@@ -0,0 +1,76 @@
+package sf.mephi.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    @Test
+    void uuidV7_ShouldHaveVersion7AndRfcVariant() {
+        UUID id = IdGenerator.uuidV7();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void uuidV7_ShouldEmbedCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = IdGenerator.uuidV7();
+        long after = System.currentTimeMillis();
+
+        long timestamp = IdGenerator.timestampMillis(id);
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp: " + timestamp);
+    }
+
+    @Test
+    void nextId_ShouldIncreaseStrictlyWithinThread() {
+        String previous = IdGenerator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            String next = IdGenerator.nextId();
+            // Строковое сравнение совпадает с порядком в индексе по request_id
+            assertTrue(next.compareTo(previous) > 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_ShouldBeUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(IdGenerator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void timestampMillis_ShouldRejectOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> IdGenerator.timestampMillis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,139 @@
+package sf.mephi.common.validation;
+
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сравнение DateRangeValidator с прежней реализацией (getDeclaredField + setAccessible на каждый вызов).
+ *
+ * Холодный прогон - первые COLD вызовов (интерпретатор/C1): здесь reflection копирует Field на каждый вызов.
+ * Тёплый - после прогрева: время и аллокации на одну проверку в одном потоке.
+ */
+@Slf4j
+@Tag("benchmark")
+class DateRangeValidatorBenchmarkTest {
+
+    private static final int COLD = 10_000;
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    record Report(String implementation, double coldBytesPerCall, double nanosPerCall, double bytesPerCall) {
+    }
+
+    @Test
+    @DisplayName("Отчёт: reflection на каждый вызов против закешированных MethodHandle")
+    void compareImplementations() {
+        ValidDateRange annotation = annotation();
+        DateRangeValidator cached = new DateRangeValidator();
+        cached.initialize(annotation);
+        ReflectiveDateRangeValidator reflective = new ReflectiveDateRangeValidator();
+        reflective.initialize(annotation);
+
+        TestDto dto = new TestDto(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 15));
+        Report before = run("reflection", value -> reflective.isValid(value, null), dto);
+        Report after = run("method-handles", value -> cached.isValid(value, null), dto);
+
+        StringBuilder table = new StringBuilder();
+        table.append('\n').append("=".repeat(60)).append('\n');
+        table.append(String.format("  DateRangeValidator: %d холодных, %d тёплых проверок%n", COLD, ITERATIONS));
+        table.append("=".repeat(60)).append('\n');
+        table.append(String.format("%-16s %14s %12s %14s%n", "implementation", "cold B/call", "ns/call", "warm B/call"));
+        table.append("-".repeat(60)).append('\n');
+        for (Report r : new Report[]{before, after}) {
+            table.append(String.format("%-16s %14.1f %12.1f %14.1f%n",
+                    r.implementation(), r.coldBytesPerCall(), r.nanosPerCall(), r.bytesPerCall()));
+        }
+        table.append("=".repeat(60));
+        log.info("{}", table);
+
+        assertTrue(after.coldBytesPerCall() < before.coldBytesPerCall(),
+                "cached accessors must allocate less than reflection before JIT");
+        assertTrue(after.bytesPerCall() < 1.0, "cached accessors must not allocate per call");
+    }
+
+    private static Report run(String name, Predicate<Object> validator, Object value) {
+        int valid = 0;
+        long coldBefore = allocatedBytes();
+        for (int i = 0; i < COLD; i++) {
+            valid += validator.test(value) ? 1 : 0;
+        }
+        long coldAllocated = allocatedBytes() - coldBefore;
+
+        for (int i = 0; i < WARMUP; i++) {
+            valid += validator.test(value) ? 1 : 0;
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            valid += validator.test(value) ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        assertEquals(COLD + WARMUP + ITERATIONS, valid);
+        return new Report(name, (double) coldAllocated / COLD,
+                (double) elapsed / ITERATIONS, (double) allocated / ITERATIONS);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static ValidDateRange annotation() {
+        return new ValidDateRange() {
+            @Override public String start() { return "startDate"; }
+            @Override public String end() { return "endDate"; }
+            @Override public String message() { return "Invalid"; }
+            @Override public Class<?>[] groups() { return new Class[0]; }
+            @Override public Class[] payload() { return new Class[0]; }
+            @Override public Class<? extends Annotation> annotationType() { return ValidDateRange.class; }
+        };
+    }
+
+    /**
+     * Прежняя реализация - точка отсчёта
+     */
+    private static final class ReflectiveDateRangeValidator {
+
+        private String startDateField;
+        private String endDateField;
+
+        void initialize(ValidDateRange constraintAnnotation) {
+            this.startDateField = constraintAnnotation.start();
+            this.endDateField = constraintAnnotation.end();
+        }
+
+        boolean isValid(Object value, ConstraintValidatorContext context) {
+            try {
+                Field startField = value.getClass().getDeclaredField(startDateField);
+                Field endField = value.getClass().getDeclaredField(endDateField);
+
+                startField.setAccessible(true);
+                endField.setAccessible(true);
+
+                LocalDate startDate = (LocalDate) startField.get(value);
+                LocalDate endDate = (LocalDate) endField.get(value);
+
+                if (startDate == null || endDate == null) {
+                    return true;
+                }
+
+                return endDate.isAfter(startDate);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package sf.mephi.common.validation;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -44,6 +45,29 @@ class DateRangeValidatorTest {
         assertFalse(validator.isValid(dto, null));
     }
 
+    @Test
+    void isValid_ShouldReadRecordComponents() {
+        assertTrue(validator.isValid(new TestRecord(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 15)), null));
+        assertFalse(validator.isValid(new TestRecord(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 10)), null));
+    }
+
+    @Test
+    void isValid_ShouldReadInheritedPrivateFields() {
+        assertTrue(validator.isValid(new ChildDto(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 15)), null));
+        assertFalse(validator.isValid(new ChildDto(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 10)), null));
+    }
+
+    @Test
+    void isValid_ShouldReturnTrue_WhenDateMissingOrValueNull() {
+        assertTrue(validator.isValid(new TestDto(null, LocalDate.of(2026, 1, 10)), null));
+        assertTrue(validator.isValid(null, null));
+    }
+
+    @Test
+    void isValid_ShouldThrow_WhenFieldMissing() {
+        assertThrows(IllegalStateException.class, () -> validator.isValid("not a dto", null));
+    }
+
     static Arguments[] validRanges() {
         return new Arguments[]{
                 Arguments.of(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 15))  // end > start
@@ -66,3 +90,21 @@ class TestDto {
         this.endDate = end;
     }
 }
+
+record TestRecord(LocalDate startDate, LocalDate endDate) {
+}
+
+class ParentDto {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    ParentDto(LocalDate start, LocalDate end) {
+        this.startDate = start;
+        this.endDate = end;
+    }
+}
+
+class ChildDto extends ParentDto {
+    ChildDto(LocalDate start, LocalDate end) {
+        super(start, end);
+    }
+}
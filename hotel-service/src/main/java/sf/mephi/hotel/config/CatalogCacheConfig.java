@@ -0,0 +1,75 @@
+package sf.mephi.hotel.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кеш второго уровня Hibernate (JCache на Caffeine) для справочных данных каталога.
+ *
+ * - Регионы: отели, номера, состав отелей (Hotel.rooms) и результаты запросов каталога
+ * - Регионы создаются здесь с ограничением размера; регион без настройки - ошибка старта
+ *   (hibernate.javax.cache.missing_cache_strategy: fail)
+ * - Результаты запросов инвалидируются Hibernate по изменённым таблицам; TTL ограничивает только срок хранения.
+ *   Регион меток изменения таблиц не ограничивается: вытеснение метки вернуло бы устаревший результат запроса
+ * - rooms.times_booked пишется мимо Hibernate, поэтому RoomBookingCounters вытесняет номера после сброса счётчиков
+ */
+@Configuration
+public class CatalogCacheConfig {
+
+    public static final String HOTELS = "catalog.hotels";
+    public static final String HOTEL_ROOMS = "catalog.hotel-rooms";
+    public static final String ROOMS = "catalog.rooms";
+    public static final String QUERIES = "catalog.queries";
+
+    // Регион меток изменения таблиц (org.hibernate.cache.spi.RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+    // Регион запросов без явного региона (RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+    private static final String DEFAULT_QUERIES = "default-query-results-region";
+
+    /**
+     * Свой менеджер на каждый контекст: менеджер провайдера по умолчанию общий для JVM
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager catalogCacheManager(
+            @Value("${hotel.catalog-cache.max-entries:10000}") long maxEntries,
+            @Value("${hotel.catalog-cache.query-ttl:10m}") Duration queryTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hotel-catalog-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(HOTELS, region(maxEntries, null));
+        cacheManager.createCache(HOTEL_ROOMS, region(maxEntries, null));
+        cacheManager.createCache(ROOMS, region(maxEntries, null));
+        cacheManager.createCache(QUERIES, region(maxEntries, queryTtl));
+        cacheManager.createCache(DEFAULT_QUERIES, region(maxEntries, queryTtl));
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer catalogCacheCustomizer(CacheManager catalogCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, catalogCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
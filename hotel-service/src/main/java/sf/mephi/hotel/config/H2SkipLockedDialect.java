@@ -0,0 +1,28 @@
+package sf.mephi.hotel.config;
+
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * H2Dialect с поддержкой FOR UPDATE SKIP LOCKED.
+ *
+ * H2 (2.2+) поддерживает SKIP LOCKED, но стандартный H2Dialect его не выводит,
+ * и подсказка lock.timeout = SKIP_LOCKED превращается в обычный FOR UPDATE с ожиданием.
+ * Для PostgreSQL/MySQL 8 достаточно штатного диалекта.
+ */
+public class H2SkipLockedDialect extends H2Dialect {
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString() {
+        return " for update skip locked";
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString(String aliases) {
+        return getForUpdateSkipLockedString();
+    }
+}
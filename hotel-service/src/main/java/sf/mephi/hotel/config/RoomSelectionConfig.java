@@ -0,0 +1,31 @@
+package sf.mephi.hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sf.mephi.hotel.service.selection.LeastLoadedStrategy;
+import sf.mephi.hotel.service.selection.PowerOfTwoChoicesStrategy;
+import sf.mephi.hotel.service.selection.RoomSelectionStrategy;
+import sf.mephi.hotel.service.selection.RoundRobinStrategy;
+import sf.mephi.hotel.service.selection.WeightedByPriceStrategy;
+
+/**
+ * Стратегия выбора номера для selectOptimalRoomForBooking и резервирования (POST /rooms/reserve).
+ *
+ * hotel.room-selection.strategy: least-loaded | p2c | weighted-price | round-robin
+ */
+@Configuration
+public class RoomSelectionConfig {
+
+    @Bean
+    public RoomSelectionStrategy roomSelectionStrategy(
+            @Value("${hotel.room-selection.strategy:" + LeastLoadedStrategy.NAME + "}") String name) {
+        return switch (name) {
+            case LeastLoadedStrategy.NAME -> new LeastLoadedStrategy();
+            case PowerOfTwoChoicesStrategy.NAME -> new PowerOfTwoChoicesStrategy();
+            case WeightedByPriceStrategy.NAME -> new WeightedByPriceStrategy();
+            case RoundRobinStrategy.NAME -> new RoundRobinStrategy();
+            default -> throw new IllegalArgumentException("Unknown room selection strategy: " + name);
+        };
+    }
+}
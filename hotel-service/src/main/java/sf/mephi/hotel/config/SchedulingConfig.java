@@ -0,0 +1,12 @@
+package sf.mephi.hotel.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи Hotel Service (сброс счётчиков бронирований, см. RoomBookingCounters)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
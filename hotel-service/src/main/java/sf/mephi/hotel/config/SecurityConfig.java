@@ -31,8 +31,15 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/v1/rooms/*/confirm-availability").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/rooms/*/release").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/rooms/*/change-reservation").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/rooms/*/revert-change").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/rooms/reserve").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/rooms/reserve/release").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/rooms/holds/*/convert").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/logdebug", "/actuator/logdebug/**",
+                                "/actuator/criticalpath", "/actuator/criticalpath/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex
@@ -0,0 +1,27 @@
+package sf.mephi.hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Клиент ленты отозванных токенов Booking Service (адрес разрешается через Eureka)
+ */
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder() {
+        return RestClient.builder();
+    }
+
+    @Bean
+    public RestClient tokenRevocationRestClient(
+            @LoadBalanced RestClient.Builder builder,
+            @Value("${hotel.token-revocation.source-url:http://booking-service}") String sourceUrl) {
+        return builder.baseUrl(sourceUrl).build();
+    }
+}
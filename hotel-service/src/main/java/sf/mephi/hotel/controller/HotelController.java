@@ -7,14 +7,18 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import sf.mephi.common.constants.ApiConstants;
 import sf.mephi.hotel.dto.request.CreateHotelRequest;
 import sf.mephi.hotel.dto.response.HotelDTO;
+import sf.mephi.hotel.dto.response.HotelImportResultDTO;
+import sf.mephi.hotel.service.HotelImportService;
 import sf.mephi.hotel.service.HotelService;
 
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -25,6 +29,7 @@ import java.util.List;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final HotelImportService hotelImportService;
 
     @GetMapping
     @Operation(summary = "Get all hotels", description = "Returns list of all hotels")
@@ -95,4 +100,30 @@ public class HotelController {
         hotelService.deleteHotel(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping(value = "/import", consumes = HotelImportService.TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Import hotels and rooms from CSV",
+            description = "Streams CSV rows (header: hotelName,address,city,roomNumber,roomType,price,available) "
+                    + "and inserts them in JDBC batches within one transaction (ADMIN only)",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    public ResponseEntity<HotelImportResultDTO> importCsv(InputStream body) {
+        log.info("POST /api/v1/hotels/import - CSV");
+        return ResponseEntity.status(HttpStatus.CREATED).body(hotelImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Import hotels and rooms from NDJSON",
+            description = "Streams one JSON row per line and inserts them in JDBC batches within one transaction "
+                    + "(ADMIN only)",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    public ResponseEntity<HotelImportResultDTO> importNdjson(InputStream body) {
+        log.info("POST /api/v1/hotels/import - NDJSON");
+        return ResponseEntity.status(HttpStatus.CREATED).body(hotelImportService.importNdjson(body));
+    }
 }
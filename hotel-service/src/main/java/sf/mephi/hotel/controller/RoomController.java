@@ -6,17 +6,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.dto.request.ChangeReservationRequest;
 import sf.mephi.hotel.dto.request.ConfirmAvailabilityRequest;
 import sf.mephi.hotel.dto.request.CreateRoomRequest;
+import sf.mephi.hotel.dto.request.ReserveRoomRequest;
 import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
 import sf.mephi.hotel.dto.response.RoomDTO;
+import sf.mephi.hotel.service.RoomRecommendations;
 import sf.mephi.hotel.service.RoomService;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Slf4j
@@ -36,15 +43,28 @@ public class RoomController {
         return ResponseEntity.ok(rooms);
     }
 
-    @GetMapping("/recommend")
+    @GetMapping(value = "/recommend", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
             summary = "Get recommended rooms",
-            description = "Returns available rooms sorted by booking count (load balancing algorithm)"
+            description = "Returns up to 100 available rooms sorted by booking count (load balancing algorithm), "
+                    + "optionally filtered by hotel, room type and price range. Supports If-None-Match (ETag)"
     )
-    public ResponseEntity<List<RoomDTO>> getRecommendedRooms() {
-        log.info("GET /api/v1/rooms/recommend - fetching recommended rooms");
-        List<RoomDTO> rooms = roomService.getRecommendedRooms();
-        return ResponseEntity.ok(rooms);
+    public ResponseEntity<byte[]> getRecommendedRooms(
+            @RequestParam(value = "hotelId", required = false) Long hotelId,
+            @RequestParam(value = "roomType", required = false) RoomType roomType,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice) {
+
+        log.debug("GET /api/v1/rooms/recommend - hotelId: {}, roomType: {}, price: {}..{}",
+                hotelId, roomType, minPrice, maxPrice);
+        RoomRecommendations.Rendered rooms = roomService.getRecommendedRooms(
+                new RoomRecommendations.Filter(hotelId, roomType, minPrice, maxPrice));
+        // При совпадении If-None-Match Spring отвечает 304 без тела
+        return ResponseEntity.ok()
+                .eTag(rooms.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rooms.json());
     }
 
     @GetMapping("/{id}")
@@ -118,6 +138,50 @@ public class RoomController {
         return ResponseEntity.ok(confirmation);
     }
 
+    @PostMapping("/reserve")
+    @Operation(
+            summary = "Reserve least loaded room (INTERNAL)",
+            description = "Atomically selects and reserves the least loaded available room, skipping rooms locked by concurrent reservations"
+    )
+    public ResponseEntity<AvailabilityConfirmationDTO> reserveRoom(
+            @Valid @RequestBody ReserveRoomRequest request) {
+
+        log.info("POST /api/v1/rooms/reserve - hotelId: {}, roomType: {}, requestId: {}",
+                request.getHotelId(), request.getRoomType(), request.getRequestId());
+        AvailabilityConfirmationDTO reservation = roomService.reserveLeastLoadedRoom(request);
+        return ResponseEntity.ok(reservation);
+    }
+
+    @PostMapping("/{id}/change-reservation")
+    @Operation(
+            summary = "Change reservation (INTERNAL)",
+            description = "Moves a confirmed reservation to new dates and/or this room in one transaction; "
+                    + "nights already held by the reservation stay reserved"
+    )
+    public ResponseEntity<AvailabilityConfirmationDTO> changeReservation(
+            @PathVariable(value = "id") Long id,
+            @Valid @RequestBody ChangeReservationRequest request) {
+
+        log.info("POST /api/v1/rooms/{}/change-reservation - requestId: {}, changeId: {}",
+                id, request.getRequestId(), request.getChangeId());
+        AvailabilityConfirmationDTO confirmation = roomService.changeReservation(id, request);
+        return ResponseEntity.ok(confirmation);
+    }
+
+    @PostMapping("/{id}/revert-change")
+    @Operation(
+            summary = "Revert reservation change (INTERNAL)",
+            description = "Undoes a reservation change, or prevents it if it has not arrived yet (compensation action)"
+    )
+    public ResponseEntity<Void> revertReservationChange(
+            @PathVariable(value = "id") Long id,
+            @Valid @RequestBody ChangeReservationRequest request) {
+
+        log.info("POST /api/v1/rooms/{}/revert-change - changeId: {}", id, request.getChangeId());
+        roomService.revertReservationChange(id, request);
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping("/{id}/release")
     @Operation(
             summary = "Release room slot (INTERNAL)",
@@ -131,4 +195,17 @@ public class RoomController {
         roomService.releaseSlot(id, requestId);
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/reserve/release")
+    @Operation(
+            summary = "Release reservation by request (INTERNAL)",
+            description = "Releases the slot reserved under requestId when the room is unknown to the caller"
+    )
+    public ResponseEntity<Void> releaseReservation(
+            @RequestParam(value = "requestId") String requestId) {
+
+        log.info("POST /api/v1/rooms/reserve/release - requestId: {}", requestId);
+        roomService.releaseSlot(null, requestId);
+        return ResponseEntity.ok().build();
+    }
 }
@@ -0,0 +1,73 @@
+package sf.mephi.hotel.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.hotel.dto.request.CreateHoldRequest;
+import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
+import sf.mephi.hotel.dto.response.RoomHoldDTO;
+import sf.mephi.hotel.service.RoomHoldService;
+
+@Slf4j
+@RestController
+@RequestMapping(ApiConstants.API_V1 + ApiConstants.ROOMS_PATH)
+@RequiredArgsConstructor
+@Tag(name = "Room Holds", description = "Tentative room holds during checkout")
+public class RoomHoldController {
+
+    private final RoomHoldService roomHoldService;
+
+    @PostMapping("/{id}/holds")
+    @Operation(
+            summary = "Hold room",
+            description = "Holds room dates for a limited time (default 10 minutes) while the user completes checkout"
+    )
+    public ResponseEntity<RoomHoldDTO> createHold(
+            @PathVariable(value = "id") Long id,
+            @Valid @RequestBody CreateHoldRequest request,
+            Authentication authentication) {
+
+        log.info("POST /api/v1/rooms/{}/holds - requestId: {}", id, request.getRequestId());
+        RoomHoldDTO hold = roomHoldService.createHold(id, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @GetMapping("/holds/{holdId}")
+    @Operation(summary = "Get hold", description = "Returns hold status and expiration time")
+    public ResponseEntity<RoomHoldDTO> getHold(
+            @PathVariable(value = "holdId") String holdId) {
+
+        log.info("GET /api/v1/rooms/holds/{}", holdId);
+        return ResponseEntity.ok(roomHoldService.getHold(holdId));
+    }
+
+    @PostMapping("/holds/{holdId}/convert")
+    @Operation(
+            summary = "Convert hold to reservation (INTERNAL)",
+            description = "Confirms the held room without repeating availability checks; fails if the hold expired"
+    )
+    public ResponseEntity<AvailabilityConfirmationDTO> convertHold(
+            @PathVariable(value = "holdId") String holdId) {
+
+        log.info("POST /api/v1/rooms/holds/{}/convert", holdId);
+        return ResponseEntity.ok(roomHoldService.convertHold(holdId));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release hold", description = "Releases own hold (abandoned checkout or cancelled booking)")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable(value = "holdId") String holdId,
+            Authentication authentication) {
+
+        log.info("DELETE /api/v1/rooms/holds/{}", holdId);
+        roomHoldService.releaseHold(holdId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
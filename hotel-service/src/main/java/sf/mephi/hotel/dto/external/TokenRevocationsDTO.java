@@ -0,0 +1,33 @@
+package sf.mephi.hotel.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Страница ленты отозванных токенов Booking Service (GET /api/v1/auth/revocations)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationsDTO {
+
+    private String epoch;
+    private List<Entry> revocations;
+    private Long latestId;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private String tokenId;
+        private Instant expiresAt;
+    }
+}
@@ -0,0 +1,57 @@
+package sf.mephi.hotel.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Изменение подтверждённого резервирования: прежние номер и даты → новые.
+ * changeId - ключ идемпотентности изменения, requestId - резервирования.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeReservationRequest {
+
+    @NotBlank(message = "Change ID is required for idempotency")
+    private String changeId;
+
+    @NotBlank(message = "Request ID is required")
+    private String requestId;
+
+    @NotNull(message = "Previous room ID is required")
+    private Long previousRoomId;
+
+    @NotNull(message = "Previous start date is required")
+    private LocalDate previousStartDate;
+
+    @NotNull(message = "Previous end date is required")
+    private LocalDate previousEndDate;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    /**
+     * Обратное изменение (для компенсации) с тем же changeId
+     */
+    public ChangeReservationRequest reversed(Long roomId) {
+        return ChangeReservationRequest.builder()
+                .changeId(changeId)
+                .requestId(requestId)
+                .previousRoomId(roomId)
+                .previousStartDate(startDate)
+                .previousEndDate(endDate)
+                .startDate(previousStartDate)
+                .endDate(previousEndDate)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package sf.mephi.hotel.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateHoldRequest {
+
+    @NotBlank(message = "Request ID is required for idempotency")
+    private String requestId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // Время удержания; по умолчанию hotel.holds.default-ttl
+    @Min(value = 1, message = "Hold TTL must be at least 1 minute")
+    @Max(value = 60, message = "Hold TTL must not exceed 60 minutes")
+    private Integer ttlMinutes;
+}
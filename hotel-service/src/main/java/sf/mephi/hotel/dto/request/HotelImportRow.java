@@ -0,0 +1,45 @@
+package sf.mephi.hotel.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.constants.RoomType;
+
+import java.math.BigDecimal;
+
+/**
+ * Строка массовой загрузки (CSV или NDJSON): номер вместе с реквизитами отеля.
+ * Отель определяется парой (hotelName, address); строка без roomNumber создаёт только отель.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelImportRow {
+
+    @NotBlank(message = "Hotel name is required")
+    @Size(max = ApiConstants.MAX_HOTEL_NAME_LENGTH, message = "Hotel name is too long")
+    private String hotelName;
+
+    @NotBlank(message = "Address is required")
+    @Size(max = ApiConstants.MAX_ADDRESS_LENGTH, message = "Address is too long")
+    private String address;
+
+    @NotBlank(message = "City is required")
+    private String city;
+
+    @Size(max = ApiConstants.MAX_ROOM_NUMBER_LENGTH, message = "Room number is too long")
+    private String roomNumber;
+
+    private RoomType roomType;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal price;
+
+    private Boolean available;
+}
@@ -0,0 +1,35 @@
+package sf.mephi.hotel.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sf.mephi.common.constants.RoomType;
+
+import java.time.LocalDate;
+
+/**
+ * Запрос на атомарный выбор и резервирование номера.
+ * hotelId и roomType необязательны: без них выбирается любой доступный номер.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveRoomRequest {
+
+    @NotBlank(message = "Request ID is required for idempotency")
+    private String requestId;
+
+    private Long hotelId;
+
+    private RoomType roomType;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+}
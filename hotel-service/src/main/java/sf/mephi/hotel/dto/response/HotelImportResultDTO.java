@@ -0,0 +1,17 @@
+package sf.mephi.hotel.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelImportResultDTO {
+    private Integer rows;
+    private Integer hotelsCreated;
+    private Integer roomsCreated;
+    private Long durationMs;
+}
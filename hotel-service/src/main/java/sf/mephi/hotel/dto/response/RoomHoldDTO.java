@@ -0,0 +1,24 @@
+package sf.mephi.hotel.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sf.mephi.common.constants.HoldStatus;
+
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHoldDTO {
+    private String holdId;
+    private String requestId;
+    private Long roomId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private HoldStatus status;
+    private LocalDateTime expiresAt;
+}
@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import sf.mephi.hotel.config.CatalogCacheConfig;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,14 +16,17 @@ import java.util.List;
 
 @Entity
 @Table(name = "hotels")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.HOTELS)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Hotel {
 
+    // Пул из 50 идентификаторов на одно обращение к последовательности: IDENTITY отключает пакетные вставки
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotels_seq")
+    @SequenceGenerator(name = "hotels_seq", sequenceName = "hotels_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -36,7 +42,9 @@ public class Hotel {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // totalRooms в HotelDTO; номер, сохранённый без addRoom, вытесняет коллекцию (auto_evict_collection_cache)
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.HOTEL_ROOMS)
     @Builder.Default
     private List<Room> rooms = new ArrayList<>();
 
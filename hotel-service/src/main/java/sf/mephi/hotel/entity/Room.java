@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.config.CatalogCacheConfig;
 
 import java.math.BigDecimal;
 
@@ -14,6 +17,7 @@ import java.math.BigDecimal;
         name = "rooms",
         uniqueConstraints = @UniqueConstraint(columnNames = {"hotel_id", "room_number"})
 )
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.ROOMS)
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +25,8 @@ import java.math.BigDecimal;
 public class Room {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,7 +47,9 @@ public class Room {
     @Builder.Default
     private Boolean available = true;
 
-    @Column(name = "times_booked", nullable = false)
+    // Обновляется только пакетным сбросом RoomBookingCounters, не сохранением сущности.
+    // Сброс идёт мимо Hibernate, поэтому после него номер вытесняется из кеша второго уровня
+    @Column(name = "times_booked", nullable = false, updatable = false)
     @Builder.Default
     private Integer timesBooked = 0;
 
@@ -52,14 +59,4 @@ public class Room {
     //Временная блокировка для саги
     @Transient
     private String currentRequestId;
-
-    public void incrementTimesBooked() {
-        this.timesBooked++;
-    }
-
-    public void decrementTimesBooked() {
-        if (this.timesBooked > 0) {
-            this.timesBooked--;
-        }
-    }
 }
@@ -0,0 +1,41 @@
+package sf.mephi.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Журнал изменений счётчика бронирований номера (+1 / -1), ещё не перенесённых в rooms.times_booked.
+ * Вставка идёт в транзакции бронирования без блокировки строки номера; записи удаляются при сбросе
+ * (RoomBookingCounters.flush), оставшиеся после сбоя применяются при старте.
+ */
+@Entity
+@Table(name = "room_booking_journal", indexes = @Index(name = "idx_room_booking_journal_room", columnList = "room_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomBookingJournal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Column(name = "request_id", length = 100)
+    private String requestId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
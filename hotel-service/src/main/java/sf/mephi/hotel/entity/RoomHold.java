@@ -0,0 +1,72 @@
+package sf.mephi.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import sf.mephi.common.constants.HoldStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Временное удержание номера на диапазон дат.
+ * HELD и CONVERTED занимают даты номера; HELD - только до expiresAt.
+ * Резервирования Saga (confirm/reserve) записываются сюда же строкой CONVERTED без создателя:
+ * удержания и бронирования проверяют пересечение дат по одной таблице.
+ */
+@Entity
+@Table(
+        name = "room_holds",
+        indexes = {
+                @Index(name = "idx_room_holds_room_dates", columnList = "room_id, start_date, end_date"),
+                @Index(name = "idx_room_holds_status", columnList = "status")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hold_id", nullable = false, unique = true, length = 36)
+    private String holdId;
+
+    @Column(name = "request_id", nullable = false, unique = true, length = 100)
+    private String requestId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HoldStatus status;
+
+    /**
+     * Пользователь, создавший удержание; null - резервирование Saga
+     */
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Version
+    private Integer version;
+}
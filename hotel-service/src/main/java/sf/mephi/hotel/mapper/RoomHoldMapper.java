@@ -0,0 +1,12 @@
+package sf.mephi.hotel.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import sf.mephi.hotel.dto.response.RoomHoldDTO;
+import sf.mephi.hotel.entity.RoomHold;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface RoomHoldMapper {
+
+    RoomHoldDTO toDTO(RoomHold hold);
+}
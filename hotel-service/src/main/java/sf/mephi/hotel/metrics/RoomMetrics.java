@@ -0,0 +1,96 @@
+package sf.mephi.hotel.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Метрики Hotel Service для анализа конкуренции за номера.
+ *
+ * - hotel.room.lock.wait — время захвата номера (FOR UPDATE SKIP LOCKED) в reserveLeastLoadedRoom,
+ *   с тегом roomBucket (roomId % bucketCount), чтобы не плодить серию на каждый номер
+ * - hotel.room.optimistic.failures — конфликты @Version в updateRoom
+ * - hotel.idempotency.cache.* — размер и попадания в кеш processedRequests
+ */
+@Component
+public class RoomMetrics {
+
+    public static final String LOCK_WAIT_TIMER = "hotel.room.lock.wait";
+    public static final String OPTIMISTIC_FAILURES_COUNTER = "hotel.room.optimistic.failures";
+    public static final String IDEMPOTENCY_CACHE_SIZE = "hotel.idempotency.cache.size";
+    public static final String IDEMPOTENCY_CACHE_REQUESTS = "hotel.idempotency.cache.requests";
+
+    private final MeterRegistry registry;
+    private final int bucketCount;
+    private final Timer[] lockWaitTimers;
+    private final Counter optimisticFailures;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public RoomMetrics(MeterRegistry registry,
+                       @Value("${hotel.metrics.lock-bucket-count:16}") int bucketCount) {
+        this.registry = registry;
+        this.bucketCount = Math.max(1, bucketCount);
+        this.lockWaitTimers = new Timer[this.bucketCount];
+        for (int i = 0; i < this.bucketCount; i++) {
+            lockWaitTimers[i] = Timer.builder(LOCK_WAIT_TIMER)
+                    .description("Time spent acquiring the room row lock (SKIP LOCKED)")
+                    .tag("roomBucket", String.valueOf(i))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+        this.optimisticFailures = Counter.builder(OPTIMISTIC_FAILURES_COUNTER)
+                .description("Optimistic lock conflicts in updateRoom")
+                .register(registry);
+        this.cacheHits = Counter.builder(IDEMPOTENCY_CACHE_REQUESTS)
+                .tag("result", "hit")
+                .register(registry);
+        this.cacheMisses = Counter.builder(IDEMPOTENCY_CACHE_REQUESTS)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * Выполнить захват блокировки номера с замером времени ожидания
+     */
+    public <T> T recordLockWait(Long roomId, Supplier<T> lockAcquisition) {
+        return lockWaitTimers[bucketOf(roomId)].record(lockAcquisition);
+    }
+
+    public void recordOptimisticLockFailure() {
+        optimisticFailures.increment();
+    }
+
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    public void recordCacheMiss() {
+        cacheMisses.increment();
+    }
+
+    /**
+     * Зарегистрировать gauge размера кеша идемпотентности
+     */
+    public void bindIdempotencyCache(Map<?, ?> cache) {
+        Gauge.builder(IDEMPOTENCY_CACHE_SIZE, cache, Map::size)
+                .description("Entries in the confirmAvailability idempotency cache")
+                .register(registry);
+    }
+
+    int bucketOf(Long roomId) {
+        if (roomId == null) {
+            return 0;
+        }
+        return (int) Math.floorMod(roomId, (long) bucketCount);
+    }
+}
@@ -1,14 +1,34 @@
 package sf.mephi.hotel.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import sf.mephi.hotel.config.CatalogCacheConfig;
 import sf.mephi.hotel.entity.Hotel;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
+    // Каталог: результат в кеше запросов, отели - в кеше второго уровня (см. CatalogCacheConfig)
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheConfig.QUERIES)
+    })
+    List<Hotel> findAll();
+
     // Поиск по городу (для фильтрации)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheConfig.QUERIES)
+    })
     List<Hotel> findByCityIgnoreCase(String city);
+
+    // Массовая загрузка: отель определяется парой (название, адрес)
+    Optional<Hotel> findFirstByNameAndAddress(String name, String address);
 }
@@ -0,0 +1,9 @@
+package sf.mephi.hotel.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sf.mephi.hotel.entity.RoomBookingJournal;
+
+@Repository
+public interface RoomBookingJournalRepository extends JpaRepository<RoomBookingJournal, Long> {
+}
@@ -0,0 +1,94 @@
+package sf.mephi.hotel.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sf.mephi.common.constants.HoldStatus;
+import sf.mephi.hotel.entity.RoomHold;
+
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RoomHoldRepository extends JpaRepository<RoomHold, Long> {
+
+    Optional<RoomHold> findByHoldId(String holdId);
+
+    Optional<RoomHold> findByRequestId(String requestId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM RoomHold h WHERE h.holdId = :holdId")
+    Optional<RoomHold> findByHoldIdForUpdate(@Param("holdId") String holdId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM RoomHold h WHERE h.requestId = :requestId")
+    Optional<RoomHold> findByRequestIdForUpdate(@Param("requestId") String requestId);
+
+    /**
+     * Даты номера заняты действующим удержанием или подтверждённым бронированием
+     */
+    @Query("SELECT COUNT(h) > 0 FROM RoomHold h " +
+            "WHERE h.roomId = :roomId " +
+            "AND h.startDate < :endDate AND h.endDate > :startDate " +
+            "AND (h.status = sf.mephi.common.constants.HoldStatus.CONVERTED " +
+            "  OR (h.status = sf.mephi.common.constants.HoldStatus.HELD AND h.expiresAt > :now))")
+    boolean existsOverlapping(
+            @Param("roomId") Long roomId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * То же, без учёта удержания excludedId (изменение дат уже занимающего номер резервирования)
+     */
+    @Query("SELECT COUNT(h) > 0 FROM RoomHold h " +
+            "WHERE h.roomId = :roomId AND h.id <> :excludedId " +
+            "AND h.startDate < :endDate AND h.endDate > :startDate " +
+            "AND (h.status = sf.mephi.common.constants.HoldStatus.CONVERTED " +
+            "  OR (h.status = sf.mephi.common.constants.HoldStatus.HELD AND h.expiresAt > :now))")
+    boolean existsOverlappingExcept(
+            @Param("roomId") Long roomId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("now") LocalDateTime now,
+            @Param("excludedId") Long excludedId
+    );
+
+    /**
+     * Даты номера заняты удержанием другого запроса (резервирование по своему удержанию им не мешает)
+     */
+    @Query("SELECT COUNT(h) > 0 FROM RoomHold h " +
+            "WHERE h.roomId = :roomId AND h.requestId <> :requestId " +
+            "AND h.startDate < :endDate AND h.endDate > :startDate " +
+            "AND (h.status = sf.mephi.common.constants.HoldStatus.CONVERTED " +
+            "  OR (h.status = sf.mephi.common.constants.HoldStatus.HELD AND h.expiresAt > :now))")
+    boolean existsOverlappingForOtherRequest(
+            @Param("roomId") Long roomId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("now") LocalDateTime now,
+            @Param("requestId") String requestId
+    );
+
+    /**
+     * Истечение удержаний по id из колеса таймеров; продлённые или уже завершённые не затрагиваются
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomHold h SET h.status = sf.mephi.common.constants.HoldStatus.EXPIRED, h.version = h.version + 1 " +
+            "WHERE h.id IN :ids " +
+            "AND h.status = sf.mephi.common.constants.HoldStatus.HELD " +
+            "AND h.expiresAt <= :now")
+    int expire(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    List<RoomHold> findByStatus(HoldStatus status);
+}
@@ -1,30 +1,43 @@
 package sf.mephi.hotel.repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.config.CatalogCacheConfig;
 import sf.mephi.hotel.entity.Room;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    // org.hibernate.LockOptions.SKIP_LOCKED
+    String SKIP_LOCKED = "-2";
+
     List<Room> findByHotelId(Long hotelId);
 
+    // Массовая загрузка: занятые номера существующего отеля без загрузки сущностей
+    @Query("SELECT r.roomNumber FROM Room r WHERE r.hotel.id = :hotelId")
+    List<String> findRoomNumbersByHotelId(@Param("hotelId") Long hotelId);
+
     @Query("SELECT r FROM Room r WHERE r.available = true")
     List<Room> findAllAvailable();
 
-    @Query("SELECT r FROM Room r " +
-            "WHERE r.available = true " +
-            "ORDER BY r.timesBooked ASC, r.id ASC")
-    List<Room> findRecommendedRooms(Pageable pageable);
+    // Начальная загрузка рейтинга RoomRecommendations: отель нужен для hotelName
+    @Query("SELECT r FROM Room r JOIN FETCH r.hotel WHERE r.available = true")
+    List<Room> findAllAvailableWithHotel();
 
     @Query("SELECT r FROM Room r " +
             "WHERE r.available = true " +
@@ -50,6 +63,47 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r FROM Room r WHERE r.id = :id")
     Optional<Room> findByIdWithLock(@Param("id") Long id);
 
-    // Поиск по типу номера (для фильтрации)
+    /**
+     * Наименее загруженные доступные номера с блокировкой строк.
+     * Строки, уже заблокированные другими транзакциями, пропускаются (FOR UPDATE SKIP LOCKED),
+     * поэтому параллельные запросы получают разные номера, а не ждут один.
+     * Номера, даты которых заняты удержанием другого запроса, не выбираются.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("SELECT r FROM Room r " +
+            "WHERE r.available = true " +
+            "AND (:hotelId IS NULL OR r.hotel.id = :hotelId) " +
+            "AND (:roomType IS NULL OR r.roomType = :roomType) " +
+            "AND NOT EXISTS (SELECT h.id FROM RoomHold h " +
+            "  WHERE h.roomId = r.id AND h.requestId <> :requestId " +
+            "  AND h.startDate < :endDate AND h.endDate > :startDate " +
+            "  AND (h.status = sf.mephi.common.constants.HoldStatus.CONVERTED " +
+            "    OR (h.status = sf.mephi.common.constants.HoldStatus.HELD AND h.expiresAt > :now))) " +
+            "ORDER BY r.timesBooked ASC, r.id ASC")
+    List<Room> findLeastLoadedForUpdateSkipLocked(
+            @Param("hotelId") Long hotelId,
+            @Param("roomType") RoomType roomType,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("now") LocalDateTime now,
+            @Param("requestId") String requestId,
+            Pageable pageable
+    );
+
+    /**
+     * Блокировка выбранного стратегией номера; пусто, если номер недоступен или уже заблокирован
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = SKIP_LOCKED))
+    @Query("SELECT r FROM Room r WHERE r.id = :id AND r.available = true")
+    Optional<Room> findAvailableByIdForUpdateSkipLocked(@Param("id") Long id);
+
+    // Поиск по типу номера (для фильтрации); состав зависит только от available и roomType,
+    // которые меняются через сущность - кеш запроса инвалидируется Hibernate
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheConfig.QUERIES)
+    })
     List<Room> findByRoomTypeAndAvailableTrue(RoomType roomType);
 }
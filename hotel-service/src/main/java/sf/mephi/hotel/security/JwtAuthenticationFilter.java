@@ -1,5 +1,6 @@
 package sf.mephi.hotel.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import sf.mephi.common.security.JwtUtil;
 import sf.mephi.common.security.SecurityConstants;
+import sf.mephi.common.security.TokenRevocationList;
 import sf.mephi.common.util.CorrelationIdUtil;
 
 import java.io.IOException;
@@ -27,6 +29,7 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(
@@ -48,11 +51,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String token = authHeader.substring(SecurityConstants.JWT_PREFIX.length());
 
                 try {
-                    String username = jwtUtil.extractUsername(token);
-                    List<String> roles = jwtUtil.extractRoles(token);
+                    // Один разбор токена: подпись и срок действия проверяет parse
+                    Claims claims = jwtUtil.parse(token);
+                    String username = claims.getSubject();
+                    List<String> roles = jwtUtil.extractRoles(claims);
 
                     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        if (jwtUtil.isTokenValid(token, username)) {
+                        // Отозванный токен (logout в Booking Service) не аутентифицирует
+                        if (!tokenRevocationList.isRevoked(claims.getId())) {
                             List<SimpleGrantedAuthority> authorities = roles.stream()
                                     .map(SimpleGrantedAuthority::new)
                                     .collect(Collectors.toList());
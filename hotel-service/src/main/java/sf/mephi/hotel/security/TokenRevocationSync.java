@@ -0,0 +1,82 @@
+package sf.mephi.hotel.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import sf.mephi.common.security.TokenRevocationList;
+import sf.mephi.hotel.dto.external.TokenRevocationsDTO;
+
+/**
+ * Синхронизация отозванных токенов из Booking Service в TokenRevocationList.
+ *
+ * Лента читается по курсору id: каждый опрос забирает новые отзывы и повтор недавних
+ * (отзыв с меньшим id мог быть зафиксирован позже курсора), повторный отзыв ничего не меняет.
+ * Если лента начата заново (сменился epoch - Booking Service перезапущен с новой БД),
+ * она перечитывается с начала. Недоступность Booking Service не мешает работе:
+ * уже полученные отзывы продолжают действовать.
+ */
+@Slf4j
+@Component
+public class TokenRevocationSync {
+
+    private static final String FEED_URI = "/api/v1/auth/revocations?after={after}";
+
+    private final RestClient restClient;
+    private final TokenRevocationList tokenRevocationList;
+    private long cursor;
+    private String epoch;
+
+    public TokenRevocationSync(@Qualifier("tokenRevocationRestClient") RestClient restClient,
+                               TokenRevocationList tokenRevocationList) {
+        this.restClient = restClient;
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.token-revocation.sync-interval:5s}")
+    public synchronized void sync() {
+        try {
+            boolean more = true;
+            while (more) {
+                TokenRevocationsDTO page = restClient.get()
+                        .uri(FEED_URI, cursor)
+                        .retrieve()
+                        .body(TokenRevocationsDTO.class);
+                more = page != null && apply(page);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Применить страницу ленты; true - есть следующая страница
+     */
+    synchronized boolean apply(TokenRevocationsDTO page) {
+        if (page.getEpoch() != null && !page.getEpoch().equals(epoch)) {
+            boolean restarted = epoch != null && cursor > 0;
+            if (restarted) {
+                log.info("Token revocation feed restarted (epoch {} -> {}), reading from the beginning",
+                        epoch, page.getEpoch());
+            }
+            epoch = page.getEpoch();
+            if (restarted) {
+                cursor = 0;
+                return true;
+            }
+        }
+        long previous = cursor;
+        for (TokenRevocationsDTO.Entry entry : page.getRevocations()) {
+            tokenRevocationList.revoke(entry.getTokenId(), entry.getExpiresAt());
+            cursor = Math.max(cursor, entry.getId());
+        }
+        // Следующая страница - только если курсор сдвинулся: повтор недавних отзывов его не двигает
+        long latestId = page.getLatestId() != null ? page.getLatestId() : 0L;
+        return cursor > previous && cursor < latestId;
+    }
+
+    synchronized long cursor() {
+        return cursor;
+    }
+}
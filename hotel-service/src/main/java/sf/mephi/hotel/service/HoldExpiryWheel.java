@@ -0,0 +1,86 @@
+package sf.mephi.hotel.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Хешированное колесо таймеров для истечения удержаний.
+ *
+ * - Колесо из wheelSize слотов, слот = тик длиной tickMillis; удержание кладётся в слот тика
+ *   своего дедлайна, дедлайны дальше одного оборота ждут в том же слоте следующих оборотов
+ * - advance() обходит только слоты прошедших тиков: стоимость пропорциональна числу истекающих
+ *   удержаний, а не числу всех удержаний в БД
+ * - Запись и продвижение потокобезопасны; запись, пришедшая в уже пройденный слот,
+ *   будет обработана на следующем обороте (истечение проверяет и запрос пересечения дат)
+ */
+public class HoldExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Timeout>[] slots;
+    private long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldExpiryWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1; // степень двойки
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.processedTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Запланировать истечение удержания на deadlineMillis
+     */
+    public void schedule(long holdId, long deadlineMillis) {
+        long deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        long tick;
+        synchronized (this) {
+            tick = Math.max(deadlineTick, processedTick + 1);
+        }
+        slots[(int) (tick & mask)].add(new Timeout(holdId, deadlineTick));
+    }
+
+    /**
+     * Продвинуть колесо до nowMillis; возвращает id удержаний с наступившим дедлайном
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        // Больше одного оборота обходить незачем: все слоты уже просмотрены
+        long from = Math.max(processedTick + 1, nowTick - mask);
+        for (long tick = from; tick <= nowTick; tick++) {
+            slots[(int) (tick & mask)].removeIf(timeout -> {
+                if (timeout.deadlineTick() <= nowTick) {
+                    due.add(timeout.holdId());
+                    return true;
+                }
+                return false;
+            });
+        }
+        processedTick = Math.max(processedTick, nowTick);
+        return due;
+    }
+
+    /**
+     * Число запланированных удержаний (для метрик и тестов)
+     */
+    public int size() {
+        int size = 0;
+        for (Queue<Timeout> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private record Timeout(long holdId, long deadlineTick) {
+    }
+}
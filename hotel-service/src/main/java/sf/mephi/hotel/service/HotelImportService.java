@@ -0,0 +1,309 @@
+package sf.mephi.hotel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.hotel.dto.request.HotelImportRow;
+import sf.mephi.hotel.dto.response.HotelImportResultDTO;
+import sf.mephi.hotel.entity.Hotel;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.HotelRepository;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Массовая загрузка отелей и номеров (ADMIN) из CSV или NDJSON.
+ *
+ * - Тело читается построчно, в памяти только строка и реестр отелей загрузки (id и занятые номера)
+ * - Сущности сохраняются через persist: идентификаторы берутся из пула последовательности,
+ *   INSERT уходят пакетами hibernate.jdbc.batch_size
+ * - Каждые flush-size строк контекст сбрасывается (flush) и очищается (clear)
+ * - Загрузка - одна транзакция: ошибка в любой строке откатывает всё, в сообщении номер строки
+ * - Индекс загруженности и рекомендации сбрасываются целиком после коммита
+ */
+@Slf4j
+@Service
+public class HotelImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("hotelName", "address", "city", "roomNumber", "roomType", "price", "available");
+
+    private final EntityManager entityManager;
+    private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+    private final RoomLoadIndex roomLoadIndex;
+    private final RoomRecommendations roomRecommendations;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int flushSize;
+
+    public HotelImportService(EntityManager entityManager,
+                              HotelRepository hotelRepository,
+                              RoomRepository roomRepository,
+                              RoomLoadIndex roomLoadIndex,
+                              RoomRecommendations roomRecommendations,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              @Value("${hotel.import.flush-size:500}") int flushSize) {
+        this.entityManager = entityManager;
+        this.hotelRepository = hotelRepository;
+        this.roomRepository = roomRepository;
+        this.roomLoadIndex = roomLoadIndex;
+        this.roomRecommendations = roomRecommendations;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.flushSize = Math.max(1, flushSize);
+    }
+
+    /**
+     * CSV с заголовком: hotelName,address,city,roomNumber,roomType,price,available (порядок колонок любой)
+     */
+    @Transactional
+    public HotelImportResultDTO importCsv(InputStream body) {
+        return importRows(body, new CsvRows());
+    }
+
+    /**
+     * NDJSON: по одному объекту HotelImportRow на строку
+     */
+    @Transactional
+    public HotelImportResultDTO importNdjson(InputStream body) {
+        return importRows(body, (line, number) -> {
+            try {
+                return objectMapper.readValue(line, HotelImportRow.class);
+            } catch (JsonProcessingException e) {
+                throw lineError(number, "malformed JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private HotelImportResultDTO importRows(InputStream body, RowParser parser) {
+        long start = System.nanoTime();
+        Batch batch = new Batch();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                HotelImportRow row = parser.parse(line, number);
+                if (row != null) {
+                    store(validate(row, number), number, batch);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        if (batch.roomsCreated > 0 || batch.hotelsCreated > 0) {
+            roomLoadIndex.evictAll();
+            roomRecommendations.invalidate();
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Import completed: {} rows, {} hotels and {} rooms created in {} ms",
+                batch.rows, batch.hotelsCreated, batch.roomsCreated, durationMs);
+        return HotelImportResultDTO.builder()
+                .rows(batch.rows)
+                .hotelsCreated(batch.hotelsCreated)
+                .roomsCreated(batch.roomsCreated)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private void store(HotelImportRow row, int number, Batch batch) {
+        HotelKey key = new HotelKey(row.getHotelName().trim(), row.getAddress().trim());
+        ImportedHotel hotel = batch.hotels.get(key);
+        if (hotel == null) {
+            hotel = resolveHotel(key, row, batch);
+            batch.hotels.put(key, hotel);
+        }
+
+        if (row.getRoomNumber() != null && !row.getRoomNumber().isBlank()) {
+            String roomNumber = row.getRoomNumber().trim();
+            if (!hotel.roomNumbers().add(roomNumber)) {
+                throw lineError(number, "room " + roomNumber + " already exists in hotel '" + key.name() + "'");
+            }
+            entityManager.persist(Room.builder()
+                    .hotel(entityManager.getReference(Hotel.class, hotel.id()))
+                    .roomNumber(roomNumber)
+                    .roomType(row.getRoomType())
+                    .price(row.getPrice())
+                    .available(row.getAvailable() == null || row.getAvailable())
+                    .build());
+            batch.roomsCreated++;
+        }
+
+        if (++batch.rows % flushSize == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private ImportedHotel resolveHotel(HotelKey key, HotelImportRow row, Batch batch) {
+        return hotelRepository.findFirstByNameAndAddress(key.name(), key.address())
+                .map(existing -> new ImportedHotel(existing.getId(),
+                        new HashSet<>(roomRepository.findRoomNumbersByHotelId(existing.getId()))))
+                .orElseGet(() -> {
+                    Hotel created = Hotel.builder()
+                            .name(key.name())
+                            .address(key.address())
+                            .city(row.getCity().trim())
+                            .build();
+                    entityManager.persist(created);
+                    batch.hotelsCreated++;
+                    return new ImportedHotel(created.getId(), new HashSet<>());
+                });
+    }
+
+    private HotelImportRow validate(HotelImportRow row, int number) {
+        Set<ConstraintViolation<HotelImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw lineError(number, violations.iterator().next().getMessage());
+        }
+        if (row.getRoomNumber() != null && !row.getRoomNumber().isBlank()
+                && (row.getRoomType() == null || row.getPrice() == null)) {
+            throw lineError(number, "room type and price are required for a room");
+        }
+        return row;
+    }
+
+    private static ValidationException lineError(int number, String message) {
+        return new ValidationException(String.format("Import line %d: %s", number, message));
+    }
+
+    /**
+     * Разбор CSV-строки на поля: кавычки и удвоенные кавычки внутри них (RFC 4180, без переводов строк)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+
+        /**
+         * Строка данных; null - служебная строка (заголовок CSV)
+         */
+        HotelImportRow parse(String line, int number);
+    }
+
+    /**
+     * CSV: первая непустая строка - заголовок, задаёт порядок колонок
+     */
+    private static final class CsvRows implements RowParser {
+
+        private Map<String, Integer> columns;
+
+        @Override
+        public HotelImportRow parse(String line, int number) {
+            List<String> fields = splitCsv(line);
+            if (columns == null) {
+                columns = header(fields, number);
+                return null;
+            }
+            try {
+                String roomType = field(fields, "roomType");
+                String price = field(fields, "price");
+                String available = field(fields, "available");
+                return HotelImportRow.builder()
+                        .hotelName(field(fields, "hotelName"))
+                        .address(field(fields, "address"))
+                        .city(field(fields, "city"))
+                        .roomNumber(field(fields, "roomNumber"))
+                        .roomType(roomType != null ? RoomType.valueOf(roomType.toUpperCase()) : null)
+                        .price(price != null ? new BigDecimal(price) : null)
+                        .available(available != null ? Boolean.valueOf(available) : null)
+                        .build();
+            } catch (IllegalArgumentException e) {
+                throw lineError(number, "invalid value: " + e.getMessage());
+            }
+        }
+
+        private Map<String, Integer> header(List<String> fields, int number) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).trim();
+                if (!CSV_COLUMNS.contains(name)) {
+                    throw lineError(number, "unknown column '" + name + "', expected " + CSV_COLUMNS);
+                }
+                header.put(name, i);
+            }
+            return header;
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private record HotelKey(String name, String address) {
+    }
+
+    private record ImportedHotel(Long id, Set<String> roomNumbers) {
+    }
+
+    private static final class Batch {
+        private final Map<HotelKey, ImportedHotel> hotels = new HashMap<>();
+        private int rows;
+        private int hotelsCreated;
+        private int roomsCreated;
+    }
+}
@@ -22,6 +22,8 @@ public class HotelService {
 
     private final HotelRepository hotelRepository;
     private final HotelMapper hotelMapper;
+    private final RoomRecommendations roomRecommendations;
+    private final RoomLoadIndex roomLoadIndex;
 
     /**
      * Получить все отели
@@ -72,6 +74,8 @@ public class HotelService {
 
         hotelMapper.updateEntity(request, hotel);
         Hotel updated = hotelRepository.save(hotel);
+        // hotelName в рекомендациях устарел
+        roomRecommendations.invalidate();
         log.info("Hotel updated: {}", id);
         return hotelMapper.toDTO(updated);
     }
@@ -88,6 +92,9 @@ public class HotelService {
             );
         }
         hotelRepository.deleteById(id);
+        // Номера удалены каскадом - их группы в индексе загруженности устарели
+        roomLoadIndex.evictAll();
+        roomRecommendations.invalidate();
         log.info("Hotel deleted: {}", id);
     }
 
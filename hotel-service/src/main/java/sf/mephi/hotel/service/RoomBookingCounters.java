@@ -0,0 +1,216 @@
+package sf.mephi.hotel.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.entity.RoomBookingJournal;
+import sf.mephi.hotel.repository.RoomBookingJournalRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики бронирований номеров (timesBooked) без блокировки строки номера.
+ *
+ * - Бронирование/освобождение пишет +1/-1 в room_booking_journal (вставка, без UPDATE строки rooms)
+ *   и после коммита увеличивает LongAdder номера
+ * - flush() по расписанию переносит журнал в rooms.times_booked пакетными UPDATE и удаляет
+ *   перенесённые записи; сохранение Room колонку не пишет (updatable = false)
+ * - UPDATE идёт мимо Hibernate: после сброса затронутые номера вытесняются из кеша второго уровня
+ * - Текущее значение = значение из БД на момент последнего сброса + несброшенные изменения
+ * - После сбоя журнал применяется при старте (recover), счётчики пересчитываются из него
+ *
+ * Рассчитано на один экземпляр сервиса: несброшенные изменения хранятся в памяти процесса.
+ */
+@Slf4j
+@Component
+public class RoomBookingCounters {
+
+    private static final String SELECT_JOURNAL =
+            "SELECT id, room_id, delta FROM room_booking_journal ORDER BY id LIMIT ?";
+    private static final String APPLY_DELTA =
+            "UPDATE rooms SET times_booked = GREATEST(times_booked + ?, 0) WHERE id = ?";
+    private static final String DELETE_JOURNAL =
+            "DELETE FROM room_booking_journal WHERE id = ?";
+
+    private final RoomBookingJournalRepository journalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public RoomBookingCounters(RoomBookingJournalRepository journalRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               EntityManagerFactory entityManagerFactory,
+                               @Value("${hotel.counters.flush-batch-size:500}") int batchSize) {
+        this.journalRepository = journalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Текущее число бронирований номера (с учётом несброшенных изменений)
+     */
+    public int current(Room room) {
+        return counter(room).value();
+    }
+
+    /**
+     * Текущее значение, если номер уже отслеживается этим экземпляром
+     */
+    public OptionalInt tracked(Long roomId) {
+        Counter counter = counters.get(roomId);
+        return counter == null ? OptionalInt.empty() : OptionalInt.of(counter.value());
+    }
+
+    /**
+     * Учесть бронирование номера; счётчик меняется после коммита транзакции
+     */
+    public void increment(Room room, String requestId) {
+        record(room, requestId, 1);
+    }
+
+    /**
+     * Учесть освобождение номера; false, если счётчик уже нулевой
+     */
+    public boolean decrement(Room room, String requestId) {
+        if (current(room) <= 0) {
+            return false;
+        }
+        record(room, requestId, -1);
+        return true;
+    }
+
+    private void record(Room room, String requestId, int delta) {
+        Counter counter = counter(room);
+        journalRepository.save(RoomBookingJournal.builder()
+                .roomId(room.getId())
+                .delta(delta)
+                .requestId(requestId)
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.pending.add(delta);
+                }
+            });
+        } else {
+            counter.pending.add(delta);
+        }
+    }
+
+    private Counter counter(Room room) {
+        return counters.computeIfAbsent(room.getId(), id -> new Counter(room.getTimesBooked()));
+    }
+
+    /**
+     * Перенести журнал в rooms.times_booked пакетами по batchSize записей.
+     * synchronized: сброс по расписанию и recover() не должны применить одну запись журнала дважды
+     */
+    @Scheduled(fixedDelayString = "${hotel.counters.flush-interval:1s}",
+            initialDelayString = "${hotel.counters.flush-interval:1s}")
+    public synchronized int flush() {
+        int total = 0;
+        int applied;
+        do {
+            applied = flushBatch();
+            total += applied;
+        } while (applied == batchSize);
+
+        if (total > 0) {
+            log.debug("Flushed {} booking counter changes", total);
+        }
+        return total;
+    }
+
+    /**
+     * Восстановление после сбоя: изменения, не перенесённые до остановки, применяются до приёма запросов
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int recovered = flush();
+        if (recovered > 0) {
+            log.warn("Recovered {} unflushed booking counter changes from room_booking_journal", recovered);
+        }
+    }
+
+    private int flushBatch() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        Map<Long, Integer> persisted = new HashMap<>();
+
+        Integer applied = transactionTemplate.execute(status -> {
+            List<Long> journalIds = new ArrayList<>();
+            jdbcTemplate.query(SELECT_JOURNAL, rs -> {
+                journalIds.add(rs.getLong("id"));
+                deltas.merge(rs.getLong("room_id"), rs.getInt("delta"), Integer::sum);
+            }, batchSize);
+            if (journalIds.isEmpty()) {
+                return 0;
+            }
+
+            List<Object[]> updates = new ArrayList<>(deltas.size());
+            deltas.forEach((roomId, delta) -> updates.add(new Object[]{delta, roomId}));
+            jdbcTemplate.batchUpdate(APPLY_DELTA, updates);
+            jdbcTemplate.batchUpdate(DELETE_JOURNAL, journalIds.stream().map(id -> new Object[]{id}).toList());
+
+            String placeholders = String.join(",", Collections.nCopies(deltas.size(), "?"));
+            jdbcTemplate.query("SELECT id, times_booked FROM rooms WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        persisted.put(rs.getLong("id"), rs.getInt("times_booked"));
+                    }, deltas.keySet().toArray());
+            return journalIds.size();
+        });
+
+        // Сброшенные изменения переходят из pending в значение из БД
+        deltas.forEach((roomId, delta) -> {
+            entityManagerFactory.getCache().evict(Room.class, roomId);
+            Counter counter = counters.get(roomId);
+            if (counter != null) {
+                counter.flushed(delta, persisted.getOrDefault(roomId, counter.base));
+            }
+        });
+        return applied == null ? 0 : applied;
+    }
+
+    private static final class Counter {
+
+        private final LongAdder pending = new LongAdder();
+        private volatile int base;
+
+        Counter(int base) {
+            this.base = base;
+        }
+
+        int value() {
+            return (int) Math.max(0, base + pending.sum());
+        }
+
+        void flushed(int delta, int persistedValue) {
+            base = persistedValue;
+            pending.add(-delta);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package sf.mephi.hotel.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.constants.HoldStatus;
+import sf.mephi.common.exception.NotFoundException;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.common.util.CorrelationIdUtil;
+import sf.mephi.hotel.dto.request.CreateHoldRequest;
+import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
+import sf.mephi.hotel.dto.response.RoomHoldDTO;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.entity.RoomHold;
+import sf.mephi.hotel.exception.RoomUnavailableException;
+import sf.mephi.hotel.mapper.RoomHoldMapper;
+import sf.mephi.hotel.metrics.RoomMetrics;
+import sf.mephi.hotel.repository.RoomHoldRepository;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Временные удержания номеров на время оформления бронирования.
+ *
+ * - createHold: под блокировкой строки номера проверяет доступность и пересечение дат
+ *   с действующими удержаниями и подтверждёнными бронированиями, удерживает даты на TTL
+ * - convertHold: превращает действующее удержание в подтверждённое бронирование без повторных проверок
+ * - Резервирования Saga RoomService записывает в ту же таблицу (CONVERTED) - createHold их видит
+ * - Истёкшие удержания освобождаются колесом таймеров (HoldExpiryWheel) пакетным UPDATE по id;
+ *   до этого они уже не мешают новым удержаниям - пересечение учитывает expiresAt
+ */
+@Slf4j
+@Service
+public class RoomHoldService {
+
+    private static final String ERROR_HOLD_NOT_FOUND = "Hold not found with id: %s";
+
+    private final RoomHoldRepository roomHoldRepository;
+    private final RoomRepository roomRepository;
+    private final RoomHoldMapper roomHoldMapper;
+    private final RoomMetrics roomMetrics;
+    private final RoomBookingCounters roomBookingCounters;
+    private final RoomLoadIndex roomLoadIndex;
+    private final RoomRecommendations roomRecommendations;
+    private final Duration defaultTtl;
+    private final HoldExpiryWheel expiryWheel;
+
+    public RoomHoldService(RoomHoldRepository roomHoldRepository,
+                           RoomRepository roomRepository,
+                           RoomHoldMapper roomHoldMapper,
+                           RoomMetrics roomMetrics,
+                           RoomBookingCounters roomBookingCounters,
+                           RoomLoadIndex roomLoadIndex,
+                           RoomRecommendations roomRecommendations,
+                           @Value("${hotel.holds.default-ttl:10m}") Duration defaultTtl,
+                           @Value("${hotel.holds.sweep-interval:1s}") Duration sweepInterval,
+                           @Value("${hotel.holds.wheel-size:512}") int wheelSize) {
+        this.roomHoldRepository = roomHoldRepository;
+        this.roomRepository = roomRepository;
+        this.roomHoldMapper = roomHoldMapper;
+        this.roomMetrics = roomMetrics;
+        this.roomBookingCounters = roomBookingCounters;
+        this.roomLoadIndex = roomLoadIndex;
+        this.roomRecommendations = roomRecommendations;
+        this.defaultTtl = defaultTtl;
+        this.expiryWheel = new HoldExpiryWheel(sweepInterval.toMillis(), wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Удержать даты номера на ttlMinutes (по умолчанию hotel.holds.default-ttl)
+     */
+    @Transactional
+    public RoomHoldDTO createHold(Long roomId, CreateHoldRequest request, String username) {
+        log.info("Creating hold for room: {}, requestId: {}, correlationId: {}",
+                roomId, request.getRequestId(), CorrelationIdUtil.getCorrelationId());
+
+        if (!request.getEndDate().isAfter(request.getStartDate())) {
+            throw new ValidationException(ApiConstants.ERROR_INVALID_DATE_RANGE);
+        }
+
+        // Идемпотентность - повтор возвращает то же удержание
+        Optional<RoomHold> existing = roomHoldRepository.findByRequestId(request.getRequestId());
+        if (existing.isPresent()) {
+            log.info("Hold already exists for requestId: {}", request.getRequestId());
+            return roomHoldMapper.toDTO(existing.get());
+        }
+
+        // Блокировка строки номера сериализует удержания одного номера
+        Room room = roomMetrics.recordLockWait(roomId, () -> roomRepository.findByIdWithLock(roomId))
+                .orElseThrow(() -> new NotFoundException(
+                        String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, roomId)));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!room.getAvailable() || roomHoldRepository.existsOverlapping(
+                roomId, request.getStartDate(), request.getEndDate(), now)) {
+            throw new RoomUnavailableException(ApiConstants.ERROR_ROOM_UNAVAILABLE);
+        }
+
+        Duration ttl = request.getTtlMinutes() != null ? Duration.ofMinutes(request.getTtlMinutes()) : defaultTtl;
+        RoomHold hold = roomHoldRepository.save(RoomHold.builder()
+                .holdId(UUID.randomUUID().toString())
+                .requestId(request.getRequestId())
+                .roomId(roomId)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .status(HoldStatus.HELD)
+                .createdBy(username)
+                .expiresAt(now.plus(ttl))
+                .build());
+
+        afterCommit(() -> schedule(hold));
+        log.info("Room {} held until {}, holdId: {}", roomId, hold.getExpiresAt(), hold.getHoldId());
+        return roomHoldMapper.toDTO(hold);
+    }
+
+    /**
+     * Получить удержание
+     */
+    @Transactional(readOnly = true)
+    public RoomHoldDTO getHold(String holdId) {
+        return roomHoldMapper.toDTO(roomHoldRepository.findByHoldId(holdId)
+                .orElseThrow(() -> new NotFoundException(String.format(ERROR_HOLD_NOT_FOUND, holdId))));
+    }
+
+    /**
+     * Превратить удержание в подтверждённое бронирование (INTERNAL - для Saga).
+     * Доступность и даты проверены при создании удержания, здесь только его статус.
+     */
+    @Transactional
+    public AvailabilityConfirmationDTO convertHold(String holdId) {
+        log.info("Converting hold: {}, correlationId: {}", holdId, CorrelationIdUtil.getCorrelationId());
+
+        RoomHold hold = roomHoldRepository.findByHoldIdForUpdate(holdId)
+                .orElseThrow(() -> new NotFoundException(String.format(ERROR_HOLD_NOT_FOUND, holdId)));
+
+        if (hold.getStatus() == HoldStatus.CONVERTED) {
+            return confirmation(hold, true, "Hold already converted");
+        }
+        if (hold.getStatus() == HoldStatus.HELD && hold.getExpiresAt().isBefore(LocalDateTime.now())) {
+            hold.setStatus(HoldStatus.EXPIRED);
+        }
+        if (hold.getStatus() != HoldStatus.HELD) {
+            log.warn("Hold {} cannot be converted: {}", holdId, hold.getStatus());
+            return confirmation(hold, false, "Hold is " + hold.getStatus().name().toLowerCase());
+        }
+
+        Room room = roomRepository.findById(hold.getRoomId())
+                .orElseThrow(() -> new NotFoundException(
+                        String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, hold.getRoomId())));
+
+        hold.setStatus(HoldStatus.CONVERTED);
+        roomBookingCounters.increment(room, hold.getRequestId());
+        onLoadChanged(room);
+
+        log.info("Hold {} converted to reservation of room {}", holdId, room.getId());
+        return confirmation(hold, true, "Room availability confirmed");
+    }
+
+    /**
+     * Отменить удержание; для превращённого в бронирование - освободить и слот номера.
+     * Снять можно только своё удержание: резервирования Saga освобождает releaseSlot
+     */
+    @Transactional
+    public void releaseHold(String holdId, String username) {
+        log.info("Releasing hold: {}, user: {}", holdId, username);
+
+        RoomHold hold = roomHoldRepository.findByHoldIdForUpdate(holdId)
+                .orElseThrow(() -> new NotFoundException(String.format(ERROR_HOLD_NOT_FOUND, holdId)));
+
+        if (!Objects.equals(hold.getCreatedBy(), username)) {
+            log.warn("User {} is not the owner of hold {}", username, holdId);
+            throw new AccessDeniedException("Hold belongs to another user");
+        }
+
+        if (hold.getStatus() == HoldStatus.CONVERTED) {
+            roomRepository.findById(hold.getRoomId()).ifPresent(room -> {
+                if (roomBookingCounters.decrement(room, hold.getRequestId())) {
+                    onLoadChanged(room);
+                }
+            });
+        } else if (hold.getStatus() != HoldStatus.HELD) {
+            return;
+        }
+        hold.setStatus(HoldStatus.RELEASED);
+    }
+
+    /**
+     * Освободить истёкшие удержания: только те, чей слот колеса наступил, без сканирования таблицы
+     */
+    @Scheduled(fixedDelayString = "${hotel.holds.sweep-interval:1s}")
+    public int sweepExpired() {
+        List<Long> due = expiryWheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int expired = roomHoldRepository.expire(due, LocalDateTime.now());
+        log.debug("Expired {} of {} due holds", expired, due.size());
+        return expired;
+    }
+
+    /**
+     * После рестарта колесо пустое: действующие удержания планируются заново
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleActiveHolds() {
+        List<RoomHold> active = roomHoldRepository.findByStatus(HoldStatus.HELD);
+        active.forEach(this::schedule);
+        if (!active.isEmpty()) {
+            log.info("Scheduled expiry of {} active holds", active.size());
+        }
+    }
+
+    private void schedule(RoomHold hold) {
+        expiryWheel.schedule(hold.getId(),
+                hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void onLoadChanged(Room room) {
+        roomLoadIndex.onLoadChanged(room);
+        roomRecommendations.onLoadChanged(room);
+    }
+
+    private static AvailabilityConfirmationDTO confirmation(RoomHold hold, boolean confirmed, String message) {
+        return AvailabilityConfirmationDTO.builder()
+                .requestId(hold.getRequestId())
+                .roomId(hold.getRoomId())
+                .confirmed(confirmed)
+                .message(message)
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
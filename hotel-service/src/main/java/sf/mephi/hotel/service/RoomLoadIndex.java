@@ -0,0 +1,256 @@
+package sf.mephi.hotel.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sf.mephi.common.datasource.ReadWriteRoutingDataSource;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+import sf.mephi.hotel.service.selection.RoomGroupView;
+import sf.mephi.hotel.service.selection.RoomSelectionStrategy;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Индекс загруженности доступных номеров по группам (hotelId, RoomType).
+ *
+ * - Группа загружается из БД при первом обращении, дальше поддерживается инкрементально
+ *   (confirm/reserve/release) - выбор наименее загруженного номера за O(log n) без запроса в БД
+ * - Сумма и число номеров группы ведутся как бегущие агрегаты, min/max - края упорядоченного множества
+ * - Изменения применяются после коммита транзакции, откат не сдвигает индекс
+ * - Создание, изменение и удаление номеров сбрасывают затронутые группы (перезагрузка при следующем выборе),
+ *   массовая загрузка - все группы
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomLoadIndex {
+
+    private final RoomRepository roomRepository;
+    private final RoomBookingCounters roomBookingCounters;
+
+    private final Map<GroupKey, LoadGroup> groups = new ConcurrentHashMap<>();
+    private final Map<Long, GroupKey> roomGroups = new ConcurrentHashMap<>();
+
+    /**
+     * Наименее загруженный номер группы; пусто, если доступных номеров нет
+     */
+    public Optional<LoadEntry> leastLoaded(Long hotelId, RoomType roomType) {
+        return group(hotelId, roomType).first();
+    }
+
+    /**
+     * Номер группы, выбранный стратегией; пусто, если доступных номеров нет
+     */
+    public Optional<LoadEntry> select(Long hotelId, RoomType roomType, RoomSelectionStrategy strategy) {
+        LoadGroup group = group(hotelId, roomType);
+        int index = strategy.select(group);
+        return index < 0 ? Optional.empty() : Optional.of(group.entry(index));
+    }
+
+    /**
+     * Статистика загруженности группы по бегущим агрегатам
+     */
+    public LoadStats stats(Long hotelId, RoomType roomType) {
+        return group(hotelId, roomType).stats();
+    }
+
+    /**
+     * Загруженность номера изменилась (confirm/reserve/release); новое значение берётся из RoomBookingCounters
+     */
+    public void onLoadChanged(Room room) {
+        Long roomId = room.getId();
+        afterCommit(() -> {
+            GroupKey key = roomGroups.get(roomId);
+            LoadGroup group = key != null ? groups.get(key) : null;
+            if (group != null) {
+                group.update(roomId, roomBookingCounters.current(room));
+            }
+        });
+    }
+
+    /**
+     * Сбросить группу (номер создан или изменён тип)
+     */
+    public void evict(Long hotelId, RoomType roomType) {
+        afterCommit(() -> groups.remove(new GroupKey(hotelId, roomType)));
+    }
+
+    /**
+     * Сбросить группу, в которой находится номер (номер удалён или изменён)
+     */
+    public void evictRoom(Long roomId) {
+        afterCommit(() -> {
+            GroupKey key = roomGroups.remove(roomId);
+            if (key != null) {
+                groups.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Сбросить все группы (массовая загрузка номеров)
+     */
+    public void evictAll() {
+        afterCommit(() -> {
+            groups.clear();
+            roomGroups.clear();
+        });
+    }
+
+    private LoadGroup group(Long hotelId, RoomType roomType) {
+        return groups.computeIfAbsent(new GroupKey(hotelId, roomType), this::load);
+    }
+
+    private LoadGroup load(GroupKey key) {
+        List<Room> rooms = ReadWriteRoutingDataSource.primary(
+                () -> roomRepository.findAvailableRoomsByTypeOrderByLoad(key.hotelId(), key.roomType()));
+        LoadGroup group = new LoadGroup(rooms, roomBookingCounters);
+        for (Room room : rooms) {
+            roomGroups.put(room.getId(), key);
+        }
+        log.debug("Loaded room load group hotelId={}, roomType={}: {} rooms", key.hotelId(), key.roomType(), group.size());
+        return group;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record GroupKey(Long hotelId, RoomType roomType) {
+    }
+
+    /**
+     * Номер и его загруженность в момент последнего обновления
+     */
+    public record LoadEntry(long roomId, int timesBooked) {
+
+        private static final Comparator<LoadEntry> ORDER = Comparator
+                .comparingInt(LoadEntry::timesBooked)
+                .thenComparingLong(LoadEntry::roomId);
+    }
+
+    public record LoadStats(int rooms, long totalLoad, int minLoad, int maxLoad) {
+
+        public double averageLoad() {
+            return rooms == 0 ? 0.0 : (double) totalLoad / rooms;
+        }
+    }
+
+    /**
+     * Упорядоченное множество (timesBooked, roomId) группы и массивы её состава для доступа по индексу.
+     * Запись сериализуется блокировкой группы, чтение (first/stats/select) идёт без блокировки.
+     */
+    private static final class LoadGroup implements RoomGroupView {
+
+        private static final LoadEntry LOWEST = new LoadEntry(Long.MIN_VALUE, Integer.MIN_VALUE);
+        private static final LoadEntry HIGHEST = new LoadEntry(Long.MAX_VALUE, Integer.MAX_VALUE);
+
+        private final ConcurrentSkipListSet<LoadEntry> ordered = new ConcurrentSkipListSet<>(LoadEntry.ORDER);
+        private final Map<Long, Integer> loads = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final Map<Object, Object> attachments = new ConcurrentHashMap<>();
+        private final long[] roomIds;
+        private final BigDecimal[] prices;
+        private volatile long totalLoad;
+
+        LoadGroup(List<Room> rooms, RoomBookingCounters counters) {
+            roomIds = new long[rooms.size()];
+            prices = new BigDecimal[rooms.size()];
+            for (int i = 0; i < rooms.size(); i++) {
+                Room room = rooms.get(i);
+                roomIds[i] = room.getId();
+                prices[i] = room.getPrice();
+                positions.put(room.getId(), i);
+                update(room.getId(), counters.current(room));
+            }
+        }
+
+        synchronized void update(long roomId, int load) {
+            if (!positions.containsKey(roomId)) {
+                return;
+            }
+            Integer previous = loads.put(roomId, load);
+            // Сначала добавляем новую запись: параллельный выбор не увидит группу пустой
+            ordered.add(new LoadEntry(roomId, load));
+            if (previous != null) {
+                if (previous == load) {
+                    return;
+                }
+                ordered.remove(new LoadEntry(roomId, previous));
+                totalLoad += load - previous;
+            } else {
+                totalLoad += load;
+            }
+        }
+
+        // ceiling/floor вместо first/last: не бросают исключение на пустом множестве
+        Optional<LoadEntry> first() {
+            return Optional.ofNullable(ordered.ceiling(LOWEST));
+        }
+
+        LoadStats stats() {
+            LoadEntry min = ordered.ceiling(LOWEST);
+            LoadEntry max = ordered.floor(HIGHEST);
+            if (min == null || max == null) {
+                return new LoadStats(0, 0, 0, 0);
+            }
+            return new LoadStats(loads.size(), totalLoad, min.timesBooked(), max.timesBooked());
+        }
+
+        LoadEntry entry(int index) {
+            return new LoadEntry(roomIds[index], timesBooked(index));
+        }
+
+        @Override
+        public int size() {
+            return roomIds.length;
+        }
+
+        @Override
+        public long roomId(int index) {
+            return roomIds[index];
+        }
+
+        @Override
+        public int timesBooked(int index) {
+            return loads.get(roomIds[index]);
+        }
+
+        @Override
+        public BigDecimal price(int index) {
+            return prices[index];
+        }
+
+        @Override
+        public int leastLoadedIndex() {
+            return first().map(entry -> positions.get(entry.roomId())).orElse(-1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T attachment(Object key, Function<RoomGroupView, T> factory) {
+            return (T) attachments.computeIfAbsent(key, k -> factory.apply(this));
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package sf.mephi.hotel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import sf.mephi.common.datasource.ReadWriteRoutingDataSource;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.dto.response.RoomDTO;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Материализованный рейтинг рекомендованных номеров (GET /rooms/recommend).
+ *
+ * - Доступные номера загружаются из БД один раз (вместе с отелем), дальше рейтинг поддерживается
+ *   инкрементально: confirm/reserve/release, создание, изменение и удаление номеров
+ * - Порядок (timesBooked, id) - ConcurrentSkipListSet, чтение без блокировок
+ * - JSON каждого номера сериализуется при изменении, ответ собирается из готовых фрагментов
+ *   и кешируется по фильтру вместе с ETag до следующего изменения рейтинга
+ * - Изменения применяются после коммита транзакции
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomRecommendations {
+
+    static final int LIMIT = 100;
+    private static final int MAX_CACHED_FILTERS = 256;
+
+    private final RoomRepository roomRepository;
+    private final RoomBookingCounters roomBookingCounters;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentSkipListSet<Rank> ranking = new ConcurrentSkipListSet<>(Rank.ORDER);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Filter, Rendered> rendered = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded;
+
+    /**
+     * Рекомендованные номера по фильтру: готовый JSON-массив и ETag
+     */
+    public Rendered recommend(Filter filter) {
+        ensureLoaded();
+        long current = version.get();
+        Rendered cached = rendered.get(filter);
+        if (cached != null && cached.version() == current) {
+            return cached;
+        }
+
+        Rendered fresh = render(filter, current);
+        if (rendered.size() >= MAX_CACHED_FILTERS) {
+            rendered.clear();
+        }
+        rendered.put(filter, fresh);
+        return fresh;
+    }
+
+    /**
+     * Номер создан или изменён (тип, цена, доступность)
+     */
+    public void onRoomChanged(Room room) {
+        // Отель читается сейчас, пока открыта транзакция (ленивая связь)
+        RoomDTO snapshot = RoomDTO.builder()
+                .id(room.getId())
+                .hotelId(room.getHotel() != null ? room.getHotel().getId() : null)
+                .hotelName(room.getHotel() != null ? room.getHotel().getName() : null)
+                .roomNumber(room.getRoomNumber())
+                .roomType(room.getRoomType())
+                .price(room.getPrice())
+                .available(room.getAvailable())
+                .build();
+        afterCommit(() -> apply(room.getId(), () -> {
+            if (Boolean.TRUE.equals(snapshot.getAvailable())) {
+                snapshot.setTimesBooked(roomBookingCounters.current(room));
+                put(snapshot);
+            } else {
+                remove(room.getId());
+            }
+        }));
+    }
+
+    /**
+     * Загруженность номера изменилась (confirm/reserve/release)
+     */
+    public void onLoadChanged(Room room) {
+        afterCommit(() -> apply(room.getId(), () -> {
+            Entry entry = entries.get(room.getId());
+            int timesBooked = roomBookingCounters.current(room);
+            if (entry != null && entry.rank().timesBooked() != timesBooked) {
+                put(copy(entry.room(), timesBooked));
+            }
+        }));
+    }
+
+    /**
+     * Номер удалён
+     */
+    public void onRoomDeleted(Long roomId) {
+        afterCommit(() -> apply(roomId, () -> remove(roomId)));
+    }
+
+    /**
+     * Сбросить рейтинг целиком (изменён или удалён отель) - перезагрузка при следующем чтении
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            synchronized (this) {
+                loaded = false;
+                ranking.clear();
+                entries.clear();
+                version.incrementAndGet();
+                rendered.clear();
+            }
+        });
+    }
+
+    private synchronized void apply(Long roomId, Runnable change) {
+        if (!loaded || roomId == null) {
+            return;
+        }
+        change.run();
+        version.incrementAndGet();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            // Кеш живёт до следующего изменения: загружается с основной БД, не с отстающей реплики
+            List<Room> rooms = ReadWriteRoutingDataSource.primary(roomRepository::findAllAvailableWithHotel);
+            for (Room room : rooms) {
+                RoomDTO snapshot = RoomDTO.builder()
+                        .id(room.getId())
+                        .hotelId(room.getHotel().getId())
+                        .hotelName(room.getHotel().getName())
+                        .roomNumber(room.getRoomNumber())
+                        .roomType(room.getRoomType())
+                        .price(room.getPrice())
+                        .available(true)
+                        .timesBooked(roomBookingCounters.current(room))
+                        .build();
+                put(snapshot);
+            }
+            version.incrementAndGet();
+            loaded = true;
+            log.info("Loaded room recommendation ranking: {} rooms", rooms.size());
+        }
+    }
+
+    private void put(RoomDTO room) {
+        Entry previous = entries.get(room.getId());
+        Entry entry = new Entry(new Rank(room.getId(), room.getTimesBooked()), room, serialize(room));
+        // Сначала новая позиция, затем удаление старой: параллельное чтение не потеряет номер
+        ranking.add(entry.rank());
+        entries.put(room.getId(), entry);
+        if (previous != null && !previous.rank().equals(entry.rank())) {
+            ranking.remove(previous.rank());
+        }
+    }
+
+    private void remove(Long roomId) {
+        Entry previous = entries.remove(roomId);
+        if (previous != null) {
+            ranking.remove(previous.rank());
+        }
+    }
+
+    private Rendered render(Filter filter, long renderedVersion) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        out.write('[');
+        int count = 0;
+        for (Rank rank : ranking) {
+            Entry entry = entries.get(rank.roomId());
+            // Позиция могла смениться во время обхода: берём только актуальную
+            if (entry == null || !entry.rank().equals(rank) || !filter.matches(entry.room())) {
+                continue;
+            }
+            if (count > 0) {
+                out.write(',');
+            }
+            out.writeBytes(entry.json());
+            if (++count == LIMIT) {
+                break;
+            }
+        }
+        out.write(']');
+
+        byte[] json = out.toByteArray();
+        return new Rendered(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"", renderedVersion);
+    }
+
+    private byte[] serialize(RoomDTO room) {
+        try {
+            return objectMapper.writeValueAsBytes(room);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize room " + room.getId(), e);
+        }
+    }
+
+    private static RoomDTO copy(RoomDTO room, int timesBooked) {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .hotelId(room.getHotelId())
+                .hotelName(room.getHotelName())
+                .roomNumber(room.getRoomNumber())
+                .roomType(room.getRoomType())
+                .price(room.getPrice())
+                .available(room.getAvailable())
+                .timesBooked(timesBooked)
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Фильтр рекомендаций; null - без ограничения
+     */
+    public record Filter(Long hotelId, RoomType roomType, BigDecimal minPrice, BigDecimal maxPrice) {
+
+        public static final Filter NONE = new Filter(null, null, null, null);
+
+        boolean matches(RoomDTO room) {
+            return (hotelId == null || hotelId.equals(room.getHotelId()))
+                    && (roomType == null || roomType == room.getRoomType())
+                    && (minPrice == null || room.getPrice().compareTo(minPrice) >= 0)
+                    && (maxPrice == null || room.getPrice().compareTo(maxPrice) <= 0);
+        }
+    }
+
+    /**
+     * Готовый ответ: JSON-массив номеров и ETag по его содержимому
+     */
+    public record Rendered(byte[] json, String etag, long version) {
+    }
+
+    private record Rank(long roomId, int timesBooked) {
+
+        private static final Comparator<Rank> ORDER = Comparator
+                .comparingInt(Rank::timesBooked)
+                .thenComparingLong(Rank::roomId);
+    }
+
+    private record Entry(Rank rank, RoomDTO room, byte[] json) {
+    }
+}
@@ -1,29 +1,40 @@
 package sf.mephi.hotel.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.constants.HoldStatus;
 import sf.mephi.common.constants.RoomType;
 import sf.mephi.common.exception.NotFoundException;
 import sf.mephi.common.exception.ValidationException;
 import sf.mephi.common.util.CorrelationIdUtil;
+import sf.mephi.hotel.dto.request.ChangeReservationRequest;
 import sf.mephi.hotel.dto.request.ConfirmAvailabilityRequest;
 import sf.mephi.hotel.dto.request.CreateRoomRequest;
+import sf.mephi.hotel.dto.request.ReserveRoomRequest;
 import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
 import sf.mephi.hotel.dto.response.RoomDTO;
 import sf.mephi.hotel.entity.Hotel;
 import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.entity.RoomHold;
 import sf.mephi.hotel.mapper.RoomMapper;
+import sf.mephi.hotel.metrics.RoomMetrics;
 import sf.mephi.hotel.repository.HotelRepository;
+import sf.mephi.hotel.repository.RoomHoldRepository;
 import sf.mephi.hotel.repository.RoomRepository;
+import sf.mephi.hotel.service.selection.RoomSelectionStrategy;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -33,11 +44,22 @@ import java.util.stream.Collectors;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomHoldRepository roomHoldRepository;
     private final HotelRepository hotelRepository;
     private final RoomMapper roomMapper;
+    private final RoomMetrics roomMetrics;
+    private final RoomLoadIndex roomLoadIndex;
+    private final RoomRecommendations roomRecommendations;
+    private final RoomBookingCounters roomBookingCounters;
+    private final RoomSelectionStrategy roomSelectionStrategy;
 
     private final Map<String, AvailabilityConfirmationDTO> processedRequests = new ConcurrentHashMap<>();
 
+    @PostConstruct
+    void registerMetrics() {
+        roomMetrics.bindIdempotencyCache(processedRequests);
+    }
+
     /**
      * Получить все доступные номера (USER)
      */
@@ -45,20 +67,18 @@ public class RoomService {
     public List<RoomDTO> getAvailableRooms() {
         log.info("Fetching all available rooms");
         return roomRepository.findAllAvailable().stream()
-                .map(roomMapper::toDTO)
+                .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Получить рекомендованные номера (USER)
+     *
+     * Отдаётся из материализованного рейтинга RoomRecommendations без обращения к БД
      */
-    @Transactional(readOnly = true)
-    public List<RoomDTO> getRecommendedRooms() {
-        log.info("Fetching recommended rooms sorted by timesBooked");
-        Pageable pageable = PageRequest.of(0, 100); // Ограничение для производительности
-        return roomRepository.findRecommendedRooms(pageable).stream()
-                .map(roomMapper::toDTO)
-                .collect(Collectors.toList());
+    public RoomRecommendations.Rendered getRecommendedRooms(RoomRecommendations.Filter filter) {
+        log.debug("Fetching recommended rooms: {}", filter);
+        return roomRecommendations.recommend(filter);
     }
 
     /**
@@ -71,7 +91,7 @@ public class RoomService {
                 .orElseThrow(() -> new NotFoundException(
                         String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, id)
                 ));
-        return roomMapper.toDTO(room);
+        return toDTO(room);
     }
 
     /**
@@ -90,8 +110,10 @@ public class RoomService {
         room.setHotel(hotel);
 
         Room saved = roomRepository.save(room);
+        roomLoadIndex.evict(hotel.getId(), saved.getRoomType());
+        roomRecommendations.onRoomChanged(saved);
         log.info("Room created with id: {}", saved.getId());
-        return roomMapper.toDTO(saved);
+        return toDTO(saved);
     }
 
     /**
@@ -109,9 +131,20 @@ public class RoomService {
         room.setRoomType(request.getRoomType());
         room.setPrice(request.getPrice());
 
-        Room updated = roomRepository.save(room);
+        Room updated;
+        try {
+            updated = roomRepository.save(room);
+        } catch (OptimisticLockingFailureException e) {
+            roomMetrics.recordOptimisticLockFailure();
+            log.error("Optimistic lock conflict while updating roomId={}", id);
+            throw new ValidationException("Room was modified by another transaction. Please retry.");
+        }
+        // Тип мог измениться: сбрасываем и прежнюю, и новую группу
+        roomLoadIndex.evictRoom(id);
+        roomLoadIndex.evict(room.getHotel().getId(), request.getRoomType());
+        roomRecommendations.onRoomChanged(updated);
         log.info("Room updated: {}", id);
-        return roomMapper.toDTO(updated);
+        return toDTO(updated);
     }
 
     /**
@@ -126,6 +159,8 @@ public class RoomService {
             );
         }
         roomRepository.deleteById(id);
+        roomLoadIndex.evictRoom(id);
+        roomRecommendations.onRoomDeleted(id);
         log.info("Room deleted: {}", id);
     }
 
@@ -142,13 +177,16 @@ public class RoomService {
                 roomId, request.getRequestId(), correlationId);
 
         // Идемпотентность - проверяем кеш
-        if (processedRequests.containsKey(request.getRequestId())) {
+        AvailabilityConfirmationDTO cached = processedRequests.get(request.getRequestId());
+        if (cached != null) {
+            roomMetrics.recordCacheHit();
             log.info("Request already processed (idempotent): {}", request.getRequestId());
-            return processedRequests.get(request.getRequestId());
+            return cached;
         }
+        roomMetrics.recordCacheMiss();
 
-        // КРИТИЧНО: Pessimistic Lock для параллельных бронирований одного номера
-        Room room = roomRepository.findByIdWithLock(roomId)
+        // Блокировка строки номера сериализует проверку дат с createHold; счётчик ведёт RoomBookingCounters
+        Room room = roomMetrics.recordLockWait(roomId, () -> roomRepository.findByIdWithLock(roomId))
                 .orElseThrow(() -> new NotFoundException(
                         String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, roomId)));
 
@@ -165,33 +203,113 @@ public class RoomService {
             return response;
         }
 
-        // Атомарное обновление с Optimistic Lock (version)
-        try {
-            room.incrementTimesBooked();
-            room.setCurrentRequestId(request.getRequestId());
-            roomRepository.save(room);
-
-            AvailabilityConfirmationDTO response = AvailabilityConfirmationDTO.builder()
+        // Даты заняты чужим удержанием - отказ не кешируется, удержание может истечь или быть снято
+        if (roomHoldRepository.existsOverlappingForOtherRequest(roomId, request.getStartDate(),
+                request.getEndDate(), LocalDateTime.now(), request.getRequestId())) {
+            log.warn("Room {} is held for {}..{}, requestId: {}",
+                    roomId, request.getStartDate(), request.getEndDate(), request.getRequestId());
+            return AvailabilityConfirmationDTO.builder()
                     .requestId(request.getRequestId())
                     .roomId(roomId)
-                    .confirmed(true)
-                    .message("Room availability confirmed")
+                    .confirmed(false)
+                    .message(ApiConstants.ERROR_ROOM_UNAVAILABLE)
                     .build();
+        }
 
-            processedRequests.put(request.getRequestId(), response);
+        occupy(roomId, request.getRequestId(), request.getStartDate(), request.getEndDate());
+        room.setCurrentRequestId(request.getRequestId());
+        roomBookingCounters.increment(room, request.getRequestId());
+        roomLoadIndex.onLoadChanged(room);
+        roomRecommendations.onLoadChanged(room);
 
-            log.info("Room {} confirmed, timesBooked={}", roomId, room.getTimesBooked());
-            return response;
+        AvailabilityConfirmationDTO response = AvailabilityConfirmationDTO.builder()
+                .requestId(request.getRequestId())
+                .roomId(roomId)
+                .confirmed(true)
+                .message("Room availability confirmed")
+                .build();
 
-        } catch (OptimisticLockingFailureException e) {
-            log.error("Optimistic lock conflict for roomId={}, requestId={}",
-                    roomId, request.getRequestId());
-            throw new ValidationException("Room was modified by another transaction. Please retry.");
+        processedRequests.put(request.getRequestId(), response);
+
+        log.info("Room {} confirmed, requestId: {}", roomId, request.getRequestId());
+        return response;
+    }
+
+    /**
+     * Атомарно выбрать и зарезервировать номер (INTERNAL - для Saga)
+     *
+     * Номер выбирается под блокировкой строки, бронирование учитывается в RoomBookingCounters.
+     * При заданных hotelId и roomType номер выбирает RoomSelectionStrategy; если он занят,
+     * берётся наименее загруженный из незаблокированных. Номера, заблокированные параллельными
+     * резервированиями, пропускаются (SKIP LOCKED): одновременные запросы не ждут один номер.
+     */
+    @Transactional
+    public AvailabilityConfirmationDTO reserveLeastLoadedRoom(ReserveRoomRequest request) {
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        log.info("Reserving least loaded room: hotelId={}, roomType={}, requestId: {}, correlationId: {}",
+                request.getHotelId(), request.getRoomType(), request.getRequestId(), correlationId);
+
+        // Идемпотентность - проверяем кеш
+        AvailabilityConfirmationDTO cached = processedRequests.get(request.getRequestId());
+        if (cached != null) {
+            roomMetrics.recordCacheHit();
+            log.info("Request already processed (idempotent): {}", request.getRequestId());
+            return cached;
+        }
+        roomMetrics.recordCacheMiss();
+
+        // Номера с датами, занятыми чужими удержаниями, пропускаются
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Room> selected = Optional.empty();
+        if (request.getHotelId() != null && request.getRoomType() != null) {
+            selected = roomLoadIndex.select(request.getHotelId(), request.getRoomType(), roomSelectionStrategy)
+                    .flatMap(entry -> roomMetrics.recordLockWait(entry.roomId(),
+                            () -> roomRepository.findAvailableByIdForUpdateSkipLocked(entry.roomId())))
+                    .filter(room -> !roomHoldRepository.existsOverlappingForOtherRequest(room.getId(),
+                            request.getStartDate(), request.getEndDate(), now, request.getRequestId()));
+        }
+        if (selected.isEmpty()) {
+            selected = roomRepository.findLeastLoadedForUpdateSkipLocked(
+                    request.getHotelId(), request.getRoomType(), request.getStartDate(), request.getEndDate(),
+                    now, request.getRequestId(), PageRequest.of(0, 1)).stream().findFirst();
+        }
+
+        // Все подходящие номера заняты или заблокированы - отказ не кешируется, повтор может пройти
+        if (selected.isEmpty()) {
+            return AvailabilityConfirmationDTO.builder()
+                    .requestId(request.getRequestId())
+                    .confirmed(false)
+                    .message("No available rooms")
+                    .build();
         }
+
+        Room room = selected.get();
+        occupy(room.getId(), request.getRequestId(), request.getStartDate(), request.getEndDate());
+        room.setCurrentRequestId(request.getRequestId());
+        roomBookingCounters.increment(room, request.getRequestId());
+        roomLoadIndex.onLoadChanged(room);
+        roomRecommendations.onLoadChanged(room);
+
+        AvailabilityConfirmationDTO response = AvailabilityConfirmationDTO.builder()
+                .requestId(request.getRequestId())
+                .roomId(room.getId())
+                .confirmed(true)
+                .message("Room reserved")
+                .build();
+
+        processedRequests.put(request.getRequestId(), response);
+
+        log.info("Room {} reserved, requestId: {}", room.getId(), request.getRequestId());
+        return response;
     }
 
     /**
      * Освободить слот (INTERNAL - компенсация для Saga)
+     *
+     * Идемпотентно: слот освобождается, только если requestId занимает номер (CONVERTED в room_holds),
+     * и в том номере, где резервирование записано. Повтор, запоздавшая компенсация или отказ Hotel Service
+     * ничего не меняют - счётчик чужих бронирований не уменьшается. roomId == null - номер неизвестен
+     * (автоподбор не дождался ответа)
      */
     @Transactional
     public void releaseSlot(Long roomId, String requestId) {
@@ -199,64 +317,211 @@ public class RoomService {
         log.info("Releasing slot for room: {}, requestId: {}, correlationId: {}",
                 roomId, requestId, correlationId);
 
-        Room room = roomRepository.findById(roomId)
+        // Удаляем из кеша обработанных запросов
+        processedRequests.remove(requestId);
+
+        Optional<RoomHold> reservation = roomHoldRepository.findByRequestIdForUpdate(requestId)
+                .filter(hold -> hold.getStatus() == HoldStatus.CONVERTED);
+        if (reservation.isEmpty()) {
+            log.info("No reserved slot to release, requestId: {}", requestId);
+            return;
+        }
+
+        Long reservedRoomId = reservation.get().getRoomId();
+        if (roomId != null && !roomId.equals(reservedRoomId)) {
+            log.warn("Release for room {} but requestId {} holds room {}", roomId, requestId, reservedRoomId);
+        }
+        Room room = roomRepository.findById(reservedRoomId)
                 .orElseThrow(() -> new NotFoundException(
-                        String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, roomId)
+                        String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, reservedRoomId)
                 ));
 
-        // Декремент timesBooked (компенсация)
-        room.decrementTimesBooked();
+        // Декремент timesBooked (компенсация), не ниже нуля; даты резервирования освобождаются
         room.setCurrentRequestId(null);
-        roomRepository.save(room);
+        if (roomBookingCounters.decrement(room, requestId)) {
+            roomLoadIndex.onLoadChanged(room);
+            roomRecommendations.onLoadChanged(room);
+        } else {
+            log.warn("Room {} has no bookings to release, requestId: {}", reservedRoomId, requestId);
+        }
+        reservation.get().setStatus(HoldStatus.RELEASED);
 
-        // Удаляем из кеша обработанных запросов
-        processedRequests.remove(requestId);
+        log.info("Room {} slot released, requestId: {}", reservedRoomId, requestId);
+    }
+
+    /**
+     * Изменить даты и/или номер подтверждённого резервирования (INTERNAL - для Saga)
+     *
+     * Одна локальная транзакция вместо release + confirm: резервирование не теряет номер в промежутке.
+     * Пересечение с чужими удержаниями проверяется без учёта собственного - прежние ночи остаются
+     * за резервированием, проверяются только добавленные. При смене номера счётчик переносится
+     * (+1 новому, -1 прежнему). Повтор с тем же changeId возвращает прежний результат.
+     */
+    @Transactional
+    public AvailabilityConfirmationDTO changeReservation(Long roomId, ChangeReservationRequest request) {
+        log.info("Changing reservation: requestId: {}, room {} -> {}, dates {}..{}, changeId: {}, correlationId: {}",
+                request.getRequestId(), request.getPreviousRoomId(), roomId,
+                request.getStartDate(), request.getEndDate(), request.getChangeId(),
+                CorrelationIdUtil.getCorrelationId());
+
+        // Идемпотентность - проверяем кеш (в том числе отмену изменения)
+        AvailabilityConfirmationDTO cached = processedRequests.get(request.getChangeId());
+        if (cached != null) {
+            roomMetrics.recordCacheHit();
+            log.info("Change already processed (idempotent): {}", request.getChangeId());
+            return cached;
+        }
+        roomMetrics.recordCacheMiss();
 
-        log.info("Room {} slot released, timesBooked decremented to {}", roomId, room.getTimesBooked());
+        AvailabilityConfirmationDTO response = applyChange(roomId, request);
+        // Отказ не кешируется: даты могут освободиться, повтор может пройти
+        if (response.getConfirmed()) {
+            processedRequests.put(request.getChangeId(), response);
+        }
+        return response;
     }
 
     /**
-     * Получить оптимальный номер с учетом равномерного распределения
-     * и защитой от race condition
+     * Отменить изменение резервирования (INTERNAL - компенсация для Saga)
+     *
+     * Применённое изменение откатывается обратным; не дошедшее до сервиса помечается отменённым,
+     * и запоздавший запрос с тем же changeId уже ничего не изменит. Повторная отмена ничего не делает.
      */
     @Transactional
-    public RoomDTO selectOptimalRoomForBooking(Long hotelId, RoomType roomType) {
-        log.info("Selecting optimal room for hotelId={}, roomType={}", hotelId, roomType);
+    public void revertReservationChange(Long roomId, ChangeReservationRequest request) {
+        log.info("Reverting reservation change: {}, requestId: {}, correlationId: {}",
+                request.getChangeId(), request.getRequestId(), CorrelationIdUtil.getCorrelationId());
+
+        AvailabilityConfirmationDTO applied = processedRequests.get(request.getChangeId());
+        if (applied != null && !applied.getConfirmed()) {
+            log.info("Change already reverted: {}", request.getChangeId());
+            return;
+        }
+        if (applied != null) {
+            applyChange(request.getPreviousRoomId(), request.reversed(roomId));
+        }
 
-        // 1. Получаем доступные номера отсортированные по загруженности
-        List<Room> availableRooms = roomRepository
-                .findAvailableRoomsByTypeOrderByLoad(hotelId, roomType);
+        processedRequests.put(request.getChangeId(), AvailabilityConfirmationDTO.builder()
+                .requestId(request.getRequestId())
+                .roomId(request.getPreviousRoomId())
+                .confirmed(false)
+                .message("Change reverted")
+                .build());
+        log.info("Reservation change {} reverted, requestId: {}", request.getChangeId(), request.getRequestId());
+    }
 
-        if (availableRooms.isEmpty()) {
-            throw new ValidationException("No available rooms of type " + roomType);
+    private AvailabilityConfirmationDTO applyChange(Long roomId, ChangeReservationRequest request) {
+        if (!request.getEndDate().isAfter(request.getStartDate())) {
+            throw new ValidationException(ApiConstants.ERROR_INVALID_DATE_RANGE);
         }
 
-        // 2. Выбираем наименее загруженный номер
-        Room optimalRoom = availableRooms.getFirst();
+        // Собственная запись резервирования в room_holds не мешает изменению
+        Optional<RoomHold> hold = roomHoldRepository.findByRequestId(request.getRequestId());
 
-        // 3. Вычисляем среднюю загруженность
-        double avgLoad = availableRooms.stream()
-                .mapToInt(Room::getTimesBooked)
-                .average()
-                .orElse(0.0);
+        // Блокировка строки номера сериализует проверку дат с удержаниями (как при создании удержания)
+        Room room = roomMetrics.recordLockWait(roomId, () -> roomRepository.findByIdWithLock(roomId))
+                .orElseThrow(() -> new NotFoundException(
+                        String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, roomId)));
 
-        // 4. Anti-starvation: если разброс больше 20%, выбираем самый незагруженный
-        int minLoad = optimalRoom.getTimesBooked();
-        int maxLoad = availableRooms.stream()
-                .mapToInt(Room::getTimesBooked)
-                .max()
-                .orElse(0);
+        boolean moved = !roomId.equals(request.getPreviousRoomId());
+        if ((moved && !room.getAvailable()) || roomHoldRepository.existsOverlappingExcept(roomId,
+                request.getStartDate(), request.getEndDate(), LocalDateTime.now(),
+                hold.map(RoomHold::getId).orElse(-1L))) {
+            log.warn("Reservation change refused: room {} is not available for {}..{}, requestId: {}",
+                    roomId, request.getStartDate(), request.getEndDate(), request.getRequestId());
+            return AvailabilityConfirmationDTO.builder()
+                    .requestId(request.getRequestId())
+                    .roomId(roomId)
+                    .confirmed(false)
+                    .message(ApiConstants.ERROR_ROOM_UNAVAILABLE)
+                    .build();
+        }
 
-        double loadVariance = maxLoad - minLoad;
+        occupy(roomId, request.getRequestId(), request.getStartDate(), request.getEndDate());
+
+        if (moved) {
+            room.setCurrentRequestId(request.getRequestId());
+            roomBookingCounters.increment(room, request.getRequestId());
+            roomLoadIndex.onLoadChanged(room);
+            roomRecommendations.onLoadChanged(room);
+
+            roomRepository.findById(request.getPreviousRoomId()).ifPresent(previous -> {
+                if (roomBookingCounters.decrement(previous, request.getRequestId())) {
+                    roomLoadIndex.onLoadChanged(previous);
+                    roomRecommendations.onLoadChanged(previous);
+                }
+            });
+        }
+
+        log.info("Reservation {} changed: room {}, dates {}..{}",
+                request.getRequestId(), roomId, request.getStartDate(), request.getEndDate());
+        return AvailabilityConfirmationDTO.builder()
+                .requestId(request.getRequestId())
+                .roomId(roomId)
+                .confirmed(true)
+                .message("Reservation changed")
+                .build();
+    }
+
+    /**
+     * Записать даты резервирования в room_holds (CONVERTED, ключ requestId).
+     * Вызывается под блокировкой строки номера: createHold и convertHold видят бронирования Saga
+     */
+    private void occupy(Long roomId, String requestId, LocalDate startDate, LocalDate endDate) {
+        RoomHold reservation = roomHoldRepository.findByRequestId(requestId)
+                .orElseGet(() -> RoomHold.builder()
+                        .holdId(UUID.randomUUID().toString())
+                        .requestId(requestId)
+                        .build());
+        reservation.setRoomId(roomId);
+        reservation.setStartDate(startDate);
+        reservation.setEndDate(endDate);
+        reservation.setStatus(HoldStatus.CONVERTED);
+        reservation.setExpiresAt(LocalDateTime.now());
+        roomHoldRepository.save(reservation);
+    }
+
+    /**
+     * Получить оптимальный номер с учетом равномерного распределения
+     *
+     * Номер выбирает RoomSelectionStrategy по группе из RoomLoadIndex, статистика разброса -
+     * бегущие агрегаты индекса; из БД читается только выбранный номер
+     */
+    @Transactional(readOnly = true)
+    public RoomDTO selectOptimalRoomForBooking(Long hotelId, RoomType roomType) {
+        log.info("Selecting optimal room for hotelId={}, roomType={}, strategy={}",
+                hotelId, roomType, roomSelectionStrategy.name());
+
+        // 1. Номер группы (hotelId, roomType), выбранный стратегией
+        RoomLoadIndex.LoadEntry selected = roomLoadIndex.select(hotelId, roomType, roomSelectionStrategy)
+                .orElseThrow(() -> new ValidationException("No available rooms of type " + roomType));
+
+        // 2. Разброс загруженности по бегущим агрегатам
+        RoomLoadIndex.LoadStats stats = roomLoadIndex.stats(hotelId, roomType);
+        double avgLoad = stats.averageLoad();
+        double loadVariance = stats.maxLoad() - stats.minLoad();
         if (loadVariance > avgLoad * 0.2) {
-            log.warn("High load variance detected: {} (avg: {}). Selecting least loaded room.",
-                    loadVariance, avgLoad);
+            log.warn("High load variance detected: {} (avg: {}).", loadVariance, avgLoad);
         }
 
+        Room optimalRoom = roomRepository.findById(selected.roomId())
+                .orElseThrow(() -> new NotFoundException(
+                        String.format(ApiConstants.ERROR_ROOM_NOT_FOUND, selected.roomId())
+                ));
+
         log.info("Selected room: id={}, number={}, timesBooked={}, avgLoad={}",
                 optimalRoom.getId(), optimalRoom.getRoomNumber(),
                 optimalRoom.getTimesBooked(), avgLoad);
 
-        return roomMapper.toDTO(optimalRoom);
+        return toDTO(optimalRoom);
+    }
+
+    /**
+     * DTO с актуальным timesBooked: колонка в БД отстаёт на интервал сброса RoomBookingCounters
+     */
+    private RoomDTO toDTO(Room room) {
+        RoomDTO dto = roomMapper.toDTO(room);
+        roomBookingCounters.tracked(room.getId()).ifPresent(count -> dto.setTimesBooked(count));
+        return dto;
     }
 }
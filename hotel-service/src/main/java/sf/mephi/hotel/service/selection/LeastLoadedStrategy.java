@@ -0,0 +1,22 @@
+package sf.mephi.hotel.service.selection;
+
+/**
+ * Строго наименее загруженный номер.
+ *
+ * Лучшее распределение при последовательных запросах, но все одновременные запросы
+ * выбирают один и тот же номер и конкурируют за его блокировку.
+ */
+public class LeastLoadedStrategy implements RoomSelectionStrategy {
+
+    public static final String NAME = "least-loaded";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int select(RoomGroupView group) {
+        return group.leastLoadedIndex();
+    }
+}
@@ -0,0 +1,53 @@
+package sf.mephi.hotel.service.selection;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Power of two choices: из двух случайных номеров выбирается менее загруженный.
+ *
+ * Максимальная загрузка отклоняется от средней на O(log log n) вместо O(log n) у случайного выбора,
+ * а одновременные запросы расходятся по разным номерам без общей "горячей" строки.
+ */
+public class PowerOfTwoChoicesStrategy implements RoomSelectionStrategy {
+
+    public static final String NAME = "p2c";
+
+    private final Supplier<RandomGenerator> random;
+
+    public PowerOfTwoChoicesStrategy() {
+        this(ThreadLocalRandom::current);
+    }
+
+    PowerOfTwoChoicesStrategy(Supplier<RandomGenerator> random) {
+        this.random = random;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int select(RoomGroupView group) {
+        int size = group.size();
+        if (size <= 1) {
+            return size - 1;
+        }
+
+        RandomGenerator rnd = random.get();
+        int first = rnd.nextInt(size);
+        int second = rnd.nextInt(size - 1);
+        if (second >= first) {
+            second++; // два разных номера
+        }
+
+        int firstLoad = group.timesBooked(first);
+        int secondLoad = group.timesBooked(second);
+        if (firstLoad != secondLoad) {
+            return firstLoad < secondLoad ? first : second;
+        }
+        return group.roomId(first) < group.roomId(second) ? first : second;
+    }
+}
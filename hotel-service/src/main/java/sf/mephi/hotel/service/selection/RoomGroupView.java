@@ -0,0 +1,32 @@
+package sf.mephi.hotel.service.selection;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Группа доступных номеров (hotelId, RoomType) для стратегии выбора.
+ *
+ * Состав группы и цены фиксированы до её перезагрузки; загруженность (timesBooked) актуальна
+ * на момент чтения. Доступ по индексу - O(1), наименее загруженный номер - O(log n).
+ */
+public interface RoomGroupView {
+
+    int size();
+
+    long roomId(int index);
+
+    int timesBooked(int index);
+
+    BigDecimal price(int index);
+
+    /**
+     * Индекс наименее загруженного номера; -1, если группа пуста
+     */
+    int leastLoadedIndex();
+
+    /**
+     * Состояние стратегии, привязанное к группе (счётчик, предрасчитанные веса).
+     * Сбрасывается вместе с группой при изменении её состава.
+     */
+    <T> T attachment(Object key, Function<RoomGroupView, T> factory);
+}
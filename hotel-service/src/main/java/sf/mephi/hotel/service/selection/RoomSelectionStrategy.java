@@ -0,0 +1,17 @@
+package sf.mephi.hotel.service.selection;
+
+/**
+ * Стратегия выбора номера внутри группы (hotelId, RoomType)
+ */
+public interface RoomSelectionStrategy {
+
+    /**
+     * Имя стратегии для конфигурации (hotel.room-selection.strategy)
+     */
+    String name();
+
+    /**
+     * Индекс выбранного номера в группе; -1, если группа пуста
+     */
+    int select(RoomGroupView group);
+}
@@ -0,0 +1,29 @@
+package sf.mephi.hotel.service.selection;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Номера группы по кругу. Счётчик свой у каждой группы (hotelId, RoomType).
+ *
+ * Равномерно при одинаковой начальной загрузке, но не выравнивает уже накопленный перекос
+ * и не учитывает отмены.
+ */
+public class RoundRobinStrategy implements RoomSelectionStrategy {
+
+    public static final String NAME = "round-robin";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int select(RoomGroupView group) {
+        int size = group.size();
+        if (size == 0) {
+            return -1;
+        }
+        AtomicLong counter = group.attachment(RoundRobinStrategy.class, g -> new AtomicLong());
+        return (int) Math.floorMod(counter.getAndIncrement(), (long) size);
+    }
+}
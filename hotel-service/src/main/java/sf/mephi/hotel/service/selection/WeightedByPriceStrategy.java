@@ -0,0 +1,61 @@
+package sf.mephi.hotel.service.selection;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Случайный номер с вероятностью, обратно пропорциональной цене: дешёвые номера группы
+ * заполняются чаще. Загруженность не учитывается.
+ *
+ * Накопленные веса считаются один раз на группу, выбор - бинарный поиск O(log n).
+ */
+public class WeightedByPriceStrategy implements RoomSelectionStrategy {
+
+    public static final String NAME = "weighted-price";
+
+    private final Supplier<RandomGenerator> random;
+
+    public WeightedByPriceStrategy() {
+        this(ThreadLocalRandom::current);
+    }
+
+    WeightedByPriceStrategy(Supplier<RandomGenerator> random) {
+        this.random = random;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int select(RoomGroupView group) {
+        if (group.size() == 0) {
+            return -1;
+        }
+
+        double[] cumulative = group.attachment(WeightedByPriceStrategy.class, WeightedByPriceStrategy::cumulativeWeights);
+        double point = random.get().nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, point);
+        return index >= 0 ? Math.min(index + 1, cumulative.length - 1) : -index - 1;
+    }
+
+    private static double[] cumulativeWeights(RoomGroupView group) {
+        double[] cumulative = new double[group.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            double price = group.price(i) != null ? group.price(i).doubleValue() : 0;
+            total += price > 0 ? 1.0 / price : 0;
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            // цены не заданы - равномерный выбор
+            for (int i = 0; i < cumulative.length; i++) {
+                cumulative[i] = i + 1;
+            }
+        }
+        return cumulative;
+    }
+}
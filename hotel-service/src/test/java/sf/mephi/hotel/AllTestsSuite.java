@@ -10,7 +10,8 @@ import org.junit.platform.suite.api.SuiteDisplayName;
         "sf.mephi.hotel.service",
         "sf.mephi.hotel.controller",
         "sf.mephi.hotel.exception",
-        "sf.mephi.hotel.entity"
+        "sf.mephi.hotel.entity",
+        "sf.mephi.hotel.metrics"
 })
 public class AllTestsSuite {
 }
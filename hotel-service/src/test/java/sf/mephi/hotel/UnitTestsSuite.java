@@ -9,7 +9,8 @@ import org.junit.platform.suite.api.SuiteDisplayName;
 @SuiteDisplayName("Hotel Service - Unit Tests Only")
 @SelectPackages({
         "sf.mephi.hotel.service",
-        "sf.mephi.hotel.entity"
+        "sf.mephi.hotel.entity",
+        "sf.mephi.hotel.metrics"
 })
 public class UnitTestsSuite {
 }
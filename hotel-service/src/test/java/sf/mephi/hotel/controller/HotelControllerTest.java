@@ -7,8 +7,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import sf.mephi.hotel.config.BaseControllerTest;
 import sf.mephi.hotel.dto.request.CreateHotelRequest;
 import sf.mephi.hotel.dto.response.HotelDTO;
+import sf.mephi.hotel.dto.response.HotelImportResultDTO;
+import sf.mephi.hotel.service.HotelImportService;
 import sf.mephi.hotel.service.HotelService;
 
+import java.io.InputStream;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +27,9 @@ class HotelControllerTest extends BaseControllerTest {
     @MockitoBean
     private HotelService hotelService;
 
+    @MockitoBean
+    private HotelImportService hotelImportService;
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllHotels_ShouldReturnHotels() throws Exception {
@@ -138,4 +144,48 @@ class HotelControllerTest extends BaseControllerTest {
 
         verify(hotelService, never()).getAllHotels();
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importHotels_ShouldReturnCreated_WhenAdminUploadsCsv() throws Exception {
+        HotelImportResultDTO result = HotelImportResultDTO.builder().rows(1).hotelsCreated(1).roomsCreated(1).build();
+        when(hotelImportService.importCsv(any(InputStream.class))).thenReturn(result);
+
+        mockMvc.perform(post("/api/v1/hotels/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("hotelName,address,city,roomNumber,roomType,price\nNew Hotel,1 St,Kazan,101,SINGLE,3000\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.roomsCreated").value(1));
+
+        verify(hotelImportService).importCsv(any(InputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importHotels_ShouldUseNdjsonImport_WhenContentTypeIsNdjson() throws Exception {
+        HotelImportResultDTO result = HotelImportResultDTO.builder().rows(1).hotelsCreated(1).roomsCreated(0).build();
+        when(hotelImportService.importNdjson(any(InputStream.class))).thenReturn(result);
+
+        mockMvc.perform(post("/api/v1/hotels/import")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"hotelName\":\"New Hotel\",\"address\":\"1 St\",\"city\":\"Kazan\"}\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.hotelsCreated").value(1));
+
+        verify(hotelImportService, never()).importCsv(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importHotels_ShouldReturn403_WhenNotAdmin() throws Exception {
+        mockMvc.perform(post("/api/v1/hotels/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("hotelName,address,city\n"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(hotelImportService);
+    }
 }
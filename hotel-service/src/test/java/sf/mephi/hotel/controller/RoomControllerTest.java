@@ -6,15 +6,18 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import sf.mephi.common.constants.RoomType;
 import sf.mephi.hotel.config.BaseControllerTest;
+import sf.mephi.hotel.dto.request.ChangeReservationRequest;
 import sf.mephi.hotel.dto.request.ConfirmAvailabilityRequest;
 import sf.mephi.hotel.dto.request.CreateRoomRequest;
+import sf.mephi.hotel.dto.request.ReserveRoomRequest;
 import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
 import sf.mephi.hotel.dto.response.RoomDTO;
+import sf.mephi.hotel.service.RoomRecommendations;
 import sf.mephi.hotel.service.RoomService;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -50,16 +53,47 @@ class RoomControllerTest extends BaseControllerTest {
     @Test
     @WithMockUser(roles = "USER")
     void getRecommendedRooms_ShouldReturnSortedRooms() throws Exception {
-        RoomDTO room1 = RoomDTO.builder().id(1L).roomNumber("101").timesBooked(2).build();
-        RoomDTO room2 = RoomDTO.builder().id(2L).roomNumber("102").timesBooked(5).build();
-        when(roomService.getRecommendedRooms()).thenReturn(Arrays.asList(room1, room2));
+        byte[] json = "[{\"id\":1,\"timesBooked\":2},{\"id\":2,\"timesBooked\":5}]".getBytes(StandardCharsets.UTF_8);
+        when(roomService.getRecommendedRooms(RoomRecommendations.Filter.NONE))
+                .thenReturn(new RoomRecommendations.Rendered(json, "\"abc\"", 1));
 
         mockMvc.perform(get("/api/v1/rooms/recommend"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
                 .andExpect(jsonPath("$[0].timesBooked").value(2))
                 .andExpect(jsonPath("$[1].timesBooked").value(5));
 
-        verify(roomService).getRecommendedRooms();
+        verify(roomService).getRecommendedRooms(RoomRecommendations.Filter.NONE);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRecommendedRooms_ShouldPassFilter() throws Exception {
+        RoomRecommendations.Filter filter = new RoomRecommendations.Filter(
+                1L, RoomType.DOUBLE, new BigDecimal("3000"), new BigDecimal("6000"));
+        when(roomService.getRecommendedRooms(filter))
+                .thenReturn(new RoomRecommendations.Rendered("[]".getBytes(StandardCharsets.UTF_8), "\"e\"", 1));
+
+        mockMvc.perform(get("/api/v1/rooms/recommend")
+                        .param("hotelId", "1")
+                        .param("roomType", "DOUBLE")
+                        .param("minPrice", "3000")
+                        .param("maxPrice", "6000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(roomService).getRecommendedRooms(filter);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRecommendedRooms_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(roomService.getRecommendedRooms(RoomRecommendations.Filter.NONE))
+                .thenReturn(new RoomRecommendations.Rendered("[]".getBytes(StandardCharsets.UTF_8), "\"abc\"", 1));
+
+        mockMvc.perform(get("/api/v1/rooms/recommend").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
     }
 
     @Test
@@ -189,6 +223,64 @@ class RoomControllerTest extends BaseControllerTest {
         verify(roomService).confirmAvailability(eq(1L), any());
     }
 
+    @Test
+    void reserveRoom_ShouldReturnReservation_WithoutAuthentication() throws Exception {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("req-reserve")
+                .hotelId(1L)
+                .roomType(RoomType.SINGLE)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+
+        AvailabilityConfirmationDTO reservation = AvailabilityConfirmationDTO.builder()
+                .requestId("req-reserve")
+                .roomId(3L)
+                .confirmed(true)
+                .message("Room reserved")
+                .build();
+        when(roomService.reserveLeastLoadedRoom(any())).thenReturn(reservation);
+
+        mockMvc.perform(post("/api/v1/rooms/reserve")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.confirmed").value(true))
+                .andExpect(jsonPath("$.roomId").value(3));
+
+        verify(roomService).reserveLeastLoadedRoom(any());
+    }
+
+    @Test
+    void changeReservation_ShouldReturnConfirmation_WithoutAuthentication() throws Exception {
+        ChangeReservationRequest request = ChangeReservationRequest.builder()
+                .changeId("change-1")
+                .requestId("req-123")
+                .previousRoomId(1L)
+                .previousStartDate(LocalDate.of(2026, 3, 1))
+                .previousEndDate(LocalDate.of(2026, 3, 5))
+                .startDate(LocalDate.of(2026, 3, 3))
+                .endDate(LocalDate.of(2026, 3, 8))
+                .build();
+        when(roomService.changeReservation(eq(2L), any())).thenReturn(AvailabilityConfirmationDTO.builder()
+                .requestId("req-123")
+                .roomId(2L)
+                .confirmed(true)
+                .message("Reservation changed")
+                .build());
+
+        mockMvc.perform(post("/api/v1/rooms/2/change-reservation")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.confirmed").value(true))
+                .andExpect(jsonPath("$.roomId").value(2));
+
+        verify(roomService).changeReservation(eq(2L), any());
+    }
+
     @Test
     void releaseSlot_ShouldReturn200() throws Exception {
         doNothing().when(roomService).releaseSlot(1L, "req-123");
@@ -201,6 +293,16 @@ class RoomControllerTest extends BaseControllerTest {
         verify(roomService).releaseSlot(1L, "req-123");
     }
 
+    @Test
+    void releaseReservation_ShouldReleaseByRequestId_WithoutAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v1/rooms/reserve/release")
+                        .with(csrf())
+                        .param("requestId", "req-auto"))
+                .andExpect(status().isOk());
+
+        verify(roomService).releaseSlot(null, "req-auto");
+    }
+
     @Test
     void getAvailableRooms_ShouldReturn401_WhenUnauthorized() throws Exception {
         mockMvc.perform(get("/api/v1/rooms"))
@@ -0,0 +1,100 @@
+package sf.mephi.hotel.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import sf.mephi.common.constants.HoldStatus;
+import sf.mephi.hotel.config.BaseControllerTest;
+import sf.mephi.hotel.dto.request.CreateHoldRequest;
+import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
+import sf.mephi.hotel.dto.response.RoomHoldDTO;
+import sf.mephi.hotel.exception.RoomUnavailableException;
+import sf.mephi.hotel.service.RoomHoldService;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class RoomHoldControllerTest extends BaseControllerTest {
+
+    @MockitoBean
+    private RoomHoldService roomHoldService;
+
+    private final CreateHoldRequest request = CreateHoldRequest.builder()
+            .requestId("hold-1")
+            .startDate(LocalDate.of(2026, 3, 1))
+            .endDate(LocalDate.of(2026, 3, 5))
+            .build();
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void createHold_ShouldReturnCreated() throws Exception {
+        when(roomHoldService.createHold(eq(1L), any(), eq("user"))).thenReturn(RoomHoldDTO.builder()
+                .holdId("h-1")
+                .roomId(1L)
+                .status(HoldStatus.HELD)
+                .build());
+
+        mockMvc.perform(post("/api/v1/rooms/1/holds")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.holdId").value("h-1"))
+                .andExpect(jsonPath("$.status").value("HELD"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void createHold_ShouldReturnConflict_WhenDatesTaken() throws Exception {
+        when(roomHoldService.createHold(eq(1L), any(), eq("user")))
+                .thenThrow(new RoomUnavailableException("Room is not available for selected dates"));
+
+        mockMvc.perform(post("/api/v1/rooms/1/holds")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void convertHold_ShouldReturnConfirmation_WithoutAuthentication() throws Exception {
+        when(roomHoldService.convertHold("h-1")).thenReturn(AvailabilityConfirmationDTO.builder()
+                .requestId("hold-1")
+                .roomId(1L)
+                .confirmed(true)
+                .build());
+
+        mockMvc.perform(post("/api/v1/rooms/holds/h-1/convert").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.confirmed").value(true));
+
+        verify(roomHoldService).convertHold("h-1");
+    }
+
+    @Test
+    @WithMockUser(username = "alice", roles = "USER")
+    void releaseHold_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/rooms/holds/h-1").with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(roomHoldService).releaseHold("h-1", "alice");
+    }
+
+    @Test
+    @WithMockUser(username = "mallory", roles = "USER")
+    void releaseHold_ShouldReturnForbidden_WhenHoldBelongsToAnotherUser() throws Exception {
+        doThrow(new AccessDeniedException("Hold belongs to another user"))
+                .when(roomHoldService).releaseHold("h-1", "mallory");
+
+        mockMvc.perform(delete("/api/v1/rooms/holds/h-1").with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -9,33 +9,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class RoomTest {
 
-    @Test
-    void incrementTimesBooked_ShouldIncreaseCounter() {
-        Room room = Room.builder().timesBooked(5).build();
-
-        room.incrementTimesBooked();
-
-        assertEquals(6, room.getTimesBooked());
-    }
-
-    @Test
-    void decrementTimesBooked_ShouldDecreaseCounter_WhenAboveZero() {
-        Room room = Room.builder().timesBooked(5).build();
-
-        room.decrementTimesBooked();
-
-        assertEquals(4, room.getTimesBooked());
-    }
-
-    @Test
-    void decrementTimesBooked_ShouldNotGoBelowZero() {
-        Room room = Room.builder().timesBooked(0).build();
-
-        room.decrementTimesBooked();
-
-        assertEquals(0, room.getTimesBooked());
-    }
-
     @Test
     void builder_ShouldCreateRoomWithAllFields() {
         Hotel hotel = Hotel.builder().id(1L).name("Test Hotel").build();
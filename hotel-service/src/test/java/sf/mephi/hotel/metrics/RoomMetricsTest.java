@@ -0,0 +1,61 @@
+package sf.mephi.hotel.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private RoomMetrics roomMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        roomMetrics = new RoomMetrics(registry, 4);
+    }
+
+    @Test
+    void recordLockWait_ShouldTimeIntoRoomBucket() {
+        Optional<String> result = roomMetrics.recordLockWait(6L, () -> Optional.of("room"));
+
+        assertEquals(Optional.of("room"), result);
+        assertEquals(1, registry.get(RoomMetrics.LOCK_WAIT_TIMER).tag("roomBucket", "2").timer().count());
+        assertEquals(0, registry.get(RoomMetrics.LOCK_WAIT_TIMER).tag("roomBucket", "0").timer().count());
+    }
+
+    @Test
+    void bucketOf_ShouldHandleNullAndNegativeIds() {
+        assertEquals(0, roomMetrics.bucketOf(null));
+        assertEquals(3, roomMetrics.bucketOf(-1L));
+    }
+
+    @Test
+    void counters_ShouldTrackFailuresAndCacheRequests() {
+        roomMetrics.recordOptimisticLockFailure();
+        roomMetrics.recordCacheHit();
+        roomMetrics.recordCacheMiss();
+        roomMetrics.recordCacheMiss();
+
+        assertEquals(1.0, registry.get(RoomMetrics.OPTIMISTIC_FAILURES_COUNTER).counter().count());
+        assertEquals(1.0, registry.get(RoomMetrics.IDEMPOTENCY_CACHE_REQUESTS).tag("result", "hit").counter().count());
+        assertEquals(2.0, registry.get(RoomMetrics.IDEMPOTENCY_CACHE_REQUESTS).tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void bindIdempotencyCache_ShouldReportCurrentSize() {
+        Map<String, String> cache = new ConcurrentHashMap<>();
+        roomMetrics.bindIdempotencyCache(cache);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertEquals(2.0, registry.get(RoomMetrics.IDEMPOTENCY_CACHE_SIZE).gauge().value());
+    }
+}
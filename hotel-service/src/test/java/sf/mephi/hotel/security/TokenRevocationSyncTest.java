@@ -0,0 +1,82 @@
+package sf.mephi.hotel.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import sf.mephi.common.security.TokenRevocationList;
+import sf.mephi.hotel.dto.external.TokenRevocationsDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TokenRevocationSyncTest {
+
+    private final TokenRevocationList tokenRevocationList = new TokenRevocationList(100, 0.01);
+    private final TokenRevocationSync sync = new TokenRevocationSync(mock(RestClient.class), tokenRevocationList);
+
+    @Test
+    void apply_ShouldRevokeTokensAndAdvanceCursor() {
+        boolean more = sync.apply(page(5L, entry(4L, "jti-4"), entry(5L, "jti-5")));
+
+        assertFalse(more);
+        assertEquals(5L, sync.cursor());
+        assertTrue(tokenRevocationList.isRevoked("jti-4"));
+        assertTrue(tokenRevocationList.isRevoked("jti-5"));
+    }
+
+    @Test
+    void apply_ShouldRequestNextPage_WhenFeedHasMore() {
+        assertTrue(sync.apply(page(10L, entry(1L, "jti-1"))));
+        assertEquals(1L, sync.cursor());
+    }
+
+    @Test
+    void apply_ShouldResetCursor_WhenFeedEpochChanges() {
+        sync.apply(page("epoch-1", 7L, entry(7L, "jti-7")));
+
+        // Новая БД Booking Service: id начались заново и уже обогнали прежний курсор
+        boolean more = sync.apply(page("epoch-2", 9L, entry(9L, "jti-9")));
+
+        assertTrue(more);
+        assertEquals(0L, sync.cursor());
+        assertTrue(tokenRevocationList.isRevoked("jti-7"));
+
+        sync.apply(page("epoch-2", 9L, entry(3L, "jti-3"), entry(9L, "jti-9")));
+        assertEquals(9L, sync.cursor());
+        assertTrue(tokenRevocationList.isRevoked("jti-3"));
+    }
+
+    @Test
+    void apply_ShouldApplyLateCommittedRevocationBelowCursor_WithoutMovingCursor() {
+        sync.apply(page(6L, entry(6L, "jti-6")));
+
+        // id 5 зафиксирован после id 6 - приходит в повторе недавних отзывов
+        boolean more = sync.apply(page(6L, entry(5L, "jti-5"), entry(6L, "jti-6")));
+
+        assertFalse(more);
+        assertEquals(6L, sync.cursor());
+        assertTrue(tokenRevocationList.isRevoked("jti-5"));
+    }
+
+    private static TokenRevocationsDTO page(Long latestId, TokenRevocationsDTO.Entry... entries) {
+        return page("epoch", latestId, entries);
+    }
+
+    private static TokenRevocationsDTO page(String epoch, Long latestId, TokenRevocationsDTO.Entry... entries) {
+        return TokenRevocationsDTO.builder()
+                .epoch(epoch)
+                .revocations(List.of(entries))
+                .latestId(latestId)
+                .build();
+    }
+
+    private static TokenRevocationsDTO.Entry entry(Long id, String tokenId) {
+        return TokenRevocationsDTO.Entry.builder()
+                .id(id)
+                .tokenId(tokenId)
+                .expiresAt(Instant.now().plusSeconds(600))
+                .build();
+    }
+}
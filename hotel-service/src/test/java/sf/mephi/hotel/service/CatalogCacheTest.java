@@ -0,0 +1,149 @@
+package sf.mephi.hotel.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.dto.request.CreateRoomRequest;
+import sf.mephi.hotel.dto.response.RoomDTO;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Кеш второго уровня и кеш запросов каталога на реальной БД (H2): повторные чтения не выполняют SQL,
+ * изменения через Hibernate и сброс счётчиков бронирований инвалидируют кеш.
+ * Номера создаются в Business Center Hotel (hotelId = 4) и удаляются после теста.
+ */
+@SpringBootTest
+class CatalogCacheTest {
+
+    private static final long HOTEL_ID = 4L;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomBookingCounters roomBookingCounters;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long createdRoomId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        if (createdRoomId != null) {
+            roomService.deleteRoom(createdRoomId);
+        }
+    }
+
+    private RoomDTO createRoom(String roomNumber, RoomType roomType) {
+        RoomDTO room = roomService.createRoom(CreateRoomRequest.builder()
+                .hotelId(HOTEL_ID)
+                .roomNumber(roomNumber)
+                .roomType(roomType)
+                .price(new BigDecimal("4000.00"))
+                .build());
+        createdRoomId = room.getId();
+        return room;
+    }
+
+    private List<Long> availableRoomIds(RoomType roomType) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                roomRepository.findByRoomTypeAndAvailableTrue(roomType).stream().map(Room::getId).toList());
+    }
+
+    @Test
+    void catalogReads_ShouldNotHitDatabase_WhenRepeated() {
+        hotelService.getAllHotels();
+        hotelService.getHotelById(HOTEL_ID);
+        hotelService.getHotelsByCity("Moscow");
+        statistics.clear();
+
+        assertFalse(hotelService.getAllHotels().isEmpty());
+        assertEquals(HOTEL_ID, hotelService.getHotelById(HOTEL_ID).getId());
+        assertFalse(hotelService.getHotelsByCity("Moscow").isEmpty());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void hotelRooms_ShouldBeEvicted_WhenRoomIsCreated() {
+        int before = hotelService.getHotelById(HOTEL_ID).getTotalRooms();
+
+        createRoom("cache-1", RoomType.SINGLE);
+
+        assertEquals(before + 1, hotelService.getHotelById(HOTEL_ID).getTotalRooms());
+    }
+
+    @Test
+    void roomTypeQuery_ShouldBeInvalidated_WhenRoomTypeChanges() {
+        Long roomId = createRoom("cache-2", RoomType.FAMILY).getId();
+        assertTrue(availableRoomIds(RoomType.FAMILY).contains(roomId));
+        statistics.clear();
+        assertTrue(availableRoomIds(RoomType.FAMILY).contains(roomId));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        roomService.updateRoom(roomId, CreateRoomRequest.builder()
+                .hotelId(HOTEL_ID)
+                .roomNumber("cache-2")
+                .roomType(RoomType.TWIN)
+                .price(new BigDecimal("4000.00"))
+                .build());
+
+        assertFalse(availableRoomIds(RoomType.FAMILY).contains(roomId));
+        assertTrue(availableRoomIds(RoomType.TWIN).contains(roomId));
+    }
+
+    @Test
+    void counterFlush_ShouldEvictRoom_SoTimesBookedIsReloaded() {
+        Long roomId = createRoom("cache-3", RoomType.DOUBLE).getId();
+        Room cached = roomRepository.findById(roomId).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(Room.class, roomId));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                roomBookingCounters.increment(cached, "cache-flush-1"));
+        roomBookingCounters.flush();
+
+        assertFalse(entityManagerFactory.getCache().contains(Room.class, roomId));
+        int persisted = jdbcTemplate.queryForObject("SELECT times_booked FROM rooms WHERE id = ?", Integer.class, roomId);
+        assertEquals(1, persisted);
+        assertEquals(persisted, roomRepository.findById(roomId).orElseThrow().getTimesBooked());
+    }
+}
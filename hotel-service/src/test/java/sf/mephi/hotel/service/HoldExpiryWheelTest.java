@@ -0,0 +1,56 @@
+package sf.mephi.hotel.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldExpiryWheelTest {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    void advance_ShouldReturnHoldsOnlyAfterDeadline() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(TICK, 8, 0);
+        wheel.schedule(1L, 2_500);
+        wheel.schedule(2L, 5_000);
+
+        assertEquals(List.of(), wheel.advance(2_000));
+        assertEquals(List.of(1L), wheel.advance(3_000));
+        assertEquals(List.of(2L), wheel.advance(5_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldKeepDeadlinesBeyondOneRevolution() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(TICK, 8, 0);
+        wheel.schedule(1L, 11_000); // тот же слот, что и тик 3, но через оборот
+
+        assertEquals(List.of(), wheel.advance(3_000));
+        assertEquals(List.of(), wheel.advance(10_000));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(1L), wheel.advance(11_000));
+    }
+
+    @Test
+    void advance_ShouldExpireOverdueHolds_ScheduledAfterTheirSlotPassed() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(TICK, 8, 0);
+        wheel.advance(4_000);
+
+        wheel.schedule(1L, 1_000); // восстановление после рестарта: дедлайн уже прошёл
+
+        assertEquals(List.of(1L), wheel.advance(5_000));
+    }
+
+    @Test
+    void advance_ShouldCoverWholeWheel_AfterLongPause() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(TICK, 8, 0);
+        for (long id = 1; id <= 8; id++) {
+            wheel.schedule(id, id * TICK);
+        }
+
+        assertEquals(8, wheel.advance(100_000).size());
+        assertEquals(0, wheel.size());
+    }
+}
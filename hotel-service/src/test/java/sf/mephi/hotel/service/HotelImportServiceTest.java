@@ -0,0 +1,117 @@
+package sf.mephi.hotel.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.hotel.dto.response.HotelImportResultDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Массовая загрузка на реальной БД (H2): пакетные вставки с идентификаторами из пула последовательности.
+ * Существующий отель - Seaside Hotel (hotelId = 5), не задействованный другими интеграционными тестами.
+ */
+@SpringBootTest
+class HotelImportServiceTest {
+
+    private static final int ROOMS_PER_HOTEL = 600;
+
+    @Autowired
+    private HotelImportService hotelImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    @Test
+    void importCsv_ShouldCreateHotelsAndRoomsAcrossFlushBoundaries() {
+        StringBuilder csv = new StringBuilder("hotelName,address,city,roomNumber,roomType,price,available\n");
+        for (int hotel = 1; hotel <= 2; hotel++) {
+            for (int room = 1; room <= ROOMS_PER_HOTEL; room++) {
+                csv.append(String.format("\"Chain Hotel %d\",\"%d Chain St, bld. 1\",Kazan,%d,DOUBLE,4500.00,%n",
+                        hotel, hotel, room));
+            }
+        }
+
+        HotelImportResultDTO result = hotelImportService.importCsv(body(csv.toString()));
+
+        assertEquals(2 * ROOMS_PER_HOTEL, result.getRows());
+        assertEquals(2, result.getHotelsCreated());
+        assertEquals(2 * ROOMS_PER_HOTEL, result.getRoomsCreated());
+        assertEquals(2 * ROOMS_PER_HOTEL, count(
+                "SELECT COUNT(*) FROM rooms r JOIN hotels h ON h.id = r.hotel_id WHERE h.name LIKE 'Chain Hotel %'"));
+        // Идентификаторы из пула последовательности не пересекаются с предзаполненными (data.sql)
+        assertTrue(count("SELECT MIN(id) FROM hotels WHERE name LIKE 'Chain Hotel %'") > 5);
+        assertEquals("1 Chain St, bld. 1", jdbcTemplate.queryForObject(
+                "SELECT address FROM hotels WHERE name = 'Chain Hotel 1'", String.class));
+    }
+
+    @Test
+    void importNdjson_ShouldAddRoomsToExistingHotel() {
+        String ndjson = """
+                {"hotelName":"Seaside Hotel","address":"654 Beach Way","city":"Sochi","roomNumber":"505","roomType":"SINGLE","price":6000}
+
+                {"hotelName":"Seaside Hotel","address":"654 Beach Way","city":"Sochi","roomNumber":"506","roomType":"TWIN","price":7000,"available":false}
+                """;
+
+        HotelImportResultDTO result = hotelImportService.importNdjson(body(ndjson));
+
+        assertEquals(0, result.getHotelsCreated());
+        assertEquals(2, result.getRoomsCreated());
+        assertEquals(1, count("SELECT COUNT(*) FROM rooms WHERE hotel_id = 5 AND room_number = '506' AND available = false"));
+    }
+
+    @Test
+    void importNdjson_ShouldRollBackEverything_WhenRoomNumberIsTaken() {
+        String ndjson = """
+                {"hotelName":"Rollback Hotel","address":"1 Undo St","city":"Omsk","roomNumber":"1","roomType":"SINGLE","price":1000}
+                {"hotelName":"Seaside Hotel","address":"654 Beach Way","city":"Sochi","roomNumber":"501","roomType":"DOUBLE","price":8000}
+                """;
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> hotelImportService.importNdjson(body(ndjson)));
+
+        assertTrue(exception.getMessage().startsWith("Import line 2:"), exception.getMessage());
+        assertEquals(0, count("SELECT COUNT(*) FROM hotels WHERE name = 'Rollback Hotel'"));
+    }
+
+    @Test
+    void importCsv_ShouldRejectRoomWithoutPrice() {
+        String csv = """
+                hotelName,address,city,roomNumber,roomType
+                Priceless Hotel,2 Free St,Omsk,10,SINGLE
+                """;
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> hotelImportService.importCsv(body(csv)));
+
+        assertEquals("Import line 2: room type and price are required for a room", exception.getMessage());
+    }
+
+    @Test
+    void importCsv_ShouldRejectUnknownColumn() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> hotelImportService.importCsv(body("hotelName,stars\n")));
+
+        assertTrue(exception.getMessage().contains("unknown column 'stars'"));
+    }
+
+    @Test
+    void splitCsv_ShouldHandleQuotedFields() {
+        assertEquals(List.of("Inn \"Old\", Town", "", "101"), HotelImportService.splitCsv("\"Inn \"\"Old\"\", Town\",,101"));
+    }
+}
@@ -32,6 +32,12 @@ class HotelServiceTest {
     @Mock
     private HotelMapper hotelMapper;
 
+    @Mock
+    private RoomRecommendations roomRecommendations;
+
+    @Mock
+    private RoomLoadIndex roomLoadIndex;
+
     @InjectMocks
     private HotelService hotelService;
 
@@ -221,6 +227,8 @@ class HotelServiceTest {
 
         verify(hotelRepository).existsById(hotelId);
         verify(hotelRepository).deleteById(hotelId);
+        verify(roomLoadIndex).evictAll();
+        verify(roomRecommendations).invalidate();
     }
 
     @Test
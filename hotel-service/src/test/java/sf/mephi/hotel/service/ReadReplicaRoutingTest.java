@@ -0,0 +1,71 @@
+package sf.mephi.hotel.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.common.datasource.ReplicaLagMonitor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Маршрутизация чтения на реальном контексте: readOnly-методы сервисов идут в пул реплики,
+ * пишущие транзакции - в пул основной БД
+ */
+@SpringBootTest
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private double connections(String target) {
+        return meterRegistry.get("hms.datasource.connections").tag("target", target).counter().count();
+    }
+
+    @Test
+    void readOnlyServiceMethods_ShouldUseReplica_WhenReplicaIsInSync() {
+        replicaLagMonitor.heartbeat();
+        // Отели могли остаться в кеше второго уровня от других тестов: чтение должно дойти до БД
+        entityManagerFactory.getCache().evictAll();
+        double before = connections("replica");
+
+        assertFalse(roomService.getAvailableRooms().isEmpty());
+        assertFalse(hotelService.getAllHotels().isEmpty());
+
+        assertEquals(before + 2, connections("replica"), 0.0);
+        assertTrue(replicaLagMonitor.lagMillis() >= 0);
+    }
+
+    @Test
+    void writeTransaction_ShouldUsePrimary() {
+        replicaLagMonitor.heartbeat();
+        double before = connections("primary");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hotels", Integer.class));
+
+        assertTrue(connections("primary") > before);
+    }
+}
@@ -0,0 +1,101 @@
+package sf.mephi.hotel.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Счётчики бронирований на реальной БД (H2): журнал, пакетный сброс и восстановление.
+ * Используются номера Park Resort (hotelId = 3), не задействованные другими интеграционными тестами.
+ */
+@SpringBootTest
+class RoomBookingCountersTest {
+
+    private static final long HOTEL_ID = 3L;
+
+    @Autowired
+    private RoomBookingCounters roomBookingCounters;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Room room(String roomNumber) {
+        return roomRepository.findByHotelId(HOTEL_ID).stream()
+                .filter(room -> room.getRoomNumber().equals(roomNumber))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int persistedTimesBooked(Long roomId) {
+        return jdbcTemplate.queryForObject("SELECT times_booked FROM rooms WHERE id = ?", Integer.class, roomId);
+    }
+
+    private int journalSize(Long roomId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM room_booking_journal WHERE room_id = ?", Integer.class, roomId);
+    }
+
+    @Test
+    void flush_ShouldApplyJournalToRoomsAndClearIt() {
+        Room room = room("301");
+        int before = roomBookingCounters.current(room);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            roomBookingCounters.increment(room, "counter-1");
+            roomBookingCounters.increment(room, "counter-2");
+        });
+        tx.executeWithoutResult(status -> assertTrue(roomBookingCounters.decrement(room, "counter-2")));
+
+        assertEquals(before + 1, roomBookingCounters.current(room));
+
+        roomBookingCounters.flush();
+
+        assertEquals(before + 1, persistedTimesBooked(room.getId()));
+        assertEquals(0, journalSize(room.getId()));
+        assertEquals(before + 1, roomBookingCounters.current(room));
+    }
+
+    @Test
+    void increment_ShouldNotChangeCounter_WhenTransactionRolledBack() {
+        Room room = room("302");
+        int before = roomBookingCounters.current(room);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            roomBookingCounters.increment(room, "counter-rollback");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before, roomBookingCounters.current(room));
+        assertEquals(0, journalSize(room.getId()));
+    }
+
+    @Test
+    void recover_ShouldApplyJournalLeftAfterCrash() {
+        Room room = room("304");
+        int before = persistedTimesBooked(room.getId());
+
+        // Записи, не перенесённые до остановки сервиса
+        jdbcTemplate.update("INSERT INTO room_booking_journal (room_id, delta, request_id, created_at) "
+                + "VALUES (?, 1, 'crash-1', CURRENT_TIMESTAMP), (?, 1, 'crash-2', CURRENT_TIMESTAMP)",
+                room.getId(), room.getId());
+
+        roomBookingCounters.recover();
+
+        assertEquals(before + 2, persistedTimesBooked(room.getId()));
+        assertEquals(0, journalSize(room.getId()));
+    }
+}
@@ -0,0 +1,211 @@
+package sf.mephi.hotel.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import sf.mephi.common.constants.HoldStatus;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.hotel.dto.request.CreateHoldRequest;
+import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
+import sf.mephi.hotel.dto.response.RoomHoldDTO;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.entity.RoomHold;
+import sf.mephi.hotel.exception.RoomUnavailableException;
+import sf.mephi.hotel.mapper.RoomHoldMapper;
+import sf.mephi.hotel.metrics.RoomMetrics;
+import sf.mephi.hotel.repository.RoomHoldRepository;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomHoldServiceTest {
+
+    @Mock
+    private RoomHoldRepository roomHoldRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomHoldMapper roomHoldMapper;
+
+    @Mock
+    private RoomBookingCounters roomBookingCounters;
+
+    @Mock
+    private RoomLoadIndex roomLoadIndex;
+
+    @Mock
+    private RoomRecommendations roomRecommendations;
+
+    private RoomHoldService roomHoldService;
+
+    private Room room;
+    private CreateHoldRequest request;
+
+    @BeforeEach
+    void setUp() {
+        roomHoldService = new RoomHoldService(roomHoldRepository, roomRepository, roomHoldMapper,
+                new RoomMetrics(new SimpleMeterRegistry(), 16), roomBookingCounters, roomLoadIndex,
+                roomRecommendations, Duration.ofMinutes(10), Duration.ofMillis(10), 64);
+
+        room = Room.builder().id(1L).available(true).timesBooked(3).build();
+        request = CreateHoldRequest.builder()
+                .requestId("hold-1")
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+    }
+
+    private RoomHold hold(HoldStatus status, LocalDateTime expiresAt) {
+        return RoomHold.builder()
+                .id(10L)
+                .holdId("h-1")
+                .requestId("hold-1")
+                .roomId(1L)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .status(status)
+                .createdBy("alice")
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    void createHold_ShouldHoldRoomWithDefaultTtl_WhenDatesFree() {
+        when(roomRepository.findByIdWithLock(1L)).thenReturn(Optional.of(room));
+        when(roomHoldRepository.save(any(RoomHold.class))).thenAnswer(invocation -> {
+            RoomHold saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+        when(roomHoldMapper.toDTO(any(RoomHold.class))).thenReturn(RoomHoldDTO.builder().status(HoldStatus.HELD).build());
+
+        LocalDateTime before = LocalDateTime.now();
+        roomHoldService.createHold(1L, request, "alice");
+
+        verify(roomHoldRepository).save(argThat(hold -> hold.getStatus() == HoldStatus.HELD
+                && hold.getRoomId() == 1L
+                && hold.getHoldId() != null
+                && "alice".equals(hold.getCreatedBy())
+                && !hold.getExpiresAt().isBefore(before.plusMinutes(10))));
+    }
+
+    @Test
+    void createHold_ShouldThrowConflict_WhenDatesOverlapActiveHold() {
+        when(roomRepository.findByIdWithLock(1L)).thenReturn(Optional.of(room));
+        when(roomHoldRepository.existsOverlapping(eq(1L), eq(request.getStartDate()), eq(request.getEndDate()), any()))
+                .thenReturn(true);
+
+        assertThrows(RoomUnavailableException.class, () -> roomHoldService.createHold(1L, request, "alice"));
+        verify(roomHoldRepository, never()).save(any());
+    }
+
+    @Test
+    void createHold_ShouldReturnExistingHold_WhenRequestIdRepeated() {
+        RoomHold existing = hold(HoldStatus.HELD, LocalDateTime.now().plusMinutes(5));
+        RoomHoldDTO dto = RoomHoldDTO.builder().holdId("h-1").build();
+        when(roomHoldRepository.findByRequestId("hold-1")).thenReturn(Optional.of(existing));
+        when(roomHoldMapper.toDTO(existing)).thenReturn(dto);
+
+        assertSame(dto, roomHoldService.createHold(1L, request, "alice"));
+        verify(roomRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void createHold_ShouldThrowValidationException_WhenDateRangeInvalid() {
+        request.setEndDate(request.getStartDate());
+
+        assertThrows(ValidationException.class, () -> roomHoldService.createHold(1L, request, "alice"));
+    }
+
+    @Test
+    void convertHold_ShouldConfirmRoom_WhenHoldActive() {
+        RoomHold hold = hold(HoldStatus.HELD, LocalDateTime.now().plusMinutes(5));
+        when(roomHoldRepository.findByHoldIdForUpdate("h-1")).thenReturn(Optional.of(hold));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+
+        AvailabilityConfirmationDTO result = roomHoldService.convertHold("h-1");
+
+        assertTrue(result.getConfirmed());
+        assertEquals("hold-1", result.getRequestId());
+        assertEquals(HoldStatus.CONVERTED, hold.getStatus());
+        verify(roomBookingCounters).increment(room, "hold-1");
+        verify(roomLoadIndex).onLoadChanged(room);
+        verify(roomRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void convertHold_ShouldReject_WhenHoldExpired() {
+        RoomHold hold = hold(HoldStatus.HELD, LocalDateTime.now().minusSeconds(1));
+        when(roomHoldRepository.findByHoldIdForUpdate("h-1")).thenReturn(Optional.of(hold));
+
+        AvailabilityConfirmationDTO result = roomHoldService.convertHold("h-1");
+
+        assertFalse(result.getConfirmed());
+        assertEquals(HoldStatus.EXPIRED, hold.getStatus());
+        verify(roomBookingCounters, never()).increment(any(), any());
+    }
+
+    @Test
+    void releaseHold_ShouldReleaseSlot_WhenHoldConverted() {
+        RoomHold hold = hold(HoldStatus.CONVERTED, LocalDateTime.now().minusMinutes(1));
+        when(roomHoldRepository.findByHoldIdForUpdate("h-1")).thenReturn(Optional.of(hold));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomBookingCounters.decrement(room, "hold-1")).thenReturn(true);
+
+        roomHoldService.releaseHold("h-1", "alice");
+
+        assertEquals(HoldStatus.RELEASED, hold.getStatus());
+        verify(roomBookingCounters).decrement(room, "hold-1");
+    }
+
+    @Test
+    void releaseHold_ShouldDeny_WhenHoldBelongsToAnotherUser() {
+        RoomHold hold = hold(HoldStatus.HELD, LocalDateTime.now().plusMinutes(5));
+        when(roomHoldRepository.findByHoldIdForUpdate("h-1")).thenReturn(Optional.of(hold));
+
+        assertThrows(AccessDeniedException.class, () -> roomHoldService.releaseHold("h-1", "mallory"));
+        assertEquals(HoldStatus.HELD, hold.getStatus());
+    }
+
+    @Test
+    void releaseHold_ShouldDeny_WhenRowIsSagaReservation() {
+        RoomHold reservation = hold(HoldStatus.CONVERTED, LocalDateTime.now());
+        reservation.setCreatedBy(null);
+        when(roomHoldRepository.findByHoldIdForUpdate("h-1")).thenReturn(Optional.of(reservation));
+
+        assertThrows(AccessDeniedException.class, () -> roomHoldService.releaseHold("h-1", "alice"));
+        verify(roomBookingCounters, never()).decrement(any(), any());
+    }
+
+    @Test
+    void sweepExpired_ShouldExpireOnlyHoldsWhoseSlotPassed() throws InterruptedException {
+        RoomHold expiring = hold(HoldStatus.HELD, LocalDateTime.now());
+        when(roomHoldRepository.findByStatus(HoldStatus.HELD)).thenReturn(List.of(expiring));
+        when(roomHoldRepository.expire(anyCollection(), any())).thenReturn(1);
+
+        roomHoldService.scheduleActiveHolds();
+        Thread.sleep(30);
+
+        assertEquals(1, roomHoldService.sweepExpired());
+        verify(roomHoldRepository).expire(eq(List.of(10L)), any());
+        assertEquals(0, roomHoldService.sweepExpired());
+        verifyNoMoreInteractions(roomHoldRepository);
+    }
+}
@@ -0,0 +1,144 @@
+package sf.mephi.hotel.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomLoadIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomBookingCounters roomBookingCounters;
+
+    private RoomLoadIndex index;
+
+    private Room room1;
+    private Room room2;
+    private Room room3;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomLoadIndex(roomRepository, roomBookingCounters);
+        lenient().when(roomBookingCounters.current(any(Room.class)))
+                .thenAnswer(invocation -> invocation.<Room>getArgument(0).getTimesBooked());
+
+        room1 = Room.builder().id(1L).timesBooked(5).build();
+        room2 = Room.builder().id(2L).timesBooked(2).build();
+        room3 = Room.builder().id(3L).timesBooked(8).build();
+    }
+
+    private void givenGroup(Room... rooms) {
+        when(roomRepository.findAvailableRoomsByTypeOrderByLoad(1L, RoomType.DOUBLE)).thenReturn(List.of(rooms));
+    }
+
+    @Test
+    void leastLoaded_ShouldLoadGroupOnce_AndReturnMinimum() {
+        givenGroup(room2, room1, room3);
+
+        assertEquals(2L, index.leastLoaded(1L, RoomType.DOUBLE).orElseThrow().roomId());
+        assertEquals(2L, index.leastLoaded(1L, RoomType.DOUBLE).orElseThrow().roomId());
+
+        verify(roomRepository, times(1)).findAvailableRoomsByTypeOrderByLoad(1L, RoomType.DOUBLE);
+    }
+
+    @Test
+    void leastLoaded_ShouldReturnEmpty_WhenNoAvailableRooms() {
+        givenGroup();
+
+        assertTrue(index.leastLoaded(1L, RoomType.DOUBLE).isEmpty());
+        assertEquals(0, index.stats(1L, RoomType.DOUBLE).rooms());
+    }
+
+    @Test
+    void onLoadChanged_ShouldReorderRooms_AndUpdateRunningAggregates() {
+        givenGroup(room2, room1, room3);
+        index.leastLoaded(1L, RoomType.DOUBLE);
+
+        room2.setTimesBooked(6);
+        index.onLoadChanged(room2);
+
+        assertEquals(1L, index.leastLoaded(1L, RoomType.DOUBLE).orElseThrow().roomId());
+        RoomLoadIndex.LoadStats stats = index.stats(1L, RoomType.DOUBLE);
+        assertEquals(3, stats.rooms());
+        assertEquals(19, stats.totalLoad());
+        assertEquals(5, stats.minLoad());
+        assertEquals(8, stats.maxLoad());
+        assertEquals(19 / 3.0, stats.averageLoad(), 1e-9);
+    }
+
+    @Test
+    void onLoadChanged_ShouldIgnoreChange_WhenTransactionRolledBack() {
+        givenGroup(room2, room1);
+        index.leastLoaded(1L, RoomType.DOUBLE);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            room2.setTimesBooked(10);
+            index.onLoadChanged(room2);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2L, index.leastLoaded(1L, RoomType.DOUBLE).orElseThrow().roomId());
+        assertEquals(7, index.stats(1L, RoomType.DOUBLE).totalLoad());
+    }
+
+    @Test
+    void evictRoom_ShouldReloadGroupOnNextAccess() {
+        givenGroup(room2, room1);
+        index.leastLoaded(1L, RoomType.DOUBLE);
+
+        index.evictRoom(2L);
+        givenGroup(room1);
+
+        assertEquals(1L, index.leastLoaded(1L, RoomType.DOUBLE).orElseThrow().roomId());
+        verify(roomRepository, times(2)).findAvailableRoomsByTypeOrderByLoad(1L, RoomType.DOUBLE);
+    }
+
+    @Test
+    void onLoadChanged_ShouldKeepAggregatesConsistent_WhenUpdatedConcurrently() throws InterruptedException {
+        int rooms = 200;
+        Room[] group = new Room[rooms];
+        for (int i = 0; i < rooms; i++) {
+            group[i] = Room.builder().id((long) i).timesBooked(0).build();
+        }
+        givenGroup(group);
+        index.leastLoaded(1L, RoomType.DOUBLE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < rooms; i++) {
+            Room room = group[i];
+            int load = i % 10;
+            executor.submit(() -> index.onLoadChanged(Room.builder().id(room.getId()).timesBooked(load).build()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        RoomLoadIndex.LoadStats stats = index.stats(1L, RoomType.DOUBLE);
+        assertEquals(rooms, stats.rooms());
+        assertEquals(20L * 45, stats.totalLoad());
+        assertEquals(0, stats.minLoad());
+        assertEquals(9, stats.maxLoad());
+    }
+}
@@ -0,0 +1,151 @@
+package sf.mephi.hotel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.entity.Hotel;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRecommendationsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomBookingCounters roomBookingCounters;
+
+    private RoomRecommendations recommendations;
+
+    private Hotel grand;
+    private Hotel cityInn;
+    private Room room1;
+    private Room room2;
+    private Room room3;
+
+    @BeforeEach
+    void setUp() {
+        recommendations = new RoomRecommendations(roomRepository, roomBookingCounters, objectMapper);
+        lenient().when(roomBookingCounters.current(any(Room.class)))
+                .thenAnswer(invocation -> invocation.<Room>getArgument(0).getTimesBooked());
+
+        grand = Hotel.builder().id(1L).name("Grand Hotel").build();
+        cityInn = Hotel.builder().id(2L).name("City Inn").build();
+        room1 = room(1L, grand, RoomType.SINGLE, "3000", 5);
+        room2 = room(2L, grand, RoomType.DOUBLE, "5000", 2);
+        room3 = room(3L, cityInn, RoomType.DOUBLE, "4500", 8);
+        lenient().when(roomRepository.findAllAvailableWithHotel()).thenReturn(List.of(room1, room2, room3));
+    }
+
+    private static Room room(Long id, Hotel hotel, RoomType type, String price, int timesBooked) {
+        return Room.builder()
+                .id(id)
+                .hotel(hotel)
+                .roomNumber(String.valueOf(100 + id))
+                .roomType(type)
+                .price(new BigDecimal(price))
+                .available(true)
+                .timesBooked(timesBooked)
+                .build();
+    }
+
+    private List<Long> ids(RoomRecommendations.Filter filter) throws Exception {
+        JsonNode json = objectMapper.readTree(recommendations.recommend(filter).json());
+        List<Long> ids = new ArrayList<>();
+        json.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+
+    @Test
+    void recommend_ShouldReturnRoomsOrderedByLoad_AndLoadOnce() throws Exception {
+        assertEquals(List.of(2L, 1L, 3L), ids(RoomRecommendations.Filter.NONE));
+        assertEquals(List.of(2L, 1L, 3L), ids(RoomRecommendations.Filter.NONE));
+
+        JsonNode first = objectMapper.readTree(recommendations.recommend(RoomRecommendations.Filter.NONE).json()).get(0);
+        assertEquals("Grand Hotel", first.get("hotelName").asText());
+        assertEquals(2, first.get("timesBooked").asInt());
+        verify(roomRepository, times(1)).findAllAvailableWithHotel();
+    }
+
+    @Test
+    void recommend_ShouldApplyFilter() throws Exception {
+        assertEquals(List.of(2L, 1L), ids(new RoomRecommendations.Filter(1L, null, null, null)));
+        assertEquals(List.of(2L, 3L), ids(new RoomRecommendations.Filter(null, RoomType.DOUBLE, null, null)));
+        assertEquals(List.of(1L, 3L), ids(new RoomRecommendations.Filter(null, null, null, new BigDecimal("4500"))));
+        assertEquals(List.of(3L), ids(new RoomRecommendations.Filter(2L, RoomType.DOUBLE, new BigDecimal("4000"), null)));
+    }
+
+    @Test
+    void recommend_ShouldReuseRenderedResponse_UntilRankingChanges() throws Exception {
+        RoomRecommendations.Rendered before = recommendations.recommend(RoomRecommendations.Filter.NONE);
+        assertSame(before, recommendations.recommend(RoomRecommendations.Filter.NONE));
+
+        room2.setTimesBooked(9);
+        recommendations.onLoadChanged(room2);
+
+        RoomRecommendations.Rendered after = recommendations.recommend(RoomRecommendations.Filter.NONE);
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(List.of(1L, 3L, 2L), ids(RoomRecommendations.Filter.NONE));
+    }
+
+    @Test
+    void onLoadChanged_ShouldIgnoreChange_WhenTransactionRolledBack() throws Exception {
+        String etag = recommendations.recommend(RoomRecommendations.Filter.NONE).etag();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            room2.setTimesBooked(10);
+            recommendations.onLoadChanged(room2);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(etag, recommendations.recommend(RoomRecommendations.Filter.NONE).etag());
+    }
+
+    @Test
+    void onRoomChanged_ShouldAddUpdateAndRemoveRooms() throws Exception {
+        recommendations.recommend(RoomRecommendations.Filter.NONE);
+
+        recommendations.onRoomChanged(room(4L, cityInn, RoomType.SUITE, "9000", 0));
+        assertEquals(List.of(4L, 2L, 1L, 3L), ids(RoomRecommendations.Filter.NONE));
+
+        room1.setAvailable(false);
+        recommendations.onRoomChanged(room1);
+        recommendations.onRoomDeleted(3L);
+        assertEquals(List.of(4L, 2L), ids(RoomRecommendations.Filter.NONE));
+    }
+
+    @Test
+    void invalidate_ShouldReloadRankingOnNextRead() throws Exception {
+        recommendations.recommend(RoomRecommendations.Filter.NONE);
+
+        Hotel renamed = Hotel.builder().id(1L).name("Grand Hotel Renamed").build();
+        room2.setHotel(renamed);
+        recommendations.invalidate();
+
+        JsonNode first = objectMapper.readTree(recommendations.recommend(RoomRecommendations.Filter.NONE).json()).get(0);
+        assertEquals("Grand Hotel Renamed", first.get("hotelName").asText());
+        verify(roomRepository, times(2)).findAllAvailableWithHotel();
+    }
+}
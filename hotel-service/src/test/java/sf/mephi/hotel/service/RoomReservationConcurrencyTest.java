@@ -0,0 +1,122 @@
+package sf.mephi.hotel.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.dto.request.ConfirmAvailabilityRequest;
+import sf.mephi.hotel.dto.request.CreateHoldRequest;
+import sf.mephi.hotel.dto.request.ReserveRoomRequest;
+import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
+import sf.mephi.hotel.dto.response.RoomHoldDTO;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.exception.RoomUnavailableException;
+import sf.mephi.hotel.repository.RoomRepository;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка FOR UPDATE SKIP LOCKED на реальной БД (H2):
+ * номер, заблокированный другой транзакцией, пропускается без ожидания.
+ * Резервирования Saga и удержания проверяют даты по одной таблице room_holds
+ */
+@SpringBootTest
+class RoomReservationConcurrencyTest {
+
+    private static final long HOTEL_ID = 1L;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldSkipLockedRoom_WhenAnotherTransactionHoldsIt() throws Exception {
+        Room leastLoaded = roomRepository.findByHotelId(HOTEL_ID).stream()
+                .filter(room -> room.getRoomType() == RoomType.DOUBLE && room.getAvailable())
+                .min(Comparator.comparing(Room::getTimesBooked).thenComparing(Room::getId))
+                .orElseThrow();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            roomRepository.findByIdWithLock(leastLoaded.getId()).orElseThrow();
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        try {
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            AvailabilityConfirmationDTO result = roomService.reserveLeastLoadedRoom(ReserveRoomRequest.builder()
+                    .requestId("skip-locked-" + System.nanoTime())
+                    .hotelId(HOTEL_ID)
+                    .roomType(RoomType.DOUBLE)
+                    .startDate(LocalDate.now().plusDays(1))
+                    .endDate(LocalDate.now().plusDays(3))
+                    .build());
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(result.getConfirmed());
+            assertNotEquals(leastLoaded.getId(), result.getRoomId());
+            assertTrue(elapsedMs < 2_000, "reservation waited for the locked row: " + elapsedMs + " ms");
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void confirmAvailability_ShouldBlockOverlappingHold_UntilSlotReleased() {
+        Long roomId = roomRepository.findAllAvailable().get(0).getId();
+        LocalDate start = LocalDate.now().plusYears(3);
+        String requestId = "saga-vs-hold-" + System.nanoTime();
+
+        assertTrue(roomService.confirmAvailability(roomId, ConfirmAvailabilityRequest.builder()
+                .requestId(requestId)
+                .startDate(start)
+                .endDate(start.plusDays(4))
+                .build()).getConfirmed());
+
+        CreateHoldRequest holdRequest = CreateHoldRequest.builder()
+                .requestId(requestId + "-hold")
+                .startDate(start.plusDays(2))
+                .endDate(start.plusDays(6))
+                .build();
+        assertThrows(RoomUnavailableException.class,
+                () -> roomHoldService.createHold(roomId, holdRequest, "alice"));
+
+        roomService.releaseSlot(roomId, requestId);
+        RoomHoldDTO hold = roomHoldService.createHold(roomId, holdRequest, "alice");
+
+        // Действующее удержание не даёт Saga занять те же даты
+        assertFalse(roomService.confirmAvailability(roomId, ConfirmAvailabilityRequest.builder()
+                .requestId(requestId + "-other")
+                .startDate(start.plusDays(5))
+                .endDate(start.plusDays(7))
+                .build()).getConfirmed());
+        roomHoldService.releaseHold(hold.getHoldId(), "alice");
+    }
+}
@@ -1,24 +1,35 @@
 package sf.mephi.hotel.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import sf.mephi.common.constants.ApiConstants;
+import sf.mephi.common.constants.HoldStatus;
 import sf.mephi.common.constants.RoomType;
 import sf.mephi.common.exception.NotFoundException;
+import sf.mephi.common.exception.ValidationException;
+import sf.mephi.hotel.dto.request.ChangeReservationRequest;
 import sf.mephi.hotel.dto.request.ConfirmAvailabilityRequest;
 import sf.mephi.hotel.dto.request.CreateRoomRequest;
+import sf.mephi.hotel.dto.request.ReserveRoomRequest;
 import sf.mephi.hotel.dto.response.AvailabilityConfirmationDTO;
 import sf.mephi.hotel.dto.response.RoomDTO;
 import sf.mephi.hotel.entity.Hotel;
 import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.entity.RoomHold;
 import sf.mephi.hotel.mapper.RoomMapper;
+import sf.mephi.hotel.metrics.RoomMetrics;
 import sf.mephi.hotel.repository.HotelRepository;
+import sf.mephi.hotel.repository.RoomHoldRepository;
 import sf.mephi.hotel.repository.RoomRepository;
+import sf.mephi.hotel.service.selection.PowerOfTwoChoicesStrategy;
+import sf.mephi.hotel.service.selection.RoomSelectionStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -28,6 +39,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,9 +52,27 @@ class RoomServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private RoomHoldRepository roomHoldRepository;
+
     @Mock
     private RoomMapper roomMapper;
 
+    @Spy
+    private RoomMetrics roomMetrics = new RoomMetrics(new SimpleMeterRegistry(), 16);
+
+    @Mock
+    private RoomLoadIndex roomLoadIndex;
+
+    @Mock
+    private RoomBookingCounters roomBookingCounters;
+
+    @Mock
+    private RoomRecommendations roomRecommendations;
+
+    @Spy
+    private RoomSelectionStrategy roomSelectionStrategy = new PowerOfTwoChoicesStrategy();
+
     @InjectMocks
     private RoomService roomService;
 
@@ -69,22 +100,12 @@ class RoomServiceTest {
     }
 
     @Test
-    void getRecommendedRooms_ShouldReturnRoomsSortedByTimesBooked() {
-        Room room1 = Room.builder().id(1L).roomNumber("101").timesBooked(2).build();
-        Room room2 = Room.builder().id(2L).roomNumber("102").timesBooked(5).build();
-        RoomDTO dto1 = RoomDTO.builder().id(1L).timesBooked(2).build();
-        RoomDTO dto2 = RoomDTO.builder().id(2L).timesBooked(5).build();
+    void getRecommendedRooms_ShouldServeFromRanking() {
+        RoomRecommendations.Rendered rendered = new RoomRecommendations.Rendered(new byte[]{'[', ']'}, "\"e\"", 1);
+        when(roomRecommendations.recommend(RoomRecommendations.Filter.NONE)).thenReturn(rendered);
 
-        Pageable pageable = PageRequest.of(0, 100);
-        when(roomRepository.findRecommendedRooms(pageable)).thenReturn(Arrays.asList(room1, room2));
-        when(roomMapper.toDTO(room1)).thenReturn(dto1);
-        when(roomMapper.toDTO(room2)).thenReturn(dto2);
-
-        List<RoomDTO> result = roomService.getRecommendedRooms();
-
-        assertEquals(2, result.size());
-        assertTrue(result.get(0).getTimesBooked() <= result.get(1).getTimesBooked());
-        verify(roomRepository).findRecommendedRooms(any(Pageable.class));
+        assertSame(rendered, roomService.getRecommendedRooms(RoomRecommendations.Filter.NONE));
+        verifyNoInteractions(roomRepository);
     }
 
     @Test
@@ -215,6 +236,7 @@ class RoomServiceTest {
 
         Room existingRoom = Room.builder()
                 .id(roomId)
+                .hotel(Hotel.builder().id(1L).build())
                 .roomNumber("101")
                 .roomType(RoomType.DOUBLE)
                 .price(new BigDecimal("5000.00"))
@@ -292,7 +314,6 @@ class RoomServiceTest {
                 .build();
 
         when(roomRepository.findByIdWithLock(roomId)).thenReturn(Optional.of(room));
-        when(roomRepository.save(any(Room.class))).thenReturn(room);
 
         AvailabilityConfirmationDTO result = roomService.confirmAvailability(roomId, request);
 
@@ -302,8 +323,16 @@ class RoomServiceTest {
         assertTrue(result.getConfirmed());
         assertEquals("Room availability confirmed", result.getMessage());
         verify(roomRepository).findByIdWithLock(roomId);
-        verify(roomRepository).save(room);
-        assertEquals(6, room.getTimesBooked());
+        verify(roomRepository, never()).save(any());
+        verify(roomBookingCounters).increment(room, requestId);
+        verify(roomLoadIndex).onLoadChanged(room);
+        // Даты бронирования записаны в room_holds - их видят удержания
+        verify(roomHoldRepository).save(argThat(hold -> hold.getStatus() == HoldStatus.CONVERTED
+                && hold.getRoomId().equals(roomId)
+                && requestId.equals(hold.getRequestId())
+                && hold.getCreatedBy() == null
+                && hold.getStartDate().equals(request.getStartDate())
+                && hold.getEndDate().equals(request.getEndDate())));
     }
 
     @Test
@@ -318,7 +347,6 @@ class RoomServiceTest {
 
         Room room = Room.builder().id(roomId).available(true).timesBooked(5).build();
         when(roomRepository.findByIdWithLock(roomId)).thenReturn(Optional.of(room));
-        when(roomRepository.save(any(Room.class))).thenReturn(room);
 
         roomService.confirmAvailability(roomId, request);
 
@@ -327,7 +355,8 @@ class RoomServiceTest {
         assertNotNull(result);
         assertTrue(result.getConfirmed());
         verify(roomRepository, times(1)).findByIdWithLock(roomId);
-        verify(roomRepository, times(1)).save(any());
+        verify(roomBookingCounters, times(1)).increment(room, requestId);
+        verify(roomMetrics).recordCacheHit();
     }
 
     @Test
@@ -357,8 +386,63 @@ class RoomServiceTest {
         assertFalse(result.getConfirmed());
         assertEquals("Room is not available", result.getMessage());
         verify(roomRepository).findByIdWithLock(roomId);
-        verify(roomRepository, never()).save(any());
-        assertEquals(5, room.getTimesBooked());
+        verify(roomBookingCounters, never()).increment(any(), any());
+    }
+
+    @Test
+    void confirmAvailability_ShouldRefuse_WhenDatesHeldByAnotherRequest() {
+        Long roomId = 1L;
+        ConfirmAvailabilityRequest request = ConfirmAvailabilityRequest.builder()
+                .requestId("test-request-held")
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+        Room room = Room.builder().id(roomId).available(true).timesBooked(5).build();
+
+        when(roomRepository.findByIdWithLock(roomId)).thenReturn(Optional.of(room));
+        when(roomHoldRepository.existsOverlappingForOtherRequest(eq(roomId), eq(request.getStartDate()),
+                eq(request.getEndDate()), any(), eq("test-request-held"))).thenReturn(true);
+
+        AvailabilityConfirmationDTO result = roomService.confirmAvailability(roomId, request);
+
+        assertFalse(result.getConfirmed());
+        assertEquals(ApiConstants.ERROR_ROOM_UNAVAILABLE, result.getMessage());
+        verify(roomBookingCounters, never()).increment(any(), any());
+
+        // Отказ не кешируется: после снятия удержания повтор проходит
+        when(roomHoldRepository.existsOverlappingForOtherRequest(eq(roomId), any(), any(), any(), any()))
+                .thenReturn(false);
+        assertTrue(roomService.confirmAvailability(roomId, request).getConfirmed());
+    }
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldSkipRoomSelectedByStrategy_WhenDatesHeld() {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("reserve-held")
+                .hotelId(1L)
+                .roomType(RoomType.DOUBLE)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+        Room held = Room.builder().id(9L).available(true).timesBooked(4).build();
+        Room other = Room.builder().id(10L).available(true).timesBooked(6).build();
+
+        when(roomLoadIndex.select(1L, RoomType.DOUBLE, roomSelectionStrategy))
+                .thenReturn(Optional.of(new RoomLoadIndex.LoadEntry(9L, 4)));
+        when(roomRepository.findAvailableByIdForUpdateSkipLocked(9L)).thenReturn(Optional.of(held));
+        when(roomHoldRepository.existsOverlappingForOtherRequest(eq(9L), any(), any(), any(), eq("reserve-held")))
+                .thenReturn(true);
+        when(roomRepository.findLeastLoadedForUpdateSkipLocked(eq(1L), eq(RoomType.DOUBLE),
+                eq(request.getStartDate()), eq(request.getEndDate()), any(), eq("reserve-held"), any(Pageable.class)))
+                .thenReturn(List.of(other));
+
+        AvailabilityConfirmationDTO result = roomService.reserveLeastLoadedRoom(request);
+
+        assertEquals(10L, result.getRoomId());
+        verify(roomBookingCounters, never()).increment(eq(held), any());
+        verify(roomHoldRepository).save(argThat(hold -> hold.getStatus() == HoldStatus.CONVERTED
+                && hold.getRoomId() == 10L
+                && "reserve-held".equals(hold.getRequestId())));
     }
 
     @Test
@@ -380,7 +464,13 @@ class RoomServiceTest {
 
         assertTrue(exception.getMessage().contains("Room not found"));
         verify(roomRepository).findByIdWithLock(roomId);
-        verify(roomRepository, never()).save(any());
+        verify(roomBookingCounters, never()).increment(any(), any());
+    }
+
+    private RoomHold reservation(Long roomId, String requestId) {
+        return RoomHold.builder().id(3L).requestId(requestId).roomId(roomId)
+                .startDate(LocalDate.of(2026, 3, 1)).endDate(LocalDate.of(2026, 3, 5))
+                .status(HoldStatus.CONVERTED).build();
     }
 
     @Test
@@ -394,22 +484,64 @@ class RoomServiceTest {
                 .timesBooked(6)
                 .currentRequestId(requestId)
                 .build();
+        RoomHold reservation = reservation(roomId, requestId);
 
+        when(roomHoldRepository.findByRequestIdForUpdate(requestId)).thenReturn(Optional.of(reservation));
         when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
-        when(roomRepository.save(any(Room.class))).thenReturn(room);
+        when(roomBookingCounters.decrement(room, requestId)).thenReturn(true);
 
         roomService.releaseSlot(roomId, requestId);
 
         verify(roomRepository).findById(roomId);
-        verify(roomRepository).save(room);
-        assertEquals(5, room.getTimesBooked());
+        verify(roomRepository, never()).save(any());
+        verify(roomBookingCounters).decrement(room, requestId);
+        verify(roomLoadIndex).onLoadChanged(room);
         assertNull(room.getCurrentRequestId());
+        assertEquals(HoldStatus.RELEASED, reservation.getStatus());
+    }
+
+    @Test
+    void releaseSlot_ShouldReleaseOnce_WhenRepeated() {
+        Room room = Room.builder().id(1L).available(true).timesBooked(6).build();
+        RoomHold reservation = reservation(1L, "release-twice");
+        when(roomHoldRepository.findByRequestIdForUpdate("release-twice")).thenReturn(Optional.of(reservation));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomBookingCounters.decrement(room, "release-twice")).thenReturn(true);
+
+        roomService.releaseSlot(1L, "release-twice");
+        roomService.releaseSlot(1L, "release-twice");
+
+        verify(roomBookingCounters, times(1)).decrement(any(), any());
+    }
+
+    @Test
+    void releaseSlot_ShouldDoNothing_WhenRequestHoldsNoSlot() {
+        // Hotel Service отказал или запрос до него не дошёл - компенсация не трогает чужие бронирования
+        roomService.releaseSlot(1L, "never-reserved");
+
+        verify(roomRepository, never()).findById(any());
+        verify(roomBookingCounters, never()).decrement(any(), any());
+    }
+
+    @Test
+    void releaseSlot_ShouldReleaseRecordedRoom_WhenRoomUnknownToCaller() {
+        Room room = Room.builder().id(5L).available(true).timesBooked(2).build();
+        when(roomHoldRepository.findByRequestIdForUpdate("auto-timeout"))
+                .thenReturn(Optional.of(reservation(5L, "auto-timeout")));
+        when(roomRepository.findById(5L)).thenReturn(Optional.of(room));
+        when(roomBookingCounters.decrement(room, "auto-timeout")).thenReturn(true);
+
+        roomService.releaseSlot(null, "auto-timeout");
+
+        verify(roomBookingCounters).decrement(room, "auto-timeout");
     }
 
     @Test
     void releaseSlot_ShouldThrowNotFoundException_WhenRoomNotExists() {
         Long roomId = 999L;
         String requestId = "release-request-456";
+        when(roomHoldRepository.findByRequestIdForUpdate(requestId))
+                .thenReturn(Optional.of(reservation(roomId, requestId)));
         when(roomRepository.findById(roomId)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
@@ -419,7 +551,7 @@ class RoomServiceTest {
 
         assertTrue(exception.getMessage().contains("Room not found"));
         verify(roomRepository).findById(roomId);
-        verify(roomRepository, never()).save(any());
+        verify(roomBookingCounters, never()).decrement(any(), any());
     }
 
     @Test
@@ -433,13 +565,260 @@ class RoomServiceTest {
                 .timesBooked(0)
                 .build();
 
+        when(roomHoldRepository.findByRequestIdForUpdate(requestId))
+                .thenReturn(Optional.of(reservation(roomId, requestId)));
         when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
-        when(roomRepository.save(any(Room.class))).thenReturn(room);
+        when(roomBookingCounters.decrement(room, requestId)).thenReturn(false);
 
         roomService.releaseSlot(roomId, requestId);
 
         verify(roomRepository).findById(roomId);
-        verify(roomRepository).save(room);
-        assertEquals(0, room.getTimesBooked());
+        verify(roomLoadIndex, never()).onLoadChanged(any());
+    }
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldReserveFirstUnlockedRoom() {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("reserve-1")
+                .hotelId(1L)
+                .roomType(RoomType.SINGLE)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+        Room room = Room.builder().id(7L).available(true).timesBooked(2).build();
+
+        when(roomRepository.findLeastLoadedForUpdateSkipLocked(eq(1L), eq(RoomType.SINGLE), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(room));
+
+        AvailabilityConfirmationDTO result = roomService.reserveLeastLoadedRoom(request);
+
+        assertTrue(result.getConfirmed());
+        assertEquals(7L, result.getRoomId());
+        verify(roomBookingCounters).increment(room, "reserve-1");
+        verify(roomRepository, never()).save(any());
+        verify(roomLoadIndex).onLoadChanged(room);
+    }
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldReserveRoomSelectedByStrategy() {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("reserve-strategy")
+                .hotelId(1L)
+                .roomType(RoomType.DOUBLE)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+        Room room = Room.builder().id(9L).available(true).timesBooked(4).build();
+
+        when(roomLoadIndex.select(1L, RoomType.DOUBLE, roomSelectionStrategy))
+                .thenReturn(Optional.of(new RoomLoadIndex.LoadEntry(9L, 4)));
+        when(roomRepository.findAvailableByIdForUpdateSkipLocked(9L)).thenReturn(Optional.of(room));
+
+        AvailabilityConfirmationDTO result = roomService.reserveLeastLoadedRoom(request);
+
+        assertEquals(9L, result.getRoomId());
+        verify(roomBookingCounters).increment(room, "reserve-strategy");
+        verify(roomRepository, never()).findLeastLoadedForUpdateSkipLocked(any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldFallBackToSkipLockedQuery_WhenSelectedRoomLocked() {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("reserve-locked")
+                .hotelId(1L)
+                .roomType(RoomType.DOUBLE)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+        Room other = Room.builder().id(10L).available(true).timesBooked(6).build();
+
+        when(roomLoadIndex.select(1L, RoomType.DOUBLE, roomSelectionStrategy))
+                .thenReturn(Optional.of(new RoomLoadIndex.LoadEntry(9L, 4)));
+        when(roomRepository.findAvailableByIdForUpdateSkipLocked(9L)).thenReturn(Optional.empty());
+        when(roomRepository.findLeastLoadedForUpdateSkipLocked(eq(1L), eq(RoomType.DOUBLE), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(other));
+
+        AvailabilityConfirmationDTO result = roomService.reserveLeastLoadedRoom(request);
+
+        assertEquals(10L, result.getRoomId());
+    }
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldReturnCached_WhenRequestIdAlreadyProcessed() {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("reserve-duplicate")
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+        Room room = Room.builder().id(7L).available(true).timesBooked(0).build();
+
+        when(roomRepository.findLeastLoadedForUpdateSkipLocked(isNull(), isNull(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(room));
+
+        roomService.reserveLeastLoadedRoom(request);
+        AvailabilityConfirmationDTO result = roomService.reserveLeastLoadedRoom(request);
+
+        assertEquals(7L, result.getRoomId());
+        verify(roomBookingCounters, times(1)).increment(room, "reserve-duplicate");
+    }
+
+    @Test
+    void reserveLeastLoadedRoom_ShouldReturnFalseWithoutCaching_WhenNoRoomsLeft() {
+        ReserveRoomRequest request = ReserveRoomRequest.builder()
+                .requestId("reserve-none")
+                .startDate(LocalDate.of(2026, 3, 1))
+                .endDate(LocalDate.of(2026, 3, 5))
+                .build();
+
+        when(roomRepository.findLeastLoadedForUpdateSkipLocked(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertFalse(roomService.reserveLeastLoadedRoom(request).getConfirmed());
+        assertFalse(roomService.reserveLeastLoadedRoom(request).getConfirmed());
+
+        verify(roomRepository, times(2)).findLeastLoadedForUpdateSkipLocked(any(), any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(roomBookingCounters, never()).increment(any(), any());
+    }
+
+    @Test
+    void selectOptimalRoomForBooking_ShouldReturnRoomSelectedByStrategy() {
+        Room room = Room.builder().id(4L).roomNumber("104").timesBooked(2).build();
+        RoomDTO dto = RoomDTO.builder().id(4L).timesBooked(2).build();
+
+        when(roomLoadIndex.select(1L, RoomType.DOUBLE, roomSelectionStrategy))
+                .thenReturn(Optional.of(new RoomLoadIndex.LoadEntry(4L, 2)));
+        when(roomLoadIndex.stats(1L, RoomType.DOUBLE))
+                .thenReturn(new RoomLoadIndex.LoadStats(2, 10, 2, 8));
+        when(roomRepository.findById(4L)).thenReturn(Optional.of(room));
+        when(roomMapper.toDTO(room)).thenReturn(dto);
+
+        RoomDTO result = roomService.selectOptimalRoomForBooking(1L, RoomType.DOUBLE);
+
+        assertEquals(4L, result.getId());
+        verify(roomRepository, never()).findAvailableRoomsByTypeOrderByLoad(any(), any());
+    }
+
+    @Test
+    void selectOptimalRoomForBooking_ShouldThrowValidationException_WhenNoRooms() {
+        when(roomLoadIndex.select(1L, RoomType.SUITE, roomSelectionStrategy)).thenReturn(Optional.empty());
+
+        assertThrows(ValidationException.class,
+                () -> roomService.selectOptimalRoomForBooking(1L, RoomType.SUITE));
+
+        verify(roomRepository, never()).findById(any());
+    }
+
+    private static ChangeReservationRequest change(Long previousRoomId, LocalDate start, LocalDate end) {
+        return ChangeReservationRequest.builder()
+                .changeId("change-1")
+                .requestId("req-change")
+                .previousRoomId(previousRoomId)
+                .previousStartDate(LocalDate.of(2026, 3, 1))
+                .previousEndDate(LocalDate.of(2026, 3, 5))
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+
+    @Test
+    void changeReservation_ShouldMoveHoldDates_WithoutTouchingCounters_WhenSameRoom() {
+        Room room = Room.builder().id(1L).available(true).timesBooked(2).build();
+        RoomHold hold = RoomHold.builder().id(7L).requestId("req-change").roomId(1L)
+                .startDate(LocalDate.of(2026, 3, 1)).endDate(LocalDate.of(2026, 3, 5))
+                .status(HoldStatus.CONVERTED).build();
+        when(roomHoldRepository.findByRequestId("req-change")).thenReturn(Optional.of(hold));
+        when(roomRepository.findByIdWithLock(1L)).thenReturn(Optional.of(room));
+
+        AvailabilityConfirmationDTO result = roomService.changeReservation(1L,
+                change(1L, LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 8)));
+
+        assertTrue(result.getConfirmed());
+        assertEquals(LocalDate.of(2026, 3, 3), hold.getStartDate());
+        assertEquals(LocalDate.of(2026, 3, 8), hold.getEndDate());
+        // Собственное удержание не считается конфликтом
+        verify(roomHoldRepository).existsOverlappingExcept(eq(1L), eq(LocalDate.of(2026, 3, 3)),
+                eq(LocalDate.of(2026, 3, 8)), any(), eq(7L));
+        verifyNoInteractions(roomBookingCounters);
+    }
+
+    @Test
+    void changeReservation_ShouldMoveCounter_WhenRoomChanges() {
+        Room previous = Room.builder().id(1L).available(true).timesBooked(2).build();
+        Room target = Room.builder().id(2L).available(true).timesBooked(0).build();
+        when(roomRepository.findByIdWithLock(2L)).thenReturn(Optional.of(target));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(previous));
+        when(roomBookingCounters.decrement(previous, "req-change")).thenReturn(true);
+
+        AvailabilityConfirmationDTO result = roomService.changeReservation(2L,
+                change(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5)));
+
+        assertTrue(result.getConfirmed());
+        assertEquals(2L, result.getRoomId());
+        verify(roomBookingCounters).increment(target, "req-change");
+        verify(roomBookingCounters).decrement(previous, "req-change");
+        verify(roomLoadIndex).onLoadChanged(target);
+        verify(roomLoadIndex).onLoadChanged(previous);
+    }
+
+    @Test
+    void changeReservation_ShouldRefuseWithoutCaching_WhenNewNightsTaken() {
+        Room room = Room.builder().id(1L).available(true).timesBooked(2).build();
+        when(roomRepository.findByIdWithLock(1L)).thenReturn(Optional.of(room));
+        when(roomHoldRepository.existsOverlappingExcept(eq(1L), any(), any(), any(), any()))
+                .thenReturn(true, false);
+        ChangeReservationRequest request = change(1L, LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 8));
+
+        assertFalse(roomService.changeReservation(1L, request).getConfirmed());
+        // Даты освободились - повтор с тем же changeId проходит
+        assertTrue(roomService.changeReservation(1L, request).getConfirmed());
+        verifyNoInteractions(roomBookingCounters);
+    }
+
+    @Test
+    void changeReservation_ShouldReturnCached_WhenChangeIdAlreadyProcessed() {
+        Room previous = Room.builder().id(1L).available(true).timesBooked(2).build();
+        Room target = Room.builder().id(2L).available(true).timesBooked(0).build();
+        when(roomRepository.findByIdWithLock(2L)).thenReturn(Optional.of(target));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(previous));
+        ChangeReservationRequest request = change(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5));
+
+        roomService.changeReservation(2L, request);
+        AvailabilityConfirmationDTO result = roomService.changeReservation(2L, request);
+
+        assertTrue(result.getConfirmed());
+        verify(roomBookingCounters, times(1)).increment(target, "req-change");
+    }
+
+    @Test
+    void revertReservationChange_ShouldApplyReverseChange_WhenChangeApplied() {
+        Room previous = Room.builder().id(1L).available(true).timesBooked(2).build();
+        Room target = Room.builder().id(2L).available(true).timesBooked(0).build();
+        when(roomRepository.findByIdWithLock(2L)).thenReturn(Optional.of(target));
+        when(roomRepository.findByIdWithLock(1L)).thenReturn(Optional.of(previous));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(previous));
+        when(roomRepository.findById(2L)).thenReturn(Optional.of(target));
+        ChangeReservationRequest request = change(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5));
+        roomService.changeReservation(2L, request);
+
+        roomService.revertReservationChange(2L, request);
+        roomService.revertReservationChange(2L, request);
+
+        verify(roomBookingCounters).increment(previous, "req-change");
+        verify(roomBookingCounters).decrement(target, "req-change");
+        // Повтор исходного изменения после отмены ничего не меняет
+        assertFalse(roomService.changeReservation(2L, request).getConfirmed());
+        verify(roomBookingCounters, times(1)).increment(target, "req-change");
+    }
+
+    @Test
+    void revertReservationChange_ShouldBlockLateChange_WhenChangeNotApplied() {
+        ChangeReservationRequest request = change(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5));
+
+        roomService.revertReservationChange(2L, request);
+        AvailabilityConfirmationDTO result = roomService.changeReservation(2L, request);
+
+        assertFalse(result.getConfirmed());
+        verifyNoInteractions(roomBookingCounters);
+        verify(roomRepository, never()).findByIdWithLock(any());
     }
 }
@@ -0,0 +1,199 @@
+package sf.mephi.hotel.service.selection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sf.mephi.common.constants.RoomType;
+import sf.mephi.hotel.entity.Room;
+import sf.mephi.hotel.repository.RoomRepository;
+import sf.mephi.hotel.service.RoomBookingCounters;
+import sf.mephi.hotel.service.RoomLoadIndex;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Сравнение стратегий выбора номера: качество распределения и конкуренция одновременных запросов.
+ *
+ * Модель: в каждом раунде CONCURRENT запросов выбирают номер по одному и тому же состоянию индекса
+ * (как параллельные транзакции до коммита), затем все бронирования применяются.
+ * Конкуренция - доля запросов, выбравших номер, уже выбранный другим запросом того же раунда
+ * (они ждали бы блокировку строки или уходили в fallback SKIP LOCKED).
+ */
+@Slf4j
+@Tag("benchmark")
+class RoomSelectionBenchmarkTest {
+
+    private static final long HOTEL_ID = 1L;
+    private static final int ROOMS = 50;
+    private static final int ROUNDS = 400;
+    private static final int CONCURRENT = 10;
+
+    private static final int THROUGHPUT_ROOMS = 500;
+    private static final int THROUGHPUT_SELECTIONS = 200_000;
+
+    record Report(String strategy, double maxToAvg, double gini, double contention, double nanosPerSelection) {
+    }
+
+    @Test
+    @DisplayName("Отчёт о распределении нагрузки по стратегиям выбора номера")
+    void compareStrategies() {
+        Map<String, Report> reports = new LinkedHashMap<>();
+        for (RoomSelectionStrategy strategy : strategies()) {
+            reports.put(strategy.name(), run(strategy));
+        }
+        print(reports.values());
+
+        Report leastLoaded = reports.get(LeastLoadedStrategy.NAME);
+        Report p2c = reports.get(PowerOfTwoChoicesStrategy.NAME);
+        Report roundRobin = reports.get(RoundRobinStrategy.NAME);
+        Report weighted = reports.get(WeightedByPriceStrategy.NAME);
+
+        // Строгий минимум: все одновременные запросы бьют в один номер
+        assertThat(leastLoaded.contention()).isGreaterThanOrEqualTo(0.8);
+        assertThat(leastLoaded.maxToAvg()).isLessThanOrEqualTo(1.2);
+
+        // P2C: распределение близко к равномерному без "горячего" номера
+        assertThat(p2c.contention()).isLessThan(leastLoaded.contention() / 3);
+        assertThat(p2c.maxToAvg()).isLessThanOrEqualTo(1.15);
+
+        assertThat(roundRobin.contention()).isZero();
+        assertThat(roundRobin.maxToAvg()).isEqualTo(1.0);
+
+        // Выбор по цене не выравнивает загрузку
+        assertThat(weighted.gini()).isGreaterThan(p2c.gini());
+    }
+
+    private static List<RoomSelectionStrategy> strategies() {
+        return List.of(
+                new LeastLoadedStrategy(),
+                new PowerOfTwoChoicesStrategy(seeded(1)),
+                new WeightedByPriceStrategy(seeded(2)),
+                new RoundRobinStrategy()
+        );
+    }
+
+    private static Supplier<RandomGenerator> seeded(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return () -> random;
+    }
+
+    private Report run(RoomSelectionStrategy strategy) {
+        RoomLoadIndex index = index(ROOMS);
+        int[] loads = new int[ROOMS + 1]; // по roomId
+        int collisions = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Long> picks = new ArrayList<>(CONCURRENT);
+            Set<Long> distinct = new HashSet<>();
+            for (int i = 0; i < CONCURRENT; i++) {
+                long roomId = index.select(HOTEL_ID, RoomType.DOUBLE, strategy).orElseThrow().roomId();
+                picks.add(roomId);
+                distinct.add(roomId);
+            }
+            collisions += CONCURRENT - distinct.size();
+
+            for (long roomId : picks) {
+                int load = ++loads[(int) roomId];
+                index.onLoadChanged(Room.builder().id(roomId).timesBooked(load).build());
+            }
+        }
+
+        int[] roomLoads = Arrays.copyOfRange(loads, 1, loads.length);
+        double avg = Arrays.stream(roomLoads).average().orElse(0);
+        int max = Arrays.stream(roomLoads).max().orElse(0);
+
+        return new Report(strategy.name(), max / avg, gini(roomLoads),
+                (double) collisions / (ROUNDS * CONCURRENT), nanosPerSelection(strategy));
+    }
+
+    private double nanosPerSelection(RoomSelectionStrategy strategy) {
+        RoomLoadIndex index = index(THROUGHPUT_ROOMS);
+        long sink = 0;
+        for (int i = 0; i < THROUGHPUT_SELECTIONS; i++) { // прогрев
+            sink += index.select(HOTEL_ID, RoomType.DOUBLE, strategy).orElseThrow().roomId();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < THROUGHPUT_SELECTIONS; i++) {
+            sink += index.select(HOTEL_ID, RoomType.DOUBLE, strategy).orElseThrow().roomId();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return (double) elapsed / THROUGHPUT_SELECTIONS;
+    }
+
+    private static RoomLoadIndex index(int rooms) {
+        List<Room> group = new ArrayList<>(rooms);
+        for (int i = 1; i <= rooms; i++) {
+            group.add(Room.builder()
+                    .id((long) i)
+                    .roomType(RoomType.DOUBLE)
+                    .price(BigDecimal.valueOf(3000 + (i % 10) * 1000L))
+                    .timesBooked(0)
+                    .available(true)
+                    .build());
+        }
+        RoomRepository repository = mock(RoomRepository.class);
+        when(repository.findAvailableRoomsByTypeOrderByLoad(HOTEL_ID, RoomType.DOUBLE)).thenReturn(group);
+        return new RoomLoadIndex(repository, counters());
+    }
+
+    // Загруженность берётся из самого Room, как у счётчиков без несброшенных изменений
+    private static RoomBookingCounters counters() {
+        RoomBookingCounters counters = mock(RoomBookingCounters.class);
+        when(counters.current(any(Room.class))).thenAnswer(invocation -> invocation.<Room>getArgument(0).getTimesBooked());
+        return counters;
+    }
+
+    /**
+     * Коэффициент Джини: 0 - все номера загружены одинаково, 1 - вся нагрузка на одном номере
+     */
+    static double gini(int[] loads) {
+        int[] sorted = loads.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        long weighted = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            total += sorted[i];
+            weighted += (long) (i + 1) * sorted[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        int n = sorted.length;
+        return (2.0 * weighted) / (n * (double) total) - (n + 1.0) / n;
+    }
+
+    private static void print(Iterable<Report> reports) {
+        StringBuilder table = new StringBuilder();
+        table.append('\n').append("=".repeat(78)).append('\n');
+        table.append(String.format("  СТРАТЕГИИ ВЫБОРА НОМЕРА: %d номеров, %d раундов по %d одновременных запросов%n",
+                ROOMS, ROUNDS, CONCURRENT));
+        table.append("=".repeat(78)).append('\n');
+        table.append(String.format("%-16s %10s %8s %14s %22s%n",
+                "Стратегия", "max/avg", "Gini", "Конкуренция", "нс/выбор (" + THROUGHPUT_ROOMS + " ном.)"));
+        table.append("-".repeat(78)).append('\n');
+        for (Report report : reports) {
+            table.append(String.format("%-16s %10.3f %8.4f %13.1f%% %22.0f%n",
+                    report.strategy(), report.maxToAvg(), report.gini(),
+                    report.contention() * 100, report.nanosPerSelection()));
+        }
+        table.append("=".repeat(78));
+        log.info("{}", table);
+    }
+}
@@ -0,0 +1,77 @@
+package sf.mephi.hotel.service.selection;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomSelectionStrategyTest {
+
+    @Test
+    void select_ShouldReturnMinusOne_WhenGroupEmpty() {
+        TestGroupView empty = TestGroupView.ofLoads();
+
+        for (RoomSelectionStrategy strategy : List.of(new LeastLoadedStrategy(), new PowerOfTwoChoicesStrategy(),
+                new WeightedByPriceStrategy(), new RoundRobinStrategy())) {
+            assertEquals(-1, strategy.select(empty), strategy.name());
+        }
+    }
+
+    @Test
+    void leastLoaded_ShouldPickMinimum() {
+        assertEquals(2, new LeastLoadedStrategy().select(TestGroupView.ofLoads(5, 3, 1, 4)));
+    }
+
+    @Test
+    void powerOfTwoChoices_ShouldNeverPickStrictMaximum() {
+        SplittableRandom random = new SplittableRandom(42);
+        PowerOfTwoChoicesStrategy strategy = new PowerOfTwoChoicesStrategy(() -> random);
+        TestGroupView group = TestGroupView.ofLoads(3, 9, 1, 4, 2);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertNotEquals(1, strategy.select(group));
+        }
+    }
+
+    @Test
+    void powerOfTwoChoices_ShouldPickLessLoaded_WhenTwoRooms() {
+        PowerOfTwoChoicesStrategy strategy = new PowerOfTwoChoicesStrategy();
+
+        assertEquals(1, strategy.select(TestGroupView.ofLoads(7, 2)));
+        assertEquals(0, strategy.select(TestGroupView.ofLoads(7)));
+    }
+
+    @Test
+    void roundRobin_ShouldCycleThroughGroup() {
+        RoundRobinStrategy strategy = new RoundRobinStrategy();
+        TestGroupView group = TestGroupView.ofLoads(0, 0, 0);
+
+        int[] picks = new int[6];
+        for (int i = 0; i < picks.length; i++) {
+            picks[i] = strategy.select(group);
+        }
+
+        assertArrayEquals(new int[]{0, 1, 2, 0, 1, 2}, picks);
+    }
+
+    @Test
+    void weightedByPrice_ShouldPreferCheaperRooms() {
+        SplittableRandom random = new SplittableRandom(7);
+        WeightedByPriceStrategy strategy = new WeightedByPriceStrategy(() -> random);
+        TestGroupView group = new TestGroupView(new int[]{0, 0},
+                new BigDecimal[]{BigDecimal.valueOf(1000), BigDecimal.valueOf(9000)});
+
+        int cheap = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (strategy.select(group) == 0) {
+                cheap++;
+            }
+        }
+
+        // ожидаемая доля: (1/1000) / (1/1000 + 1/9000) = 0.9
+        assertEquals(0.9, cheap / 10_000.0, 0.02);
+    }
+}
@@ -0,0 +1,65 @@
+package sf.mephi.hotel.service.selection;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Группа номеров для тестов стратегий: id = индекс + 1
+ */
+class TestGroupView implements RoomGroupView {
+
+    private final int[] loads;
+    private final BigDecimal[] prices;
+    private final Map<Object, Object> attachments = new HashMap<>();
+
+    TestGroupView(int[] loads, BigDecimal[] prices) {
+        this.loads = loads;
+        this.prices = prices;
+    }
+
+    static TestGroupView ofLoads(int... loads) {
+        BigDecimal[] prices = new BigDecimal[loads.length];
+        Arrays.fill(prices, BigDecimal.valueOf(5000));
+        return new TestGroupView(loads, prices);
+    }
+
+    @Override
+    public int size() {
+        return loads.length;
+    }
+
+    @Override
+    public long roomId(int index) {
+        return index + 1;
+    }
+
+    @Override
+    public int timesBooked(int index) {
+        return loads[index];
+    }
+
+    @Override
+    public BigDecimal price(int index) {
+        return prices[index];
+    }
+
+    @Override
+    public int leastLoadedIndex() {
+        int best = -1;
+        for (int i = 0; i < loads.length; i++) {
+            if (best < 0 || loads[i] < loads[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T attachment(Object key, Function<RoomGroupView, T> factory) {
+        return (T) attachments.computeIfAbsent(key, k -> factory.apply(this));
+    }
+}